@@ -1,5 +1,6 @@
 package com.parking.api_gateway;
 
+import com.parking.common.security.InternalIdentityConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
@@ -7,6 +8,7 @@ import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfi
 import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 /**
@@ -16,7 +18,8 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
  * - SecurityAutoConfiguration: Disables default security setup
  * - UserDetailsServiceAutoConfiguration: Disables auto-generated password
  *
- * Custom security is configured in SecurityConfiguration.java
+ * Custom security is configured in SecurityConfiguration.java; the X-Internal-Identity
+ * signer comes from parking-common (InternalIdentityConfiguration).
  */
 @SpringBootApplication(exclude = {
 	SecurityAutoConfiguration.class,
@@ -26,6 +29,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 @ComponentScan(basePackages = "com.parking.api_gateway")
 @EnableJpaRepositories(basePackages = "com.parking.api_gateway.security.repository")
 @EntityScan(basePackages = "com.parking.api_gateway.security.entity")
+@Import(InternalIdentityConfiguration.class)
 public class ApiGatewayApplication {
 
 	public static void main(String[] args) {
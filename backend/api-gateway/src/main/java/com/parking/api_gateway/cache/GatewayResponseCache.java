@@ -0,0 +1,245 @@
+package com.parking.api_gateway.cache;
+
+import com.parking.api_gateway.observability.service.ObservabilityService;
+import com.parking.api_gateway.security.routing.RouteMatcher;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache for public, read-heavy proxy routes (parking availability).
+ *
+ * <ul>
+ *   <li><b>Fresh</b> (age &lt; ttl): served from memory.</li>
+ *   <li><b>Stale</b> (age &lt; ttl + stale-while-revalidate): served from memory while a
+ *       single background refresh runs; upstream errors keep the stale copy.</li>
+ *   <li><b>Miss</b>: concurrent callers for the same key share one upstream call.</li>
+ * </ul>
+ * Every cached response carries a strong ETag; {@code If-None-Match} gets a 304 without body.
+ * Only 200 responses with a String body are stored.
+ */
+@Component
+@Slf4j
+public class GatewayResponseCache {
+
+    private final ObservabilityService observabilityService;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final RouteMatcher<CachePolicy> policies;
+    private final Executor refresher;
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentHashMap<String, CachedResponse> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletableFuture<Loaded>> inFlight = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public GatewayResponseCache(ResponseCacheProperties properties, ObservabilityService observabilityService) {
+        this(properties, observabilityService, newRefreshExecutor(), System::nanoTime);
+    }
+
+    GatewayResponseCache(ResponseCacheProperties properties, ObservabilityService observabilityService,
+                         Executor refresher, LongSupplier nanoClock) {
+        this.observabilityService = observabilityService;
+        this.enabled = properties.isEnabled();
+        this.maxEntries = properties.getMaxEntries();
+        this.refresher = refresher;
+        this.nanoClock = nanoClock;
+
+        RouteMatcher.Builder<CachePolicy> builder = RouteMatcher.builder();
+        for (ResponseCacheProperties.Route route : properties.getRoutes()) {
+            builder.add("GET", route.getPrefix(), new CachePolicy(route.getPrefix(),
+                    route.getTtl().toNanos(), route.getStaleWhileRevalidate().toNanos(),
+                    CacheControl.maxAge(route.getTtl())
+                            .staleWhileRevalidate(route.getStaleWhileRevalidate())
+                            .cachePublic()
+                            .getHeaderValue()));
+        }
+        this.policies = builder.build();
+    }
+
+    /**
+     * Serve a GET from cache or via {@code loader}.
+     *
+     * @param path    request path used for policy lookup
+     * @param query   normalised query string (may be null); part of the cache key
+     * @param request incoming request (for If-None-Match)
+     * @param loader  upstream call; may run on a background thread, so it must not
+     *                depend on the servlet request
+     */
+    public ResponseEntity<?> get(String path, String query, HttpServletRequest request,
+                                 Supplier<ResponseEntity<?>> loader) {
+        CachePolicy policy = enabled ? policies.match("GET", path) : null;
+        if (policy == null) {
+            return loader.get();
+        }
+        String key = query == null || query.isEmpty() ? path : path + '?' + query;
+
+        CachedResponse cached = entries.get(key);
+        if (cached != null) {
+            long age = nanoClock.getAsLong() - cached.storedAt();
+            if (age < policy.ttlNanos()) {
+                observabilityService.recordCacheLookup(policy.route(), "hit");
+                return respond(cached, policy, request, "HIT");
+            }
+            if (age < policy.ttlNanos() + policy.staleNanos()) {
+                observabilityService.recordCacheLookup(policy.route(), "stale");
+                refreshInBackground(key, policy, loader);
+                return respond(cached, policy, request, "STALE");
+            }
+        }
+
+        observabilityService.recordCacheLookup(policy.route(), "miss");
+        Loaded loaded = loadCoalesced(key, policy, loader);
+        return loaded.cached() != null
+                ? respond(loaded.cached(), policy, request, "MISS")
+                : loaded.response();
+    }
+
+    /** Drop every cached response whose key starts with {@code prefix} (after writes). */
+    public void invalidate(String prefix) {
+        entries.keySet().removeIf(k -> k.startsWith(prefix));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (refresher instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void refreshInBackground(String key, CachePolicy policy, Supplier<ResponseEntity<?>> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refresher.execute(() -> {
+                try {
+                    loadCoalesced(key, policy, loader);
+                } catch (RuntimeException e) {
+                    log.debug("Background refresh of {} failed: {}", key, e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+        }
+    }
+
+    private Loaded loadCoalesced(String key, CachePolicy policy, Supplier<ResponseEntity<?>> loader) {
+        CompletableFuture<Loaded> mine = new CompletableFuture<>();
+        CompletableFuture<Loaded> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            try {
+                return leader.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException re ? re : e;
+            }
+        }
+        try {
+            Loaded loaded = load(key, policy, loader);
+            mine.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private Loaded load(String key, CachePolicy policy, Supplier<ResponseEntity<?>> loader) {
+        ResponseEntity<?> response = loader.get();
+        if (response.getStatusCode().value() != HttpStatus.OK.value() || !(response.getBody() instanceof String body)) {
+            return new Loaded(response, null);
+        }
+        long now = nanoClock.getAsLong();
+        CachedResponse cached = new CachedResponse(body, response.getHeaders().getContentType(),
+                etag(body), now, now + policy.ttlNanos() + policy.staleNanos());
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            entries.values().removeIf(e -> e.expiresAt() <= now);
+        }
+        if (entries.size() < maxEntries || entries.containsKey(key)) {
+            entries.put(key, cached);
+        } else {
+            log.debug("Response cache full ({} entries), not caching {}", maxEntries, key);
+        }
+        return new Loaded(response, cached);
+    }
+
+    private static ResponseEntity<?> respond(CachedResponse cached, CachePolicy policy,
+                                             HttpServletRequest request, String cacheStatus) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(cached.etag());
+        headers.setCacheControl(policy.cacheControl());
+        headers.set("X-Cache", cacheStatus);
+        if (etagMatches(request.getHeader(HttpHeaders.IF_NONE_MATCH), cached.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+        if (cached.contentType() != null) {
+            headers.setContentType(cached.contentType());
+        }
+        return ResponseEntity.ok().headers(headers).body(cached.body());
+    }
+
+    static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2); // weak comparison is fine for GET
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String etag(String body) {
+        return '"' + DigestUtils.md5DigestAsHex(body.getBytes(StandardCharsets.UTF_8)) + '"';
+    }
+
+    private static ExecutorService newRefreshExecutor() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("gateway-cache-refresh-");
+        threadFactory.setDaemon(true);
+        return new ThreadPoolExecutor(1, 2, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(64), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private record CachePolicy(String route, long ttlNanos, long staleNanos, String cacheControl) {}
+
+    private record CachedResponse(String body, MediaType contentType, String etag, long storedAt, long expiresAt) {}
+
+    private record Loaded(ResponseEntity<?> response, CachedResponse cached) {}
+}
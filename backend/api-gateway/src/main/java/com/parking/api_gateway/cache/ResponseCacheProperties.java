@@ -0,0 +1,49 @@
+package com.parking.api_gateway.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gateway response cache settings, bound from {@code gateway.response-cache.*}.
+ *
+ * <p>Only GET routes listed here are cached. The longest matching prefix decides
+ * the policy, so {@code /available/count} can refresh faster than {@code /available}.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.response-cache")
+@Data
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    /** Upper bound on cached responses (distinct path + query combinations). */
+    private int maxEntries = 1000;
+
+    /** Public availability endpoints polled by info boards and the mobile app. */
+    private List<Route> routes = new ArrayList<>(List.of(
+            new Route("/api/management/spots/available/count", Duration.ofSeconds(2), Duration.ofSeconds(10)),
+            new Route("/api/management/spots/available", Duration.ofSeconds(5), Duration.ofSeconds(30)),
+            new Route("/api/management/spots/search", Duration.ofSeconds(5), Duration.ofSeconds(30)),
+            new Route("/api/management/spots/query", Duration.ofSeconds(5), Duration.ofSeconds(30)),
+            new Route("/api/management/lots/availability", Duration.ofSeconds(2), Duration.ofSeconds(10))
+    ));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Route {
+        /** Path prefix (without query string). */
+        private String prefix;
+        /** How long a response is served without contacting the upstream. */
+        private Duration ttl = Duration.ofSeconds(5);
+        /** After the TTL, how long the stale response is still served while one background refresh runs. */
+        private Duration staleWhileRevalidate = Duration.ofSeconds(30);
+    }
+}
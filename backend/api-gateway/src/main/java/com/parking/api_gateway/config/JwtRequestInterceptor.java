@@ -1,6 +1,8 @@
 package com.parking.api_gateway.config;
 
+import com.parking.common.security.InternalIdentityCodec;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.client.ClientHttpRequestExecution;
@@ -13,12 +15,17 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 import java.io.IOException;
 
 /**
- * Interceptor for automatically forwarding JWT tokens to downstream services
+ * Interceptor for automatically forwarding JWT tokens to downstream services.
+ * For authenticated requests it also attaches a signed {@code X-Internal-Identity}
+ * header so services can trust the gateway's validation without re-parsing the JWT.
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class JwtRequestInterceptor implements ClientHttpRequestInterceptor {
 
+    private final InternalIdentityCodec internalIdentityCodec;
+
     @Override
     public ClientHttpResponse intercept(HttpRequest request, byte[] body,
                                        ClientHttpRequestExecution execution) throws IOException {
@@ -39,6 +46,17 @@ public class JwtRequestInterceptor implements ClientHttpRequestInterceptor {
                 log.debug("Forwarding JWT token to downstream service: {}", request.getURI());
             }
 
+            // Identity established by SecurityFilter (absent on public paths)
+            Object username = httpRequest.getAttribute("username");
+            Object role = httpRequest.getAttribute("role");
+            if (username != null && role != null) {
+                request.getHeaders().set(InternalIdentityCodec.HEADER,
+                        internalIdentityCodec.encode(toLong(httpRequest.getAttribute("userId")),
+                                username.toString(), role.toString()));
+            } else {
+                request.getHeaders().remove(InternalIdentityCodec.HEADER);
+            }
+
             // Forward other important headers
             String clientIp = getClientIpAddress(httpRequest);
             if (clientIp != null) {
@@ -54,6 +72,12 @@ public class JwtRequestInterceptor implements ClientHttpRequestInterceptor {
         return execution.execute(request, body);
     }
 
+    private static Long toLong(Object value) {
+        if (value instanceof Number n) return n.longValue();
+        if (value == null) return null;
+        try { return Long.valueOf(value.toString()); } catch (NumberFormatException e) { return null; }
+    }
+
     /**
      * Extract client IP address
      */
@@ -1,14 +1,15 @@
 package com.parking.api_gateway.config;
 
+import com.parking.api_gateway.resilience.AdaptiveTimeoutRequestFactory;
+import com.parking.api_gateway.resilience.UpstreamGuardInterceptor;
+import com.parking.api_gateway.resilience.UpstreamGuards;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.Duration;
-import java.util.Collections;
+import java.util.List;
 
 /**
  * Configuration for RestTemplate used in proxy controllers
@@ -18,18 +19,23 @@ import java.util.Collections;
 public class RestTemplateConfig {
 
     private final JwtRequestInterceptor jwtRequestInterceptor;
+    private final UpstreamGuardInterceptor upstreamGuardInterceptor;
+    private final UpstreamGuards upstreamGuards;
 
     @Bean
     public RestTemplate restTemplate(RestTemplateBuilder builder) {
-        // configure timeouts on the underlying request factory to avoid deprecated RestTemplateBuilder methods
+        // timeouts are set per connection from gateway.upstreams.* (adaptive read timeout per service);
+        // the guard interceptor runs first so rejected calls never reach the network
         return builder
-                .requestFactory(() -> {
-                    SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-                    factory.setConnectTimeout((int) Duration.ofSeconds(5).toMillis());
-                    factory.setReadTimeout((int) Duration.ofSeconds(10).toMillis());
-                    return factory;
-                })
-                .additionalInterceptors(jwtRequestInterceptor)
+                .requestFactory(() -> new AdaptiveTimeoutRequestFactory(upstreamGuards))
+                .additionalInterceptors(upstreamGuardInterceptor, jwtRequestInterceptor)
                 .build();
     }
+
+    /** Same request factory and interceptors as {@link #restTemplate}, for streamed uploads. */
+    @Bean
+    public StreamingUpstreamClient streamingUpstreamClient() {
+        return new StreamingUpstreamClient(new AdaptiveTimeoutRequestFactory(upstreamGuards),
+                List.of(upstreamGuardInterceptor, jwtRequestInterceptor));
+    }
 }
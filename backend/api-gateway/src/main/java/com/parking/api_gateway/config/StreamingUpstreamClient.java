@@ -0,0 +1,87 @@
+package com.parking.api_gateway.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Upstream call whose request body is copied from an {@link InputStream} as it is sent,
+ * for uploads the gateway should not hold in memory (bulk CSV import).
+ *
+ * <p>The proxy RestTemplate buffers every request body once interceptors are configured,
+ * so this client runs the same interceptors (bulkhead / circuit breaker, forwarded JWT and
+ * internal identity) itself and then streams the body over a connection from the same
+ * request factory. Interceptors see an empty body array; none of them reads it.
+ * The response body is read into a String, like {@code exchange(..., String.class)};
+ * unlike RestTemplate, 4xx / 5xx are returned rather than thrown.
+ */
+public class StreamingUpstreamClient {
+
+    private final ClientHttpRequestFactory requestFactory;
+    private final List<ClientHttpRequestInterceptor> interceptors;
+
+    public StreamingUpstreamClient(ClientHttpRequestFactory requestFactory,
+                                   List<ClientHttpRequestInterceptor> interceptors) {
+        this.requestFactory = requestFactory;
+        this.interceptors = List.copyOf(interceptors);
+    }
+
+    /**
+     * @param headers request headers; a known Content-Length avoids chunked transfer
+     * @param body    read until end of stream while the request is sent; not closed
+     */
+    public ResponseEntity<String> exchange(URI target, HttpMethod method, HttpHeaders headers,
+                                           InputStream body) throws IOException {
+        ClientHttpRequest request = requestFactory.createRequest(target, method);
+        request.getHeaders().putAll(headers);
+        try (ClientHttpResponse response = new Execution(request, body).execute(request, new byte[0])) {
+            Charset charset = response.getHeaders().getContentType() != null
+                    && response.getHeaders().getContentType().getCharset() != null
+                    ? response.getHeaders().getContentType().getCharset() : StandardCharsets.UTF_8;
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(response.getHeaders())
+                    .body(StreamUtils.copyToString(response.getBody(), charset));
+        }
+    }
+
+    /** Walks the interceptors in order, then sends the request with the streamed body. */
+    private class Execution implements ClientHttpRequestExecution {
+
+        private final ClientHttpRequest outgoing;
+        private final InputStream body;
+        private int next;
+
+        Execution(ClientHttpRequest outgoing, InputStream body) {
+            this.outgoing = outgoing;
+            this.body = body;
+        }
+
+        @Override
+        public ClientHttpResponse execute(HttpRequest request, byte[] ignored) throws IOException {
+            if (next < interceptors.size()) {
+                return interceptors.get(next++).intercept(request, ignored, this);
+            }
+            if (request != outgoing) {
+                // an interceptor passed on a wrapper: keep the headers it set
+                outgoing.getHeaders().putAll(request.getHeaders());
+            }
+            ((StreamingHttpOutputMessage) outgoing).setBody(out -> StreamUtils.copy(body, out));
+            return outgoing.execute();
+        }
+    }
+}
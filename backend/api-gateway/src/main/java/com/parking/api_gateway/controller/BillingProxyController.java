@@ -1,5 +1,6 @@
 package com.parking.api_gateway.controller;
 
+import com.parking.api_gateway.resilience.UpstreamUnavailableException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
@@ -27,7 +28,7 @@ public class BillingProxyController {
      */
     @PostMapping("/calculate")
     public ResponseEntity<?> calculateFee(@RequestBody String calculateData, HttpServletRequest request) {
-        log.info("Proxying POST request to Billing Service: /api/billing/calculate");
+        log.debug("Proxying POST request to Billing Service: /api/billing/calculate");
         return proxyRequest(HttpMethod.POST, "/api/billing/calculate", calculateData, request);
     }
 
@@ -36,7 +37,7 @@ public class BillingProxyController {
      */
     @PostMapping("/pay")
     public ResponseEntity<?> processPayment(@RequestBody String paymentData, HttpServletRequest request) {
-        log.info("Proxying POST request to Billing Service: /api/billing/pay");
+        log.debug("Proxying POST request to Billing Service: /api/billing/pay");
         return proxyRequest(HttpMethod.POST, "/api/billing/pay", paymentData, request);
     }
 
@@ -45,7 +46,7 @@ public class BillingProxyController {
      */
     @PostMapping("/pay-test")
     public ResponseEntity<?> processTestPayment(@RequestBody String paymentData, HttpServletRequest request) {
-        log.info("🧪 Proxying POST request to Billing Service TEST endpoint: /api/billing/pay-test");
+        log.debug("🧪 Proxying POST request to Billing Service TEST endpoint: /api/billing/pay-test");
         return proxyRequest(HttpMethod.POST, "/api/billing/pay-test", paymentData, request);
     }
 
@@ -54,7 +55,7 @@ public class BillingProxyController {
      */
     @PostMapping("/test-event")
     public ResponseEntity<?> createTestEvent(@RequestBody String eventData, HttpServletRequest request) {
-        log.info("Proxying POST request to Billing Service TEST endpoint: /api/billing/test-event");
+        log.debug("Proxying POST request to Billing Service TEST endpoint: /api/billing/test-event");
         return proxyRequest(HttpMethod.POST, "/api/billing/test-event", eventData, request);
     }
 
@@ -76,7 +77,7 @@ public class BillingProxyController {
         }
 
         String fullPath = "/api/billing/status" + (queryString.length() > 0 ? "?" + queryString : "");
-        log.info("Proxying GET request to Billing Service: {}", fullPath);
+        log.debug("Proxying GET request to Billing Service: {}", fullPath);
         return proxyRequest(HttpMethod.GET, fullPath, null, request);
     }
 
@@ -85,7 +86,7 @@ public class BillingProxyController {
      */
     @GetMapping("/invoices")
     public ResponseEntity<?> getAllInvoices(HttpServletRequest request) {
-        log.info("Proxying GET request to Billing Service: /api/billing/invoices");
+        log.debug("Proxying GET request to Billing Service: /api/billing/invoices");
         return proxyRequest(HttpMethod.GET, "/api/billing/invoices", null, request);
     }
 
@@ -94,7 +95,7 @@ public class BillingProxyController {
      */
     @GetMapping("/invoices/{id}")
     public ResponseEntity<?> getInvoiceById(@PathVariable Long id, HttpServletRequest request) {
-        log.info("Proxying GET request to Billing Service: /api/billing/invoices/{}", id);
+        log.debug("Proxying GET request to Billing Service: /api/billing/invoices/{}", id);
         return proxyRequest(HttpMethod.GET, "/api/billing/invoices/" + id, null, request);
     }
 
@@ -103,7 +104,7 @@ public class BillingProxyController {
      */
     @PostMapping("/invoices")
     public ResponseEntity<?> createInvoice(@RequestBody String invoiceData, HttpServletRequest request) {
-        log.info("Proxying POST request to Billing Service: /api/billing/invoices");
+        log.debug("Proxying POST request to Billing Service: /api/billing/invoices");
         return proxyRequest(HttpMethod.POST, "/api/billing/invoices", invoiceData, request);
     }
 
@@ -113,7 +114,7 @@ public class BillingProxyController {
     @PutMapping("/invoices/{id}")
     public ResponseEntity<?> updateInvoice(@PathVariable Long id, @RequestBody String invoiceData,
                                            HttpServletRequest request) {
-        log.info("Proxying PUT request to Billing Service: /api/billing/invoices/{}", id);
+        log.debug("Proxying PUT request to Billing Service: /api/billing/invoices/{}", id);
         return proxyRequest(HttpMethod.PUT, "/api/billing/invoices/" + id, invoiceData, request);
     }
 
@@ -122,7 +123,7 @@ public class BillingProxyController {
      */
     @DeleteMapping("/invoices/{id}")
     public ResponseEntity<?> deleteInvoice(@PathVariable Long id, HttpServletRequest request) {
-        log.info("Proxying DELETE request to Billing Service: /api/billing/invoices/{}", id);
+        log.debug("Proxying DELETE request to Billing Service: /api/billing/invoices/{}", id);
         return proxyRequest(HttpMethod.DELETE, "/api/billing/invoices/" + id, null, request);
     }
 
@@ -132,7 +133,7 @@ public class BillingProxyController {
      */
     @GetMapping("/clients/{clientId}/invoices")
     public ResponseEntity<?> getClientInvoices(@PathVariable Long clientId, HttpServletRequest request) {
-        log.info("Proxying GET request to Billing Service: /api/billing/clients/{}/invoices", clientId);
+        log.debug("Proxying GET request to Billing Service: /api/billing/clients/{}/invoices", clientId);
         return proxyRequest(HttpMethod.GET, "/api/billing/clients/" + clientId + "/invoices", null, request);
     }
 
@@ -154,7 +155,7 @@ public class BillingProxyController {
                 String.class
             );
 
-            log.info("Billing Service responded with status: {}", response.getStatusCode());
+            log.debug("Billing Service responded with status: {}", response.getStatusCode());
             return ResponseEntity.status(response.getStatusCode())
                     .headers(ProxyUtils.filterResponseHeaders(response.getHeaders()))
                     .body(response.getBody());
@@ -162,6 +163,8 @@ public class BillingProxyController {
         } catch (HttpClientErrorException e) {
             log.error("Billing Service returned error: {} - {}", e.getStatusCode(), e.getMessage());
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+        } catch (UpstreamUnavailableException e) {
+            return ProxyUtils.upstreamUnavailable(e);
         } catch (Exception e) {
             log.error("Error proxying request to Billing Service", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
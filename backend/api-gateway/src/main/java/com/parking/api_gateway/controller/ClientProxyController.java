@@ -1,5 +1,6 @@
 package com.parking.api_gateway.controller;
 
+import com.parking.api_gateway.resilience.UpstreamUnavailableException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
@@ -8,6 +9,7 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.HttpClientErrorException;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.net.URI;
 import java.util.Collections;
 import java.util.Enumeration;
 
@@ -31,7 +33,7 @@ public class ClientProxyController {
      */
     @GetMapping("/subscriptions/check")
     public ResponseEntity<?> checkSubscription(@RequestParam String licensePlate, HttpServletRequest request) {
-        log.info("🔍 [PROXY] GET /api/clients/subscriptions/check?licensePlate={}", licensePlate);
+        log.debug("🔍 [PROXY] GET /api/clients/subscriptions/check?licensePlate={}", licensePlate);
         try {
             HttpHeaders headers = extractHeaders(request);
             HttpEntity<Void> entity = new HttpEntity<>(headers);
@@ -44,6 +46,8 @@ public class ClientProxyController {
                     .body(response.getBody());
         } catch (HttpClientErrorException e) {
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+        } catch (UpstreamUnavailableException e) {
+            return ProxyUtils.upstreamUnavailable(e);
         } catch (Exception e) {
             log.error("Error proxying subscription check", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -52,25 +56,55 @@ public class ClientProxyController {
     }
 
     /**
-     * Proxy GET request to fetch all clients
+     * Proxy POST /api/clients/subscriptions/check/batch
+     * Bulk plate check for reconciliation tools; body is passed through unchanged.
+     */
+    @PostMapping("/subscriptions/check/batch")
+    public ResponseEntity<?> checkSubscriptionsBatch(@RequestBody String body, HttpServletRequest request) {
+        log.debug("🔍 [PROXY] POST /api/clients/subscriptions/check/batch");
+        try {
+            HttpHeaders headers = extractHeaders(request);
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            HttpEntity<String> entity = new HttpEntity<>(body, headers);
+            ResponseEntity<String> response = restTemplate.exchange(
+                    CLIENT_SERVICE_URL + "/api/clients/subscriptions/check/batch",
+                    HttpMethod.POST, entity, String.class);
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(ProxyUtils.filterResponseHeaders(response.getHeaders()))
+                    .body(response.getBody());
+        } catch (HttpClientErrorException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+        } catch (UpstreamUnavailableException e) {
+            return ProxyUtils.upstreamUnavailable(e);
+        } catch (Exception e) {
+            log.error("Error proxying batch subscription check", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error communicating with Client Service: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Proxy GET request to fetch all clients.
+     * Query parameters are passed through, so ?size=&sort=&direction=&fields=&cursor= selects
+     * client-service's keyset-paged listing instead of the full list.
      */
     @GetMapping
     public ResponseEntity<?> getAllClients(HttpServletRequest request) {
-        log.info("рџљЂ [PROXY CONTROLLER START] Received GET /api/clients request");
-        log.info("рџ“Ќ [PROXY CONTROLLER] Remote IP: {}", request.getRemoteAddr());
-        log.info("рџ“Ќ [PROXY CONTROLLER] Request URI: {}", request.getRequestURI());
-        log.info("рџ“Ќ [PROXY CONTROLLER] Username from request: {}", request.getAttribute("username"));
-        log.info("рџ“Ќ [PROXY CONTROLLER] Roles from request: {}", request.getAttribute("roles"));
+        log.debug("рџљЂ [PROXY CONTROLLER START] Received GET /api/clients request");
+        log.debug("рџ“Ќ [PROXY CONTROLLER] Remote IP: {}", request.getRemoteAddr());
+        log.debug("рџ“Ќ [PROXY CONTROLLER] Request URI: {}", request.getRequestURI());
+        log.debug("рџ“Ќ [PROXY CONTROLLER] Username from request: {}", request.getAttribute("username"));
+        log.debug("рџ“Ќ [PROXY CONTROLLER] Roles from request: {}", request.getAttribute("roles"));
 
         try {
             HttpHeaders headers = extractHeaders(request);
-            log.info("рџ“¦ [PROXY CONTROLLER] Headers extracted: {}", headers.keySet());
-            log.info("рџ“¦ [PROXY CONTROLLER] Authorization header present: {}", headers.containsKey("Authorization"));
+            log.debug("рџ“¦ [PROXY CONTROLLER] Headers extracted: {}", headers.keySet());
+            log.debug("рџ“¦ [PROXY CONTROLLER] Authorization header present: {}", headers.containsKey("Authorization"));
 
             HttpEntity<Void> entity = new HttpEntity<>(headers);
 
-            String targetUrl = CLIENT_SERVICE_URL + "/api/clients";
-            log.info("рџЋЇ [PROXY CONTROLLER] Proxying GET request to: {}", targetUrl);
+            URI targetUrl = ProxyUtils.withQueryString(CLIENT_SERVICE_URL + "/api/clients", request);
+            log.debug("рџЋЇ [PROXY CONTROLLER] Proxying GET request to: {}", targetUrl);
 
             ResponseEntity<String> response = restTemplate.exchange(
                 targetUrl,
@@ -79,8 +113,8 @@ public class ClientProxyController {
                 String.class
             );
 
-            log.info("вњ… [PROXY CONTROLLER] Client Service responded with status: {}", response.getStatusCode());
-            log.info("вњ… [PROXY CONTROLLER] Response body length: {} bytes",
+            log.debug("вњ… [PROXY CONTROLLER] Client Service responded with status: {}", response.getStatusCode());
+            log.debug("вњ… [PROXY CONTROLLER] Response body length: {} bytes",
                 response.getBody() != null ? response.getBody().length() : 0);
 
             return ResponseEntity.status(response.getStatusCode())
@@ -92,6 +126,8 @@ public class ClientProxyController {
             log.error("вќЊ [PROXY CONTROLLER] Error message: {}", e.getMessage());
             log.error("вќЊ [PROXY CONTROLLER] Response body: {}", e.getResponseBodyAsString());
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+        } catch (UpstreamUnavailableException e) {
+            return ProxyUtils.upstreamUnavailable(e);
         } catch (Exception e) {
             log.error("рџ’Ґ [PROXY CONTROLLER] Exception occurred while proxying request", e);
             log.error("рџ’Ґ [PROXY CONTROLLER] Exception type: {}", e.getClass().getName());
@@ -106,7 +142,7 @@ public class ClientProxyController {
      */
     @GetMapping("/{id}")
     public ResponseEntity<?> getClientById(@PathVariable Long id, HttpServletRequest request) {
-        log.info("Proxying GET request to Client Service: /api/clients/{}", id);
+        log.debug("Proxying GET request to Client Service: /api/clients/{}", id);
 
         try {
             HttpHeaders headers = extractHeaders(request);
@@ -126,6 +162,8 @@ public class ClientProxyController {
         } catch (HttpClientErrorException e) {
             log.error("Client Service returned error: {} - {}", e.getStatusCode(), e.getMessage());
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+        } catch (UpstreamUnavailableException e) {
+            return ProxyUtils.upstreamUnavailable(e);
         } catch (Exception e) {
             log.error("Error proxying request to Client Service", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -138,7 +176,7 @@ public class ClientProxyController {
      */
     @PostMapping
     public ResponseEntity<?> createClient(@RequestBody String clientData, HttpServletRequest request) {
-        log.info("Proxying POST request to Client Service: /api/clients");
+        log.debug("Proxying POST request to Client Service: /api/clients");
 
         try {
             HttpHeaders headers = extractHeaders(request);
@@ -159,6 +197,8 @@ public class ClientProxyController {
         } catch (HttpClientErrorException e) {
             log.error("Client Service returned error: {} - {}", e.getStatusCode(), e.getMessage());
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+        } catch (UpstreamUnavailableException e) {
+            return ProxyUtils.upstreamUnavailable(e);
         } catch (Exception e) {
             log.error("Error proxying request to Client Service", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -171,7 +211,7 @@ public class ClientProxyController {
      */
     @PutMapping("/{id}")
     public ResponseEntity<?> updateClient(@PathVariable Long id, @RequestBody String clientData, HttpServletRequest request) {
-        log.info("рџљЂ [PROXY CONTROLLER] Proxying PUT request to Client Service: /api/clients/{}", id);
+        log.debug("рџљЂ [PROXY CONTROLLER] Proxying PUT request to Client Service: /api/clients/{}", id);
 
         try {
             HttpHeaders headers = extractHeaders(request);
@@ -179,7 +219,7 @@ public class ClientProxyController {
             HttpEntity<String> entity = new HttpEntity<>(clientData, headers);
 
             String targetUrl = CLIENT_SERVICE_URL + "/api/clients/" + id;
-            log.info("рџЋЇ [PROXY CONTROLLER] Target URL: {}", targetUrl);
+            log.debug("рџЋЇ [PROXY CONTROLLER] Target URL: {}", targetUrl);
 
             ResponseEntity<String> response = restTemplate.exchange(
                 targetUrl,
@@ -188,7 +228,7 @@ public class ClientProxyController {
                 String.class
             );
 
-            log.info("вњ… [PROXY CONTROLLER] Client Service responded with status: {}", response.getStatusCode());
+            log.debug("вњ… [PROXY CONTROLLER] Client Service responded with status: {}", response.getStatusCode());
             return ResponseEntity.status(response.getStatusCode())
                     .headers(ProxyUtils.filterResponseHeaders(response.getHeaders()))
                     .body(response.getBody());
@@ -196,6 +236,8 @@ public class ClientProxyController {
         } catch (HttpClientErrorException e) {
             log.error("вќЊ [PROXY CONTROLLER] Client Service returned error: {} - {}", e.getStatusCode(), e.getMessage());
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+        } catch (UpstreamUnavailableException e) {
+            return ProxyUtils.upstreamUnavailable(e);
         } catch (Exception e) {
             log.error("рџ’Ґ [PROXY CONTROLLER] Error proxying request to Client Service", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -204,13 +246,15 @@ public class ClientProxyController {
     }
 
     /**
-     * Proxy GET /api/clients/search — supports ?phone=, ?plate=, ?name=
+     * Proxy GET /api/clients/search — supports ?phone=, ?plate=, ?name=, and ?q=[&limit=] (typeahead)
      */
     @GetMapping("/search")
     public ResponseEntity<?> searchClients(
             @RequestParam(required = false) String phone,
             @RequestParam(required = false) String plate,
             @RequestParam(required = false) String name,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer limit,
             HttpServletRequest request) {
 
         HttpHeaders headers = extractHeaders(request);
@@ -220,15 +264,19 @@ public class ClientProxyController {
             String query;
             if (phone != null) {
                 query = "phone=" + java.net.URLEncoder.encode(phone, java.nio.charset.StandardCharsets.UTF_8);
-                log.info("🔁 [PROXY] GET /api/clients/search?phone=***");
+                log.debug("🔁 [PROXY] GET /api/clients/search?phone=***");
             } else if (plate != null) {
                 query = "plate=" + java.net.URLEncoder.encode(plate.toUpperCase(), java.nio.charset.StandardCharsets.UTF_8);
-                log.info("🔁 [PROXY] GET /api/clients/search?plate={}", plate);
+                log.debug("🔁 [PROXY] GET /api/clients/search?plate={}", plate);
             } else if (name != null) {
                 query = "name=" + java.net.URLEncoder.encode(name, java.nio.charset.StandardCharsets.UTF_8);
-                log.info("🔁 [PROXY] GET /api/clients/search?name={}", name);
+                log.debug("🔁 [PROXY] GET /api/clients/search?name={}", name);
+            } else if (q != null) {
+                query = "q=" + java.net.URLEncoder.encode(q, java.nio.charset.StandardCharsets.UTF_8)
+                        + (limit != null ? "&limit=" + limit : "");
+                log.debug("🔁 [PROXY] GET /api/clients/search?q={}", q);
             } else {
-                return ResponseEntity.badRequest().body("One of: phone, plate, name is required");
+                return ResponseEntity.badRequest().body("One of: phone, plate, name, q is required");
             }
 
             ResponseEntity<String> response = restTemplate.exchange(
@@ -239,6 +287,8 @@ public class ClientProxyController {
                     .body(response.getBody());
         } catch (HttpClientErrorException e) {
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+        } catch (UpstreamUnavailableException e) {
+            return ProxyUtils.upstreamUnavailable(e);
         } catch (Exception e) {
             log.error("Error proxying client search", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -251,14 +301,14 @@ public class ClientProxyController {
      */
     @GetMapping("/{clientId}/vehicles")
     public ResponseEntity<?> getClientVehicles(@PathVariable Long clientId, HttpServletRequest request) {
-        log.info("рџљЂ [PROXY CONTROLLER] Proxying GET request to Client Service: /api/clients/{}/vehicles", clientId);
+        log.debug("рџљЂ [PROXY CONTROLLER] Proxying GET request to Client Service: /api/clients/{}/vehicles", clientId);
 
         try {
             HttpHeaders headers = extractHeaders(request);
             HttpEntity<Void> entity = new HttpEntity<>(headers);
 
             String targetUrl = CLIENT_SERVICE_URL + "/api/clients/" + clientId + "/vehicles";
-            log.info("рџЋЇ [PROXY CONTROLLER] Target URL: {}", targetUrl);
+            log.debug("рџЋЇ [PROXY CONTROLLER] Target URL: {}", targetUrl);
 
             ResponseEntity<String> response = restTemplate.exchange(
                 targetUrl,
@@ -267,7 +317,7 @@ public class ClientProxyController {
                 String.class
             );
 
-            log.info("вњ… [PROXY CONTROLLER] Client Service responded with status: {}", response.getStatusCode());
+            log.debug("вњ… [PROXY CONTROLLER] Client Service responded with status: {}", response.getStatusCode());
             return ResponseEntity.status(response.getStatusCode())
                     .headers(ProxyUtils.filterResponseHeaders(response.getHeaders()))
                     .body(response.getBody());
@@ -275,6 +325,8 @@ public class ClientProxyController {
         } catch (HttpClientErrorException e) {
             log.error("вќЊ [PROXY CONTROLLER] Client Service returned error: {} - {}", e.getStatusCode(), e.getMessage());
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+        } catch (UpstreamUnavailableException e) {
+            return ProxyUtils.upstreamUnavailable(e);
         } catch (Exception e) {
             log.error("рџ’Ґ [PROXY CONTROLLER] Error proxying request to Client Service", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -289,7 +341,7 @@ public class ClientProxyController {
      */
     @PostMapping("/{clientId}/subscriptions")
     public ResponseEntity<?> createSubscription(@PathVariable Long clientId, @RequestBody String body, HttpServletRequest request) {
-        log.info("🔁 [PROXY] POST /api/clients/{}/subscriptions", clientId);
+        log.debug("🔁 [PROXY] POST /api/clients/{}/subscriptions", clientId);
         try {
             HttpHeaders headers = extractHeaders(request);
             headers.setContentType(MediaType.APPLICATION_JSON);
@@ -303,6 +355,8 @@ public class ClientProxyController {
         } catch (HttpClientErrorException e) {
             log.error("❌ [PROXY] client-service error: {} - {}", e.getStatusCode(), e.getMessage());
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+        } catch (UpstreamUnavailableException e) {
+            return ProxyUtils.upstreamUnavailable(e);
         } catch (Exception e) {
             log.error("💥 [PROXY] Exception creating subscription", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -315,7 +369,7 @@ public class ClientProxyController {
      */
     @GetMapping("/{clientId}/subscriptions")
     public ResponseEntity<?> getSubscriptionsByClient(@PathVariable Long clientId, HttpServletRequest request) {
-        log.info("🔁 [PROXY] GET /api/clients/{}/subscriptions", clientId);
+        log.debug("🔁 [PROXY] GET /api/clients/{}/subscriptions", clientId);
         try {
             HttpHeaders headers = extractHeaders(request);
             HttpEntity<Void> entity = new HttpEntity<>(headers);
@@ -328,6 +382,8 @@ public class ClientProxyController {
         } catch (HttpClientErrorException e) {
             log.error("❌ [PROXY] client-service error: {} - {}", e.getStatusCode(), e.getMessage());
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+        } catch (UpstreamUnavailableException e) {
+            return ProxyUtils.upstreamUnavailable(e);
         } catch (Exception e) {
             log.error("💥 [PROXY] Exception listing subscriptions", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -340,7 +396,7 @@ public class ClientProxyController {
      */
     @DeleteMapping("/subscriptions/{id}")
     public ResponseEntity<?> deactivateSubscription(@PathVariable Long id, HttpServletRequest request) {
-        log.info("🔁 [PROXY] DELETE /api/clients/subscriptions/{}", id);
+        log.debug("🔁 [PROXY] DELETE /api/clients/subscriptions/{}", id);
         try {
             HttpHeaders headers = extractHeaders(request);
             HttpEntity<Void> entity = new HttpEntity<>(headers);
@@ -353,6 +409,8 @@ public class ClientProxyController {
         } catch (HttpClientErrorException e) {
             log.error("❌ [PROXY] client-service error: {} - {}", e.getStatusCode(), e.getMessage());
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+        } catch (UpstreamUnavailableException e) {
+            return ProxyUtils.upstreamUnavailable(e);
         } catch (Exception e) {
             log.error("💥 [PROXY] Exception deactivating subscription", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -365,7 +423,7 @@ public class ClientProxyController {
      */
     @PostMapping("/{clientId}/vehicles")
     public ResponseEntity<?> addVehicleToClient(@PathVariable Long clientId, @RequestBody String vehicleData, HttpServletRequest request) {
-        log.info("рџљЂ [PROXY CONTROLLER] Proxying POST request to Client Service: /api/clients/{}/vehicles", clientId);
+        log.debug("рџљЂ [PROXY CONTROLLER] Proxying POST request to Client Service: /api/clients/{}/vehicles", clientId);
 
         try {
             HttpHeaders headers = extractHeaders(request);
@@ -373,7 +431,7 @@ public class ClientProxyController {
             HttpEntity<String> entity = new HttpEntity<>(vehicleData, headers);
 
             String targetUrl = CLIENT_SERVICE_URL + "/api/clients/" + clientId + "/vehicles";
-            log.info("рџЋЇ [PROXY CONTROLLER] Target URL: {}", targetUrl);
+            log.debug("рџЋЇ [PROXY CONTROLLER] Target URL: {}", targetUrl);
 
             ResponseEntity<String> response = restTemplate.exchange(
                 targetUrl,
@@ -382,7 +440,7 @@ public class ClientProxyController {
                 String.class
             );
 
-            log.info("вњ… [PROXY CONTROLLER] Client Service responded with status: {}", response.getStatusCode());
+            log.debug("вњ… [PROXY CONTROLLER] Client Service responded with status: {}", response.getStatusCode());
             return ResponseEntity.status(response.getStatusCode())
                     .headers(ProxyUtils.filterResponseHeaders(response.getHeaders()))
                     .body(response.getBody());
@@ -390,6 +448,8 @@ public class ClientProxyController {
         } catch (HttpClientErrorException e) {
             log.error("вќЊ [PROXY CONTROLLER] Client Service returned error: {} - {}", e.getStatusCode(), e.getMessage());
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+        } catch (UpstreamUnavailableException e) {
+            return ProxyUtils.upstreamUnavailable(e);
         } catch (Exception e) {
             log.error("рџ’Ґ [PROXY CONTROLLER] Error proxying request to Client Service", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -403,7 +463,7 @@ public class ClientProxyController {
      * Uses ProxyUtils to skip hop-by-hop and Accept-Encoding headers.
      */
     private HttpHeaders extractHeaders(HttpServletRequest request) {
-        log.info("рџ”§ [EXTRACT HEADERS] Starting header extraction");
+        log.debug("рџ”§ [EXTRACT HEADERS] Starting header extraction");
         HttpHeaders headers = new HttpHeaders();
         Enumeration<String> headerNames = request.getHeaderNames();
 
@@ -414,15 +474,15 @@ public class ClientProxyController {
                     headers.put(headerName, Collections.list(request.getHeaders(headerName)));
 
                     if (headerName.equalsIgnoreCase("Authorization")) {
-                        log.info("рџ”§ [EXTRACT HEADERS] {}: Bearer ***", headerName);
+                        log.debug("рџ”§ [EXTRACT HEADERS] {}: Bearer ***", headerName);
                     } else {
-                        log.info("рџ”§ [EXTRACT HEADERS] {}: {}", headerName, request.getHeader(headerName));
+                        log.debug("рџ”§ [EXTRACT HEADERS] {}: {}", headerName, request.getHeader(headerName));
                     }
                 }
             }
         }
 
-        log.info("рџ”§ [EXTRACT HEADERS] Total headers extracted: {}", headers.size());
+        log.debug("рџ”§ [EXTRACT HEADERS] Total headers extracted: {}", headers.size());
         return headers;
     }
 }
@@ -1,5 +1,6 @@
 package com.parking.api_gateway.controller;
 
+import com.parking.api_gateway.resilience.UpstreamUnavailableException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
@@ -28,7 +29,7 @@ public class GateControlProxyController {
      */
     @PostMapping("/entry")
     public ResponseEntity<?> openEntryGate(@RequestBody String entryData, HttpServletRequest request) {
-        log.info("Proxying POST request to Gate Control Service: /api/gate/entry");
+        log.debug("Proxying POST request to Gate Control Service: /api/gate/entry");
         return proxyRequest(HttpMethod.POST, "/api/gate/entry", entryData, request);
     }
 
@@ -37,7 +38,7 @@ public class GateControlProxyController {
      */
     @PostMapping("/exit")
     public ResponseEntity<?> openExitGate(@RequestBody String exitData, HttpServletRequest request) {
-        log.info("Proxying POST request to Gate Control Service: /api/gate/exit");
+        log.debug("Proxying POST request to Gate Control Service: /api/gate/exit");
         return proxyRequest(HttpMethod.POST, "/api/gate/exit", exitData, request);
     }
 
@@ -46,7 +47,7 @@ public class GateControlProxyController {
      */
     @PostMapping("/control")
     public ResponseEntity<?> manualGateControl(@RequestBody String controlData, HttpServletRequest request) {
-        log.info("Proxying POST request to Gate Control Service: /api/gate/control");
+        log.debug("Proxying POST request to Gate Control Service: /api/gate/control");
         return proxyRequest(HttpMethod.POST, "/api/gate/control", controlData, request);
     }
 
@@ -55,7 +56,7 @@ public class GateControlProxyController {
      */
     @GetMapping("/events")
     public ResponseEntity<?> getAllGateEvents(HttpServletRequest request) {
-        log.info("Proxying GET request to Gate Control Service: /api/gate/events");
+        log.debug("Proxying GET request to Gate Control Service: /api/gate/events");
         return proxyRequest(HttpMethod.GET, "/api/gate/events", null, request);
     }
 
@@ -64,7 +65,7 @@ public class GateControlProxyController {
      */
     @GetMapping("/events/{id}")
     public ResponseEntity<?> getGateEventById(@PathVariable Long id, HttpServletRequest request) {
-        log.info("Proxying GET request to Gate Control Service: /api/gate/events/{}", id);
+        log.debug("Proxying GET request to Gate Control Service: /api/gate/events/{}", id);
         return proxyRequest(HttpMethod.GET, "/api/gate/events/" + id, null, request);
     }
 
@@ -73,7 +74,7 @@ public class GateControlProxyController {
      */
     @GetMapping("/status")
     public ResponseEntity<?> getGateStatus(HttpServletRequest request) {
-        log.info("Proxying GET request to Gate Control Service: /api/gate/status");
+        log.debug("Proxying GET request to Gate Control Service: /api/gate/status");
         return proxyRequest(HttpMethod.GET, "/api/gate/status", null, request);
     }
 
@@ -82,7 +83,7 @@ public class GateControlProxyController {
      */
     @GetMapping("/clients/{clientId}/history")
     public ResponseEntity<?> getClientGateHistory(@PathVariable Long clientId, HttpServletRequest request) {
-        log.info("Proxying GET request to Gate Control Service: /api/gate/clients/{}/history", clientId);
+        log.debug("Proxying GET request to Gate Control Service: /api/gate/clients/{}/history", clientId);
         return proxyRequest(HttpMethod.GET, "/api/gate/clients/" + clientId + "/history", null, request);
     }
 
@@ -92,9 +93,9 @@ public class GateControlProxyController {
     private ResponseEntity<?> proxyRequest(HttpMethod method, String path, String body,
                                           HttpServletRequest request) {
         try {
-            log.info("Proxying request: {} {} to {}", method, path, GATE_SERVICE_URL + path);
+            log.debug("Proxying request: {} {} to {}", method, path, GATE_SERVICE_URL + path);
             if (body != null) {
-                log.info("Request body: {}", body);
+                log.debug("Request body: {}", body);
             }
 
             HttpHeaders headers = new HttpHeaders();
@@ -109,7 +110,7 @@ public class GateControlProxyController {
                 String.class
             );
 
-            log.info("Gate Control Service responded with status: {}", response.getStatusCode());
+            log.debug("Gate Control Service responded with status: {}", response.getStatusCode());
             return ResponseEntity.status(response.getStatusCode())
                     .headers(ProxyUtils.filterResponseHeaders(response.getHeaders()))
                     .body(response.getBody());
@@ -122,6 +123,8 @@ public class GateControlProxyController {
             log.error("Gate Control Service returned server error: {} - {}. Response: {}",
                 e.getStatusCode(), e.getMessage(), e.getResponseBodyAsString());
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+        } catch (UpstreamUnavailableException e) {
+            return ProxyUtils.upstreamUnavailable(e);
         } catch (Exception e) {
             log.error("Error proxying request to Gate Control Service", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
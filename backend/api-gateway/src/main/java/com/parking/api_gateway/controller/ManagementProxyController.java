@@ -1,13 +1,22 @@
 package com.parking.api_gateway.controller;
 
+import com.parking.api_gateway.resilience.UpstreamUnavailableException;
+import com.parking.api_gateway.cache.GatewayResponseCache;
+import com.parking.api_gateway.config.StreamingUpstreamClient;
+import com.parking.api_gateway.stream.AvailabilityStreamRelay;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Optional;
 
 /**
  * Proxy controller for Management Service
@@ -20,14 +29,23 @@ import jakarta.servlet.http.HttpServletRequest;
 public class ManagementProxyController {
 
     private final RestTemplate restTemplate;
+    private final GatewayResponseCache responseCache;
+    private final AvailabilityStreamRelay availabilityStream;
+    private final StreamingUpstreamClient streamingClient;
     private static final String MANAGEMENT_SERVICE_URL = "http://management-service:8083";
+    /** Cached spot and lot availability; a spot write can change both. */
+    private static final String CACHED_PATHS = "/api/management/";
+    /** Sensor readings change nothing when posted; confirmed changes are written later, in batches. */
+    private static final String SENSOR_READINGS_PATH = "/api/management/sensors/readings";
+    /** Bookings hold time windows, not spot status: they leave cached availability valid. */
+    private static final String BOOKINGS_PATH = "/api/management/bookings";
 
     /**
      * Proxy GET request to fetch all parking spots
      */
     @GetMapping("/spots")
     public ResponseEntity<?> getAllParkingSpots(HttpServletRequest request) {
-        log.info("Proxying GET request to Management Service: /api/management/spots");
+        log.debug("Proxying GET request to Management Service: /api/management/spots");
         return proxyRequest(HttpMethod.GET, "/api/management/spots", null, request);
     }
 
@@ -36,7 +54,7 @@ public class ManagementProxyController {
      */
     @GetMapping("/spots/{id}")
     public ResponseEntity<?> getParkingSpotById(@PathVariable Long id, HttpServletRequest request) {
-        log.info("Proxying GET request to Management Service: /api/management/spots/{}", id);
+        log.debug("Proxying GET request to Management Service: /api/management/spots/{}", id);
         return proxyRequest(HttpMethod.GET, "/api/management/spots/" + id, null, request);
     }
 
@@ -45,7 +63,7 @@ public class ManagementProxyController {
      */
     @PostMapping("/spots")
     public ResponseEntity<?> createParkingSpot(@RequestBody String spotData, HttpServletRequest request) {
-        log.info("Proxying POST request to Management Service: /api/management/spots");
+        log.debug("Proxying POST request to Management Service: /api/management/spots");
         return proxyRequest(HttpMethod.POST, "/api/management/spots", spotData, request);
     }
 
@@ -55,7 +73,7 @@ public class ManagementProxyController {
     @PutMapping("/spots/{id}")
     public ResponseEntity<?> updateParkingSpot(@PathVariable Long id, @RequestBody String spotData,
                                                HttpServletRequest request) {
-        log.info("Proxying PUT request to Management Service: /api/management/spots/{}", id);
+        log.debug("Proxying PUT request to Management Service: /api/management/spots/{}", id);
         return proxyRequest(HttpMethod.PUT, "/api/management/spots/" + id, spotData, request);
     }
 
@@ -64,7 +82,7 @@ public class ManagementProxyController {
      */
     @DeleteMapping("/spots/{id}")
     public ResponseEntity<?> deleteParkingSpot(@PathVariable Long id, HttpServletRequest request) {
-        log.info("Proxying DELETE request to Management Service: /api/management/spots/{}", id);
+        log.debug("Proxying DELETE request to Management Service: /api/management/spots/{}", id);
         return proxyRequest(HttpMethod.DELETE, "/api/management/spots/" + id, null, request);
     }
 
@@ -73,8 +91,8 @@ public class ManagementProxyController {
      */
     @GetMapping("/spots/available/count")
     public ResponseEntity<?> getAvailableSpotCount(HttpServletRequest request) {
-        log.info("Proxying GET request to Management Service: /api/management/spots/available/count");
-        return proxyRequest(HttpMethod.GET, "/api/management/spots/available/count", null, request);
+        log.debug("Proxying GET request to Management Service: /api/management/spots/available/count");
+        return cachedGet("/api/management/spots/available/count", null, request);
     }
 
     /**
@@ -82,8 +100,8 @@ public class ManagementProxyController {
      */
     @GetMapping("/spots/available/lot/{lotId}")
     public ResponseEntity<?> getAvailableSpotsByLot(@PathVariable Long lotId, HttpServletRequest request) {
-        log.info("Proxying GET request to Management Service: /api/management/spots/available/lot/{}", lotId);
-        return proxyRequest(HttpMethod.GET, "/api/management/spots/available/lot/" + lotId, null, request);
+        log.debug("Proxying GET request to Management Service: /api/management/spots/available/lot/{}", lotId);
+        return cachedGet("/api/management/spots/available/lot/" + lotId, null, request);
     }
 
     /**
@@ -91,8 +109,137 @@ public class ManagementProxyController {
      */
     @GetMapping("/spots/available")
     public ResponseEntity<?> getAvailableSpots(HttpServletRequest request) {
-        log.info("Proxying GET request to Management Service: /api/management/spots/available");
-        return proxyRequest(HttpMethod.GET, "/api/management/spots/available", null, request);
+        log.debug("Proxying GET request to Management Service: /api/management/spots/available");
+        return cachedGet("/api/management/spots/available", null, request);
+    }
+
+    /**
+     * Proxy POST request to allocate the best free spot matching the criteria
+     */
+    @PostMapping("/spots/allocate")
+    public ResponseEntity<?> allocateSpot(HttpServletRequest request) {
+        log.debug("Proxying POST request to Management Service: /api/management/spots/allocate");
+        return proxyRequest(HttpMethod.POST,
+                ProxyUtils.withQueryString(MANAGEMENT_SERVICE_URL + "/api/management/spots/allocate", request), null);
+    }
+
+    /**
+     * Proxy POST request to import spots in bulk; JSON or CSV, the content type is passed through.
+     * The body is streamed to Management Service as it arrives, not read into memory first.
+     */
+    @PostMapping("/spots/import")
+    public ResponseEntity<?> importSpots(HttpServletRequest request) {
+        log.debug("Proxying POST request to Management Service: /api/management/spots/import ({})", request.getContentType());
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(request.getContentType() != null
+                ? MediaType.parseMediaType(request.getContentType()) : MediaType.APPLICATION_JSON);
+        if (request.getContentLengthLong() >= 0) {
+            headers.setContentLength(request.getContentLengthLong());
+        }
+        try {
+            ResponseEntity<String> response = streamingClient.exchange(
+                    URI.create(MANAGEMENT_SERVICE_URL + "/api/management/spots/import"), HttpMethod.POST,
+                    headers, request.getInputStream());
+            log.debug("Management Service responded with status: {}", response.getStatusCode());
+            if (response.getStatusCode().is2xxSuccessful()) {
+                responseCache.invalidate(CACHED_PATHS);
+            }
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(ProxyUtils.filterResponseHeaders(response.getHeaders()))
+                    .body(response.getBody());
+        } catch (UpstreamUnavailableException e) {
+            return ProxyUtils.upstreamUnavailable(e);
+        } catch (IOException e) {
+            log.error("Error streaming import to Management Service", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error communicating with Management Service: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Proxy POST request to change the status of many spots at once
+     */
+    @PostMapping("/spots/status/batch")
+    public ResponseEntity<?> updateSpotStatuses(@RequestBody String updates, HttpServletRequest request) {
+        log.debug("Proxying POST request to Management Service: /api/management/spots/status/batch");
+        return proxyRequest(HttpMethod.POST, "/api/management/spots/status/batch", updates, request);
+    }
+
+    /**
+     * Proxy POST request to submit occupancy sensor readings
+     */
+    @PostMapping("/sensors/readings")
+    public ResponseEntity<?> submitSensorReadings(@RequestBody String readings, HttpServletRequest request) {
+        log.debug("Proxying POST request to Management Service: /api/management/sensors/readings");
+        return proxyRequest(HttpMethod.POST, SENSOR_READINGS_PATH, readings, request);
+    }
+
+    /**
+     * Proxy POST request to book a spot for a time window
+     */
+    @PostMapping("/bookings")
+    public ResponseEntity<?> createBooking(@RequestBody String booking, HttpServletRequest request) {
+        log.debug("Proxying POST request to Management Service: /api/management/bookings");
+        return proxyRequest(HttpMethod.POST, BOOKINGS_PATH, booking, request);
+    }
+
+    /**
+     * Proxy GET request to find spots of a lot free for a time window; not cached, the
+     * window makes every query different
+     */
+    @GetMapping("/bookings/availability")
+    public ResponseEntity<?> findBookableSpots(HttpServletRequest request) {
+        log.debug("Proxying GET request to Management Service: /api/management/bookings/availability?{}", request.getQueryString());
+        return proxyRequest(HttpMethod.GET,
+                ProxyUtils.withQueryString(MANAGEMENT_SERVICE_URL + BOOKINGS_PATH + "/availability", request), null);
+    }
+
+    /**
+     * Proxy POST request to cancel a booking
+     */
+    @PostMapping("/bookings/{id}/cancel")
+    public ResponseEntity<?> cancelBooking(@PathVariable Long id, HttpServletRequest request) {
+        log.debug("Proxying POST request to Management Service: /api/management/bookings/{}/cancel", id);
+        return proxyRequest(HttpMethod.POST, BOOKINGS_PATH + "/" + id + "/cancel", null, request);
+    }
+
+    /**
+     * Proxy POST request to change a spot's status (compare-and-set)
+     */
+    @PostMapping("/spots/{id}/status")
+    public ResponseEntity<?> transitionSpotStatus(@PathVariable Long id, @RequestBody String transition,
+                                                  HttpServletRequest request) {
+        log.debug("Proxying POST request to Management Service: /api/management/spots/{}/status", id);
+        return proxyRequest(HttpMethod.POST, "/api/management/spots/" + id + "/status", transition, request);
+    }
+
+    /**
+     * Availability push stream (server-sent events), served from the gateway's single
+     * upstream connection instead of one proxied connection per client
+     */
+    @GetMapping(value = "/spots/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(@RequestParam(required = false) Long lotId) {
+        log.debug("Subscribing to availability stream - lot: {}", lotId);
+        return availabilityStream.subscribe(lotId);
+    }
+
+    /**
+     * Proxy GET request to fetch availability counters of every lot
+     */
+    @GetMapping("/lots/availability")
+    public ResponseEntity<?> getLotAvailability(HttpServletRequest request) {
+        log.debug("Proxying GET request to Management Service: /api/management/lots/availability");
+        return cachedGet("/api/management/lots/availability", null, request);
+    }
+
+    /**
+     * Proxy GET request to find the nearest lots with free spaces
+     */
+    @GetMapping("/lots/nearest")
+    public ResponseEntity<?> findNearestLots(HttpServletRequest request) {
+        log.debug("Proxying GET request to Management Service: /api/management/lots/nearest");
+        return proxyRequest(HttpMethod.GET,
+                ProxyUtils.withQueryString(MANAGEMENT_SERVICE_URL + "/api/management/lots/nearest", request), null);
     }
 
     /**
@@ -102,15 +249,21 @@ public class ManagementProxyController {
     public ResponseEntity<?> searchSpots(@RequestParam(required = false) String type,
                                           @RequestParam(required = false) String status,
                                           HttpServletRequest request) {
-        log.info("Proxying GET request to Management Service: /api/management/spots/search?type={}&status={}", type, status);
-        String query = "";
-        if (type != null || status != null) {
-            query = "?";
-            if (type != null) query += "type=" + type;
-            if (type != null && status != null) query += "&";
-            if (status != null) query += "status=" + status;
-        }
-        return proxyRequest(HttpMethod.GET, "/api/management/spots/search" + query, null, request);
+        log.debug("Proxying GET request to Management Service: /api/management/spots/search?type={}&status={}", type, status);
+        String query = UriComponentsBuilder.newInstance()
+                .queryParamIfPresent("type", Optional.ofNullable(type))
+                .queryParamIfPresent("status", Optional.ofNullable(status))
+                .encode().build().getQuery();
+        return cachedGet("/api/management/spots/search", query, request);
+    }
+
+    /**
+     * Proxy GET request to query spots page by page; the query string is passed through
+     */
+    @GetMapping("/spots/query")
+    public ResponseEntity<?> querySpots(HttpServletRequest request) {
+        log.debug("Proxying GET request to Management Service: /api/management/spots/query?{}", request.getQueryString());
+        return cachedGet("/api/management/spots/query", request.getQueryString(), request);
     }
 
     /**
@@ -118,7 +271,7 @@ public class ManagementProxyController {
      */
     @GetMapping("/spots/occupied")
     public ResponseEntity<?> getOccupiedSpots(HttpServletRequest request) {
-        log.info("Proxying GET request to Management Service: /api/management/spots/occupied");
+        log.debug("Proxying GET request to Management Service: /api/management/spots/occupied");
         return proxyRequest(HttpMethod.GET, "/api/management/spots/occupied", null, request);
     }
 
@@ -128,31 +281,67 @@ public class ManagementProxyController {
     @PostMapping("/spots/{spotId}/assign/{clientId}")
     public ResponseEntity<?> assignSpotToClient(@PathVariable Long spotId, @PathVariable Long clientId,
                                                 HttpServletRequest request) {
-        log.info("Proxying POST request to Management Service: /api/management/spots/{}/assign/{}",
+        log.debug("Proxying POST request to Management Service: /api/management/spots/{}/assign/{}",
                 spotId, clientId);
         return proxyRequest(HttpMethod.POST,
                 "/api/management/spots/" + spotId + "/assign/" + clientId, null, request);
     }
 
+    /**
+     * Public availability reads go through the gateway response cache
+     * (per-route TTL, ETag / If-None-Match, stale-while-revalidate).
+     * {@code query} is already encoded; the cache key and the upstream URI use it as is.
+     * The loader must not touch {@code request}: it may run on a refresh thread.
+     */
+    private ResponseEntity<?> cachedGet(String path, String query, HttpServletRequest request) {
+        URI target = ProxyUtils.withQuery(MANAGEMENT_SERVICE_URL + path, query);
+        return responseCache.get(path, query, request,
+                () -> proxyRequestWithContentType(HttpMethod.GET, target, null, MediaType.APPLICATION_JSON));
+    }
+
     /**
      * Generic proxy method for all HTTP methods
      */
     private ResponseEntity<?> proxyRequest(HttpMethod method, String path, String body,
                                           HttpServletRequest request) {
+        return proxyRequestWithContentType(method, path, body, MediaType.APPLICATION_JSON);
+    }
+
+    private ResponseEntity<?> proxyRequest(HttpMethod method, URI target, String body) {
+        return proxyRequestWithContentType(method, target, body, MediaType.APPLICATION_JSON);
+    }
+
+    private ResponseEntity<?> proxyRequestWithContentType(HttpMethod method, String path, String body,
+                                                         MediaType contentType) {
+        return proxyRequestWithContentType(method, URI.create(MANAGEMENT_SERVICE_URL + path), body, contentType);
+    }
+
+    /**
+     * {@code target} carries any query string already encoded (see {@link ProxyUtils#withQueryString});
+     * a String URL would be encoded a second time by RestTemplate.
+     */
+    private ResponseEntity<?> proxyRequestWithContentType(HttpMethod method, URI target, String body,
+                                                         MediaType contentType) {
+        String path = target.getPath();
         try {
             HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setContentType(contentType);
 
             HttpEntity<String> entity = new HttpEntity<>(body, headers);
 
             ResponseEntity<String> response = restTemplate.exchange(
-                MANAGEMENT_SERVICE_URL + path,
+                target,
                 method,
                 entity,
                 String.class
             );
 
-            log.info("Management Service responded with status: {}", response.getStatusCode());
+            log.debug("Management Service responded with status: {}", response.getStatusCode());
+            if (method != HttpMethod.GET && response.getStatusCode().is2xxSuccessful()
+                    && !path.equals(SENSOR_READINGS_PATH) && !path.startsWith(BOOKINGS_PATH)) {
+                // spot state changed: drop cached availability instead of waiting for TTL
+                responseCache.invalidate(CACHED_PATHS);
+            }
             return ResponseEntity.status(response.getStatusCode())
                     .headers(ProxyUtils.filterResponseHeaders(response.getHeaders()))
                     .body(response.getBody());
@@ -160,6 +349,8 @@ public class ManagementProxyController {
         } catch (HttpClientErrorException e) {
             log.error("Management Service returned error: {} - {}", e.getStatusCode(), e.getMessage());
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+        } catch (UpstreamUnavailableException e) {
+            return ProxyUtils.upstreamUnavailable(e);
         } catch (Exception e) {
             log.error("Error proxying request to Management Service", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -1,7 +1,12 @@
 package com.parking.api_gateway.controller;
 
+import com.parking.api_gateway.resilience.UpstreamUnavailableException;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 
+import java.net.URI;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
@@ -52,6 +57,7 @@ public final class ProxyUtils {
     static {
         SKIP_REQUEST.add("accept-encoding"); // allow HttpURLConnection to auto-decompress
         SKIP_REQUEST.add("host");            // each hop has its own host
+        SKIP_REQUEST.add("x-internal-identity"); // only the gateway may mint it (JwtRequestInterceptor)
     }
 
     /**
@@ -75,5 +81,29 @@ public final class ProxyUtils {
         });
         return filtered;
     }
-}
 
+    /**
+     * {@code url} plus the caller's query string, exactly as received. Returned as a
+     * {@link URI} so RestTemplate does not encode the already-encoded query again.
+     */
+    public static URI withQueryString(String url, HttpServletRequest request) {
+        return withQuery(url, request.getQueryString());
+    }
+
+    /** {@code url} plus an already-encoded {@code query} (may be null), as a {@link URI}. */
+    public static URI withQuery(String url, String query) {
+        return URI.create(query == null || query.isEmpty() ? url : url + "?" + query);
+    }
+
+    /**
+     * 503 for a call rejected by the upstream bulkhead or circuit breaker.
+     * No stack trace is logged: under an outage this path is hot and the
+     * rejection is already counted in gateway.upstream.rejections.
+     */
+    public static ResponseEntity<String> upstreamUnavailable(UpstreamUnavailableException e) {
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body("Service temporarily unavailable: " + e.getUpstream());
+    }
+}
@@ -1,5 +1,6 @@
 package com.parking.api_gateway.controller;
 
+import com.parking.api_gateway.resilience.UpstreamUnavailableException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
@@ -29,15 +30,15 @@ public class ReportingProxyController {
      */
     @PostMapping("/log")
     public ResponseEntity<?> createLog(@RequestBody String body, HttpServletRequest request) {
-        log.info("🚀 [REPORTING PROXY] POST /api/reporting/log");
-        log.info("📦 [REPORTING PROXY] Request body length: {} bytes", body != null ? body.length() : 0);
+        log.debug("🚀 [REPORTING PROXY] POST /api/reporting/log");
+        log.debug("📦 [REPORTING PROXY] Request body length: {} bytes", body != null ? body.length() : 0);
 
         try {
             HttpHeaders headers = extractHeaders(request);
             HttpEntity<String> entity = new HttpEntity<>(body, headers);
 
             String targetUrl = REPORTING_SERVICE_URL + "/api/reporting/log";
-            log.info("🎯 [REPORTING PROXY] Proxying to: {}", targetUrl);
+            log.debug("🎯 [REPORTING PROXY] Proxying to: {}", targetUrl);
 
             ResponseEntity<String> response = restTemplate.exchange(
                 targetUrl,
@@ -46,7 +47,7 @@ public class ReportingProxyController {
                 String.class
             );
 
-            log.info("✅ [REPORTING PROXY] Reporting Service responded: {}", response.getStatusCode());
+            log.debug("✅ [REPORTING PROXY] Reporting Service responded: {}", response.getStatusCode());
             return ResponseEntity.status(response.getStatusCode())
                     .headers(ProxyUtils.filterResponseHeaders(response.getHeaders()))
                     .body(response.getBody());
@@ -54,6 +55,8 @@ public class ReportingProxyController {
         } catch (HttpClientErrorException e) {
             log.error("❌ [REPORTING PROXY] Reporting Service error: {} - {}", e.getStatusCode(), e.getMessage());
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+        } catch (UpstreamUnavailableException e) {
+            return ProxyUtils.upstreamUnavailable(e);
         } catch (Exception e) {
             log.error("💥 [REPORTING PROXY] Exception: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -74,7 +77,7 @@ public class ReportingProxyController {
             @RequestParam(required = false) Integer limit,
             HttpServletRequest request) {
 
-        log.info("🚀 [REPORTING PROXY] GET /api/reporting/logs with filters: level={}, service={}, userId={}, limit={}",
+        log.debug("🚀 [REPORTING PROXY] GET /api/reporting/logs with filters: level={}, service={}, userId={}, limit={}",
                 level, service, userId, limit);
 
         try {
@@ -111,7 +114,7 @@ public class ReportingProxyController {
             }
 
             String targetUrl = urlBuilder.toString();
-            log.info("🎯 [REPORTING PROXY] Proxying to: {}", targetUrl);
+            log.debug("🎯 [REPORTING PROXY] Proxying to: {}", targetUrl);
 
             ResponseEntity<String> response = restTemplate.exchange(
                 targetUrl,
@@ -120,7 +123,7 @@ public class ReportingProxyController {
                 String.class
             );
 
-            log.info("✅ [REPORTING PROXY] Reporting Service responded: {}", response.getStatusCode());
+            log.debug("✅ [REPORTING PROXY] Reporting Service responded: {}", response.getStatusCode());
             return ResponseEntity.status(response.getStatusCode())
                     .headers(ProxyUtils.filterResponseHeaders(response.getHeaders()))
                     .body(response.getBody());
@@ -128,6 +131,8 @@ public class ReportingProxyController {
         } catch (HttpClientErrorException e) {
             log.error("❌ [REPORTING PROXY] Reporting Service error: {} - {}", e.getStatusCode(), e.getMessage());
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+        } catch (UpstreamUnavailableException e) {
+            return ProxyUtils.upstreamUnavailable(e);
         } catch (Exception e) {
             log.error("💥 [REPORTING PROXY] Exception: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -183,17 +188,19 @@ public class ReportingProxyController {
     // ── Helpers ──────────────────────────────────────────────────────
 
     private ResponseEntity<?> proxyGet(String targetUrl, HttpServletRequest request) {
-        log.info("🎯 [REPORTING PROXY] GET {}", targetUrl);
+        log.debug("🎯 [REPORTING PROXY] GET {}", targetUrl);
         try {
             HttpHeaders headers = extractHeaders(request);
             HttpEntity<Void> entity = new HttpEntity<>(headers);
             ResponseEntity<String> response = restTemplate.exchange(targetUrl, HttpMethod.GET, entity, String.class);
-            log.info("✅ [REPORTING PROXY] responded: {}", response.getStatusCode());
+            log.debug("✅ [REPORTING PROXY] responded: {}", response.getStatusCode());
             return ResponseEntity.status(response.getStatusCode())
                     .headers(ProxyUtils.filterResponseHeaders(response.getHeaders()))
                     .body(response.getBody());
         } catch (HttpClientErrorException e) {
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+        } catch (UpstreamUnavailableException e) {
+            return ProxyUtils.upstreamUnavailable(e);
         } catch (Exception e) {
             log.error("💥 [REPORTING PROXY] {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -1,5 +1,6 @@
 package com.parking.api_gateway.controller;
 
+import com.parking.api_gateway.resilience.UpstreamUnavailableException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
@@ -40,7 +41,7 @@ public class SubscriptionProxyController {
             @RequestParam String licensePlate,
             HttpServletRequest request) {
 
-        log.info("🔍 [SUBSCRIPTION PROXY] GET /api/v1/clients/subscriptions/check?licensePlate={}", licensePlate);
+        log.debug("🔍 [SUBSCRIPTION PROXY] GET /api/v1/clients/subscriptions/check?licensePlate={}", licensePlate);
 
         try {
             HttpHeaders headers = new HttpHeaders();
@@ -55,12 +56,12 @@ public class SubscriptionProxyController {
                     + "/api/v1/clients/subscriptions/check?licensePlate="
                     + java.net.URLEncoder.encode(licensePlate, java.nio.charset.StandardCharsets.UTF_8);
 
-            log.info("🎯 [SUBSCRIPTION PROXY] Forwarding to: {}", targetUrl);
+            log.debug("🎯 [SUBSCRIPTION PROXY] Forwarding to: {}", targetUrl);
 
             ResponseEntity<String> response = restTemplate.exchange(
                     targetUrl, HttpMethod.GET, entity, String.class);
 
-            log.info("✅ [SUBSCRIPTION PROXY] client-service responded: {}", response.getStatusCode());
+            log.debug("✅ [SUBSCRIPTION PROXY] client-service responded: {}", response.getStatusCode());
             return ResponseEntity.status(response.getStatusCode())
                     .headers(ProxyUtils.filterResponseHeaders(response.getHeaders()))
                     .body(response.getBody());
@@ -68,6 +69,8 @@ public class SubscriptionProxyController {
         } catch (HttpClientErrorException e) {
             log.error("❌ [SUBSCRIPTION PROXY] client-service error: {} - {}", e.getStatusCode(), e.getMessage());
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+        } catch (UpstreamUnavailableException e) {
+            return ProxyUtils.upstreamUnavailable(e);
         } catch (Exception e) {
             log.error("💥 [SUBSCRIPTION PROXY] Exception: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -1,4 +1,5 @@
 package com.parking.api_gateway.controller;
+import com.parking.api_gateway.resilience.UpstreamUnavailableException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
@@ -20,17 +21,21 @@ public class VehicleProxyController {
     private static final String CLIENT_SERVICE_URL = "http://client-service:8081";
     @GetMapping
     public ResponseEntity<?> getAllVehicles(HttpServletRequest request) {
-        log.info("[VEHICLE PROXY] GET /api/vehicles");
+        log.debug("[VEHICLE PROXY] GET /api/vehicles");
         try {
             HttpHeaders headers = extractHeaders(request);
             HttpEntity<Void> entity = new HttpEntity<>(headers);
+            // query passed through: ?size=... selects the keyset-paged listing
             ResponseEntity<String> response = restTemplate.exchange(
-                CLIENT_SERVICE_URL + "/api/vehicles", HttpMethod.GET, entity, String.class);
+                ProxyUtils.withQueryString(CLIENT_SERVICE_URL + "/api/vehicles", request),
+                HttpMethod.GET, entity, String.class);
             return ResponseEntity.status(response.getStatusCode())
                     .headers(ProxyUtils.filterResponseHeaders(response.getHeaders()))
                     .body(response.getBody());
         } catch (HttpClientErrorException e) {
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+        } catch (UpstreamUnavailableException e) {
+            return ProxyUtils.upstreamUnavailable(e);
         } catch (Exception e) {
             log.error("[VEHICLE PROXY] Error: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -39,7 +44,7 @@ public class VehicleProxyController {
     }
     @GetMapping("/{id}")
     public ResponseEntity<?> getVehicleById(@PathVariable Long id, HttpServletRequest request) {
-        log.info("[VEHICLE PROXY] GET /api/vehicles/{}", id);
+        log.debug("[VEHICLE PROXY] GET /api/vehicles/{}", id);
         try {
             HttpHeaders headers = extractHeaders(request);
             HttpEntity<Void> entity = new HttpEntity<>(headers);
@@ -50,6 +55,8 @@ public class VehicleProxyController {
                     .body(response.getBody());
         } catch (HttpClientErrorException e) {
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+        } catch (UpstreamUnavailableException e) {
+            return ProxyUtils.upstreamUnavailable(e);
         } catch (Exception e) {
             log.error("[VEHICLE PROXY] Error: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -58,7 +65,7 @@ public class VehicleProxyController {
     }
     @PostMapping
     public ResponseEntity<?> createVehicle(@RequestBody String vehicleData, HttpServletRequest request) {
-        log.info("[VEHICLE PROXY] POST /api/vehicles");
+        log.debug("[VEHICLE PROXY] POST /api/vehicles");
         try {
             HttpHeaders headers = extractHeaders(request);
             headers.setContentType(MediaType.APPLICATION_JSON);
@@ -70,6 +77,8 @@ public class VehicleProxyController {
                     .body(response.getBody());
         } catch (HttpClientErrorException e) {
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+        } catch (UpstreamUnavailableException e) {
+            return ProxyUtils.upstreamUnavailable(e);
         } catch (Exception e) {
             log.error("[VEHICLE PROXY] Error: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -78,7 +87,7 @@ public class VehicleProxyController {
     }
     @PutMapping("/{id}")
     public ResponseEntity<?> updateVehicle(@PathVariable Long id, @RequestBody String vehicleData, HttpServletRequest request) {
-        log.info("[VEHICLE PROXY] PUT /api/vehicles/{}", id);
+        log.debug("[VEHICLE PROXY] PUT /api/vehicles/{}", id);
         try {
             HttpHeaders headers = extractHeaders(request);
             headers.setContentType(MediaType.APPLICATION_JSON);
@@ -90,6 +99,8 @@ public class VehicleProxyController {
                     .body(response.getBody());
         } catch (HttpClientErrorException e) {
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+        } catch (UpstreamUnavailableException e) {
+            return ProxyUtils.upstreamUnavailable(e);
         } catch (Exception e) {
             log.error("[VEHICLE PROXY] Error: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -98,7 +109,7 @@ public class VehicleProxyController {
     }
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteVehicle(@PathVariable Long id, HttpServletRequest request) {
-        log.info("[VEHICLE PROXY] DELETE /api/vehicles/{}", id);
+        log.debug("[VEHICLE PROXY] DELETE /api/vehicles/{}", id);
         try {
             HttpHeaders headers = extractHeaders(request);
             HttpEntity<Void> entity = new HttpEntity<>(headers);
@@ -109,6 +120,8 @@ public class VehicleProxyController {
                     .body(response.getBody());
         } catch (HttpClientErrorException e) {
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+        } catch (UpstreamUnavailableException e) {
+            return ProxyUtils.upstreamUnavailable(e);
         } catch (Exception e) {
             log.error("[VEHICLE PROXY] Error: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -0,0 +1,51 @@
+package com.parking.api_gateway.observability.accesslog;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Fields of a sampled access-log line. Captured from the request when the line is
+ * selected (the servlet request is recycled afterwards); the text itself is built
+ * lazily in {@link #toString()} by the logging backend.
+ *
+ * <p>Format (logfmt): {@code method=GET path=/api/clients status=200 duration_ms=12.4
+ * ip=203.0.113.5 user=admin role=ADMIN}
+ */
+record AccessLogEntry(String method, String path, int status, long elapsedNanos,
+                      String clientIp, Object user, Object role) {
+
+    static AccessLogEntry of(HttpServletRequest request, int status, long elapsedNanos) {
+        return new AccessLogEntry(request.getMethod(), request.getRequestURI(), status, elapsedNanos,
+                clientIp(request), request.getAttribute("username"), request.getAttribute("role"));
+    }
+
+    @Override
+    public String toString() {
+        long micros = elapsedNanos / 1_000;
+        StringBuilder sb = new StringBuilder(128)
+                .append("method=").append(method)
+                .append(" path=").append(path)
+                .append(" status=").append(status)
+                .append(" duration_ms=").append(micros / 1_000).append('.').append((micros / 100) % 10)
+                .append(" ip=").append(clientIp);
+        if (user != null) {
+            sb.append(" user=").append(user);
+        }
+        if (role != null) {
+            sb.append(" role=").append(role);
+        }
+        return sb.toString();
+    }
+
+    private static String clientIp(HttpServletRequest request) {
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
+            int comma = xForwardedFor.indexOf(',');
+            return (comma < 0 ? xForwardedFor : xForwardedFor.substring(0, comma)).trim();
+        }
+        String xRealIp = request.getHeader("X-Real-IP");
+        if (xRealIp != null && !xRealIp.isEmpty()) {
+            return xRealIp;
+        }
+        return request.getRemoteAddr();
+    }
+}
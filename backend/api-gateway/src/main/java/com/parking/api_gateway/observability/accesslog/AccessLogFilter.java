@@ -0,0 +1,81 @@
+package com.parking.api_gateway.observability.accesslog;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One structured line per request on the {@code ACCESS_LOG} logger, replacing the
+ * step-by-step INFO logging previously done in SecurityFilter and the proxy controllers.
+ *
+ * <p>Registered at Order(-1) so it wraps CorsFilter (0) and SecurityFilter (1) and sees
+ * the final status, including 401/403/429 rejections.
+ *
+ * <p>Cost control:
+ * <ul>
+ *   <li>The sampling decision is made from status and latency only; nothing else is
+ *       read from the request unless the line is going to be written.</li>
+ *   <li>Errors ({@code status >= always-log-status}) and slow requests are always logged,
+ *       other requests with probability {@code sample-rate}.</li>
+ *   <li>{@link AccessLogEntry} is formatted only when the logging backend renders it;
+ *       {@code logback-spring.xml} routes ACCESS_LOG through an AsyncAppender.</li>
+ * </ul>
+ */
+@Component
+@Order(-1)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    static final Logger ACCESS_LOG = LoggerFactory.getLogger("ACCESS_LOG");
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final int alwaysLogStatus;
+    private final long slowThresholdNanos;
+
+    public AccessLogFilter(@Value("${gateway.access-log.enabled:true}") boolean enabled,
+                           @Value("${gateway.access-log.sample-rate:1.0}") double sampleRate,
+                           @Value("${gateway.access-log.always-log-status:400}") int alwaysLogStatus,
+                           @Value("${gateway.access-log.slow-threshold-ms:1000}") long slowThresholdMs) {
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.alwaysLogStatus = alwaysLogStatus;
+        this.slowThresholdNanos = slowThresholdMs * 1_000_000L;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!enabled || !ACCESS_LOG.isInfoEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            int status = response.getStatus();
+            if (shouldLog(status, elapsed)) {
+                ACCESS_LOG.info("{}", AccessLogEntry.of(request, status, elapsed));
+            }
+        }
+    }
+
+    boolean shouldLog(int status, long elapsedNanos) {
+        if (status >= alwaysLogStatus || elapsedNanos >= slowThresholdNanos) {
+            return true;
+        }
+        return sampleRate >= 1.0
+                || (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+}
@@ -19,6 +19,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 @Service
 @Slf4j
@@ -243,5 +244,99 @@ public class ObservabilityService {
             "status", healthy ? "healthy" : "unhealthy")
             .increment();
     }
+
+    // Response cache metrics (result: hit, stale, miss)
+    public void recordCacheLookup(String route, String result) {
+        meterRegistry.counter("gateway.cache.requests",
+            "route", route,
+            "result", result)
+            .increment();
+    }
+
+    // Password hashing pool and login admission metrics
+    public void recordPasswordHashQueueWait(long waitNanos) {
+        Timer.builder("auth.password_hash.queue_wait")
+            .description("Time a BCrypt task waited for a hashing thread")
+            .register(meterRegistry)
+            .record(waitNanos, java.util.concurrent.TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLoginRejected(String reason) {
+        meterRegistry.counter("auth.login.rejected", "reason", reason).increment();
+    }
+
+    public void registerPasswordHashGauges(Supplier<Number> queued, Supplier<Number> active) {
+        Gauge.builder("auth.password_hash.queued", queued)
+            .register(meterRegistry);
+        Gauge.builder("auth.password_hash.active", active)
+            .register(meterRegistry);
+    }
+
+    // Upstream (downstream service) resilience metrics
+    public void recordUpstreamCall(String upstream, String outcome, long durationNanos) {
+        Timer.builder("gateway.upstream.requests")
+            .description("Proxied call duration per downstream service")
+            .tag("upstream", upstream)
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .record(durationNanos, java.util.concurrent.TimeUnit.NANOSECONDS);
+    }
+
+    public void recordUpstreamRejection(String upstream, String reason) {
+        meterRegistry.counter("gateway.upstream.rejections",
+            "upstream", upstream,
+            "reason", reason)
+            .increment();
+    }
+
+    public void registerUpstreamGauges(String upstream, Supplier<Number> circuitState,
+                                       Supplier<Number> inFlight,
+                                       Supplier<Number> readTimeoutMs) {
+        Gauge.builder("gateway.upstream.circuit.state", circuitState)
+            .description("0 = closed, 1 = half-open, 2 = open")
+            .tag("upstream", upstream)
+            .register(meterRegistry);
+        Gauge.builder("gateway.upstream.inflight", inFlight)
+            .tag("upstream", upstream)
+            .register(meterRegistry);
+        Gauge.builder("gateway.upstream.read.timeout", readTimeoutMs)
+            .baseUnit("milliseconds")
+            .tag("upstream", upstream)
+            .register(meterRegistry);
+    }
+
+    // In-memory security state (rate limit windows, blocked IPs, token blacklist, ...)
+    public void registerSecurityStateGauges(String map, Supplier<Number> entries,
+                                            Supplier<Number> evictions,
+                                            Supplier<Number> expirations) {
+        Gauge.builder("security.state.entries", entries)
+            .tag("map", map)
+            .register(meterRegistry);
+        Gauge.builder("security.state.evictions", evictions)
+            .description("Entries dropped to stay within the size cap")
+            .tag("map", map)
+            .register(meterRegistry);
+        Gauge.builder("security.state.expirations", expirations)
+            .tag("map", map)
+            .register(meterRegistry);
+    }
+
+    // Asynchronous security audit pipeline
+    public void registerAuditGauges(Supplier<Number> queued, Supplier<Number> openWindows,
+                                    Supplier<Number> deduplicated, Supplier<Number> dropped,
+                                    Supplier<Number> exportFailures) {
+        Gauge.builder("security.audit.queue.size", queued)
+            .register(meterRegistry);
+        Gauge.builder("security.audit.dedup.windows", openWindows)
+            .register(meterRegistry);
+        Gauge.builder("security.audit.events.deduplicated", deduplicated)
+            .description("Events folded into a dedup window instead of being queued")
+            .register(meterRegistry);
+        Gauge.builder("security.audit.events.dropped", dropped)
+            .description("Events lost because the audit queue was full")
+            .register(meterRegistry);
+        Gauge.builder("security.audit.export.failures", exportFailures)
+            .register(meterRegistry);
+    }
 }
 
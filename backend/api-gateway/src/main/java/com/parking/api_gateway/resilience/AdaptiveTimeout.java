@@ -0,0 +1,43 @@
+package com.parking.api_gateway.resilience;
+
+/**
+ * Read timeout derived from observed latency, TCP-RTO style (RFC 6298):
+ * {@code srtt + 4 * rttvar}, clamped to {@code [min, max]}.
+ *
+ * <p>Until the first sample arrives the maximum is used. A slow upstream therefore
+ * gets a short leash only after it has shown it is normally fast; a degraded one
+ * drifts back up towards the ceiling.
+ */
+final class AdaptiveTimeout {
+
+    private final long minMillis;
+    private final long maxMillis;
+
+    // guarded by this
+    private double srtt = -1;
+    private double rttvar;
+
+    private volatile int currentMillis;
+
+    AdaptiveTimeout(long minMillis, long maxMillis) {
+        this.minMillis = minMillis;
+        this.maxMillis = Math.max(minMillis, maxMillis);
+        this.currentMillis = (int) this.maxMillis;
+    }
+
+    synchronized void record(long latencyMillis) {
+        if (srtt < 0) {
+            srtt = latencyMillis;
+            rttvar = latencyMillis / 2.0;
+        } else {
+            rttvar = 0.75 * rttvar + 0.25 * Math.abs(srtt - latencyMillis);
+            srtt = 0.875 * srtt + 0.125 * latencyMillis;
+        }
+        long timeout = (long) Math.ceil(srtt + 4 * rttvar);
+        currentMillis = (int) Math.min(maxMillis, Math.max(minMillis, timeout));
+    }
+
+    int timeoutMillis() {
+        return currentMillis;
+    }
+}
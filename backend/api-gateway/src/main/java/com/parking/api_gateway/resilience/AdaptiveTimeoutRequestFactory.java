@@ -0,0 +1,27 @@
+package com.parking.api_gateway.resilience;
+
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+
+/**
+ * {@link SimpleClientHttpRequestFactory} that sets the read timeout per connection
+ * from the target service's {@link UpstreamGuard} instead of one global value. Batch
+ * endpoints get their own fixed timeout.
+ */
+public class AdaptiveTimeoutRequestFactory extends SimpleClientHttpRequestFactory {
+
+    private final UpstreamGuards guards;
+
+    public AdaptiveTimeoutRequestFactory(UpstreamGuards guards) {
+        this.guards = guards;
+        setConnectTimeout(guards.connectTimeoutMillis());
+    }
+
+    @Override
+    protected void prepareConnection(HttpURLConnection connection, String httpMethod) throws IOException {
+        super.prepareConnection(connection, httpMethod);
+        connection.setReadTimeout(guards.readTimeoutMillis(connection.getURL().getHost(), connection.getURL().getPath()));
+    }
+}
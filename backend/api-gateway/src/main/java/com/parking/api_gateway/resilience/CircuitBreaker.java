@@ -0,0 +1,138 @@
+package com.parking.api_gateway.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker.
+ *
+ * <ul>
+ *   <li><b>CLOSED</b>: outcomes go into a ring of the last {@code windowSize} calls;
+ *       once {@code minimumCalls} are recorded and the failure rate reaches the
+ *       threshold the circuit opens.</li>
+ *   <li><b>OPEN</b>: calls are rejected without I/O until {@code openDuration} passes.</li>
+ *   <li><b>HALF_OPEN</b>: up to {@code halfOpenProbes} concurrent calls are let through;
+ *       one failure re-opens, all succeeding closes with a fresh window.</li>
+ * </ul>
+ * State changes are rare and cheap, so a monitor is used instead of CAS loops.
+ */
+@Slf4j
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    /** What {@link #tryAcquire()} granted; passed back to {@link #onResult}. */
+    public enum Admission { REJECTED, CALL, PROBE }
+
+    private final String name;
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenProbes;
+    private final LongSupplier nanoClock;
+
+    // guarded by this
+    private State state = State.CLOSED;
+    private final boolean[] window;
+    private int windowIndex;
+    private int recorded;
+    private int failures;
+    private long openedAt;
+    private int probesInFlight;
+    private int probeSuccesses;
+
+    public CircuitBreaker(String name, double failureRateThreshold, int windowSize, int minimumCalls,
+                          long openNanos, int halfOpenProbes, LongSupplier nanoClock) {
+        this.name = name;
+        this.failureRateThreshold = failureRateThreshold;
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, window.length));
+        this.openNanos = openNanos;
+        this.halfOpenProbes = Math.max(1, halfOpenProbes);
+        this.nanoClock = nanoClock;
+    }
+
+    public synchronized Admission tryAcquire() {
+        if (state == State.CLOSED) {
+            return Admission.CALL;
+        }
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openNanos) {
+                return Admission.REJECTED;
+            }
+            state = State.HALF_OPEN;
+            probesInFlight = 0;
+            probeSuccesses = 0;
+            log.info("Circuit for {} half-open, probing", name);
+        }
+        if (probesInFlight >= halfOpenProbes) {
+            return Admission.REJECTED;
+        }
+        probesInFlight++;
+        return Admission.PROBE;
+    }
+
+    /** Give back an admission that never reached the upstream (e.g. bulkhead full). */
+    public synchronized void release(Admission admission) {
+        if (admission == Admission.PROBE && state == State.HALF_OPEN) {
+            probesInFlight--;
+        }
+    }
+
+    public synchronized void onResult(Admission admission, boolean success) {
+        if (admission == Admission.PROBE) {
+            if (state != State.HALF_OPEN) {
+                return;
+            }
+            probesInFlight--;
+            if (!success) {
+                trip();
+            } else if (++probeSuccesses >= halfOpenProbes) {
+                reset();
+                log.info("Circuit for {} closed", name);
+            }
+            return;
+        }
+        if (admission != Admission.CALL || state != State.CLOSED) {
+            return; // late result of a call admitted before the circuit opened
+        }
+        if (recorded == window.length) {
+            if (!window[windowIndex]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[windowIndex] = success;
+        if (!success) {
+            failures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+        if (recorded >= minimumCalls && failures >= failureRateThreshold * recorded) {
+            log.warn("Circuit for {} opened: {}/{} recent calls failed", name, failures, recorded);
+            trip();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /** Time until an open circuit admits probes (zero when not open). */
+    public synchronized long remainingOpenNanos() {
+        return state == State.OPEN ? Math.max(0, openNanos - (nanoClock.getAsLong() - openedAt)) : 0;
+    }
+
+    private void trip() {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+    }
+
+    private void reset() {
+        state = State.CLOSED;
+        windowIndex = 0;
+        recorded = 0;
+        failures = 0;
+    }
+}
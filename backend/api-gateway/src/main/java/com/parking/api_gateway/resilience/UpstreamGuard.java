@@ -0,0 +1,90 @@
+package com.parking.api_gateway.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Isolation state for one downstream service: bulkhead, circuit breaker and
+ * adaptive read timeout. Callers pair every successful {@link #acquire()} with
+ * exactly one {@link #complete}.
+ */
+public final class UpstreamGuard {
+
+    private static final Duration BULKHEAD_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final String name;
+    private final int maxConcurrentCalls;
+    private final Semaphore bulkhead;
+    private final long maxWaitNanos;
+    private final CircuitBreaker circuitBreaker;
+    private final AdaptiveTimeout readTimeout;
+
+    UpstreamGuard(String name, UpstreamProperties.Settings settings, LongSupplier nanoClock) {
+        this.name = name;
+        this.maxConcurrentCalls = settings.getMaxConcurrentCalls();
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.maxWaitNanos = settings.getMaxWait().toNanos();
+        this.circuitBreaker = new CircuitBreaker(name, settings.getFailureRateThreshold(),
+                settings.getSlidingWindowSize(), settings.getMinimumCalls(),
+                settings.getOpenDuration().toNanos(), settings.getHalfOpenProbes(), nanoClock);
+        this.readTimeout = new AdaptiveTimeout(settings.getMinReadTimeout().toMillis(),
+                settings.getMaxReadTimeout().toMillis());
+    }
+
+    /**
+     * Reserve a slot for one call.
+     *
+     * @throws UpstreamUnavailableException if the circuit is open or the bulkhead stays full for {@code maxWait}
+     */
+    public CircuitBreaker.Admission acquire() {
+        CircuitBreaker.Admission admission = circuitBreaker.tryAcquire();
+        if (admission == CircuitBreaker.Admission.REJECTED) {
+            throw new UpstreamUnavailableException(name, UpstreamUnavailableException.CIRCUIT_OPEN,
+                    Duration.ofNanos(circuitBreaker.remainingOpenNanos()));
+        }
+        boolean permitted;
+        try {
+            permitted = bulkhead.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            permitted = false;
+        }
+        if (!permitted) {
+            circuitBreaker.release(admission);
+            throw new UpstreamUnavailableException(name, UpstreamUnavailableException.BULKHEAD_FULL,
+                    BULKHEAD_RETRY_AFTER);
+        }
+        return admission;
+    }
+
+    /** Release the slot and feed the outcome into the breaker and the timeout estimator. */
+    public void complete(CircuitBreaker.Admission admission, boolean success, long elapsedNanos) {
+        bulkhead.release();
+        circuitBreaker.onResult(admission, success);
+        readTimeout.record(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+
+    /** Like {@link #complete} for a batch call: its latency says nothing about interactive calls. */
+    public void completeBatch(CircuitBreaker.Admission admission, boolean success) {
+        bulkhead.release();
+        circuitBreaker.onResult(admission, success);
+    }
+
+    public int readTimeoutMillis() {
+        return readTimeout.timeoutMillis();
+    }
+
+    public int inFlight() {
+        return maxConcurrentCalls - bulkhead.availablePermits();
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.getState();
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,62 @@
+package com.parking.api_gateway.resilience;
+
+import com.parking.api_gateway.observability.service.ObservabilityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Applies the per-upstream bulkhead and circuit breaker to every proxied call.
+ *
+ * <p>5xx responses, I/O errors and timeouts count as failures; 4xx are the
+ * caller's problem and count as successes. The bulkhead permit is held until the
+ * response headers arrive; bodies are small JSON documents read right after.
+ * Batch calls feed the breaker but not the adaptive read timeout.
+ */
+@Component
+@RequiredArgsConstructor
+public class UpstreamGuardInterceptor implements ClientHttpRequestInterceptor {
+
+    private final UpstreamGuards guards;
+    private final ObservabilityService observabilityService;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        if (!guards.isEnabled()) {
+            return execution.execute(request, body);
+        }
+        String upstream = request.getURI().getHost();
+        UpstreamGuard guard = guards.forUpstream(upstream);
+        boolean batch = guards.isBatch(request.getURI().getPath());
+
+        CircuitBreaker.Admission admission;
+        try {
+            admission = guard.acquire();
+        } catch (UpstreamUnavailableException e) {
+            observabilityService.recordUpstreamRejection(upstream, e.getReason());
+            throw e;
+        }
+
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            success = !response.getStatusCode().is5xxServerError();
+            return response;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (batch) {
+                guard.completeBatch(admission, success);
+            } else {
+                guard.complete(admission, success, elapsed);
+            }
+            observabilityService.recordUpstreamCall(upstream, success ? "success" : "failure", elapsed);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.parking.api_gateway.resilience;
+
+import com.parking.api_gateway.observability.service.ObservabilityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of {@link UpstreamGuard}s keyed by downstream host, created on first use.
+ */
+@Component
+@RequiredArgsConstructor
+public class UpstreamGuards {
+
+    private final UpstreamProperties properties;
+    private final ObservabilityService observabilityService;
+
+    private final ConcurrentHashMap<String, UpstreamGuard> guards = new ConcurrentHashMap<>();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public UpstreamGuard forUpstream(String upstream) {
+        UpstreamGuard guard = guards.get(upstream);
+        return guard != null ? guard : guards.computeIfAbsent(upstream, this::create);
+    }
+
+    /** Whether {@code path} is one of the batch endpoints ({@code gateway.upstreams.batch.paths}). */
+    public boolean isBatch(String path) {
+        for (String pattern : properties.getBatch().getPaths()) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Read timeout for the next call to {@code path} on {@code upstream}. */
+    public int readTimeoutMillis(String upstream, String path) {
+        if (isBatch(path)) {
+            return (int) properties.getBatch().getReadTimeout().toMillis();
+        }
+        if (!properties.isEnabled()) {
+            return (int) properties.getDefaults().getMaxReadTimeout().toMillis();
+        }
+        return forUpstream(upstream).readTimeoutMillis();
+    }
+
+    public int connectTimeoutMillis() {
+        return (int) properties.getConnectTimeout().toMillis();
+    }
+
+    private UpstreamGuard create(String upstream) {
+        UpstreamGuard guard = new UpstreamGuard(upstream, properties.settingsFor(upstream), System::nanoTime);
+        observabilityService.registerUpstreamGauges(upstream,
+                () -> guard.circuitState().ordinal(),
+                guard::inFlight,
+                guard::readTimeoutMillis);
+        return guard;
+    }
+}
@@ -0,0 +1,85 @@
+package com.parking.api_gateway.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-downstream-service isolation settings, bound from {@code gateway.upstreams.*}.
+ *
+ * <p>Services are keyed by host name as used in the proxy URLs
+ * ({@code billing-service}, {@code client-service}, ...). An entry under
+ * {@code services} starts from the built-in defaults below, not from {@code defaults}.
+ *
+ * <pre>
+ * gateway:
+ *   upstreams:
+ *     defaults:
+ *       max-concurrent-calls: 40
+ *     services:
+ *       reporting-service:
+ *         min-read-timeout: 10s
+ *     batch:
+ *       read-timeout: 60s
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.upstreams")
+@Data
+public class UpstreamProperties {
+
+    /** When false, proxied calls use a static read timeout and no bulkhead/circuit breaker. */
+    private boolean enabled = true;
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Settings defaults = new Settings();
+
+    private Map<String, Settings> services = new HashMap<>();
+
+    private Batch batch = new Batch();
+
+    public Settings settingsFor(String upstream) {
+        return services.getOrDefault(upstream, defaults);
+    }
+
+    /**
+     * Batch endpoints, whose latency grows with the request (thousands of rows per call). They
+     * get a fixed read timeout instead of the adaptive one, and their latency is not sampled,
+     * so neither do they time out against the interactive floor nor do they stretch it.
+     */
+    @Data
+    public static class Batch {
+        /** Upstream request paths (Ant patterns). */
+        private List<String> paths = new ArrayList<>(List.of(
+                "/api/management/spots/import",
+                "/api/management/spots/status/batch",
+                "/api/clients/subscriptions/check/batch"));
+        private Duration readTimeout = Duration.ofSeconds(60);
+    }
+
+    @Data
+    public static class Settings {
+        /** Bulkhead: concurrent calls allowed to this service (Tomcat has 200 worker threads). */
+        private int maxConcurrentCalls = 40;
+        /** How long a request may wait for a bulkhead permit before failing fast. */
+        private Duration maxWait = Duration.ofMillis(20);
+        /** Floor and ceiling for the adaptive read timeout. */
+        private Duration minReadTimeout = Duration.ofSeconds(2);
+        private Duration maxReadTimeout = Duration.ofSeconds(10);
+        /** Circuit opens when this share of the recent calls failed (5xx, I/O error, timeout). */
+        private double failureRateThreshold = 0.5;
+        private int slidingWindowSize = 20;
+        private int minimumCalls = 10;
+        /** How long the circuit stays open before letting probe calls through. */
+        private Duration openDuration = Duration.ofSeconds(10);
+        /** Concurrent probe calls in half-open state; all must succeed to close. */
+        private int halfOpenProbes = 2;
+    }
+}
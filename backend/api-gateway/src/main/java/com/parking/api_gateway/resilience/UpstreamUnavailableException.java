@@ -0,0 +1,28 @@
+package com.parking.api_gateway.resilience;
+
+import lombok.Getter;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+
+/**
+ * Thrown before any I/O when a downstream service is isolated: its circuit is
+ * open or its bulkhead is full. Proxy controllers turn it into a 503.
+ */
+@Getter
+public class UpstreamUnavailableException extends RestClientException {
+
+    public static final String CIRCUIT_OPEN = "circuit_open";
+    public static final String BULKHEAD_FULL = "bulkhead_full";
+
+    private final String upstream;
+    private final String reason;
+    private final Duration retryAfter;
+
+    public UpstreamUnavailableException(String upstream, String reason, Duration retryAfter) {
+        super(upstream + " unavailable (" + reason + ")");
+        this.upstream = upstream;
+        this.reason = reason;
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,73 @@
+package com.parking.api_gateway.security.audit;
+
+import com.parking.common.security.InternalIdentityCodec;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends security audit batches to reporting-service ({@code POST /api/reporting/log/batch}).
+ *
+ * <p>Uses the proxy {@link RestTemplate}, so exports share reporting-service's bulkhead and
+ * circuit breaker; while it is unavailable batches fail fast and are only logged locally.
+ * There is no caller request to forward, so the gateway asserts its own identity.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReportingAuditExporter {
+
+    static final String SERVICE_NAME = "api-gateway";
+
+    private final SecurityAuditProperties properties;
+    private final RestTemplate restTemplate;
+    private final InternalIdentityCodec internalIdentityCodec;
+
+    /**
+     * @throws org.springframework.web.client.RestClientException if reporting-service rejects or is unreachable
+     */
+    public void export(List<SecurityAuditEvent> events) {
+        SecurityAuditProperties.Export export = properties.getExport();
+        if (!export.isEnabled() || events.isEmpty()) {
+            return;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(InternalIdentityCodec.HEADER, internalIdentityCodec.encode(null, SERVICE_NAME, "SYSTEM"));
+
+        List<Map<String, Object>> body = events.stream().map(ReportingAuditExporter::toLogRequest).toList();
+        restTemplate.postForEntity(export.getUrl() + "/api/reporting/log/batch",
+                new HttpEntity<>(body, headers), Map.class);
+    }
+
+    /** Same shape as reporting-service's LogRequest; audit fields go into meta. */
+    static Map<String, Object> toLogRequest(SecurityAuditEvent event) {
+        Map<String, Object> meta = new HashMap<>();
+        meta.put("action", event.type());
+        meta.put("entityType", "SECURITY");
+        if (event.username() != null) meta.put("username", event.username());
+        if (event.ipAddress() != null) meta.put("ipAddress", event.ipAddress());
+        if (event.detail() != null) meta.put("detail", event.detail());
+        if (event.repeats() > 0) {
+            meta.put("repeats", event.repeats());
+            meta.put("lastOccurredAt", event.lastOccurredAt().toString());
+        }
+
+        Map<String, Object> request = new HashMap<>();
+        request.put("timestamp", event.occurredAt().atOffset(ZoneOffset.UTC).toString());
+        request.put("level", event.level().name());
+        request.put("service", SERVICE_NAME);
+        request.put("message", event.repeats() > 0
+                ? event.message() + " (repeated " + event.repeats() + " more times)"
+                : event.message());
+        request.put("meta", meta);
+        return request;
+    }
+}
@@ -0,0 +1,39 @@
+package com.parking.api_gateway.security.audit;
+
+import java.time.Instant;
+
+/**
+ * One security audit record.
+ *
+ * <p>{@code type}, {@code username}, {@code ipAddress} and {@code message} identify
+ * "the same event" for deduplication; {@code detail} is free text kept from the first
+ * occurrence. Summaries emitted at the end of a dedup window carry the number of
+ * further occurrences in {@code repeats} and the time of the last one.
+ */
+public record SecurityAuditEvent(String type,
+                                 Level level,
+                                 String username,
+                                 String ipAddress,
+                                 String message,
+                                 String detail,
+                                 Instant occurredAt,
+                                 long repeats,
+                                 Instant lastOccurredAt) {
+
+    public enum Level { INFO, WARN, ERROR }
+
+    public static SecurityAuditEvent of(String type, Level level, String username, String ipAddress,
+                                        String message, String detail) {
+        Instant now = Instant.now();
+        return new SecurityAuditEvent(type, level, username, ipAddress, message, detail, now, 0, now);
+    }
+
+    String dedupKey() {
+        return type + '|' + username + '|' + ipAddress + '|' + message;
+    }
+
+    /** Summary of {@code repeats} further occurrences of this event, the last one at {@code last}. */
+    SecurityAuditEvent repeated(long repeats, Instant last) {
+        return new SecurityAuditEvent(type, level, username, ipAddress, message, detail, occurredAt, repeats, last);
+    }
+}
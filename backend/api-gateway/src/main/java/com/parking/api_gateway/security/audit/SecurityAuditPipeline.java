@@ -0,0 +1,216 @@
+package com.parking.api_gateway.security.audit;
+
+import com.parking.api_gateway.observability.service.ObservabilityService;
+import com.parking.api_gateway.security.service.SecurityAuditService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Moves security audit work off the request thread.
+ *
+ * <p>{@link #submit} is O(1) and never blocks: the first occurrence of an event is
+ * queued, repeats of the same event (type, user, IP, message) within the dedup window
+ * only bump a counter, and when the window closes a single summary ("repeated N more times") is queued.
+ * A flood of identical rejections therefore costs one map lookup per request instead
+ * of one log line and one export each. When the bounded queue is full events are
+ * dropped and counted.
+ *
+ * <p>{@link #flush} runs on the scheduler: it closes expired windows, writes the
+ * {@code AUDIT:} log lines and exports the events to reporting-service in batches.
+ */
+@Component
+public class SecurityAuditPipeline {
+
+    // Keep the audit lines under the logger they were always written to
+    private static final Logger auditLog = LoggerFactory.getLogger(SecurityAuditService.class);
+    private static final Logger log = LoggerFactory.getLogger(SecurityAuditPipeline.class);
+
+    private static final class Window {
+        final SecurityAuditEvent first;
+        final long openedAt;
+        final LongAdder repeats = new LongAdder();
+        volatile Instant lastSeen;
+
+        Window(SecurityAuditEvent first, long openedAt) {
+            this.first = first;
+            this.openedAt = openedAt;
+            this.lastSeen = first.occurredAt();
+        }
+    }
+
+    private final SecurityAuditProperties properties;
+    private final ReportingAuditExporter exporter;
+    private final LongSupplier nanoClock;
+    private final long windowNanos;
+
+    private final BlockingQueue<SecurityAuditEvent> queue;
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    private final LongAdder deduplicated = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder exportFailures = new LongAdder();
+    private long reportedDrops; // flush thread only
+
+    @Autowired
+    public SecurityAuditPipeline(SecurityAuditProperties properties, ReportingAuditExporter exporter,
+                                 ObservabilityService observabilityService) {
+        this(properties, exporter, System::nanoTime);
+        observabilityService.registerAuditGauges(queue::size, windows::size,
+                deduplicated::sum, dropped::sum, exportFailures::sum);
+    }
+
+    SecurityAuditPipeline(SecurityAuditProperties properties, ReportingAuditExporter exporter,
+                          LongSupplier nanoClock) {
+        this.properties = properties;
+        this.exporter = exporter;
+        this.nanoClock = nanoClock;
+        this.windowNanos = properties.getDedupWindow().toNanos();
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+    }
+
+    public void submit(SecurityAuditEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (windowNanos <= 0) {
+            enqueue(event);
+            return;
+        }
+        String key = event.dedupKey();
+        long now = nanoClock.getAsLong();
+
+        // Fast path: repeat inside an open window, no locking
+        Window open = windows.get(key);
+        if (open != null && now - open.openedAt < windowNanos) {
+            open.repeats.increment();
+            open.lastSeen = event.occurredAt();
+            deduplicated.increment();
+            return;
+        }
+        if (open == null && windows.size() >= properties.getMaxOpenWindows()) {
+            enqueue(event);
+            return;
+        }
+
+        Window[] closed = new Window[1];
+        boolean[] opened = new boolean[1];
+        windows.compute(key, (k, current) -> {
+            if (current != null && now - current.openedAt < windowNanos) {
+                current.repeats.increment();
+                current.lastSeen = event.occurredAt();
+                return current;
+            }
+            closed[0] = current;
+            opened[0] = true;
+            return new Window(event, now);
+        });
+        if (closed[0] != null) {
+            enqueueSummary(closed[0]);
+        }
+        if (opened[0]) {
+            enqueue(event);
+        } else {
+            deduplicated.increment();
+        }
+    }
+
+    /**
+     * Close expired dedup windows, then write and export everything queued. The export blocks
+     * on reporting-service, so the scheduler pool ({@code spring.task.scheduling.pool.size})
+     * must have room for the sweep and login flush jobs alongside it.
+     */
+    @Scheduled(fixedDelayString = "${security.audit.flush-interval-ms:1000}")
+    public void flush() {
+        closeWindows(false);
+        drain();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closeWindows(true);
+        drain();
+    }
+
+    int queued() {
+        return queue.size();
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    private void closeWindows(boolean all) {
+        long now = nanoClock.getAsLong();
+        for (Map.Entry<String, Window> entry : windows.entrySet()) {
+            Window window = entry.getValue();
+            if ((all || now - window.openedAt >= windowNanos) && windows.remove(entry.getKey(), window)) {
+                enqueueSummary(window);
+            }
+        }
+    }
+
+    private void drain() {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        while (true) {
+            List<SecurityAuditEvent> batch = new ArrayList<>(batchSize);
+            if (queue.drainTo(batch, batchSize) == 0) {
+                break;
+            }
+            batch.forEach(SecurityAuditPipeline::write);
+            try {
+                exporter.export(batch);
+            } catch (Exception e) {
+                exportFailures.add(batch.size());
+                log.warn("Failed to export {} security audit events: {}", batch.size(), e.getMessage());
+            }
+        }
+        long totalDropped = dropped.sum();
+        if (totalDropped > reportedDrops) {
+            log.warn("Security audit queue full: {} events dropped since the last flush",
+                    totalDropped - reportedDrops);
+            reportedDrops = totalDropped;
+        }
+    }
+
+    private void enqueueSummary(Window window) {
+        long repeats = window.repeats.sum();
+        if (repeats > 0) {
+            enqueue(window.first.repeated(repeats, window.lastSeen));
+        }
+    }
+
+    private void enqueue(SecurityAuditEvent event) {
+        if (!queue.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    private static void write(SecurityAuditEvent event) {
+        String repeated = event.repeats() > 0
+                ? " (repeated " + event.repeats() + " more times until " + event.lastOccurredAt() + ")"
+                : "";
+        String detail = event.detail() != null ? ", " + event.detail() : "";
+        switch (event.level()) {
+            case ERROR -> auditLog.error("AUDIT: {} - User: {}, IP: {}, {}{}, Time: {}{}", event.type(),
+                    event.username(), event.ipAddress(), event.message(), detail, event.occurredAt(), repeated);
+            case WARN -> auditLog.warn("AUDIT: {} - User: {}, IP: {}, {}{}, Time: {}{}", event.type(),
+                    event.username(), event.ipAddress(), event.message(), detail, event.occurredAt(), repeated);
+            default -> auditLog.info("AUDIT: {} - User: {}, IP: {}, {}{}, Time: {}{}", event.type(),
+                    event.username(), event.ipAddress(), event.message(), detail, event.occurredAt(), repeated);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.parking.api_gateway.security.audit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Security audit pipeline settings, bound from {@code security.audit.*}.
+ *
+ * <pre>
+ * security:
+ *   audit:
+ *     queue-capacity: 10000
+ *     batch-size: 200
+ *     dedup-window: 10s
+ *     flush-interval-ms: 1000
+ *     export:
+ *       enabled: true
+ *       url: http://reporting-service:8080
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "security.audit")
+@Data
+public class SecurityAuditProperties {
+
+    /** false drops audit events entirely. */
+    private boolean enabled = true;
+
+    /** Events waiting to be written; further events are dropped (and counted) when full. */
+    private int queueCapacity = 10_000;
+
+    /** Events written and exported per batch. */
+    private int batchSize = 200;
+
+    /** Identical events (type, user, IP, message) within this window collapse into one summary. */
+    private Duration dedupWindow = Duration.ofSeconds(10);
+
+    /** Distinct events tracked for deduplication; beyond this events are queued individually. */
+    private int maxOpenWindows = 10_000;
+
+    /** Delay between flushes (see {@link SecurityAuditPipeline#flush()}). */
+    private long flushIntervalMs = 1_000;
+
+    private Export export = new Export();
+
+    @Data
+    public static class Export {
+        /** Send batches to reporting-service (POST /api/reporting/log/batch). */
+        private boolean enabled = true;
+        private String url = "http://reporting-service:8080";
+    }
+}
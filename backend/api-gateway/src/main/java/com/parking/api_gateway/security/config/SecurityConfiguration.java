@@ -6,7 +6,6 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -142,17 +141,4 @@ public class SecurityConfiguration {
         log.info("✓ CORS configuration: originPatterns={}, allowCredentials=false", originPatterns);
         return source;
     }
-
-    /**
-     * Scheduled cleanup task for expired tokens and cache entries
-     */
-    @Scheduled(fixedRate = 300000) // Run every 5 minutes
-    public void cleanupExpiredEntries() {
-        try {
-            log.debug("Running scheduled cleanup of expired security entries");
-            // Cleanup logic will be implemented by individual services
-        } catch (Exception e) {
-            log.error("Error during scheduled cleanup: {}", e.getMessage());
-        }
-    }
 }
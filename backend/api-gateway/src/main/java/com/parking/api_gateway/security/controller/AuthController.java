@@ -4,8 +4,10 @@ import com.parking.api_gateway.security.dto.AuthRequest;
 import com.parking.api_gateway.security.dto.AuthResponse;
 import com.parking.api_gateway.security.service.UserSecurityService;
 import com.parking.api_gateway.security.service.JwtTokenService;
+import com.parking.api_gateway.security.service.LoginActivityRecorder;
 import com.parking.api_gateway.security.service.SecurityAuditService;
 import com.parking.api_gateway.security.entity.UserSecurityEntity;
+import com.parking.api_gateway.security.exception.LoginThrottledException;
 import com.parking.api_gateway.security.repository.UserSecurityRepository;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,6 +16,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -39,6 +42,7 @@ public class AuthController {
     private final JwtTokenService jwtTokenService;
     private final SecurityAuditService auditService;
     private final UserSecurityRepository userRepository;
+    private final LoginActivityRecorder loginActivityRecorder;
     
     @PostMapping("/login")
     @Operation(summary = "User login", description = "Authenticate user and return JWT tokens")
@@ -46,7 +50,8 @@ public class AuthController {
         @ApiResponse(responseCode = "200", description = "Login successful"),
         @ApiResponse(responseCode = "401", description = "Invalid credentials"),
         @ApiResponse(responseCode = "423", description = "Account locked"),
-        @ApiResponse(responseCode = "429", description = "Too many requests")
+        @ApiResponse(responseCode = "429", description = "Too many requests"),
+        @ApiResponse(responseCode = "503", description = "Authentication temporarily overloaded")
     })
     public Mono<ResponseEntity<AuthResponse>> login(@Valid @RequestBody AuthRequest request,
                                                    HttpServletRequest httpRequest) {
@@ -103,9 +108,10 @@ public class AuthController {
                     .body(errorMap));
         }
         
-        return jwtTokenService.validateRefreshToken(refreshToken)
-                .flatMap(userId -> {
-                    Optional<UserSecurityEntity> userOpt = userRepository.findById(userId);
+        // The presented refresh token is consumed; the response carries its successor
+        return jwtTokenService.rotateRefreshToken(refreshToken, clientIpAddress)
+                .flatMap(rotated -> {
+                    Optional<UserSecurityEntity> userOpt = userRepository.findById(rotated.userId());
                     if (userOpt.isEmpty()) {
                         Map<String, Object> errorMap = new HashMap<>();
                         errorMap.put("error", "User not found");
@@ -123,6 +129,7 @@ public class AuthController {
                     
                     Map<String, Object> response = new HashMap<>();
                     response.put("accessToken", newAccessToken);
+                    response.put("refreshToken", rotated.refreshToken());
                     response.put("expiresIn", 3600);
                     response.put("tokenType", "Bearer");
                     
@@ -296,6 +303,7 @@ public class AuthController {
         return jwtTokenService.validateAccessToken(accessToken, clientIpAddress)
                 .flatMap(claims -> {
                     Long userId = claims.get("userId", Long.class);
+                    loginActivityRecorder.flush(userId); // lastLoginAt of write-behind logins
                     
                     Optional<UserSecurityEntity> userOpt = userRepository.findById(userId);
                     if (userOpt.isEmpty()) {
@@ -335,7 +343,15 @@ public class AuthController {
         HttpStatus status;
         String message = throwable.getMessage();
         
-        if (throwable instanceof com.parking.api_gateway.security.exception.AccountLockedException) {
+        if (throwable instanceof LoginThrottledException throttled) {
+            return ResponseEntity.status(throttled.isOverloaded() ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(throttled.getRetryAfterSeconds()))
+                    .body(AuthResponse.builder()
+                            .user(null)
+                            .loginTime(LocalDateTime.now())
+                            .ipAddress(clientIp)
+                            .build());
+        } else if (throwable instanceof com.parking.api_gateway.security.exception.AccountLockedException) {
             status = HttpStatus.LOCKED;
         } else if (throwable instanceof com.parking.api_gateway.security.exception.CredentialsExpiredException) {
             status = HttpStatus.UNAUTHORIZED;
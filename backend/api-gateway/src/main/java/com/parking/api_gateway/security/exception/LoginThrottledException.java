@@ -0,0 +1,30 @@
+package com.parking.api_gateway.security.exception;
+
+import lombok.Getter;
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * Login rejected before any credential check because of admission control:
+ * too many concurrent attempts for the same user or IP (429), or the password
+ * hashing pool is saturated (503).
+ */
+@Getter
+public class LoginThrottledException extends AuthenticationException {
+
+    private final boolean overloaded;
+    private final long retryAfterSeconds;
+
+    private LoginThrottledException(String message, boolean overloaded, long retryAfterSeconds) {
+        super(message);
+        this.overloaded = overloaded;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public static LoginThrottledException tooManyConcurrent(String message) {
+        return new LoginThrottledException(message, false, 1);
+    }
+
+    public static LoginThrottledException overloaded(String message) {
+        return new LoginThrottledException(message, true, 2);
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -47,6 +48,7 @@ public interface UserSecurityRepository extends JpaRepository<UserSecurityEntity
            "WHERE u.id = :userId")
     void setAccountEnabled(@Param("userId") Long userId, @Param("enabled") boolean enabled);
     
+    @Transactional
     @Modifying
     @Query("UPDATE UserSecurityEntity u SET " +
            "u.accountNonLocked = false, " +
@@ -62,7 +64,9 @@ public interface UserSecurityRepository extends JpaRepository<UserSecurityEntity
            "WHERE u.id = :userId")
     void unlockAccount(@Param("userId") Long userId);
     
-    // Login tracking
+    // Login tracking: single-statement updates, no entity load/merge or dirty checking.
+    // Declared query methods get no transaction from SimpleJpaRepository, hence @Transactional.
+    @Transactional
     @Modifying
     @Query("UPDATE UserSecurityEntity u SET " +
            "u.lastLoginAt = u.currentLoginAt, " +
@@ -70,19 +74,35 @@ public interface UserSecurityRepository extends JpaRepository<UserSecurityEntity
            "u.currentLoginAt = :loginTime, " +
            "u.currentLoginIp = :ipAddress, " +
            "u.loginCount = u.loginCount + 1, " +
-           "u.failedLoginAttempts = 0 " +
+           "u.failedLoginAttempts = 0, " +
+           "u.accountLockedUntil = null, " +
+           "u.accountNonLocked = true, " +
+           "u.userAgentHash = :userAgentHash, " +
+           "u.updatedAt = :loginTime " +
            "WHERE u.id = :userId")
     void recordSuccessfulLogin(@Param("userId") Long userId, 
                               @Param("loginTime") LocalDateTime loginTime, 
-                              @Param("ipAddress") String ipAddress);
+                              @Param("ipAddress") String ipAddress,
+                              @Param("userAgentHash") String userAgentHash);
     
+    /** Increment failed attempts and, once {@code maxAttempts} is reached, lock until {@code lockUntil}. */
+    @Transactional
     @Modifying
     @Query("UPDATE UserSecurityEntity u SET " +
-           "u.failedLoginAttempts = u.failedLoginAttempts + 1 " +
+           "u.failedLoginAttempts = u.failedLoginAttempts + 1, " +
+           "u.lastLoginIp = :ipAddress, " +
+           "u.accountLockedUntil = CASE WHEN u.failedLoginAttempts + 1 >= :maxAttempts " +
+           "    THEN :lockUntil ELSE u.accountLockedUntil END, " +
+           "u.accountNonLocked = CASE WHEN u.failedLoginAttempts + 1 >= :maxAttempts " +
+           "    THEN false ELSE u.accountNonLocked END " +
            "WHERE u.id = :userId")
-    void incrementFailedLoginAttempts(@Param("userId") Long userId);
+    void recordFailedLogin(@Param("userId") Long userId,
+                           @Param("ipAddress") String ipAddress,
+                           @Param("maxAttempts") int maxAttempts,
+                           @Param("lockUntil") LocalDateTime lockUntil);
     
     // Password management
+    @Transactional
     @Modifying
     @Query("UPDATE UserSecurityEntity u SET " +
            "u.password = :hashedPassword, " +
@@ -0,0 +1,235 @@
+package com.parking.api_gateway.security.routing;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Matches client IP literals against a fixed set of CIDR ranges.
+ *
+ * <p>Ranges are parsed once into integer network/mask pairs. IPv4 addresses (the
+ * common case behind Docker and X-Forwarded-For) are parsed and compared without
+ * allocating; IPv6 literals are supported, including {@code ::} compression,
+ * zone ids and IPv4-mapped addresses ({@code ::ffff:10.0.0.1} matches IPv4 rules).
+ * Anything that is not an IP literal (e.g. {@code "unknown"}) never matches.
+ */
+public final class CidrMatcher {
+
+    private final int[] v4Network;
+    private final int[] v4Mask;
+    private final long[] v6NetworkHi;
+    private final long[] v6NetworkLo;
+    private final long[] v6MaskHi;
+    private final long[] v6MaskLo;
+
+    private CidrMatcher(List<int[]> v4, List<long[]> v6) {
+        v4Network = new int[v4.size()];
+        v4Mask = new int[v4.size()];
+        for (int i = 0; i < v4.size(); i++) {
+            v4Mask[i] = v4.get(i)[1];
+            v4Network[i] = v4.get(i)[0] & v4Mask[i];
+        }
+        v6NetworkHi = new long[v6.size()];
+        v6NetworkLo = new long[v6.size()];
+        v6MaskHi = new long[v6.size()];
+        v6MaskLo = new long[v6.size()];
+        for (int i = 0; i < v6.size(); i++) {
+            long[] r = v6.get(i);
+            v6MaskHi[i] = r[2];
+            v6MaskLo[i] = r[3];
+            v6NetworkHi[i] = r[0] & r[2];
+            v6NetworkLo[i] = r[1] & r[3];
+        }
+    }
+
+    /**
+     * Compile CIDR ranges such as {@code 10.0.0.0/8}, {@code ::1/128} or a bare
+     * address (treated as a single host).
+     *
+     * @throws IllegalArgumentException if an entry is not a valid address or prefix
+     */
+    public static CidrMatcher of(Collection<String> cidrs) {
+        List<int[]> v4 = new ArrayList<>();
+        List<long[]> v6 = new ArrayList<>();
+        for (String raw : cidrs) {
+            String cidr = raw.trim();
+            int slash = cidr.indexOf('/');
+            String address = slash < 0 ? cidr : cidr.substring(0, slash);
+            if (address.indexOf(':') < 0) {
+                long ip = parseIpv4(address, 0, address.length());
+                int bits = slash < 0 ? 32 : parsePrefix(cidr, slash, 32);
+                if (ip < 0) {
+                    throw new IllegalArgumentException("Invalid IPv4 CIDR: " + raw);
+                }
+                int mask = bits == 0 ? 0 : (int) (0xFFFFFFFFL << (32 - bits));
+                v4.add(new int[]{(int) ip, mask});
+            } else {
+                int[] groups = new int[8];
+                if (!parseIpv6(address, 0, address.length(), groups)) {
+                    throw new IllegalArgumentException("Invalid IPv6 CIDR: " + raw);
+                }
+                int bits = slash < 0 ? 128 : parsePrefix(cidr, slash, 128);
+                long maskHi = bits == 0 ? 0 : bits >= 64 ? -1L : -1L << (64 - bits);
+                long maskLo = bits <= 64 ? 0 : -1L << (128 - bits);
+                v6.add(new long[]{high(groups), low(groups), maskHi, maskLo});
+            }
+        }
+        return new CidrMatcher(v4, v6);
+    }
+
+    /** True if {@code ip} is a valid literal inside any configured range. */
+    public boolean matches(String ip) {
+        if (ip == null || ip.isEmpty()) {
+            return false;
+        }
+        if (ip.indexOf(':') < 0) {
+            long v4 = parseIpv4(ip, 0, ip.length());
+            return v4 >= 0 && matchesV4((int) v4);
+        }
+        int end = ip.indexOf('%');
+        int[] groups = new int[8];
+        if (!parseIpv6(ip, 0, end < 0 ? ip.length() : end, groups)) {
+            return false;
+        }
+        long hi = high(groups);
+        long lo = low(groups);
+        if (hi == 0 && (lo >>> 32) == 0xFFFFL && matchesV4((int) lo)) {
+            return true;
+        }
+        for (int i = 0; i < v6MaskHi.length; i++) {
+            if ((hi & v6MaskHi[i]) == v6NetworkHi[i] && (lo & v6MaskLo[i]) == v6NetworkLo[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesV4(int ip) {
+        for (int i = 0; i < v4Mask.length; i++) {
+            if ((ip & v4Mask[i]) == v4Network[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int parsePrefix(String cidr, int slash, int max) {
+        try {
+            int bits = Integer.parseInt(cidr.substring(slash + 1));
+            if (bits < 0 || bits > max) {
+                throw new IllegalArgumentException("Invalid prefix length in CIDR: " + cidr);
+            }
+            return bits;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid prefix length in CIDR: " + cidr, e);
+        }
+    }
+
+    /** Dotted-quad in {@code s[from, to)} as an unsigned 32-bit value, or -1 if malformed. */
+    static long parseIpv4(String s, int from, int to) {
+        long result = 0;
+        int octet = 0;
+        int digits = 0;
+        int dots = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c == '.') {
+                if (digits == 0 || dots == 3) {
+                    return -1;
+                }
+                result = (result << 8) | octet;
+                octet = 0;
+                digits = 0;
+                dots++;
+            } else if (c >= '0' && c <= '9') {
+                octet = octet * 10 + (c - '0');
+                if (++digits > 3 || octet > 255) {
+                    return -1;
+                }
+            } else {
+                return -1;
+            }
+        }
+        if (digits == 0 || dots != 3) {
+            return -1;
+        }
+        return (result << 8) | octet;
+    }
+
+    /** Parse an IPv6 literal in {@code s[from, to)} into eight 16-bit groups. */
+    static boolean parseIpv6(String s, int from, int to, int[] out) {
+        if (to - from >= 2 && s.charAt(from) == '[' && s.charAt(to - 1) == ']') {
+            from++;
+            to--;
+        }
+        int gap = s.indexOf("::", from);
+        if (gap < 0 || gap + 2 > to) {
+            return parseGroups(s, from, to, out, 0) == 8;
+        }
+        int next = s.indexOf("::", gap + 1);
+        if (next >= 0 && next + 2 <= to) {
+            return false; // at most one "::"
+        }
+        int head = gap == from ? 0 : parseGroups(s, from, gap, out, 0);
+        if (head < 0) {
+            return false;
+        }
+        int[] tail = new int[8];
+        int tailCount = gap + 2 == to ? 0 : parseGroups(s, gap + 2, to, tail, 0);
+        if (tailCount < 0 || head + tailCount > 7) {
+            return false;
+        }
+        for (int i = head; i < 8; i++) {
+            out[i] = 0;
+        }
+        System.arraycopy(tail, 0, out, 8 - tailCount, tailCount);
+        return true;
+    }
+
+    /** Colon separated hex groups (optionally ending in a dotted quad); returns group count or -1. */
+    private static int parseGroups(String s, int from, int to, int[] out, int count) {
+        int i = from;
+        while (true) {
+            int sep = s.indexOf(':', i);
+            if (sep < 0 || sep > to) {
+                sep = to;
+            }
+            if (sep == to) {
+                int dot = s.indexOf('.', i);
+                if (dot >= 0 && dot < to) {
+                    long v4 = parseIpv4(s, i, to);
+                    if (v4 < 0 || count > 6) {
+                        return -1;
+                    }
+                    out[count++] = (int) (v4 >>> 16) & 0xFFFF;
+                    out[count++] = (int) v4 & 0xFFFF;
+                    return count;
+                }
+            }
+            if (sep == i || sep - i > 4 || count >= 8) {
+                return -1;
+            }
+            int value = 0;
+            for (int k = i; k < sep; k++) {
+                int d = Character.digit(s.charAt(k), 16);
+                if (d < 0) {
+                    return -1;
+                }
+                value = (value << 4) | d;
+            }
+            out[count++] = value;
+            if (sep == to) {
+                return count;
+            }
+            i = sep + 1;
+        }
+    }
+
+    private static long high(int[] g) {
+        return ((long) g[0] << 48) | ((long) g[1] << 32) | ((long) g[2] << 16) | g[3];
+    }
+
+    private static long low(int[] g) {
+        return ((long) g[4] << 48) | ((long) g[5] << 32) | ((long) g[6] << 16) | g[7];
+    }
+}
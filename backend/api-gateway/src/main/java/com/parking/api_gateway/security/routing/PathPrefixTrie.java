@@ -0,0 +1,73 @@
+package com.parking.api_gateway.security.routing;
+
+import java.util.Arrays;
+
+/**
+ * Character trie over path prefixes. Built once at startup, read-only afterwards,
+ * so lookups are safe from any thread without locking.
+ *
+ * <p>{@link #longestPrefixMatch(String)} walks the path one character at a time and
+ * remembers the deepest node carrying a value — no substring or iterator allocation.
+ *
+ * @param <V> value attached to a prefix
+ */
+final class PathPrefixTrie<V> {
+
+    private final Node<V> root = new Node<>();
+
+    /** Associate {@code value} with {@code prefix}, replacing any previous value. */
+    void put(String prefix, V value) {
+        Node<V> node = root;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.childOrCreate(prefix.charAt(i));
+        }
+        node.value = value;
+    }
+
+    /** Value of the longest registered prefix of {@code path}, or {@code null}. */
+    V longestPrefixMatch(String path) {
+        Node<V> node = root;
+        V match = node.value;
+        for (int i = 0; i < path.length(); i++) {
+            node = node.child(path.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.value != null) {
+                match = node.value;
+            }
+        }
+        return match;
+    }
+
+    private static final class Node<V> {
+        private char[] keys = new char[0];
+        @SuppressWarnings("unchecked")
+        private Node<V>[] children = new Node[0];
+        private V value;
+
+        Node<V> child(char c) {
+            // fan-out per node is tiny (path alphabets), linear scan beats hashing
+            char[] k = keys;
+            for (int i = 0; i < k.length; i++) {
+                if (k[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node<V> childOrCreate(char c) {
+            Node<V> existing = child(c);
+            if (existing != null) {
+                return existing;
+            }
+            Node<V> created = new Node<>();
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            keys[keys.length - 1] = c;
+            children[children.length - 1] = created;
+            return created;
+        }
+    }
+}
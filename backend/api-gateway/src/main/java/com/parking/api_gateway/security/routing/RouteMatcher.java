@@ -0,0 +1,105 @@
+package com.parking.api_gateway.security.routing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precompiled (HTTP method, path prefix) → value lookup.
+ *
+ * <p>One {@link PathPrefixTrie} per common HTTP method. Rules registered for
+ * {@link #ANY_METHOD} are copied into every per-method trie at build time, so a
+ * lookup is a single method switch plus one trie traversal. The longest matching
+ * prefix wins; on equal length a method-specific rule beats an any-method rule.
+ *
+ * @param <V> value attached to a route (e.g. allowed roles)
+ */
+public final class RouteMatcher<V> {
+
+    public static final String ANY_METHOD = "*";
+
+    /** Tries 0..6 hold GET, POST, PUT, DELETE, PATCH, HEAD, OPTIONS; the last one any-method rules only. */
+    private static final int ANY_INDEX = 7;
+
+    private final List<PathPrefixTrie<V>> tries;
+
+    private RouteMatcher(List<PathPrefixTrie<V>> tries) {
+        this.tries = tries;
+    }
+
+    public static <V> Builder<V> builder() {
+        return new Builder<>();
+    }
+
+    /** Value of the longest matching rule for this request, or {@code null}. */
+    public V match(String method, String path) {
+        return tries.get(methodIndex(method)).longestPrefixMatch(path);
+    }
+
+    /** True if any rule matches this request. */
+    public boolean matches(String method, String path) {
+        return match(method, path) != null;
+    }
+
+    private static int methodIndex(String method) {
+        if (method == null) {
+            return ANY_INDEX;
+        }
+        return switch (method) {
+            case "GET" -> 0;
+            case "POST" -> 1;
+            case "PUT" -> 2;
+            case "DELETE" -> 3;
+            case "PATCH" -> 4;
+            case "HEAD" -> 5;
+            case "OPTIONS" -> 6;
+            default -> {
+                // non-canonical casing is rare; normalise rather than skip method rules
+                String upper = method.toUpperCase();
+                yield upper.equals(method) ? ANY_INDEX : methodIndex(upper);
+            }
+        };
+    }
+
+    public static final class Builder<V> {
+
+        private record Rule<V>(String method, String prefix, V value) {}
+
+        private final List<Rule<V>> rules = new ArrayList<>();
+
+        /**
+         * Add a rule. {@code method} is an HTTP method name or {@link #ANY_METHOD}.
+         */
+        public Builder<V> add(String method, String prefix, V value) {
+            if (prefix == null || prefix.isEmpty()) {
+                throw new IllegalArgumentException("Route prefix must not be empty");
+            }
+            String m = method == null ? ANY_METHOD : method.trim().toUpperCase();
+            if (!ANY_METHOD.equals(m) && methodIndex(m) == ANY_INDEX) {
+                throw new IllegalArgumentException("Unsupported HTTP method in route rule: " + method);
+            }
+            rules.add(new Rule<>(m, prefix, value));
+            return this;
+        }
+
+        public RouteMatcher<V> build() {
+            List<PathPrefixTrie<V>> tries = new ArrayList<>(ANY_INDEX + 1);
+            for (int i = 0; i <= ANY_INDEX; i++) {
+                tries.add(new PathPrefixTrie<>());
+            }
+            // any-method rules first so method-specific rules on the same prefix override them
+            for (Rule<V> rule : rules) {
+                if (ANY_METHOD.equals(rule.method())) {
+                    for (PathPrefixTrie<V> trie : tries) {
+                        trie.put(rule.prefix(), rule.value());
+                    }
+                }
+            }
+            for (Rule<V> rule : rules) {
+                if (!ANY_METHOD.equals(rule.method())) {
+                    tries.get(methodIndex(rule.method())).put(rule.prefix(), rule.value());
+                }
+            }
+            return new RouteMatcher<>(List.copyOf(tries));
+        }
+    }
+}
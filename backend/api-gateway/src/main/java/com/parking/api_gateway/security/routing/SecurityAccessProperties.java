@@ -0,0 +1,130 @@
+package com.parking.api_gateway.security.routing;
+
+import com.parking.api_gateway.security.entity.UserSecurityEntity.Role;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Access rules applied by {@code SecurityFilter}, bound from {@code security.access.*}.
+ *
+ * <p>Defaults reproduce the previously hardcoded rules; any list set in
+ * configuration replaces the corresponding default entirely. Rules are compiled
+ * into {@link RouteMatcher}/{@link CidrMatcher} once at startup.
+ *
+ * <pre>
+ * security:
+ *   access:
+ *     trusted-networks: [127.0.0.1/32, ::1/128, 10.0.0.0/8]
+ *     public-paths: [/api/auth/login, /api/health]
+ *     route-roles:
+ *       - methods: [POST, PUT, DELETE]
+ *         prefix: /api/gate/
+ *         roles: [OPERATOR, ADMIN]
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "security.access")
+@Data
+public class SecurityAccessProperties {
+
+    /**
+     * Client networks that bypass security checks (internal Docker network and
+     * monitoring services). 192.168.x.x is the end-user LAN and must NOT be listed.
+     */
+    private List<String> trustedNetworks = new ArrayList<>(List.of(
+            "127.0.0.1/32",
+            "::1/128",
+            "172.0.0.0/8",
+            "10.0.0.0/8"
+    ));
+
+    /** Path prefixes that don't require authentication (any HTTP method). */
+    private List<String> publicPaths = new ArrayList<>(List.of(
+            "/api/auth/login",
+            "/api/auth/refresh",
+            "/api/health",
+            "/actuator/health",
+            "/actuator/prometheus",
+            "/actuator/metrics",
+            "/actuator/info",
+            "/api/docs",
+            "/api/swagger-ui",
+            "/api/v3/api-docs",
+            // Management Service - Public endpoints for clients and info boards
+            "/api/management/spots/available",              // List available spots
+            "/api/management/spots/available/count",        // Count available spots
+            "/api/management/spots/available/lot/",         // Available spots by lot (prefix)
+            "/api/management/spots/availability/stream",    // Availability push stream (SSE)
+            "/api/management/lots/availability",            // Per-lot availability counters
+            "/api/management/lots/nearest",                 // Nearest lots with free spaces
+            "/api/management/spots/search",                 // Search spots with filters
+            "/api/management/spots/query"                   // Paged space query (location, charger, size)
+            // Reporting Service endpoints require JWT authentication
+    ));
+
+    /**
+     * RBAC: route prefix → allowed roles (checked after JWT validation).
+     * The longest matching prefix wins; routes without a rule are open to any
+     * authenticated user.
+     */
+    private List<RouteRule> routeRoles = new ArrayList<>(List.of(
+            // Gate Control Service — write operations
+            new RouteRule(List.of("POST", "PUT", "DELETE"), "/api/gate/", EnumSet.of(Role.OPERATOR, Role.ADMIN)),
+            // Billing Service — write operations
+            new RouteRule(List.of("POST", "PUT", "DELETE"), "/api/billing/", EnumSet.of(Role.OPERATOR, Role.ADMIN)),
+            // Client Service — all methods
+            new RouteRule(List.of("GET", "POST", "PUT", "DELETE"), "/api/clients/",
+                    EnumSet.of(Role.ADMIN, Role.MANAGER, Role.OPERATOR)),
+            // Management Service — write operations
+            new RouteRule(List.of("POST", "PUT", "DELETE"), "/api/management/", EnumSet.of(Role.ADMIN, Role.MANAGER)),
+            // Reporting Service
+            new RouteRule(List.of("GET", "POST", "PUT", "DELETE"), "/api/reporting/",
+                    EnumSet.of(Role.ADMIN, Role.MANAGER, Role.OPERATOR))
+    ));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RouteRule {
+        /** HTTP methods the rule applies to; empty means any method. */
+        private List<String> methods = new ArrayList<>();
+        private String prefix;
+        private Set<Role> roles = EnumSet.noneOf(Role.class);
+    }
+
+    /** Compile {@link #publicPaths} into a matcher. */
+    public RouteMatcher<Boolean> compilePublicPaths() {
+        RouteMatcher.Builder<Boolean> builder = RouteMatcher.builder();
+        publicPaths.forEach(p -> builder.add(RouteMatcher.ANY_METHOD, p, Boolean.TRUE));
+        return builder.build();
+    }
+
+    /** Compile {@link #routeRoles} into a matcher. */
+    public RouteMatcher<Set<Role>> compileRouteRoles() {
+        RouteMatcher.Builder<Set<Role>> builder = RouteMatcher.builder();
+        for (RouteRule rule : routeRoles) {
+            Set<Role> roles = rule.getRoles().isEmpty()
+                    ? EnumSet.noneOf(Role.class)
+                    : EnumSet.copyOf(rule.getRoles());
+            if (rule.getMethods() == null || rule.getMethods().isEmpty()) {
+                builder.add(RouteMatcher.ANY_METHOD, rule.getPrefix(), roles);
+            } else {
+                rule.getMethods().forEach(m -> builder.add(m, rule.getPrefix(), roles));
+            }
+        }
+        return builder.build();
+    }
+
+    /** Compile {@link #trustedNetworks} into a matcher. */
+    public CidrMatcher compileTrustedNetworks() {
+        return CidrMatcher.of(trustedNetworks);
+    }
+}
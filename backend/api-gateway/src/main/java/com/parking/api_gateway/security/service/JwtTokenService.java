@@ -2,6 +2,10 @@ package com.parking.api_gateway.security.service;
 
 import com.parking.api_gateway.security.entity.UserSecurityEntity;
 import com.parking.api_gateway.security.exception.InvalidCredentialsException;
+import com.parking.api_gateway.security.session.RedisSessionStore;
+import com.parking.api_gateway.security.session.RefreshSession;
+import com.parking.api_gateway.security.state.BoundedExpiringMap;
+import com.parking.api_gateway.security.state.SecurityStateRegistry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
@@ -10,7 +14,6 @@ import io.jsonwebtoken.security.Keys;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
@@ -18,14 +21,9 @@ import jakarta.annotation.PostConstruct;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.time.Duration;
 import java.util.Date;
-import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
@@ -33,7 +31,8 @@ import java.util.concurrent.TimeUnit;
 public class JwtTokenService {
     
     private final SecurityAuditService auditService;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisSessionStore sessionStore;
+    private final SecurityStateRegistry stateRegistry;
     
     // JWT Configuration
     @Value("${security.jwt.secret:ParkingSystemSecretKey2025!VeryLongAndSecureKey123456789}")
@@ -50,18 +49,28 @@ public class JwtTokenService {
     
     private SecretKey signingKey;
     
-    // In-memory blacklist fallback (Redis preferred)
-    private final Map<String, LocalDateTime> tokenBlacklist = new ConcurrentHashMap<>();
-    
-    // Redis keys
-    private static final String BLACKLIST_KEY_PREFIX = "jwt:blacklist:";
-    private static final String REFRESH_TOKEN_KEY_PREFIX = "jwt:refresh:";
-    private static final String USER_SESSIONS_KEY_PREFIX = "jwt:sessions:";
+    // In-memory blacklist fallback (Redis preferred); entries live as long as the token
+    private BoundedExpiringMap<String, String> tokenBlacklist;
+
+    // Last session generation seen per user, used when Redis is unreachable
+    private BoundedExpiringMap<Long, Long> localGenerations;
+
+    /** New refresh token issued by {@link #rotateRefreshToken}. */
+    public record RotatedRefreshToken(Long userId, String refreshToken) {}
     
     @PostConstruct
     public void initializeJwtService() {
         // Create strong signing key from secret
         this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+
+        this.tokenBlacklist = stateRegistry.register("token_blacklist",
+                stateRegistry.properties().getMaxTrackedTokens(),
+                Duration.ofSeconds(Math.max(accessTokenExpiration, refreshTokenExpiration)),
+                BoundedExpiringMap.Expiry.AFTER_WRITE);
+        this.localGenerations = stateRegistry.register("session_generations",
+                stateRegistry.properties().getMaxTrackedUsers(),
+                Duration.ofSeconds(refreshTokenExpiration),
+                BoundedExpiringMap.Expiry.AFTER_WRITE);
         
         // Ensure secret is strong enough
         if (jwtSecret.length() < 64) {
@@ -78,6 +87,7 @@ public class JwtTokenService {
         String jti = UUID.randomUUID().toString();
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + accessTokenExpiration * 1000);
+        long generation = currentGeneration(user.getId());
         
         String token = Jwts.builder()
                 .setId(jti)
@@ -94,12 +104,10 @@ public class JwtTokenService {
                 .claim("ipAddress", ipAddress)
                 .claim("userAgentHash", hashUserAgent(userAgent))
                 .claim("tokenType", "ACCESS")
+                .claim("gen", generation)
                 .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
         
-        // Store user session info in Redis
-        storeUserSession(user.getId(), jti, ipAddress, userAgent, expiryDate);
-        
         auditService.logTokenCreated(user.getUsername(), "ACCESS", ipAddress);
         
         log.debug("Access token created for user {} with JTI {}", user.getUsername(), jti);
@@ -112,24 +120,13 @@ public class JwtTokenService {
     public String createRefreshToken(UserSecurityEntity user, String ipAddress) {
         String jti = UUID.randomUUID().toString();
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + refreshTokenExpiration * 1000);
-        
-        String token = Jwts.builder()
-                .setId(jti)
-                .setIssuer(issuer)
-                .setSubject(user.getUsername())
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .claim("userId", user.getId())
-                .claim("ipAddress", ipAddress)
-                .claim("tokenType", "REFRESH")
-                .signWith(signingKey, SignatureAlgorithm.HS512)
-                .compact();
+        RefreshSession session = RefreshSession.issue(user.getId(), currentGeneration(user.getId()),
+                now.getTime() / 1000);
+        String token = buildRefreshToken(jti, user.getUsername(), session, ipAddress, now);
         
         // Store refresh token in Redis with expiration
         try {
-            String refreshKey = REFRESH_TOKEN_KEY_PREFIX + jti;
-            redisTemplate.opsForValue().set(refreshKey, user.getId().toString(), refreshTokenExpiration, TimeUnit.SECONDS);
+            sessionStore.saveRefresh(jti, session, refreshTokenExpiration);
         } catch (Exception e) {
             log.warn("Failed to store refresh token in Redis: {}", e.getMessage());
         }
@@ -154,9 +151,8 @@ public class JwtTokenService {
                         .parseClaimsJws(token)
                         .getBody();
                 
-                // Check if token is blacklisted
-                String jti = claims.getId();
-                if (isTokenBlacklisted(jti)) {
+                // Check if token is blacklisted or its session generation was revoked
+                if (isTokenRevoked(claims)) {
                     throw new InvalidCredentialsException("Token has been revoked");
                 }
                 
@@ -201,27 +197,18 @@ public class JwtTokenService {
                     throw new InvalidCredentialsException("Invalid token type");
                 }
                 
-                // Check if refresh token exists in Redis
-                String refreshKey = REFRESH_TOKEN_KEY_PREFIX + jti;
-                Object userIdObj = redisTemplate.opsForValue().get(refreshKey);
-
-                if (userIdObj == null) {
+                // Check if refresh token exists in Redis and is still the live one
+                RefreshSession session = sessionStore.findRefresh(jti);
+                if (session == null || !session.isActive()) {
                     throw new InvalidCredentialsException("Refresh token not found or expired");
                 }
-                
-                // Safely convert to Long
-                Long userId;
-                if (userIdObj instanceof String) {
-                    userId = Long.parseLong((String) userIdObj);
-                } else if (userIdObj instanceof Number) {
-                    userId = ((Number) userIdObj).longValue();
-                } else {
-                    throw new InvalidCredentialsException("Invalid refresh token data");
+                if (session.generation() < sessionStore.currentGeneration(session.userId())) {
+                    throw new InvalidCredentialsException("Refresh token has been revoked");
                 }
 
                 auditService.logTokenValidated(claims.getSubject(), "REFRESH", true);
                 
-                return userId;
+                return session.userId();
                 
             } catch (JwtException | IllegalArgumentException e) {
                 log.warn("Invalid refresh token: {}", e.getMessage());
@@ -231,6 +218,64 @@ public class JwtTokenService {
         });
     }
     
+    /**
+     * Exchange a refresh token for a new one in the same family. Each refresh token
+     * can be used once; presenting an already rotated token means it was copied, so
+     * all of the user's sessions are revoked.
+     */
+    public Mono<RotatedRefreshToken> rotateRefreshToken(String token, String ipAddress) {
+        return Mono.fromCallable(() -> {
+            Claims claims;
+            try {
+                claims = Jwts.parser()
+                        .setSigningKey(signingKey)
+                        .requireIssuer(issuer)
+                        .build()
+                        .parseClaimsJws(token)
+                        .getBody();
+            } catch (JwtException | IllegalArgumentException e) {
+                log.warn("Invalid refresh token: {}", e.getMessage());
+                auditService.logTokenValidated("unknown", "REFRESH", false);
+                throw new InvalidCredentialsException("Invalid or expired refresh token");
+            }
+            if (!"REFRESH".equals(claims.get("tokenType", String.class))) {
+                throw new InvalidCredentialsException("Invalid token type");
+            }
+
+            Long userId = claims.get("userId", Long.class);
+            String family = claims.get("fam", String.class);
+            RefreshSession presented = new RefreshSession(RefreshSession.State.ACTIVE, userId,
+                    generationClaim(claims),
+                    family != null ? UUID.fromString(family) : UUID.randomUUID(),
+                    claims.getIssuedAt().getTime() / 1000);
+
+            String newJti = UUID.randomUUID().toString();
+            Date now = new Date();
+            RefreshSession next = presented.next(now.getTime() / 1000);
+            long remaining = (claims.getExpiration().getTime() - now.getTime()) / 1000;
+
+            RedisSessionStore.Rotation rotation = sessionStore.rotate(claims.getId(), presented.rotated(), remaining,
+                    newJti, next, refreshTokenExpiration);
+            RefreshSession previous = rotation.previous();
+
+            if (previous == null || !previous.isActive() || previous.generation() < rotation.generation()) {
+                sessionStore.deleteRefresh(newJti);
+                if (previous != null && !previous.isActive()) {
+                    auditService.logSuspiciousActivity(claims.getSubject(), ipAddress, "REFRESH_TOKEN_REUSE",
+                            "Rotated refresh token presented again; revoking all sessions");
+                    revokeGeneration(previous.userId());
+                }
+                auditService.logTokenValidated(claims.getSubject(), "REFRESH", false);
+                throw new InvalidCredentialsException("Refresh token not found, reused or revoked");
+            }
+
+            auditService.logTokenValidated(claims.getSubject(), "REFRESH", true);
+            String refreshToken = buildRefreshToken(newJti, claims.getSubject(), next, ipAddress, now);
+            auditService.logTokenCreated(claims.getSubject(), "REFRESH", ipAddress);
+            return new RotatedRefreshToken(previous.userId(), refreshToken);
+        });
+    }
+    
     /**
      * Blacklist token (logout, security breach, etc.)
      */
@@ -247,19 +292,23 @@ public class JwtTokenService {
                 String jti = claims.getId();
                 Date expiration = claims.getExpiration();
                 
-                // Add to Redis blacklist
+                // Add to Redis blacklist (refresh tokens are simply dropped from the store)
                 try {
-                    String blacklistKey = BLACKLIST_KEY_PREFIX + jti;
                     long ttl = (expiration.getTime() - System.currentTimeMillis()) / 1000;
-                    if (ttl > 0) {
-                        redisTemplate.opsForValue().set(blacklistKey, reason, ttl, TimeUnit.SECONDS);
+                    if ("REFRESH".equals(claims.get("tokenType", String.class))) {
+                        sessionStore.deleteRefresh(jti);
+                    } else if (ttl > 0) {
+                        sessionStore.blacklist(jti, reason, ttl);
                     }
                 } catch (Exception e) {
                     log.warn("Failed to blacklist token in Redis: {}", e.getMessage());
                 }
                 
                 // Add to in-memory fallback
-                tokenBlacklist.put(jti, LocalDateTime.ofInstant(expiration.toInstant(), ZoneId.systemDefault()));
+                long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+                if (remainingMillis > 0) {
+                    tokenBlacklist.put(jti, reason, Duration.ofMillis(remainingMillis));
+                }
                 
                 auditService.logTokenBlacklisted(claims.getSubject(), jti, reason);
                 
@@ -276,58 +325,73 @@ public class JwtTokenService {
      */
     public Mono<Void> invalidateAllUserSessions(Long userId, String reason) {
         return Mono.fromRunnable(() -> {
-            try {
-                String sessionsKey = USER_SESSIONS_KEY_PREFIX + userId;
+            long generation = revokeGeneration(userId);
+            log.info("Invalidated all sessions for user {} (generation {}) - Reason: {}",
+                    userId, generation, reason);
+        });
+    }
 
-                @SuppressWarnings("unchecked")
-                Set<Object> sessionJtis = redisTemplate.opsForSet().members(sessionsKey);
+    /**
+     * Bump the user's session generation: every token issued before is rejected from now on.
+     */
+    private long revokeGeneration(Long userId) {
+        long generation;
+        try {
+            generation = sessionStore.incrementGeneration(userId);
+        } catch (Exception e) {
+            log.warn("Failed to invalidate user sessions in Redis for user {}: {}", userId, e.getMessage());
+            generation = localGeneration(userId) + 1;
+        }
+        localGenerations.merge(userId, generation, Math::max);
+        return generation;
+    }
 
-                if (sessionJtis != null && !sessionJtis.isEmpty()) {
-                    for (Object jtiObj : sessionJtis) {
-                        String jti = jtiObj.toString();
-                        String blacklistKey = BLACKLIST_KEY_PREFIX + jti;
-                        redisTemplate.opsForValue().set(blacklistKey, reason, accessTokenExpiration, TimeUnit.SECONDS);
-                    }
+    private long currentGeneration(Long userId) {
+        try {
+            long generation = sessionStore.currentGeneration(userId);
+            localGenerations.merge(userId, generation, Math::max);
+            return generation;
+        } catch (Exception e) {
+            log.warn("Failed to read session generation from Redis: {}", e.getMessage());
+            return localGeneration(userId);
+        }
+    }
 
-                    // Clear user sessions
-                    redisTemplate.delete(sessionsKey);
+    private long localGeneration(Long userId) {
+        Long generation = localGenerations.get(userId);
+        return generation != null ? generation : 0L;
+    }
 
-                    log.info("Invalidated {} sessions for user {} - Reason: {}",
-                            sessionJtis.size(), userId, reason);
-                }
-            } catch (Exception e) {
-                log.warn("Failed to invalidate user sessions in Redis for user {}: {}", userId, e.getMessage());
-            }
-        });
+    /** Tokens issued before generations were introduced carry none and count as generation 0. */
+    private long generationClaim(Claims claims) {
+        Number generation = claims.get("gen", Number.class);
+        return generation != null ? generation.longValue() : 0L;
     }
     
     /**
-     * Check if token is blacklisted
+     * Check if token is blacklisted or belongs to a revoked session generation
      */
-    private boolean isTokenBlacklisted(String jti) {
-        // Check Redis first
+    private boolean isTokenRevoked(Claims claims) {
+        String jti = claims.getId();
+        Long userIdClaim = claims.get("userId", Long.class);
+        long userId = userIdClaim != null ? userIdClaim : 0L;
+        long tokenGeneration = generationClaim(claims);
+
+        // Check Redis first: blacklist and generation in one round trip
         try {
-            String blacklistKey = BLACKLIST_KEY_PREFIX + jti;
-            Boolean hasKey = redisTemplate.hasKey(blacklistKey);
-            if (Boolean.TRUE.equals(hasKey)) {
+            RedisSessionStore.AccessCheck check = sessionStore.checkAccess(jti, userId);
+            if (check.blacklisted() || tokenGeneration < check.generation()) {
                 return true;
             }
         } catch (Exception e) {
             log.warn("Failed to check token blacklist in Redis: {}", e.getMessage());
-        }
-        
-        // Check in-memory fallback
-        LocalDateTime expiry = tokenBlacklist.get(jti);
-        if (expiry != null) {
-            if (LocalDateTime.now().isBefore(expiry)) {
+            if (tokenGeneration < localGeneration(userId)) {
                 return true;
-            } else {
-                // Remove expired entry
-                tokenBlacklist.remove(jti);
             }
         }
         
-        return false;
+        // Check in-memory fallback
+        return tokenBlacklist.get(jti) != null;
     }
     
     /**
@@ -345,23 +409,23 @@ public class JwtTokenService {
     }
     
     /**
-     * Store user session information
+     * Sign a refresh token carrying the session's family and generation
      */
-    private void storeUserSession(Long userId, String jti, String ipAddress, String userAgent, Date expiry) {
-        try {
-            String sessionsKey = USER_SESSIONS_KEY_PREFIX + userId;
-
-            // Add session JTI to user's session set
-            redisTemplate.opsForSet().add(sessionsKey, jti);
-
-            // Set expiration for the session set
-            long ttl = (expiry.getTime() - System.currentTimeMillis()) / 1000;
-            if (ttl > 0) {
-                redisTemplate.expire(sessionsKey, ttl, TimeUnit.SECONDS);
-            }
-        } catch (Exception e) {
-            log.warn("Failed to store user session in Redis for user {}: {}", userId, e.getMessage());
-        }
+    private String buildRefreshToken(String jti, String username, RefreshSession session,
+                                     String ipAddress, Date issuedAt) {
+        return Jwts.builder()
+                .setId(jti)
+                .setIssuer(issuer)
+                .setSubject(username)
+                .setIssuedAt(issuedAt)
+                .setExpiration(new Date(issuedAt.getTime() + refreshTokenExpiration * 1000))
+                .claim("userId", session.userId())
+                .claim("ipAddress", ipAddress)
+                .claim("tokenType", "REFRESH")
+                .claim("fam", session.family().toString())
+                .claim("gen", session.generation())
+                .signWith(signingKey, SignatureAlgorithm.HS512)
+                .compact();
     }
     
     /**
@@ -394,11 +458,10 @@ public class JwtTokenService {
     }
     
     /**
-     * Cleanup expired tokens from in-memory blacklist
+     * Cleanup expired tokens from in-memory blacklist (also done periodically by SecurityStateRegistry)
      */
     public void cleanupExpiredTokens() {
-        LocalDateTime now = LocalDateTime.now();
-        tokenBlacklist.entrySet().removeIf(entry -> now.isAfter(entry.getValue()));
+        tokenBlacklist.sweep();
         
         log.debug("Token cleanup completed. Remaining blacklisted tokens: {}", 
                 tokenBlacklist.size());
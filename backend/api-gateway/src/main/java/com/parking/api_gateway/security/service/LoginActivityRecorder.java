@@ -0,0 +1,152 @@
+package com.parking.api_gateway.security.service;
+
+import com.parking.api_gateway.security.repository.UserSecurityRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Login bookkeeping ({@code login_count}, last/current login time and IP, user agent
+ * hash) for logins that have no failed-attempt or lock state to clear.
+ *
+ * <p>By default each login is written immediately with one targeted UPDATE. With
+ * {@code security.login.write-behind.enabled=true} logins are coalesced per user and
+ * flushed as one JDBC batch every {@code flush-interval-ms}; several logins of the
+ * same user inside one interval become a single row update. Lock and failed-attempt
+ * columns are never written here, so they stay synchronous and authoritative.
+ * Up to one interval of activity is lost if the process dies.
+ *
+ * <p>Coalescing keeps the two newest logins of a user, which is all the row stores:
+ * after a flush {@code last_login_*} / {@code current_login_*} and {@code login_count}
+ * are the same as with one UPDATE per login. Earlier logins of the interval have no
+ * column to go to either way; the security audit log keeps each of them. Until the
+ * flush the row lags behind, so statements that read or rewrite the login columns of
+ * a user first call {@link #flush(Long)} for that user: the synchronous success and
+ * failure updates (which would otherwise be overtaken by the older pending login) and
+ * the profile read. Reports over {@code last_login_at} may lag by one interval.
+ */
+@Component
+@Slf4j
+public class LoginActivityRecorder {
+
+    static final String FLUSH_SQL =
+            "UPDATE users SET " +
+            "last_login_at = COALESCE(?, current_login_at), " +
+            "last_login_ip = COALESCE(?, current_login_ip), " +
+            "current_login_at = ?, " +
+            "current_login_ip = ?, " +
+            "login_count = login_count + ?, " +
+            "user_agent_hash = ?, " +
+            "updated_at = ? " +
+            "WHERE id = ?";
+
+    /** Newest login of the interval, plus the one before it when there were several. */
+    private record Pending(LocalDateTime loginTime, String ipAddress, String userAgentHash, int logins,
+                           LocalDateTime previousLoginTime, String previousIpAddress) {}
+
+    private final UserSecurityRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean writeBehind;
+
+    private final ConcurrentHashMap<Long, Pending> pending = new ConcurrentHashMap<>();
+
+    /**
+     * @param jdbcTemplate only used in write-behind mode; may be null otherwise
+     */
+    @Autowired
+    public LoginActivityRecorder(UserSecurityRepository userRepository, JdbcTemplate jdbcTemplate,
+                                 @Value("${security.login.write-behind.enabled:false}") boolean writeBehind) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeBehind = writeBehind;
+    }
+
+    public void record(Long userId, LocalDateTime loginTime, String ipAddress, String userAgentHash) {
+        if (!writeBehind) {
+            userRepository.recordSuccessfulLogin(userId, loginTime, ipAddress, userAgentHash);
+            return;
+        }
+        pending.merge(userId, new Pending(loginTime, ipAddress, userAgentHash, 1, null, null),
+                LoginActivityRecorder::combine);
+    }
+
+    /**
+     * Writes the pending logins of one user now, so the caller reads or updates a current
+     * row. No-op without write-behind or when nothing is pending for the user.
+     */
+    public void flush(Long userId) {
+        Pending p = pending.remove(userId);
+        if (p != null) {
+            write(Map.of(userId, p));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.login.write-behind.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Long, Pending> drained = new LinkedHashMap<>();
+        for (Long userId : pending.keySet()) {
+            Pending p = pending.remove(userId);
+            if (p != null) {
+                drained.put(userId, p);
+            }
+        }
+        write(drained);
+    }
+
+    private void write(Map<Long, Pending> drained) {
+        List<Object[]> batch = new ArrayList<>(drained.size());
+        drained.forEach((userId, p) -> {
+            Timestamp at = Timestamp.valueOf(p.loginTime());
+            Timestamp previousAt = p.previousLoginTime() == null ? null : Timestamp.valueOf(p.previousLoginTime());
+            batch.add(new Object[]{previousAt, p.previousIpAddress(),
+                    at, p.ipAddress(), p.logins(), p.userAgentHash(), at, userId});
+        });
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+            log.debug("Flushed login activity for {} users", batch.size());
+        } catch (DataAccessException e) {
+            log.warn("Login activity flush failed for {} users, retrying next interval: {}",
+                    batch.size(), e.getMessage());
+            // logins recorded meanwhile are newer; counts add up
+            drained.forEach((userId, p) -> pending.merge(userId, p, (current, old) -> combine(old, current)));
+        }
+    }
+
+    int pendingUsers() {
+        return pending.size();
+    }
+
+    int pendingLogins(Long userId) {
+        Pending p = pending.get(userId);
+        return p == null ? 0 : p.logins();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    private static Pending combine(Pending older, Pending newer) {
+        boolean newerHasPrevious = newer.logins() > 1;
+        return new Pending(newer.loginTime(), newer.ipAddress(), newer.userAgentHash(),
+                older.logins() + newer.logins(),
+                newerHasPrevious ? newer.previousLoginTime() : older.loginTime(),
+                newerHasPrevious ? newer.previousIpAddress() : older.ipAddress());
+    }
+}
@@ -0,0 +1,84 @@
+package com.parking.api_gateway.security.service;
+
+import com.parking.api_gateway.observability.service.ObservabilityService;
+import com.parking.api_gateway.security.exception.LoginThrottledException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caps concurrent login attempts per username and per client IP.
+ *
+ * <p>Only attempts that are currently in flight are tracked (entries disappear when
+ * the count drops to zero), so memory stays proportional to concurrent logins
+ * rather than to the number of distinct usernames an attacker tries.
+ */
+@Component
+public class LoginAdmissionControl {
+
+    /** Held for the duration of one login attempt; hand back via {@link #release}. */
+    public record Permit(String username, String ipAddress) {}
+
+    private final int maxPerUser;
+    private final int maxPerIp;
+    private final ObservabilityService observabilityService;
+
+    private final ConcurrentHashMap<String, Integer> inFlightPerUser = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Integer> inFlightPerIp = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LoginAdmissionControl(@Value("${security.login.max-concurrent-per-user:2}") int maxPerUser,
+                                 @Value("${security.login.max-concurrent-per-ip:10}") int maxPerIp,
+                                 ObservabilityService observabilityService) {
+        this.maxPerUser = maxPerUser;
+        this.maxPerIp = maxPerIp;
+        this.observabilityService = observabilityService;
+    }
+
+    /**
+     * @throws LoginThrottledException if the user or the IP already has the maximum number of attempts in flight
+     */
+    public Permit acquire(String username, String ipAddress) {
+        String user = username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+        String ip = ipAddress == null ? "" : ipAddress;
+        if (!tryIncrement(inFlightPerUser, user, maxPerUser)) {
+            observabilityService.recordLoginRejected("per_user");
+            throw LoginThrottledException.tooManyConcurrent("Too many concurrent login attempts for this account");
+        }
+        if (!tryIncrement(inFlightPerIp, ip, maxPerIp)) {
+            decrement(inFlightPerUser, user);
+            observabilityService.recordLoginRejected("per_ip");
+            throw LoginThrottledException.tooManyConcurrent("Too many concurrent login attempts from this address");
+        }
+        return new Permit(user, ip);
+    }
+
+    public void release(Permit permit) {
+        decrement(inFlightPerUser, permit.username());
+        decrement(inFlightPerIp, permit.ipAddress());
+    }
+
+    int inFlight(String username) {
+        return inFlightPerUser.getOrDefault(username, 0);
+    }
+
+    private static boolean tryIncrement(ConcurrentHashMap<String, Integer> counts, String key, int max) {
+        boolean[] admitted = new boolean[1];
+        counts.compute(key, (k, current) -> {
+            int count = current == null ? 0 : current;
+            if (count >= max) {
+                return current;
+            }
+            admitted[0] = true;
+            return count + 1;
+        });
+        return admitted[0];
+    }
+
+    private static void decrement(ConcurrentHashMap<String, Integer> counts, String key) {
+        counts.computeIfPresent(key, (k, count) -> count <= 1 ? null : count - 1);
+    }
+}
@@ -0,0 +1,115 @@
+package com.parking.api_gateway.security.service;
+
+import com.parking.api_gateway.observability.service.ObservabilityService;
+import com.parking.api_gateway.security.exception.LoginThrottledException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * {@link PasswordEncoder} that runs BCrypt on a dedicated, core-count sized pool.
+ *
+ * <p>BCrypt(10) costs tens of milliseconds of pure CPU. Running it on the caller's
+ * scheduler let a login burst grow to hundreds of hashing threads and starve
+ * proxy traffic. Here at most {@code threads} hashes run at once, at most
+ * {@code queueCapacity} wait, and anything beyond that — or waiting longer than
+ * {@code maxWait} — fails fast with {@link LoginThrottledException#overloaded}.
+ * Callers block on the result, which is cheap compared to hashing.
+ */
+@Component
+@Slf4j
+public class PasswordHashExecutor implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor pool;
+    private final long maxWaitNanos;
+    private final ObservabilityService observabilityService;
+
+    @Autowired
+    public PasswordHashExecutor(@Value("${security.password-hash.threads:0}") int threads,
+                                @Value("${security.password-hash.queue-capacity:0}") int queueCapacity,
+                                @Value("${security.password-hash.max-wait-ms:3000}") long maxWaitMs,
+                                ObservabilityService observabilityService) {
+        this(new BCryptPasswordEncoder(10), threads, queueCapacity, Duration.ofMillis(maxWaitMs),
+                observabilityService);
+    }
+
+    /**
+     * @param threads       hashing threads; {@code <= 0} means one per available core
+     * @param queueCapacity waiting hashes; {@code <= 0} means 16 per thread
+     */
+    public PasswordHashExecutor(PasswordEncoder delegate, int threads, int queueCapacity, Duration maxWait,
+                                ObservabilityService observabilityService) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        int capacity = queueCapacity > 0 ? queueCapacity : poolSize * 16;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hash-");
+        threadFactory.setDaemon(true);
+        this.delegate = delegate;
+        this.pool = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.maxWaitNanos = maxWait.toNanos();
+        this.observabilityService = observabilityService;
+        observabilityService.registerPasswordHashGauges(() -> pool.getQueue().size(), pool::getActiveCount);
+        log.info("Password hash pool: {} threads, queue capacity {}", poolSize, capacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private <T> T run(Supplier<T> hash) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = pool.submit(() -> {
+                observabilityService.recordPasswordHashQueueWait(System.nanoTime() - enqueuedAt);
+                return hash.get();
+            });
+        } catch (RejectedExecutionException e) {
+            observabilityService.recordLoginRejected("hash_queue_full");
+            throw LoginThrottledException.overloaded("Authentication service is busy, please retry");
+        }
+        try {
+            return future.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false); // drop it if it is still queued; a running hash just finishes
+            observabilityService.recordLoginRejected("hash_wait_timeout");
+            throw LoginThrottledException.overloaded("Authentication service is busy, please retry");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw LoginThrottledException.overloaded("Authentication interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -1,29 +1,47 @@
 package com.parking.api_gateway.security.service;
 
+import com.parking.api_gateway.security.audit.SecurityAuditEvent;
+import com.parking.api_gateway.security.audit.SecurityAuditEvent.Level;
+import com.parking.api_gateway.security.audit.SecurityAuditPipeline;
+import com.parking.api_gateway.security.state.BoundedExpiringMap;
+import com.parking.api_gateway.security.state.SecurityStateRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SecurityAuditService {
     
-    // In-memory audit cache for high-frequency events
-    private final Map<String, Integer> loginAttemptCache = new ConcurrentHashMap<>();
-    private final Map<String, LocalDateTime> lastAuditFlush = new ConcurrentHashMap<>();
+    private final SecurityStateRegistry stateRegistry;
+    // Audit records are written and exported off the request thread
+    private final SecurityAuditPipeline auditPipeline;
+
+    // In-memory audit cache for high-frequency events (per IP, capped, kept for 24 hours)
+    private BoundedExpiringMap<String, Integer> loginAttemptCache;
+    private BoundedExpiringMap<String, LocalDateTime> lastAuditFlush;
+
+    @PostConstruct
+    public void initializeCaches() {
+        int maxIps = stateRegistry.properties().getMaxTrackedIps();
+        this.loginAttemptCache = stateRegistry.register("login_attempts", maxIps, Duration.ofHours(24),
+                BoundedExpiringMap.Expiry.AFTER_WRITE);
+        this.lastAuditFlush = stateRegistry.register("audit_flush", maxIps, Duration.ofHours(24),
+                BoundedExpiringMap.Expiry.AFTER_WRITE);
+    }
     
     /**
      * Log successful login
      */
     public void logSuccessfulLogin(String username, String ipAddress, String userAgent) {
-        log.info("AUDIT: Successful login - User: {}, IP: {}, UserAgent: {}, Time: {}", 
-                username, ipAddress, truncateUserAgent(userAgent), LocalDateTime.now());
+        auditPipeline.submit(SecurityAuditEvent.of("LOGIN_SUCCESS", Level.INFO, username, ipAddress,
+                "Successful login", "UserAgent: " + truncateUserAgent(userAgent)));
         
         // Reset failed attempt counter for this IP
         loginAttemptCache.remove(ipAddress);
@@ -34,35 +52,35 @@ public class SecurityAuditService {
      */
     public void logFailedLogin(String username, String ipAddress, String userAgent, String reason) {
         // Increment attempt counter for this IP
-        loginAttemptCache.merge(ipAddress, 1, Integer::sum);
+        int attempts = loginAttemptCache.merge(ipAddress, 1, Integer::sum);
         
-        log.warn("AUDIT: Failed login - User: {}, IP: {}, Reason: {}, UserAgent: {}, Time: {}, Total Attempts: {}", 
-                username, ipAddress, reason, truncateUserAgent(userAgent), 
-                LocalDateTime.now(), loginAttemptCache.get(ipAddress));
+        auditPipeline.submit(SecurityAuditEvent.of("LOGIN_FAILED", Level.WARN, username, ipAddress,
+                "Failed login: " + reason,
+                "UserAgent: " + truncateUserAgent(userAgent) + ", Total Attempts: " + attempts));
     }
     
     /**
      * Log account locked event
      */
     public void logAccountLocked(String username, LocalDateTime lockUntil, String reason) {
-        log.error("AUDIT: Account locked - User: {}, Locked until: {}, Reason: {}, Time: {}", 
-                username, lockUntil, reason, LocalDateTime.now());
+        auditPipeline.submit(SecurityAuditEvent.of("ACCOUNT_LOCKED", Level.ERROR, username, null,
+                "Account locked: " + reason, "Locked until: " + lockUntil));
     }
     
     /**
      * Log password change
      */
     public void logPasswordChange(String username) {
-        log.info("AUDIT: Password changed - User: {}, Time: {}", 
-                username, LocalDateTime.now());
+        auditPipeline.submit(SecurityAuditEvent.of("PASSWORD_CHANGED", Level.INFO, username, null,
+                "Password changed", null));
     }
     
     /**
      * Log JWT token creation
      */
     public void logTokenCreated(String username, String tokenType, String ipAddress) {
-        log.info("AUDIT: Token created - User: {}, Type: {}, IP: {}, Time: {}", 
-                username, tokenType, ipAddress, LocalDateTime.now());
+        auditPipeline.submit(SecurityAuditEvent.of("TOKEN_CREATED", Level.INFO, username, ipAddress,
+                "Token created: " + tokenType, null));
     }
     
     /**
@@ -70,11 +88,10 @@ public class SecurityAuditService {
      */
     public void logTokenValidated(String username, String tokenType, boolean isValid) {
         if (isValid) {
-            log.debug("AUDIT: Token validated - User: {}, Type: {}, Time: {}", 
-                    username, tokenType, LocalDateTime.now());
+            log.debug("AUDIT: Token validated - User: {}, Type: {}", username, tokenType);
         } else {
-            log.warn("AUDIT: Token validation failed - User: {}, Type: {}, Time: {}", 
-                    username, tokenType, LocalDateTime.now());
+            auditPipeline.submit(SecurityAuditEvent.of("TOKEN_VALIDATION_FAILED", Level.WARN, username, null,
+                    "Token validation failed: " + tokenType, null));
         }
     }
     
@@ -82,39 +99,40 @@ public class SecurityAuditService {
      * Log JWT token blacklisted
      */
     public void logTokenBlacklisted(String username, String tokenJti, String reason) {
-        log.warn("AUDIT: Token blacklisted - User: {}, JTI: {}, Reason: {}, Time: {}", 
-                username, tokenJti, reason, LocalDateTime.now());
+        auditPipeline.submit(SecurityAuditEvent.of("TOKEN_BLACKLISTED", Level.WARN, username, null,
+                "Token blacklisted: " + reason, "JTI: " + tokenJti));
     }
     
     /**
      * Log user logout
      */
     public void logUserLogout(String username, String ipAddress, String reason) {
-        log.info("AUDIT: User logout - User: {}, IP: {}, Reason: {}, Time: {}", 
-                username, ipAddress, reason, LocalDateTime.now());
+        auditPipeline.submit(SecurityAuditEvent.of("LOGOUT", Level.INFO, username, ipAddress,
+                "User logout: " + reason, null));
     }
     
     /**
      * Log security configuration change
      */
     public void logSecurityConfigChange(String adminUsername, String changeType, String details) {
-        log.warn("AUDIT: Security config changed - Admin: {}, Change: {}, Details: {}, Time: {}", 
-                adminUsername, changeType, details, LocalDateTime.now());
+        auditPipeline.submit(SecurityAuditEvent.of("SECURITY_CONFIG_CHANGE", Level.WARN, adminUsername, null,
+                "Security config changed: " + changeType, details));
     }
     
     /**
      * Log suspicious activity
      */
     public void logSuspiciousActivity(String username, String ipAddress, String activity, String details) {
-        log.error("AUDIT: Suspicious activity - User: {}, IP: {}, Activity: {}, Details: {}, Time: {}", 
-                username, ipAddress, activity, details, LocalDateTime.now());
+        auditPipeline.submit(SecurityAuditEvent.of("SUSPICIOUS_ACTIVITY", Level.ERROR, username, ipAddress,
+                "Suspicious activity: " + activity, details));
     }
     
     /**
      * Get login attempt count for IP address
      */
     public int getLoginAttemptCount(String ipAddress) {
-        return loginAttemptCache.getOrDefault(ipAddress, 0);
+        Integer attempts = loginAttemptCache.get(ipAddress);
+        return attempts != null ? attempts : 0;
     }
     
     /**
@@ -150,14 +168,13 @@ public class SecurityAuditService {
     }
     
     /**
-     * Cleanup old audit data periodically
+     * Cleanup old audit data (also done periodically by SecurityStateRegistry)
      */
     @Transactional
     public void cleanupOldAuditData() {
-        LocalDateTime cutoff = LocalDateTime.now().minusHours(24);
-        
-        // Remove old entries from cache
-        lastAuditFlush.entrySet().removeIf(entry -> entry.getValue().isBefore(cutoff));
+        // Remove entries older than 24 hours from cache
+        loginAttemptCache.sweep();
+        lastAuditFlush.sweep();
         
         log.debug("Audit cache cleanup completed. Remaining entries: {}", 
                 lastAuditFlush.size());
@@ -8,10 +8,9 @@ import com.parking.api_gateway.security.exception.AccountLockedException;
 import com.parking.api_gateway.security.exception.CredentialsExpiredException;
 import com.parking.api_gateway.security.exception.InvalidCredentialsException;
 import com.parking.api_gateway.security.exception.AccountDisabledException;
+import com.parking.api_gateway.security.exception.LoginThrottledException;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,29 +22,50 @@ import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 @Transactional
 public class UserSecurityService {
     
     private final UserSecurityRepository userRepository;
     private final SecurityAuditService auditService;
-    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(10); // Match database hash strength
+    private final PasswordEncoder passwordEncoder; // BCrypt(10) on the bounded hash pool (PasswordHashExecutor)
+    private final LoginAdmissionControl loginAdmissionControl;
+    private final LoginActivityRecorder loginActivityRecorder;
 
     // Security Configuration
     private static final int MAX_FAILED_ATTEMPTS = 5;
     private static final int LOCKOUT_DURATION_MINUTES = 30;
     private static final int PASSWORD_EXPIRY_DAYS = 90;
     private static final int SESSION_TIMEOUT_HOURS = 8;
+
+    public UserSecurityService(UserSecurityRepository userRepository, SecurityAuditService auditService,
+                               PasswordHashExecutor passwordHashExecutor,
+                               LoginAdmissionControl loginAdmissionControl,
+                               LoginActivityRecorder loginActivityRecorder) {
+        this.userRepository = userRepository;
+        this.auditService = auditService;
+        this.passwordEncoder = passwordHashExecutor;
+        this.loginAdmissionControl = loginAdmissionControl;
+        this.loginActivityRecorder = loginActivityRecorder;
+    }
     
     /**
-     * Authenticate user with comprehensive security checks (Reactive wrapper)
+     * Authenticate user with comprehensive security checks (Reactive wrapper).
+     * Concurrent attempts per user / IP are capped before any database or BCrypt work;
+     * throttled attempts are not audited (a login storm must not turn into an audit-write storm).
      */
     public Mono<AuthResponse> authenticateUser(AuthRequest request, String clientIpAddress, String userAgent) {
-        return Mono.fromCallable(() -> authenticateUserSync(request, clientIpAddress, userAgent))
-          .subscribeOn(Schedulers.boundedElastic())
+        return Mono.using(
+                  () -> loginAdmissionControl.acquire(request.getUsername(), clientIpAddress),
+                  permit -> Mono.fromCallable(() -> authenticateUserSync(request, clientIpAddress, userAgent))
+                          .subscribeOn(Schedulers.boundedElastic()),
+                  loginAdmissionControl::release)
           .doOnSuccess(response -> auditService.logSuccessfulLogin(response.getUser().getUsername(), clientIpAddress, userAgent))
-          .doOnError(error -> auditService.logFailedLogin(request.getUsername(), clientIpAddress, userAgent, error.getMessage()));
+          .doOnError(error -> {
+              if (!(error instanceof LoginThrottledException)) {
+                  auditService.logFailedLogin(request.getUsername(), clientIpAddress, userAgent, error.getMessage());
+              }
+          });
     }
 
     /**
@@ -194,12 +214,12 @@ public class UserSecurityService {
     private void handleFailedLogin(UserSecurityEntity user, String ipAddress, String reason) {
         log.debug("🔧 [handleFailedLogin] Starting - userId: {}, currentAttempts: {}", user.getId(), user.getFailedLoginAttempts());
 
+        LocalDateTime lockUntil = LocalDateTime.now().plusMinutes(LOCKOUT_DURATION_MINUTES);
         try {
-            log.debug("🔧 [handleFailedLogin] Incrementing failed attempts using entity method...");
-            // Increment using entity and save
-            user.setFailedLoginAttempts(user.getFailedLoginAttempts() + 1);
-            user.setLastLoginIp(ipAddress);
-            userRepository.save(user);
+            // a pending write-behind login must land first, or its flush would overwrite last_login_ip
+            loginActivityRecorder.flush(user.getId());
+            // Single UPDATE: increments the counter and applies the lock once the limit is reached
+            userRepository.recordFailedLogin(user.getId(), ipAddress, MAX_FAILED_ATTEMPTS, lockUntil);
             log.debug("✓ [handleFailedLogin] Successfully incremented failed attempts");
         } catch (Exception e) {
             log.error("❌ [handleFailedLogin] ERROR incrementing attempts: {} - {}",
@@ -207,22 +227,20 @@ public class UserSecurityService {
             throw e;
         }
 
-        int attempts = user.getFailedLoginAttempts();
+        // keep the detached entity in step with the row (used for logging only)
+        int attempts = user.getFailedLoginAttempts() + 1;
+        user.setFailedLoginAttempts(attempts);
+        user.setLastLoginIp(ipAddress);
 
         log.warn("Failed login attempt #{} for user {} from IP {}: {}", 
                 attempts, user.getUsername(), ipAddress, reason);
         
         if (attempts >= MAX_FAILED_ATTEMPTS) {
-            log.warn("🔒 [handleFailedLogin] MAX_FAILED_ATTEMPTS reached, locking account...");
-            try {
-                lockAccountTemporarily(user);
-                log.error("Account {} locked due to {} failed login attempts from IP {}",
-                         user.getUsername(), attempts, ipAddress);
-            } catch (Exception e) {
-                log.error("❌ [handleFailedLogin] ERROR locking account: {} - {}",
-                         e.getClass().getSimpleName(), e.getMessage(), e);
-                throw e;
-            }
+            user.setAccountLockedUntil(lockUntil);
+            user.setAccountNonLocked(false);
+            auditService.logAccountLocked(user.getUsername(), lockUntil, "Too many failed login attempts");
+            log.error("Account {} locked due to {} failed login attempts from IP {}",
+                     user.getUsername(), attempts, ipAddress);
         }
     }
     
@@ -234,10 +252,9 @@ public class UserSecurityService {
         log.debug("🔒 [lockAccountTemporarily] Locking user {} until {}", user.getUsername(), lockUntil);
 
         try {
-            // Use entity method and save instead of native query
+            userRepository.lockAccount(user.getId(), lockUntil);
             user.setAccountLockedUntil(lockUntil);
             user.setAccountNonLocked(false);
-            userRepository.save(user);
             log.debug("✓ [lockAccountTemporarily] Account locked successfully");
         } catch (Exception e) {
             log.error("❌ [lockAccountTemporarily] ERROR: {} - {}", e.getClass().getSimpleName(), e.getMessage(), e);
@@ -248,27 +265,39 @@ public class UserSecurityService {
     }
     
     /**
-     * Record successful login
+     * Record successful login.
+     * Targeted UPDATE instead of saving the detached entity (which cost a SELECT for
+     * the merge plus a full-row UPDATE). When there is no failed-attempt or lock state
+     * to clear, the bookkeeping may be deferred to {@link LoginActivityRecorder}.
      */
     private void recordSuccessfulLogin(UserSecurityEntity user, String ipAddress, String userAgent) {
         log.debug("📝 [recordSuccessfulLogin] Recording login for userId: {}", user.getId());
 
         try {
-            log.debug("📝 [recordSuccessfulLogin] Updating user entity...");
-            // Use entity methods and save instead of native query
+            LocalDateTime loginTime = LocalDateTime.now();
+            String userAgentHash = hashUserAgent(userAgent); // device tracking
+            boolean lockStateClean = user.getFailedLoginAttempts() == 0
+                    && user.getAccountLockedUntil() == null
+                    && Boolean.TRUE.equals(user.getAccountNonLocked());
+
+            if (lockStateClean) {
+                loginActivityRecorder.record(user.getId(), loginTime, ipAddress, userAgentHash);
+            } else {
+                loginActivityRecorder.flush(user.getId()); // keep login order in the row
+                userRepository.recordSuccessfulLogin(user.getId(), loginTime, ipAddress, userAgentHash);
+            }
+
+            // keep the detached entity (returned in AuthResponse) in step with the row; with
+            // write-behind it was read before this user's still pending logins, if any
             user.setLastLoginAt(user.getCurrentLoginAt());
             user.setLastLoginIp(user.getCurrentLoginIp());
-            user.setCurrentLoginAt(LocalDateTime.now());
+            user.setCurrentLoginAt(loginTime);
             user.setCurrentLoginIp(ipAddress);
             user.setLoginCount(user.getLoginCount() + 1);
-            user.setFailedLoginAttempts(0); // Reset failed attempts
-            user.setAccountLockedUntil(null); // Clear any lock
-
-            // Update user agent hash for device tracking
-            String userAgentHash = hashUserAgent(userAgent);
+            user.setFailedLoginAttempts(0);
+            user.setAccountLockedUntil(null);
+            user.setAccountNonLocked(true);
             user.setUserAgentHash(userAgentHash);
-
-            userRepository.save(user);
             log.debug("✓ [recordSuccessfulLogin] Login recorded in database");
         } catch (Exception e) {
             log.error("❌ [recordSuccessfulLogin] ERROR: {} - {}", e.getClass().getSimpleName(), e.getMessage(), e);
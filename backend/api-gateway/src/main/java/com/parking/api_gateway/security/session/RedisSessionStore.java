@@ -0,0 +1,124 @@
+package com.parking.api_gateway.security.session;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Redis-backed token/session state for {@code JwtTokenService}.
+ *
+ * <p>Keys:
+ * <ul>
+ *   <li>{@code jwt:refresh:<jti>} – {@link RefreshSession} (binary), TTL = token lifetime</li>
+ *   <li>{@code jwt:blacklist:<jti>} – revoked access token, TTL = remaining token lifetime</li>
+ *   <li>{@code jwt:gen:<userId>} – session generation; tokens carry the generation they
+ *       were issued under and are rejected once it is lower than this counter, so
+ *       "log out everywhere" is a single INCR instead of one write per session.
+ *       The key never expires: letting it reset would re-validate revoked tokens.</li>
+ * </ul>
+ * Operations that need several commands send them in one pipeline (one round trip).
+ * Redis errors propagate; callers decide on the fallback.
+ */
+@Component
+public class RedisSessionStore {
+
+    static final String BLACKLIST_KEY_PREFIX = "jwt:blacklist:";
+    static final String REFRESH_TOKEN_KEY_PREFIX = "jwt:refresh:";
+    static final String GENERATION_KEY_PREFIX = "jwt:gen:";
+
+    /** Result of the per-request access token check. */
+    public record AccessCheck(boolean blacklisted, long generation) {}
+
+    /**
+     * Result of {@link #rotate}: the record the presented token pointed at before it was
+     * replaced by a tombstone ({@code null} if it was missing or expired) and the user's
+     * current generation.
+     */
+    public record Rotation(RefreshSession previous, long generation) {}
+
+    private final RedisTemplate<String, byte[]> redis;
+
+    public RedisSessionStore(@Qualifier("sessionRedisTemplate") RedisTemplate<String, byte[]> redis) {
+        this.redis = redis;
+    }
+
+    /** Blacklist lookup and generation read in a single round trip. */
+    public AccessCheck checkAccess(String jti, long userId) {
+        List<Object> results = redis.executePipelined((RedisCallback<Object>) connection -> {
+            connection.keyCommands().exists(key(BLACKLIST_KEY_PREFIX, jti));
+            connection.stringCommands().get(key(GENERATION_KEY_PREFIX, userId));
+            return null;
+        });
+        return new AccessCheck(Boolean.TRUE.equals(results.get(0)), parseGeneration(results.get(1)));
+    }
+
+    public long currentGeneration(long userId) {
+        return parseGeneration(redis.opsForValue().get(GENERATION_KEY_PREFIX + userId));
+    }
+
+    /** Revoke every token issued to the user so far; returns the new generation. */
+    public long incrementGeneration(long userId) {
+        Long generation = redis.execute((RedisCallback<Long>) connection ->
+                connection.stringCommands().incr(key(GENERATION_KEY_PREFIX, userId)));
+        return generation != null ? generation : 0;
+    }
+
+    public void saveRefresh(String jti, RefreshSession session, long ttlSeconds) {
+        redis.execute((RedisCallback<Object>) connection ->
+                connection.stringCommands().setEx(key(REFRESH_TOKEN_KEY_PREFIX, jti), ttlSeconds, session.encode()));
+    }
+
+    /** @return the stored record, or {@code null} if the token is unknown or expired */
+    public RefreshSession findRefresh(String jti) {
+        byte[] value = redis.opsForValue().get(REFRESH_TOKEN_KEY_PREFIX + jti);
+        return value != null ? RefreshSession.decode(value) : null;
+    }
+
+    public void deleteRefresh(String jti) {
+        redis.delete(REFRESH_TOKEN_KEY_PREFIX + jti);
+    }
+
+    public void blacklist(String jti, String reason, long ttlSeconds) {
+        redis.execute((RedisCallback<Object>) connection ->
+                connection.stringCommands().setEx(key(BLACKLIST_KEY_PREFIX, jti), ttlSeconds,
+                        reason.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Consume {@code oldJti} and register {@code newJti} in one pipeline: the old record is
+     * swapped for a tombstone (GETSET is atomic, so of two concurrent rotations only one
+     * sees the active record), the generation is read and the successor is stored.
+     * The caller must {@link #deleteRefresh delete} {@code newJti} if it rejects the rotation.
+     */
+    public Rotation rotate(String oldJti, RefreshSession tombstone, long tombstoneTtlSeconds,
+                           String newJti, RefreshSession next, long ttlSeconds) {
+        List<Object> results = redis.executePipelined((RedisCallback<Object>) connection -> {
+            byte[] oldKey = key(REFRESH_TOKEN_KEY_PREFIX, oldJti);
+            // reads first: status replies of the writes may be left out of the result list
+            connection.stringCommands().getSet(oldKey, tombstone.encode());
+            connection.stringCommands().get(key(GENERATION_KEY_PREFIX, next.userId()));
+            connection.keyCommands().expire(oldKey, Math.max(1, tombstoneTtlSeconds));
+            connection.stringCommands().setEx(key(REFRESH_TOKEN_KEY_PREFIX, newJti), ttlSeconds, next.encode());
+            return null;
+        });
+        byte[] previous = (byte[]) results.get(0);
+        return new Rotation(previous != null ? RefreshSession.decode(previous) : null,
+                parseGeneration(results.get(1)));
+    }
+
+    private static byte[] key(String prefix, Object id) {
+        return (prefix + id).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** INCR stores the counter as a decimal string. */
+    static long parseGeneration(Object value) {
+        if (value instanceof byte[] bytes && bytes.length > 0) {
+            return Long.parseLong(new String(bytes, StandardCharsets.US_ASCII));
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,85 @@
+package com.parking.api_gateway.security.session;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Server-side state of one refresh token, stored under {@code jwt:refresh:<jti>}.
+ *
+ * <p>Encoded as a fixed 42-byte record instead of JSON:
+ * <pre>
+ * version(1) | state(1) | userId(8) | generation(8) | family(16) | issuedAt epoch seconds(8)
+ * </pre>
+ * All refresh tokens descending from one login share a {@code family}; when a token
+ * is rotated its record is overwritten with a {@link State#ROTATED} tombstone so that
+ * presenting it again can be recognised as reuse.
+ */
+public record RefreshSession(State state, long userId, long generation, UUID family, long issuedAt) {
+
+    public enum State { ACTIVE, ROTATED }
+
+    static final byte VERSION = 1;
+    static final int ENCODED_LENGTH = 42;
+
+    public static RefreshSession issue(long userId, long generation, long issuedAt) {
+        return new RefreshSession(State.ACTIVE, userId, generation, UUID.randomUUID(), issuedAt);
+    }
+
+    /** Successor in the same family, issued on rotation. */
+    public RefreshSession next(long issuedAt) {
+        return new RefreshSession(State.ACTIVE, userId, generation, family, issuedAt);
+    }
+
+    public RefreshSession rotated() {
+        return new RefreshSession(State.ROTATED, userId, generation, family, issuedAt);
+    }
+
+    public boolean isActive() {
+        return state == State.ACTIVE;
+    }
+
+    public byte[] encode() {
+        return ByteBuffer.allocate(ENCODED_LENGTH)
+                .put(VERSION)
+                .put((byte) state.ordinal())
+                .putLong(userId)
+                .putLong(generation)
+                .putLong(family.getMostSignificantBits())
+                .putLong(family.getLeastSignificantBits())
+                .putLong(issuedAt)
+                .array();
+    }
+
+    /**
+     * Decode a stored value. Values written by the previous JSON serializer (the
+     * quoted user id, e.g. {@code "42"}) are still accepted so refresh tokens issued
+     * before the upgrade keep working until they expire.
+     *
+     * @throws IllegalArgumentException if the value is neither format
+     */
+    public static RefreshSession decode(byte[] value) {
+        if (value == null || value.length == 0) {
+            throw new IllegalArgumentException("Empty refresh session");
+        }
+        if (value[0] == '"') {
+            String json = new String(value, StandardCharsets.UTF_8);
+            try {
+                long userId = Long.parseLong(json.substring(1, json.length() - 1));
+                return new RefreshSession(State.ACTIVE, userId, 0, UUID.randomUUID(), 0);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Unreadable legacy refresh session", e);
+            }
+        }
+        if (value[0] != VERSION || value.length != ENCODED_LENGTH) {
+            throw new IllegalArgumentException("Unsupported refresh session encoding");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(value, 1, ENCODED_LENGTH - 1);
+        int stateOrdinal = buffer.get();
+        if (stateOrdinal < 0 || stateOrdinal >= State.values().length) {
+            throw new IllegalArgumentException("Unknown refresh session state " + stateOrdinal);
+        }
+        return new RefreshSession(State.values()[stateOrdinal], buffer.getLong(), buffer.getLong(),
+                new UUID(buffer.getLong(), buffer.getLong()), buffer.getLong());
+    }
+}
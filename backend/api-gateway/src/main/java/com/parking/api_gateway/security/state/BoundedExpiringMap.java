@@ -0,0 +1,213 @@
+package com.parking.api_gateway.security.state;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrent map whose entries expire and whose size is capped, for per-IP / per-token
+ * security state that must not grow with the number of distinct clients.
+ *
+ * <p>Expired entries are dropped lazily on access and in bulk by {@link #sweep()}
+ * (called periodically by {@link SecurityStateRegistry}). When an insert pushes the map
+ * past {@code maxEntries}, a small sample of entries is inspected and the one closest
+ * to expiry is evicted, so the cap is enforced in O(1) per insert without a global
+ * lock; under heavy concurrency the size may briefly overshoot by the number of
+ * racing inserts.
+ */
+public final class BoundedExpiringMap<K, V> {
+
+    /** Entries inspected per capacity eviction. */
+    static final int EVICTION_SAMPLE = 16;
+
+    public enum Expiry {
+        /** Lifetime counts from the last write. */
+        AFTER_WRITE,
+        /** Lifetime is extended on every read or write. */
+        AFTER_ACCESS
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        volatile long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+
+    private final String name;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Expiry expiry;
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public BoundedExpiringMap(String name, int maxEntries, Duration ttl, Expiry expiry) {
+        this(name, maxEntries, ttl, expiry, System::nanoTime);
+    }
+
+    BoundedExpiringMap(String name, int maxEntries, Duration ttl, Expiry expiry, LongSupplier nanoClock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive for " + name);
+        }
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.expiry = expiry;
+        this.nanoClock = nanoClock;
+    }
+
+    /** @return the live value, or {@code null} if absent or expired */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        long now = nanoClock.getAsLong();
+        if (entry.isExpired(now)) {
+            if (entries.remove(key, entry)) {
+                expirations.increment();
+            }
+            return null;
+        }
+        if (expiry == Expiry.AFTER_ACCESS) {
+            entry.expiresAt = now + ttlNanos;
+        }
+        return entry.value;
+    }
+
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> factory) {
+        long now = nanoClock.getAsLong();
+        boolean[] created = new boolean[1];
+        Entry<V> entry = entries.compute(key, (k, current) -> {
+            if (current != null && !current.isExpired(now)) {
+                if (expiry == Expiry.AFTER_ACCESS) {
+                    current.expiresAt = now + ttlNanos;
+                }
+                return current;
+            }
+            if (current != null) {
+                expirations.increment();
+            }
+            created[0] = true;
+            return new Entry<>(factory.apply(k), now + ttlNanos);
+        });
+        if (created[0]) {
+            enforceCapacity(key);
+        }
+        return entry.value;
+    }
+
+    /** Combine with the live value (like {@link Map#merge}); expired values count as absent. */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remapping) {
+        long now = nanoClock.getAsLong();
+        boolean[] created = new boolean[1];
+        Entry<V> entry = entries.compute(key, (k, current) -> {
+            if (current == null || current.isExpired(now)) {
+                if (current != null) {
+                    expirations.increment();
+                }
+                created[0] = true;
+                return new Entry<>(value, now + ttlNanos);
+            }
+            return new Entry<>(remapping.apply(current.value, value), now + ttlNanos);
+        });
+        if (created[0]) {
+            enforceCapacity(key);
+        }
+        return entry.value;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, ttlNanos);
+    }
+
+    /** Store with an explicit lifetime, e.g. the remaining lifetime of a token. */
+    public void put(K key, V value, Duration ttl) {
+        put(key, value, ttl.toNanos());
+    }
+
+    private void put(K key, V value, long ttl) {
+        if (entries.put(key, new Entry<>(value, nanoClock.getAsLong() + ttl)) == null) {
+            enforceCapacity(key);
+        }
+    }
+
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    /** Drop every expired entry; returns how many were removed. */
+    public int sweep() {
+        long now = nanoClock.getAsLong();
+        int removed = 0;
+        for (Map.Entry<K, Entry<V>> e : entries.entrySet()) {
+            if (e.getValue().isExpired(now) && entries.remove(e.getKey(), e.getValue())) {
+                removed++;
+            }
+        }
+        expirations.add(removed);
+        return removed;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /** Entries dropped to stay within {@code maxEntries}. */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /** Entries dropped because they outlived their TTL. */
+    public long expirations() {
+        return expirations.sum();
+    }
+
+    private void enforceCapacity(K justAdded) {
+        while (entries.size() > maxEntries) {
+            long now = nanoClock.getAsLong();
+            K victim = null;
+            Entry<V> victimEntry = null;
+            Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+            for (int i = 0; i < EVICTION_SAMPLE && it.hasNext(); i++) {
+                Map.Entry<K, Entry<V>> candidate = it.next();
+                if (candidate.getKey().equals(justAdded)) {
+                    continue;
+                }
+                if (victimEntry == null || candidate.getValue().expiresAt - victimEntry.expiresAt < 0) {
+                    victim = candidate.getKey();
+                    victimEntry = candidate.getValue();
+                }
+            }
+            if (victim == null) {
+                return;
+            }
+            if (entries.remove(victim, victimEntry)) {
+                if (victimEntry.isExpired(now)) {
+                    expirations.increment();
+                } else {
+                    evictions.increment();
+                }
+            }
+        }
+    }
+}
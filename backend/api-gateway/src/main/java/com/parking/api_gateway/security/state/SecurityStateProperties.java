@@ -0,0 +1,35 @@
+package com.parking.api_gateway.security.state;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Size caps for in-memory security state, bound from {@code security.state.*}.
+ *
+ * <pre>
+ * security:
+ *   state:
+ *     max-tracked-ips: 50000
+ *     max-tracked-tokens: 100000
+ *     max-tracked-users: 100000
+ *     sweep-interval-ms: 30000
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "security.state")
+@Data
+public class SecurityStateProperties {
+
+    /** Per client IP maps: rate limit windows, blocked IPs, failed login counters. */
+    private int maxTrackedIps = 50_000;
+
+    /** In-memory token blacklist (fallback when Redis is unavailable). */
+    private int maxTrackedTokens = 100_000;
+
+    /** Per user maps, e.g. the session generation fallback. */
+    private int maxTrackedUsers = 100_000;
+
+    /** How often {@link SecurityStateRegistry#sweep()} removes expired entries. */
+    private long sweepIntervalMs = 30_000;
+}
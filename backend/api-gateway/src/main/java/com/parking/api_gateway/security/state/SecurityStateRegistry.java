@@ -0,0 +1,54 @@
+package com.parking.api_gateway.security.state;
+
+import com.parking.api_gateway.observability.service.ObservabilityService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Creates the gateway's in-memory security maps, exports their size/eviction gauges
+ * and sweeps expired entries in the background.
+ */
+@Component
+@Slf4j
+public class SecurityStateRegistry {
+
+    private final SecurityStateProperties properties;
+    private final ObservabilityService observabilityService;
+    private final List<BoundedExpiringMap<?, ?>> maps = new CopyOnWriteArrayList<>();
+
+    public SecurityStateRegistry(SecurityStateProperties properties, ObservabilityService observabilityService) {
+        this.properties = properties;
+        this.observabilityService = observabilityService;
+    }
+
+    public SecurityStateProperties properties() {
+        return properties;
+    }
+
+    public <K, V> BoundedExpiringMap<K, V> register(String name, int maxEntries, Duration ttl,
+                                                    BoundedExpiringMap.Expiry expiry) {
+        BoundedExpiringMap<K, V> map = new BoundedExpiringMap<>(name, maxEntries, ttl, expiry);
+        maps.add(map);
+        observabilityService.registerSecurityStateGauges(name, map::size, map::evictions, map::expirations);
+        return map;
+    }
+
+    @Scheduled(fixedDelayString = "${security.state.sweep-interval-ms:30000}")
+    public void sweep() {
+        for (BoundedExpiringMap<?, ?> map : maps) {
+            try {
+                int removed = map.sweep();
+                if (removed > 0) {
+                    log.debug("Swept {} expired entries from {} ({} remaining)", removed, map.name(), map.size());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to sweep security state {}: {}", map.name(), e.getMessage());
+            }
+        }
+    }
+}
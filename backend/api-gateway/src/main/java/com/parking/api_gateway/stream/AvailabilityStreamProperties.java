@@ -0,0 +1,28 @@
+package com.parking.api_gateway.stream;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Availability push stream relay settings, bound from {@code gateway.availability-stream.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.availability-stream")
+@Data
+public class AvailabilityStreamProperties {
+
+    /** Management-service SSE endpoint; the gateway holds one connection to it. */
+    private String url = "http://management-service:8083/api/management/spots/availability/stream";
+
+    /** Client connections served by this gateway instance; further subscribers get 503. */
+    private int maxSubscribers = 5000;
+
+    /** Client connections are closed after this long; EventSource reconnects and gets a fresh snapshot. */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /** Upper bound of the reconnect backoff towards management-service. */
+    private Duration maxReconnectDelay = Duration.ofSeconds(30);
+}
@@ -0,0 +1,267 @@
+package com.parking.api_gateway.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * Fans the management-service availability stream out to gateway clients.
+ *
+ * <p>The gateway keeps a single upstream SSE connection, whatever the number of info boards
+ * and browsers connected to it. It mirrors the upstream state (a {@code snapshot} replaces it,
+ * a {@code delta} is merged), so a new client gets its snapshot from here and then the same
+ * coalesced deltas management-service publishes, filtered by lot. After an upstream reconnect
+ * the fresh snapshot is passed on to every client, covering any deltas missed in between.
+ */
+@Component
+@Slf4j
+public class AvailabilityStreamRelay {
+
+    private static final Duration INITIAL_RECONNECT_DELAY = Duration.ofSeconds(1);
+    private static final long CLIENT_RECONNECT_DELAY_MS = 3_000;
+
+    private final AvailabilityStreamProperties properties;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    /** Latest availability per area, keyed by lot and section; guarded by this. */
+    private final Map<String, JsonNode> areas = new LinkedHashMap<>();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    /** True while connected and a snapshot has been received; guarded by this. */
+    private boolean ready;
+    private Thread reader;
+    private volatile boolean running = true;
+    private volatile Stream<String> upstream;
+
+    // SSE parser state, only touched by the reader thread
+    private String eventName;
+    private final StringBuilder data = new StringBuilder();
+
+    private record Subscriber(SseEmitter emitter, Long lotId) {
+    }
+
+    public AvailabilityStreamRelay(AvailabilityStreamProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Opens a client stream for one lot, or all lots when {@code lotId} is null.
+     * The upstream connection is opened with the first subscriber.
+     *
+     * @throws ResponseStatusException 503 when the subscriber limit is reached
+     */
+    public synchronized SseEmitter subscribe(Long lotId) {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many availability subscribers");
+        }
+        startReader();
+        SseEmitter emitter = newEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, lotId);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        if (ready) {
+            sendSnapshot(subscriber);
+        }
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Stream<String> current = upstream;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    synchronized void startReader() {
+        if (reader == null && running) {
+            reader = Thread.ofPlatform().daemon().name("availability-stream-relay").start(this::readLoop);
+        }
+    }
+
+    // ── Upstream connection ────────────────────────────────────
+
+    private void readLoop() {
+        Duration delay = INITIAL_RECONNECT_DELAY;
+        while (running) {
+            try {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(properties.getUrl()))
+                        .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE)
+                        .GET()
+                        .build();
+                HttpResponse<Stream<String>> response = httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+                try (Stream<String> lines = response.body()) {
+                    if (response.statusCode() != HttpStatus.OK.value()) {
+                        throw new IOException("HTTP " + response.statusCode());
+                    }
+                    log.info("Connected to availability stream {}", properties.getUrl());
+                    delay = INITIAL_RECONNECT_DELAY;
+                    upstream = lines;
+                    lines.forEach(this::onLine);
+                }
+                log.info("Availability stream closed by management-service");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                if (running) {
+                    log.warn("Availability stream unavailable, retrying in {}: {}", delay, e.getMessage());
+                }
+            }
+            disconnected();
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            delay = delay.multipliedBy(2).compareTo(properties.getMaxReconnectDelay()) > 0
+                    ? properties.getMaxReconnectDelay()
+                    : delay.multipliedBy(2);
+        }
+    }
+
+    private synchronized void disconnected() {
+        // Clients keep the last state; the next snapshot replaces it
+        ready = false;
+        upstream = null;
+        eventName = null;
+        data.setLength(0);
+    }
+
+    /** Feeds one line of the upstream event stream. */
+    void onLine(String line) {
+        if (line.isEmpty()) {
+            dispatch();
+            return;
+        }
+        if (line.startsWith(":")) {
+            heartbeat();
+            return;
+        }
+        int colon = line.indexOf(':');
+        String field = colon < 0 ? line : line.substring(0, colon);
+        String value = colon < 0 ? "" : line.substring(colon + 1);
+        if (value.startsWith(" ")) {
+            value = value.substring(1);
+        }
+        switch (field) {
+            case "event" -> eventName = value;
+            case "data" -> data.append(data.isEmpty() ? "" : "\n").append(value);
+            default -> {
+                // id, retry: not used
+            }
+        }
+    }
+
+    private void dispatch() {
+        String event = eventName;
+        String payload = data.toString();
+        eventName = null;
+        data.setLength(0);
+        if (payload.isEmpty()) {
+            return;
+        }
+        try {
+            apply(event, objectMapper.readTree(payload).path("areas"));
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed availability event: {}", e.getOriginalMessage());
+        }
+    }
+
+    // ── Fan-out ────────────────────────────────────────────────
+
+    private synchronized void apply(String event, JsonNode items) {
+        if ("snapshot".equals(event)) {
+            areas.clear();
+            items.forEach(item -> areas.put(key(item), item));
+            ready = true;
+            subscribers.forEach(this::sendSnapshot);
+        } else if ("delta".equals(event) && ready) {
+            items.forEach(item -> areas.put(key(item), item));
+            for (Subscriber subscriber : subscribers) {
+                List<JsonNode> visible = visibleTo(subscriber, items);
+                if (!visible.isEmpty()) {
+                    send(subscriber, "delta", visible);
+                }
+            }
+        }
+    }
+
+    private synchronized void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            try {
+                subscriber.emitter().send(SseEmitter.event().comment("keepalive"));
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    private void sendSnapshot(Subscriber subscriber) {
+        send(subscriber, "snapshot", visibleTo(subscriber, areas.values()));
+    }
+
+    private static List<JsonNode> visibleTo(Subscriber subscriber, Iterable<JsonNode> items) {
+        List<JsonNode> visible = new ArrayList<>();
+        for (JsonNode item : items) {
+            if (subscriber.lotId() == null || item.path("lotId").asLong() == subscriber.lotId()) {
+                visible.add(item);
+            }
+        }
+        return visible;
+    }
+
+    private void send(Subscriber subscriber, String event, List<JsonNode> items) {
+        ObjectNode message = objectMapper.createObjectNode();
+        message.putArray("areas").addAll(items);
+        try {
+            subscriber.emitter().send(SseEmitter.event()
+                    .name(event)
+                    .reconnectTime(CLIENT_RECONNECT_DELAY_MS)
+                    .data(message, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the container completes the emitter
+            subscribers.remove(subscriber);
+        }
+    }
+
+    private static String key(JsonNode item) {
+        return item.path("lotId").asText() + "/" + item.path("section").asText("");
+    }
+}
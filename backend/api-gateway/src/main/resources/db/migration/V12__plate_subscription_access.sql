@@ -0,0 +1,136 @@
+-- ******************************************************
+-- Migration: V12__plate_subscription_access.sql
+-- Purpose: Index-only access decision for the gate subscription check
+-- Database: PostgreSQL
+-- Created: 2026-10-19
+-- ******************************************************
+-- Every gate entry/exit asks "does this plate have an active subscription?".
+-- plate_subscription_access keeps the answer precomputed per plate (one row per
+-- vehicle whose client has an active, not yet expired subscription) and is
+-- maintained by triggers on vehicles and subscriptions. Expiry needs no
+-- maintenance: readers compare valid_until with NOW().
+
+-- Covering indexes for the join path (vehicles -> subscriptions) and for the refresh below
+CREATE INDEX IF NOT EXISTS idx_subscriptions_active_client
+    ON subscriptions (client_id, end_date DESC) INCLUDE (id)
+    WHERE is_active;
+
+-- license_plate is already UNIQUE; the covering variant makes the plate -> client step
+-- index-only. The id key column and is_allowed also serve the keyset-paged vehicle
+-- listing (V13), so this is the one plate index besides the unique constraint.
+CREATE INDEX IF NOT EXISTS idx_vehicles_plate_listing
+    ON vehicles (license_plate, id) INCLUDE (client_id, is_allowed);
+DROP INDEX IF EXISTS idx_vehicles_plate;
+
+-- -----------------------------------------------------
+-- Table: PLATE_SUBSCRIPTION_ACCESS
+-- Purpose: Materialized plate -> best active subscription
+-- -----------------------------------------------------
+CREATE TABLE IF NOT EXISTS plate_subscription_access (
+    license_plate   VARCHAR(50) NOT NULL,
+    client_id       BIGINT NOT NULL,
+    subscription_id BIGINT NOT NULL,
+    valid_until     TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+
+    CONSTRAINT pk_plate_subscription_access
+        PRIMARY KEY (license_plate) INCLUDE (subscription_id, valid_until)
+);
+
+CREATE INDEX IF NOT EXISTS idx_plate_access_client ON plate_subscription_access (client_id);
+
+COMMENT ON TABLE plate_subscription_access IS 'Trigger-maintained: plate -> longest-running active subscription of the vehicle owner';
+COMMENT ON COLUMN plate_subscription_access.valid_until IS 'end_date of that subscription; access is granted while valid_until > NOW()';
+
+-- Recompute the rows of one client's vehicles
+CREATE OR REPLACE FUNCTION refresh_plate_subscription_access(p_client_id BIGINT) RETURNS void AS $$
+DECLARE
+    best_id    BIGINT;
+    best_until TIMESTAMP WITHOUT TIME ZONE;
+BEGIN
+    IF p_client_id IS NULL THEN
+        RETURN;
+    END IF;
+
+    SELECT s.id, s.end_date INTO best_id, best_until
+      FROM subscriptions s
+     WHERE s.client_id = p_client_id
+       AND s.is_active
+       AND s.end_date > NOW()
+     ORDER BY s.end_date DESC
+     LIMIT 1;
+
+    IF best_id IS NULL THEN
+        DELETE FROM plate_subscription_access WHERE client_id = p_client_id;
+        RETURN;
+    END IF;
+
+    DELETE FROM plate_subscription_access a
+     WHERE a.client_id = p_client_id
+       AND NOT EXISTS (SELECT 1 FROM vehicles v
+                        WHERE v.license_plate = a.license_plate
+                          AND v.client_id = p_client_id);
+
+    -- Upsert rather than delete + insert so concurrent refreshes of the same client cannot collide
+    INSERT INTO plate_subscription_access (license_plate, client_id, subscription_id, valid_until)
+    SELECT v.license_plate, p_client_id, best_id, best_until
+      FROM vehicles v
+     WHERE v.client_id = p_client_id
+    ON CONFLICT (license_plate) DO UPDATE
+       SET client_id       = EXCLUDED.client_id,
+           subscription_id = EXCLUDED.subscription_id,
+           valid_until     = EXCLUDED.valid_until;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION trg_subscriptions_plate_access() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM refresh_plate_subscription_access(OLD.client_id);
+    END IF;
+    IF TG_OP = 'INSERT' OR (TG_OP = 'UPDATE' AND NEW.client_id IS DISTINCT FROM OLD.client_id) THEN
+        PERFORM refresh_plate_subscription_access(NEW.client_id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION trg_vehicles_plate_access() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        DELETE FROM plate_subscription_access WHERE license_plate = OLD.license_plate;
+    END IF;
+    IF TG_OP = 'UPDATE' AND NEW.client_id IS DISTINCT FROM OLD.client_id THEN
+        PERFORM refresh_plate_subscription_access(OLD.client_id);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM refresh_plate_subscription_access(NEW.client_id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Only columns that change the decision fire the triggers (e.g. parking_space_id updates do not)
+DROP TRIGGER IF EXISTS subscriptions_plate_access ON subscriptions;
+CREATE TRIGGER subscriptions_plate_access
+    AFTER INSERT OR DELETE OR UPDATE OF client_id, is_active, end_date ON subscriptions
+    FOR EACH ROW EXECUTE FUNCTION trg_subscriptions_plate_access();
+
+DROP TRIGGER IF EXISTS vehicles_plate_access ON vehicles;
+CREATE TRIGGER vehicles_plate_access
+    AFTER INSERT OR DELETE OR UPDATE OF license_plate, client_id ON vehicles
+    FOR EACH ROW EXECUTE FUNCTION trg_vehicles_plate_access();
+
+-- Backfill
+INSERT INTO plate_subscription_access (license_plate, client_id, subscription_id, valid_until)
+SELECT v.license_plate, v.client_id, best.id, best.end_date
+  FROM vehicles v
+  JOIN LATERAL (
+        SELECT s.id, s.end_date
+          FROM subscriptions s
+         WHERE s.client_id = v.client_id
+           AND s.is_active
+           AND s.end_date > NOW()
+         ORDER BY s.end_date DESC
+         LIMIT 1
+       ) best ON TRUE
+ON CONFLICT (license_plate) DO NOTHING;
@@ -0,0 +1,14 @@
+-- ******************************************************
+-- Migration: V13__listing_keyset_indexes.sql
+-- Purpose: Indexes for the keyset-paged client / vehicle listings
+-- Database: PostgreSQL
+-- Created: 2026-10-19
+-- ******************************************************
+-- Listings page by (sort column, id): WHERE (col, id) > (:last, :lastId) ORDER BY col, id.
+-- With a matching index every page is a short range scan, however deep.
+
+-- Clients sorted by name / registration time (id order uses the primary key)
+CREATE INDEX IF NOT EXISTS idx_clients_full_name_id     ON clients (full_name, id);
+CREATE INDEX IF NOT EXISTS idx_clients_registered_at_id ON clients (registered_at, id);
+
+-- Vehicles sorted by plate use idx_vehicles_plate_listing (V12)
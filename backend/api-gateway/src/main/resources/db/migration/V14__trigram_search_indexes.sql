@@ -0,0 +1,25 @@
+-- ******************************************************
+-- Migration: V14__trigram_search_indexes.sql
+-- Purpose: Indexed substring / fuzzy search on client names, phones and plates
+-- Database: PostgreSQL
+-- Created: 2026-10-19
+-- ******************************************************
+-- Name search is "upper(full_name) LIKE upper('%term%')" (Spring Data IgnoreCase) and the
+-- typeahead adds plate and phone fragments. A leading wildcard cannot use a B-tree, so
+-- each of these was a sequential scan. Trigram GiST indexes serve LIKE '%term%' (for terms
+-- of 3+ characters) and the word-similarity operator used for typo-tolerant name matches.
+-- GiST rather than GIN because the typeahead orders by trigram distance (<->, <->>) and
+-- takes the first rows: GiST returns rows nearest-first, so the scan stops at the LIMIT
+-- instead of scoring and sorting every match.
+-- The indexed expressions must match the queries exactly.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_clients_full_name_trgm
+    ON clients USING gist (upper(full_name) gist_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_clients_phone_trgm
+    ON clients USING gist (phone_number gist_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_vehicles_plate_trgm
+    ON vehicles USING gist (upper(license_plate) gist_trgm_ops);
@@ -0,0 +1,11 @@
+-- ******************************************************
+-- Migration: V15__parking_spaces_updated_at_index.sql
+-- Purpose: Index for the management-service occupancy index change poll
+-- Database: PostgreSQL
+-- Created: 2026-10-19
+-- ******************************************************
+-- management-service keeps space status in memory and every few seconds reads
+-- "WHERE updated_at > :watermark" to pick up changes made by other services.
+-- Writers must keep updated_at current (the entity's @PreUpdate does this).
+
+CREATE INDEX IF NOT EXISTS idx_parking_spaces_updated_at ON parking_spaces (updated_at);
@@ -0,0 +1,108 @@
+-- ******************************************************
+-- Migration: V16__parking_lot_space_counters.sql
+-- Purpose: Keep parking_lots.total_spaces / available_spaces in step with parking_spaces
+-- Database: PostgreSQL
+-- Created: 2026-10-19
+-- ******************************************************
+-- Lot availability summaries are read from parking_lots instead of aggregating over
+-- every space. Statement-level triggers apply the per-lot deltas of each INSERT / UPDATE /
+-- DELETE on parking_spaces in the same transaction, whichever service writes, so a bulk
+-- statement touches each lot row once. management-service (LotCounterReconciler)
+-- periodically recounts lots whose counters drifted, e.g. after manual edits.
+
+-- Add a delta to one lot. Counters are clamped to the CHECK constraint rather than
+-- failing the space write; the reconciler corrects any drift that clamping hides.
+CREATE OR REPLACE FUNCTION apply_lot_counter_delta(p_lot_id BIGINT, p_total BIGINT, p_available BIGINT)
+RETURNS void AS $$
+BEGIN
+    UPDATE parking_lots
+       SET total_spaces     = GREATEST(total_spaces + p_total, 0),
+           available_spaces = LEAST(GREATEST(available_spaces + p_available, 0),
+                                    GREATEST(total_spaces + p_total, 0))
+     WHERE id = p_lot_id;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Rows in new_rows count +1, rows in old_rows -1. Each branch only reads the transition
+-- tables its event provides (PL/pgSQL plans a statement when it first runs). Lots are
+-- updated in id order so concurrent bulk statements lock them in the same order.
+CREATE OR REPLACE FUNCTION trg_parking_spaces_lot_counters() RETURNS trigger AS $$
+DECLARE
+    d RECORD;
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        FOR d IN
+            SELECT parking_lot_id AS lot_id, COUNT(*) AS total,
+                   COUNT(*) FILTER (WHERE status = 'AVAILABLE') AS available
+              FROM new_rows
+             GROUP BY parking_lot_id
+             ORDER BY parking_lot_id
+        LOOP
+            PERFORM apply_lot_counter_delta(d.lot_id, d.total, d.available);
+        END LOOP;
+    ELSIF TG_OP = 'DELETE' THEN
+        FOR d IN
+            SELECT parking_lot_id AS lot_id, COUNT(*) AS total,
+                   COUNT(*) FILTER (WHERE status = 'AVAILABLE') AS available
+              FROM old_rows
+             GROUP BY parking_lot_id
+             ORDER BY parking_lot_id
+        LOOP
+            PERFORM apply_lot_counter_delta(d.lot_id, -d.total, -d.available);
+        END LOOP;
+    ELSE
+        -- Most updates (updated_at, rates, ...) leave every lot unchanged and apply nothing
+        FOR d IN
+            SELECT lot_id, SUM(total) AS total, SUM(available) AS available
+              FROM (SELECT parking_lot_id AS lot_id, 1 AS total,
+                           CASE WHEN status = 'AVAILABLE' THEN 1 ELSE 0 END AS available
+                      FROM new_rows
+                    UNION ALL
+                    SELECT parking_lot_id, -1,
+                           CASE WHEN status = 'AVAILABLE' THEN -1 ELSE 0 END
+                      FROM old_rows) changes
+             GROUP BY lot_id
+            HAVING SUM(total) <> 0 OR SUM(available) <> 0
+             ORDER BY lot_id
+        LOOP
+            PERFORM apply_lot_counter_delta(d.lot_id, d.total, d.available);
+        END LOOP;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Transition tables allow a single event per trigger, hence three triggers on one function
+DROP TRIGGER IF EXISTS parking_spaces_lot_counters_ins ON parking_spaces;
+CREATE TRIGGER parking_spaces_lot_counters_ins
+    AFTER INSERT ON parking_spaces
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION trg_parking_spaces_lot_counters();
+
+DROP TRIGGER IF EXISTS parking_spaces_lot_counters_upd ON parking_spaces;
+CREATE TRIGGER parking_spaces_lot_counters_upd
+    AFTER UPDATE ON parking_spaces
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION trg_parking_spaces_lot_counters();
+
+DROP TRIGGER IF EXISTS parking_spaces_lot_counters_del ON parking_spaces;
+CREATE TRIGGER parking_spaces_lot_counters_del
+    AFTER DELETE ON parking_spaces
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION trg_parking_spaces_lot_counters();
+
+-- Initial counts: from now on the triggers keep them current
+UPDATE parking_lots l
+   SET total_spaces     = c.total,
+       available_spaces = c.available
+  FROM (SELECT pl.id,
+               COUNT(s.id) AS total,
+               COUNT(s.id) FILTER (WHERE s.status = 'AVAILABLE') AS available
+          FROM parking_lots pl
+          LEFT JOIN parking_spaces s ON s.parking_lot_id = pl.id
+         GROUP BY pl.id) c
+ WHERE l.id = c.id
+   AND (l.total_spaces <> c.total OR l.available_spaces <> c.available);
+
+COMMENT ON COLUMN parking_lots.total_spaces IS 'Number of parking_spaces rows of this lot (trigger-maintained)';
+COMMENT ON COLUMN parking_lots.available_spaces IS 'Number of AVAILABLE spaces of this lot (trigger-maintained)';
@@ -0,0 +1,26 @@
+-- ******************************************************
+-- Migration: V17__booking_overlap_exclusion.sql
+-- Purpose: Reject overlapping active bookings of the same parking space
+-- Database: PostgreSQL
+-- Created: 2026-10-19
+-- ******************************************************
+-- management-service (BookingService) finds free spaces in memory and relies on this
+-- constraint to decide concurrent booking attempts: of two overlapping inserts for one
+-- space the second waits for the first and fails with exclusion_violation (SQLSTATE 23P01)
+-- once it commits. Ranges are half-open, so a booking may start when the previous one ends.
+-- Only bookings that hold their space take part (same predicate as idx_bookings_active).
+
+-- btree_gist provides the GiST "=" operator class for parking_space_id
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS excl_bookings_space_overlap;
+ALTER TABLE bookings
+    ADD CONSTRAINT excl_bookings_space_overlap
+    EXCLUDE USING gist (
+        parking_space_id WITH =,
+        tsrange(start_time, end_time, '[)') WITH &&
+    )
+    WHERE (status IN ('PENDING', 'CONFIRMED', 'ACTIVE'));
+
+COMMENT ON CONSTRAINT excl_bookings_space_overlap ON bookings
+    IS 'No two PENDING/CONFIRMED/ACTIVE bookings of one space overlap in time';
@@ -0,0 +1,169 @@
+package com.parking.api_gateway.cache;
+
+import com.parking.api_gateway.observability.service.ObservabilityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for the gateway response cache (TTL, ETag, stale-while-revalidate).
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GatewayResponseCache — freshness, revalidation and invalidation")
+class GatewayResponseCacheTest {
+
+    private static final String COUNT = "/api/management/spots/available/count";
+
+    @Mock
+    private ObservabilityService observabilityService;
+
+    private final AtomicLong now = new AtomicLong();
+    private final List<Runnable> refreshTasks = new ArrayList<>();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private GatewayResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setRoutes(List.of(
+                new ResponseCacheProperties.Route(COUNT, Duration.ofSeconds(2), Duration.ofSeconds(10))));
+        cache = new GatewayResponseCache(properties, observabilityService, refreshTasks::add, now::get);
+    }
+
+    private Supplier<ResponseEntity<?>> upstream(String body) {
+        return () -> {
+            upstreamCalls.incrementAndGet();
+            return ResponseEntity.ok(body);
+        };
+    }
+
+    private void advanceSeconds(long seconds) {
+        now.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    @Test
+    @DisplayName("Second request within TTL is served without calling upstream")
+    void freshHitSkipsUpstream() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        ResponseEntity<?> first = cache.get(COUNT, null, request, upstream("42"));
+        ResponseEntity<?> second = cache.get(COUNT, null, request, upstream("43"));
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(first.getHeaders().getFirst("X-Cache")).isEqualTo("MISS");
+        assertThat(second.getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+        assertThat(second.getBody()).isEqualTo("42");
+        assertThat(second.getHeaders().getETag()).isEqualTo(first.getHeaders().getETag());
+        assertThat(second.getHeaders().getCacheControl()).contains("max-age=2", "stale-while-revalidate=10");
+        verify(observabilityService).recordCacheLookup(COUNT, "hit");
+    }
+
+    @Test
+    @DisplayName("Matching If-None-Match returns 304 without body")
+    void conditionalRequestReturnsNotModified() {
+        ResponseEntity<?> first = cache.get(COUNT, null, new MockHttpServletRequest(), upstream("42"));
+
+        MockHttpServletRequest conditional = new MockHttpServletRequest();
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"other\", " + first.getHeaders().getETag());
+        ResponseEntity<?> second = cache.get(COUNT, null, conditional, upstream("42"));
+
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(second.getBody()).isNull();
+    }
+
+    @Test
+    @DisplayName("Stale entry is served immediately and refreshed once in the background")
+    void staleWhileRevalidate() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        cache.get(COUNT, null, request, upstream("42"));
+        advanceSeconds(5);
+
+        ResponseEntity<?> stale = cache.get(COUNT, null, request, upstream("41"));
+        cache.get(COUNT, null, request, upstream("41"));
+
+        assertThat(stale.getHeaders().getFirst("X-Cache")).isEqualTo("STALE");
+        assertThat(stale.getBody()).isEqualTo("42");
+        assertThat(refreshTasks).hasSize(1);
+
+        refreshTasks.get(0).run();
+        ResponseEntity<?> refreshed = cache.get(COUNT, null, request, upstream("40"));
+
+        assertThat(refreshed.getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+        assertThat(refreshed.getBody()).isEqualTo("41");
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Past the stale window the upstream is called synchronously")
+    void expiredEntryReloads() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        cache.get(COUNT, null, request, upstream("42"));
+        advanceSeconds(13);
+
+        ResponseEntity<?> response = cache.get(COUNT, null, request, upstream("7"));
+
+        assertThat(response.getHeaders().getFirst("X-Cache")).isEqualTo("MISS");
+        assertThat(response.getBody()).isEqualTo("7");
+        assertThat(refreshTasks).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Error responses are passed through and never cached")
+    void errorsAreNotCached() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        Supplier<ResponseEntity<?>> failing = () -> {
+            upstreamCalls.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("boom");
+        };
+
+        cache.get(COUNT, null, request, failing);
+        ResponseEntity<?> second = cache.get(COUNT, null, request, failing);
+
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Query string is part of the key; uncached routes bypass the cache")
+    void keysAndBypass() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        cache.get(COUNT, "lot=1", request, upstream("1"));
+        cache.get(COUNT, "lot=2", request, upstream("2"));
+        ResponseEntity<?> other = cache.get("/api/management/spots/occupied", null, request, upstream("x"));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(other.getHeaders().containsKey("X-Cache")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Invalidation drops entries under the prefix")
+    void invalidateByPrefix() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        cache.get(COUNT, null, request, upstream("42"));
+
+        cache.invalidate("/api/management/spots");
+        ResponseEntity<?> response = cache.get(COUNT, null, request, upstream("41"));
+
+        assertThat(response.getBody()).isEqualTo("41");
+        assertThat(upstreamCalls).hasValue(2);
+    }
+}
@@ -0,0 +1,87 @@
+package com.parking.api_gateway.config;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for streamed uploads against a local HTTP server.
+ */
+@DisplayName("StreamingUpstreamClient - streamed request body through the interceptors")
+class StreamingUpstreamClientTest {
+
+    private HttpServer server;
+    private final AtomicLong receivedBytes = new AtomicLong();
+    private final AtomicReference<String> transferEncoding = new AtomicReference<>();
+    private final AtomicReference<String> forwardedHeader = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/management/spots/import", exchange -> {
+            transferEncoding.set(exchange.getRequestHeaders().getFirst("Transfer-Encoding"));
+            forwardedHeader.set(exchange.getRequestHeaders().getFirst("X-Test"));
+            try (InputStream body = exchange.getRequestBody()) {
+                receivedBytes.set(body.transferTo(OutputStream.nullOutputStream()));
+            }
+            byte[] response = "{\"applied\":2}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Body of unknown length is sent chunked; interceptor headers are applied")
+    void streamsBodyThroughInterceptors() throws IOException {
+        ClientHttpRequestInterceptor interceptor = (request, body, execution) -> {
+            assertThat(body).isEmpty();
+            request.getHeaders().set("X-Test", "intercepted");
+            return execution.execute(request, body);
+        };
+        StreamingUpstreamClient client = new StreamingUpstreamClient(new SimpleClientHttpRequestFactory(),
+                List.of(interceptor));
+        byte[] csv = "lotId,spaceNumber\n1,A-1\n".repeat(50_000).getBytes(StandardCharsets.UTF_8);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("text/csv"));
+
+        ResponseEntity<String> response = client.exchange(
+                URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/api/management/spots/import"),
+                HttpMethod.POST, headers, new ByteArrayInputStream(csv));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo("{\"applied\":2}");
+        assertThat(receivedBytes.get()).isEqualTo(csv.length);
+        assertThat(transferEncoding.get()).isEqualToIgnoringCase("chunked");
+        assertThat(forwardedHeader.get()).isEqualTo("intercepted");
+    }
+}
@@ -0,0 +1,112 @@
+package com.parking.api_gateway.controller;
+
+import com.parking.api_gateway.cache.GatewayResponseCache;
+import com.parking.api_gateway.config.StreamingUpstreamClient;
+import com.parking.api_gateway.stream.AvailabilityStreamRelay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Unit tests for query string pass-through: encoded values reach management-service
+ * exactly as the caller sent them.
+ */
+@DisplayName("ManagementProxyController - query string pass-through")
+class ManagementProxyControllerTest {
+
+    private static final String UPSTREAM = "http://management-service:8083";
+
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+    private final GatewayResponseCache responseCache = mock(GatewayResponseCache.class);
+    private final ManagementProxyController controller =
+            new ManagementProxyController(restTemplate, responseCache, mock(AvailabilityStreamRelay.class),
+                    mock(StreamingUpstreamClient.class));
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // cache miss: every read goes to the loader
+        when(responseCache.get(any(), any(), any(), any()))
+                .thenAnswer(call -> call.<Supplier<ResponseEntity<?>>>getArgument(3).get());
+    }
+
+    private static MockHttpServletRequest get(String path, String query) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setQueryString(query);
+        return request;
+    }
+
+    @Test
+    @DisplayName("Cached spot query: the cache key and the upstream URI use the same encoded query")
+    void cachedQueryIsNotEncodedTwice() {
+        String query = "status=AVAILABLE&zone=A%20B&cursor=eyJpZCI6NH0%3D";
+        server.expect(requestTo(UPSTREAM + "/api/management/spots/query?" + query))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("{\"items\":[]}", MediaType.APPLICATION_JSON));
+
+        ResponseEntity<?> response = controller.querySpots(get("/api/management/spots/query", query));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        verify(responseCache).get(eq("/api/management/spots/query"), eq(query), any(), any());
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("Allocation criteria are passed through without a second encoding")
+    void allocationQueryIsNotEncodedTwice() {
+        String query = "lotId=1&section=B%2F2&type=EV%20CHARGING";
+        server.expect(requestTo(UPSTREAM + "/api/management/spots/allocate?" + query))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess("{\"id\":7}", MediaType.APPLICATION_JSON));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/management/spots/allocate");
+        request.setQueryString(query);
+        assertThat(controller.allocateSpot(request).getStatusCode()).isEqualTo(HttpStatus.OK);
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("Nearest-lot coordinates are passed through without a second encoding")
+    void nearestLotQueryIsNotEncodedTwice() {
+        String query = "latitude=55.7558&longitude=%2B37.6173&radiusMeters=1500";
+        server.expect(requestTo(UPSTREAM + "/api/management/lots/nearest?" + query))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        assertThat(controller.findNearestLots(get("/api/management/lots/nearest", query)).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("Booking window with an encoded '+' offset reaches management-service unchanged")
+    void bookingWindowOffsetIsNotEncodedTwice() {
+        String query = "lotId=1&startTime=2026-10-19T10:00%2B02:00&endTime=2026-10-19T12:00%2B02:00&type=%7BEV%7D";
+        server.expect(requestTo(UPSTREAM + "/api/management/bookings/availability?" + query))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        assertThat(controller.findBookableSpots(get("/api/management/bookings/availability", query)).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        server.verify();
+    }
+}
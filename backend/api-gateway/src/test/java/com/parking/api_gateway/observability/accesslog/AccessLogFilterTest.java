@@ -0,0 +1,64 @@
+package com.parking.api_gateway.observability.accesslog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the sampled gateway access log.
+ */
+@DisplayName("AccessLogFilter — sampling and line format")
+class AccessLogFilterTest {
+
+    private static final long FAST = 2_000_000L;          // 2 ms
+    private static final long SLOW = 1_500_000_000L;      // 1.5 s
+
+    @Test
+    @DisplayName("With sampling off only errors and slow requests are logged")
+    void samplingOffLogsOnlyErrorsAndSlowRequests() {
+        AccessLogFilter filter = new AccessLogFilter(true, 0.0, 400, 1000);
+
+        assertThat(filter.shouldLog(200, FAST)).isFalse();
+        assertThat(filter.shouldLog(302, FAST)).isFalse();
+        assertThat(filter.shouldLog(401, FAST)).isTrue();
+        assertThat(filter.shouldLog(503, FAST)).isTrue();
+        assertThat(filter.shouldLog(200, SLOW)).isTrue();
+    }
+
+    @Test
+    @DisplayName("With full sampling every request is logged")
+    void fullSamplingLogsEverything() {
+        AccessLogFilter filter = new AccessLogFilter(true, 1.0, 400, 1000);
+
+        assertThat(filter.shouldLog(200, FAST)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Entry renders one logfmt line with user, role and forwarded IP")
+    void entryFormat() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/clients/7");
+        request.addHeader("X-Forwarded-For", "203.0.113.5, 10.0.0.2");
+        request.setAttribute("username", "admin");
+        request.setAttribute("role", "ADMIN");
+
+        String line = AccessLogEntry.of(request, 200, 12_345_678L).toString();
+
+        assertThat(line).isEqualTo(
+                "method=GET path=/api/clients/7 status=200 duration_ms=12.3 ip=203.0.113.5 user=admin role=ADMIN");
+    }
+
+    @Test
+    @DisplayName("Filter always invokes the rest of the chain")
+    void filterPassesThrough() throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(true, 1.0, 400, 1000);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/health"), new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+    }
+}
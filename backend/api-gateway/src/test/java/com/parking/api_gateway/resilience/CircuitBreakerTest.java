@@ -0,0 +1,109 @@
+package com.parking.api_gateway.resilience;
+
+import com.parking.api_gateway.resilience.CircuitBreaker.Admission;
+import com.parking.api_gateway.resilience.CircuitBreaker.State;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the count-based circuit breaker state machine.
+ */
+@DisplayName("CircuitBreaker — closed / open / half-open transitions")
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        // 50% of the last 10 calls, at least 4 recorded, 5 s open, 2 probes
+        breaker = new CircuitBreaker("billing-service", 0.5, 10, 4, TimeUnit.SECONDS.toNanos(5), 2, now::get);
+    }
+
+    private void record(boolean success, int times) {
+        for (int i = 0; i < times; i++) {
+            breaker.onResult(breaker.tryAcquire(), success);
+        }
+    }
+
+    @Test
+    @DisplayName("Stays closed below the minimum number of calls")
+    void staysClosedBelowMinimumCalls() {
+        record(false, 3);
+
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Opens when the failure rate reaches the threshold and rejects calls")
+    void opensOnFailureRate() {
+        record(true, 3);
+        record(false, 3);
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(breaker.tryAcquire()).isEqualTo(Admission.REJECTED);
+        assertThat(breaker.remainingOpenNanos()).isEqualTo(TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @Test
+    @DisplayName("Old outcomes slide out of the window")
+    void slidingWindowForgetsOldFailures() {
+        record(false, 1);
+        record(true, 9);
+        record(false, 4); // evicts the first failure: 4/10, not 5/10
+
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("After the open period a limited number of probes is admitted; all succeeding closes")
+    void halfOpenProbesClose() {
+        record(false, 4);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+
+        Admission first = breaker.tryAcquire();
+        Admission second = breaker.tryAcquire();
+
+        assertThat(first).isEqualTo(Admission.PROBE);
+        assertThat(second).isEqualTo(Admission.PROBE);
+        assertThat(breaker.tryAcquire()).isEqualTo(Admission.REJECTED);
+
+        breaker.onResult(first, true);
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+        breaker.onResult(second, true);
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(breaker.tryAcquire()).isEqualTo(Admission.CALL);
+    }
+
+    @Test
+    @DisplayName("A failed probe re-opens the circuit")
+    void failedProbeReopens() {
+        record(false, 4);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(6));
+
+        breaker.onResult(breaker.tryAcquire(), false);
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(breaker.tryAcquire()).isEqualTo(Admission.REJECTED);
+    }
+
+    @Test
+    @DisplayName("Late results of calls admitted before the trip are ignored")
+    void lateResultsIgnored() {
+        Admission inFlight = breaker.tryAcquire();
+        record(false, 4);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        Admission probe = breaker.tryAcquire();
+
+        breaker.onResult(inFlight, true);
+        breaker.onResult(probe, true);
+
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+    }
+}
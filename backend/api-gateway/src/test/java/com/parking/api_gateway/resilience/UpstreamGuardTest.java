@@ -0,0 +1,97 @@
+package com.parking.api_gateway.resilience;
+
+import com.parking.api_gateway.observability.service.ObservabilityService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for the per-upstream bulkhead and adaptive read timeout.
+ */
+@DisplayName("UpstreamGuard — bulkhead and adaptive timeout")
+class UpstreamGuardTest {
+
+    private static UpstreamProperties.Settings settings() {
+        UpstreamProperties.Settings settings = new UpstreamProperties.Settings();
+        settings.setMaxConcurrentCalls(2);
+        settings.setMaxWait(Duration.ZERO);
+        settings.setMinReadTimeout(Duration.ofMillis(500));
+        settings.setMaxReadTimeout(Duration.ofSeconds(10));
+        return settings;
+    }
+
+    @Test
+    @DisplayName("Calls beyond the bulkhead limit fail fast until a slot is released")
+    void bulkheadRejectsWhenFull() {
+        UpstreamGuard guard = new UpstreamGuard("billing-service", settings(), System::nanoTime);
+
+        CircuitBreaker.Admission first = guard.acquire();
+        guard.acquire();
+
+        assertThat(guard.inFlight()).isEqualTo(2);
+        assertThatThrownBy(guard::acquire)
+                .isInstanceOf(UpstreamUnavailableException.class)
+                .extracting("reason").isEqualTo(UpstreamUnavailableException.BULKHEAD_FULL);
+
+        guard.complete(first, true, TimeUnit.MILLISECONDS.toNanos(20));
+        assertThat(guard.acquire()).isEqualTo(CircuitBreaker.Admission.CALL);
+    }
+
+    @Test
+    @DisplayName("Read timeout starts at the ceiling and follows observed latency down to the floor")
+    void readTimeoutAdapts() {
+        UpstreamGuard guard = new UpstreamGuard("client-service", settings(), System::nanoTime);
+        assertThat(guard.readTimeoutMillis()).isEqualTo(10_000);
+
+        for (int i = 0; i < 50; i++) {
+            guard.complete(guard.acquire(), true, TimeUnit.MILLISECONDS.toNanos(40));
+        }
+        assertThat(guard.readTimeoutMillis()).isEqualTo(500);
+
+        for (int i = 0; i < 50; i++) {
+            guard.complete(guard.acquire(), true, TimeUnit.MILLISECONDS.toNanos(900));
+        }
+        assertThat(guard.readTimeoutMillis()).isBetween(900, 10_000);
+    }
+
+    @Test
+    @DisplayName("Batch endpoints get the fixed batch timeout and do not move the adaptive one")
+    void batchCallsUseTheirOwnTimeout() {
+        UpstreamProperties properties = new UpstreamProperties();
+        properties.getDefaults().setMinReadTimeout(Duration.ofMillis(500));
+        UpstreamGuards guards = new UpstreamGuards(properties, mock(ObservabilityService.class));
+        UpstreamGuard guard = guards.forUpstream("management-service");
+        for (int i = 0; i < 50; i++) {
+            guard.complete(guard.acquire(), true, TimeUnit.MILLISECONDS.toNanos(40));
+        }
+
+        guard.completeBatch(guard.acquire(), true);
+        assertThat(guards.readTimeoutMillis("management-service", "/api/management/spots/status/batch"))
+                .isEqualTo(60_000);
+        assertThat(guards.readTimeoutMillis("management-service", "/api/management/spots")).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("Open circuit rejects without taking a bulkhead slot")
+    void openCircuitRejects() {
+        UpstreamProperties.Settings settings = settings();
+        settings.setMaxConcurrentCalls(100);
+        UpstreamGuard guard = new UpstreamGuard("gate-control-service", settings, System::nanoTime);
+
+        for (int i = 0; i < settings.getMinimumCalls(); i++) {
+            guard.complete(guard.acquire(), false, TimeUnit.SECONDS.toNanos(10));
+        }
+
+        assertThat(guard.circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(guard::acquire)
+                .isInstanceOf(UpstreamUnavailableException.class)
+                .extracting("reason").isEqualTo(UpstreamUnavailableException.CIRCUIT_OPEN);
+        assertThat(guard.inFlight()).isZero();
+    }
+}
@@ -0,0 +1,141 @@
+package com.parking.api_gateway.security.audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for the asynchronous security audit pipeline: deduplication, bounded queue and batching.
+ */
+@DisplayName("SecurityAuditPipeline - dedup, backpressure and batched export")
+class SecurityAuditPipelineTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final ReportingAuditExporter exporter = mock(ReportingAuditExporter.class);
+
+    private SecurityAuditPipeline pipeline(int queueCapacity, int batchSize) {
+        SecurityAuditProperties properties = new SecurityAuditProperties();
+        properties.setQueueCapacity(queueCapacity);
+        properties.setBatchSize(batchSize);
+        properties.setDedupWindow(Duration.ofSeconds(10));
+        return new SecurityAuditPipeline(properties, exporter, clock::get);
+    }
+
+    private static SecurityAuditEvent rateLimited(String ip) {
+        return SecurityAuditEvent.of("SUSPICIOUS_ACTIVITY", SecurityAuditEvent.Level.ERROR, "anonymous", ip,
+                "Suspicious activity: RATE_LIMIT_EXCEEDED", "Too many requests");
+    }
+
+    private List<SecurityAuditEvent> exported() {
+        List<SecurityAuditEvent> events = new ArrayList<>();
+        doAnswer(inv -> events.addAll(inv.getArgument(0))).when(exporter).export(anyList());
+        return events;
+    }
+
+    @Test
+    @DisplayName("A burst of identical events is exported once, then summarised when the window closes")
+    void deduplicatesBurst() {
+        SecurityAuditPipeline pipeline = pipeline(100, 50);
+        List<SecurityAuditEvent> events = exported();
+
+        for (int i = 0; i < 500; i++) {
+            pipeline.submit(rateLimited("203.0.113.7"));
+        }
+        pipeline.flush();
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).repeats()).isZero();
+
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        pipeline.flush();
+
+        assertThat(events).hasSize(2);
+        assertThat(events.get(1).repeats()).isEqualTo(499);
+        assertThat(events.get(1).ipAddress()).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    @DisplayName("Events from different sources are not merged")
+    void distinctKeysAreKept() {
+        SecurityAuditPipeline pipeline = pipeline(100, 50);
+        List<SecurityAuditEvent> events = exported();
+
+        pipeline.submit(rateLimited("203.0.113.7"));
+        pipeline.submit(rateLimited("203.0.113.8"));
+        pipeline.flush();
+
+        assertThat(events).extracting(SecurityAuditEvent::ipAddress)
+                .containsExactlyInAnyOrder("203.0.113.7", "203.0.113.8");
+    }
+
+    @Test
+    @DisplayName("A full queue drops events instead of blocking the caller")
+    void dropsWhenQueueFull() {
+        SecurityAuditPipeline pipeline = pipeline(10, 50);
+
+        for (int i = 0; i < 25; i++) {
+            pipeline.submit(rateLimited("198.51.100." + i));
+        }
+
+        assertThat(pipeline.queued()).isEqualTo(10);
+        assertThat(pipeline.dropped()).isEqualTo(15);
+    }
+
+    @Test
+    @DisplayName("Queued events are exported in batches of batch-size")
+    @SuppressWarnings("unchecked")
+    void exportsInBatches() {
+        SecurityAuditPipeline pipeline = pipeline(1_000, 200);
+
+        for (int i = 0; i < 450; i++) {
+            pipeline.submit(rateLimited("198.51." + (i >> 8) + "." + (i & 0xFF)));
+        }
+        pipeline.flush();
+
+        ArgumentCaptor<List<SecurityAuditEvent>> batches = ArgumentCaptor.forClass(List.class);
+        verify(exporter, times(3)).export(batches.capture());
+        assertThat(batches.getAllValues()).extracting(List::size).containsExactly(200, 200, 50);
+        assertThat(pipeline.queued()).isZero();
+    }
+
+    @Test
+    @DisplayName("Export failures are absorbed; the queue is still drained")
+    void exportFailureDoesNotPropagate() {
+        SecurityAuditPipeline pipeline = pipeline(100, 50);
+        doThrow(new IllegalStateException("reporting-service down")).when(exporter).export(anyList());
+
+        pipeline.submit(rateLimited("203.0.113.7"));
+
+        assertThatCode(pipeline::flush).doesNotThrowAnyException();
+        assertThat(pipeline.queued()).isZero();
+    }
+
+    @Test
+    @DisplayName("Disabled pipeline accepts nothing")
+    void disabled() {
+        SecurityAuditProperties properties = new SecurityAuditProperties();
+        properties.setEnabled(false);
+        SecurityAuditPipeline pipeline = new SecurityAuditPipeline(properties, exporter, clock::get);
+
+        pipeline.submit(rateLimited("203.0.113.7"));
+        pipeline.flush();
+
+        assertThat(pipeline.queued()).isZero();
+        verify(exporter, never()).export(anyList());
+    }
+}
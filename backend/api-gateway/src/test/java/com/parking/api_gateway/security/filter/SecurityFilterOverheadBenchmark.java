@@ -0,0 +1,167 @@
+package com.parking.api_gateway.security.filter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.parking.api_gateway.observability.accesslog.AccessLogFilter;
+import com.parking.api_gateway.observability.service.ObservabilityService;
+import com.parking.api_gateway.security.routing.SecurityAccessProperties;
+import com.parking.api_gateway.security.service.JwtTokenService;
+import com.parking.api_gateway.security.service.SecurityAuditService;
+import com.parking.api_gateway.security.state.SecurityStateProperties;
+import com.parking.api_gateway.security.state.SecurityStateRegistry;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Micro-benchmark of per-request gateway logging overhead for an authenticated request,
+ * with the downstream chain stubbed out. Both runs log at INFO, as in production:
+ * <ul>
+ *   <li>"before": SecurityFilter plus the 23 INFO lines it wrote per authenticated request
+ *       before the access log was introduced (replayed by {@link #legacyTracing}, header
+ *       dump included);</li>
+ *   <li>"after": AccessLogFilter with the production sample rate (5%) around SecurityFilter.</li>
+ * </ul>
+ * Filter logic other than logging is the same code in both runs.
+ *
+ * <p>Tagged {@code benchmark}, which the default surefire run excludes. Run with:
+ * <pre>
+ * mvn -pl backend/api-gateway test -Pbenchmark
+ * </pre>
+ */
+@Slf4j
+@Tag("benchmark")
+@DisplayName("SecurityFilter - logging overhead before and after the sampled access log")
+class SecurityFilterOverheadBenchmark {
+
+    private static final int WARMUP = 20_000;
+    private static final int MEASURED = 50_000;
+
+    private static final org.slf4j.Logger LEGACY_LOG = LoggerFactory.getLogger(SecurityFilter.class);
+
+    @Test
+    void sampledAccessLogIsCheaperThanStepTracing() throws Exception {
+        JwtTokenService jwtTokenService = mock(JwtTokenService.class);
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn("bench_user");
+        when(claims.get("userId")).thenReturn(1L);
+        when(claims.get("role")).thenReturn("ADMIN");
+        when(jwtTokenService.validateAccessToken(anyString(), anyString())).thenReturn(Mono.just(claims));
+
+        ObservabilityService observabilityService = mock(ObservabilityService.class);
+        SecurityFilter securityFilter = new SecurityFilter(jwtTokenService, mock(SecurityAuditService.class),
+                observabilityService, new SecurityAccessProperties(),
+                new SecurityStateRegistry(new SecurityStateProperties(), observabilityService));
+        AccessLogFilter accessLogFilter = new AccessLogFilter(true, 0.05, 400, 1000);
+        FilterChain downstream = (req, res) -> { };
+
+        Logger appLogger = (Logger) LoggerFactory.getLogger("com.parking.api_gateway");
+        Level original = appLogger.getLevel();
+        try {
+            appLogger.setLevel(Level.INFO);
+            double before = run(0, (req, res) -> legacyTracing((HttpServletRequest) req, (HttpServletResponse) res,
+                    () -> securityFilter.doFilter(req, res, downstream)));
+            double after = run(1, (req, res) -> accessLogFilter.doFilter(req, res,
+                    (req2, res2) -> securityFilter.doFilter(req2, res2, downstream)));
+
+            log.info("Gateway logging overhead per authenticated request: before {} us, after {} us ({}x)",
+                    String.format("%.2f", before), String.format("%.2f", after), String.format("%.1f", before / after));
+            assertThat(after).isLessThan(before);
+        } finally {
+            appLogger.setLevel(original);
+        }
+    }
+
+    private interface FilterCall {
+        void run() throws IOException, ServletException;
+    }
+
+    /** The INFO lines SecurityFilter wrote for an authenticated request before the access log. */
+    private static void legacyTracing(HttpServletRequest request, HttpServletResponse response, FilterCall filter)
+            throws IOException, ServletException {
+        String method = request.getMethod();
+        String path = request.getRequestURI();
+        String clientIp = request.getHeader("X-Forwarded-For");
+        String authHeader = request.getHeader("Authorization");
+        LEGACY_LOG.info("🔍 [SECURITY FILTER START] Processing request: {} {} from IP: {}", method, path, clientIp);
+        LEGACY_LOG.info("🔑 [SECURITY FILTER] Authorization header present: {}", authHeader != null ? "Yes (length: " + authHeader.length() + ")" : "No");
+        LEGACY_LOG.info("📋 [SECURITY FILTER] Request headers: {}", allHeaders(request));
+        LEGACY_LOG.info("✓ [STEP 1/4] Checking rate limit for IP: {}", clientIp);
+        LEGACY_LOG.info("✅ [STEP 1/4] Rate limit check passed");
+        LEGACY_LOG.info("✓ [STEP 2/4] Checking if IP is suspicious: {}", clientIp);
+        LEGACY_LOG.info("✅ [STEP 2/4] Brute force protection check passed");
+        LEGACY_LOG.info("✓ [STEP 3/4] Checking if path is public: {}", path);
+        LEGACY_LOG.info("🔒 [STEP 3/4] Path {} requires authentication - proceeding to JWT validation", path);
+        LEGACY_LOG.info("✓ [STEP 4/4] Validating JWT token");
+        LEGACY_LOG.info("🔐 [JWT VALIDATION] Starting JWT validation for IP: {}", clientIp);
+        LEGACY_LOG.info("🔐 [JWT VALIDATION] Authorization header: {}", authHeader != null ? "Present" : "Missing");
+        LEGACY_LOG.info("🔐 [JWT VALIDATION] Token extracted, length: {} characters", authHeader.length() - 7);
+        LEGACY_LOG.info("🔐 [JWT VALIDATION] Calling jwtTokenService.validateAccessToken()...");
+        filter.run();
+        Object username = request.getAttribute("username");
+        LEGACY_LOG.info("🔐 [JWT VALIDATION] Claims retrieved successfully");
+        LEGACY_LOG.info("🔐 [JWT VALIDATION] Username from token: {}", username);
+        LEGACY_LOG.info("🔐 [JWT VALIDATION] User ID: {}", request.getAttribute("userId"));
+        LEGACY_LOG.info("🔐 [JWT VALIDATION] Role: {}", request.getAttribute("role"));
+        LEGACY_LOG.info("🔐 [JWT VALIDATION] SUCCESS - User '{}' authenticated from IP: {}", username, clientIp);
+        LEGACY_LOG.info("✅ [STEP 4/4] JWT token validated successfully");
+        LEGACY_LOG.info("👤 [SECURITY FILTER] User authenticated: {}", username);
+        LEGACY_LOG.info("✅ [STEP 4.5] RBAC check passed for role='{}' on {} {}", request.getAttribute("role"), method, path);
+        LEGACY_LOG.info("🚀 [SECURITY FILTER] Passing request to next filter in chain");
+        LEGACY_LOG.info("✅ [SECURITY FILTER END] Request completed with status: {}", response.getStatus());
+    }
+
+    private static String allHeaders(HttpServletRequest request) {
+        StringBuilder headers = new StringBuilder();
+        var headerNames = request.getHeaderNames();
+        while (headerNames.hasMoreElements()) {
+            String headerName = headerNames.nextElement();
+            String headerValue = request.getHeader(headerName);
+            if (headerName.equalsIgnoreCase("Authorization")) {
+                headerValue = headerValue != null ? "Bearer ***" : null;
+            }
+            headers.append(headerName).append("=").append(headerValue).append(", ");
+        }
+        return headers.toString();
+    }
+
+    /** Mean microseconds per request; each round uses its own client IP range to stay under rate limits. */
+    private static double run(int round, FilterChain chain) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            chain.doFilter(request(round, i), new MockHttpServletResponse());
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED; i++) {
+            chain.doFilter(request(round, WARMUP + i), new MockHttpServletResponse());
+        }
+        return (System.nanoTime() - start) / 1_000.0 / MEASURED;
+    }
+
+    private static MockHttpServletRequest request(int round, int i) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/clients/42");
+        // 198.18.0.0/15 benchmark range, 50 requests per address (limit is 60/min)
+        int host = i / 50;
+        request.addHeader("X-Forwarded-For", "198." + (18 + round) + "." + ((host >> 8) & 0xFF) + "." + (host & 0xFF));
+        request.addHeader("Authorization", "Bearer bench.jwt.token");
+        request.addHeader("User-Agent", "benchmark");
+        request.setRemoteAddr("198.18.255.254");
+        return request;
+    }
+}
@@ -1,8 +1,11 @@
 package com.parking.api_gateway.security.filter;
 
 import com.parking.api_gateway.observability.service.ObservabilityService;
+import com.parking.api_gateway.security.routing.SecurityAccessProperties;
 import com.parking.api_gateway.security.service.JwtTokenService;
 import com.parking.api_gateway.security.service.SecurityAuditService;
+import com.parking.api_gateway.security.state.SecurityStateProperties;
+import com.parking.api_gateway.security.state.SecurityStateRegistry;
 import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -50,7 +53,9 @@ class SecurityFilterRbacTest {
 
     @BeforeEach
     void setUp() {
-        securityFilter = new SecurityFilter(jwtTokenService, auditService, observabilityService);
+        securityFilter = new SecurityFilter(jwtTokenService, auditService, observabilityService,
+                new SecurityAccessProperties(),
+                new SecurityStateRegistry(new SecurityStateProperties(), observabilityService));
     }
 
     // -----------------------------------------------------------------------
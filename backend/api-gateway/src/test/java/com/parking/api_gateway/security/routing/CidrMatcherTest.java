@@ -0,0 +1,64 @@
+package com.parking.api_gateway.security.routing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for CidrMatcher (trusted network bypass in SecurityFilter).
+ */
+@DisplayName("CidrMatcher — trusted network ranges")
+class CidrMatcherTest {
+
+    private final CidrMatcher matcher = CidrMatcher.of(List.of(
+            "127.0.0.1/32", "::1/128", "172.0.0.0/8", "10.0.0.0/8", "2001:db8::/32"));
+
+    @Test
+    @DisplayName("IPv4 addresses inside configured ranges match")
+    void ipv4InsideRangeMatches() {
+        assertThat(matcher.matches("127.0.0.1")).isTrue();
+        assertThat(matcher.matches("172.19.0.5")).isTrue();
+        assertThat(matcher.matches("10.255.0.1")).isTrue();
+    }
+
+    @Test
+    @DisplayName("End-user LAN and public addresses do not match")
+    void externalAddressesDoNotMatch() {
+        assertThat(matcher.matches("192.168.1.10")).isFalse();
+        assertThat(matcher.matches("203.0.113.5")).isFalse();
+        assertThat(matcher.matches("127.0.0.2")).isFalse();
+    }
+
+    @Test
+    @DisplayName("IPv6 loopback forms, prefixes and IPv4-mapped addresses are handled")
+    void ipv6Forms() {
+        assertThat(matcher.matches("::1")).isTrue();
+        assertThat(matcher.matches("0:0:0:0:0:0:0:1")).isTrue();
+        assertThat(matcher.matches("2001:db8:1::5")).isTrue();
+        assertThat(matcher.matches("::ffff:10.0.0.1")).isTrue();
+        assertThat(matcher.matches("2001:db9::1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Malformed input never matches")
+    void malformedInputNeverMatches() {
+        assertThat(matcher.matches("unknown")).isFalse();
+        assertThat(matcher.matches("10.0.0")).isFalse();
+        assertThat(matcher.matches("10.0.0.256")).isFalse();
+        assertThat(matcher.matches("1::2::3")).isFalse();
+        assertThat(matcher.matches(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Invalid CIDR configuration fails fast")
+    void invalidConfigurationFails() {
+        assertThatThrownBy(() -> CidrMatcher.of(List.of("10.0.0.0/33")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CidrMatcher.of(List.of("not-an-ip")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
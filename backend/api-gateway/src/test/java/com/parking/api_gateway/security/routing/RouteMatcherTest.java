@@ -0,0 +1,49 @@
+package com.parking.api_gateway.security.routing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for RouteMatcher (public paths and RBAC rules in SecurityFilter).
+ */
+@DisplayName("RouteMatcher — method-keyed prefix lookup")
+class RouteMatcherTest {
+
+    private final RouteMatcher<String> matcher = RouteMatcher.<String>builder()
+            .add(RouteMatcher.ANY_METHOD, "/api/management/spots/available", "public")
+            .add("POST", "/api/management/", "management-write")
+            .add("GET", "/api/clients/", "clients-read")
+            .add(RouteMatcher.ANY_METHOD, "/api/clients/", "clients-any")
+            .build();
+
+    @Test
+    @DisplayName("Rule applies only to its own method")
+    void ruleIsMethodSpecific() {
+        assertThat(matcher.match("POST", "/api/management/spots")).isEqualTo("management-write");
+        assertThat(matcher.match("GET", "/api/management/spots")).isNull();
+    }
+
+    @Test
+    @DisplayName("Longest matching prefix wins")
+    void longestPrefixWins() {
+        assertThat(matcher.match("POST", "/api/management/spots/available/lot/1")).isEqualTo("public");
+        assertThat(matcher.match("GET", "/api/management/spots/available")).isEqualTo("public");
+    }
+
+    @Test
+    @DisplayName("Method-specific rule beats any-method rule on the same prefix")
+    void methodSpecificBeatsAnyMethod() {
+        assertThat(matcher.match("GET", "/api/clients/1")).isEqualTo("clients-read");
+        assertThat(matcher.match("DELETE", "/api/clients/1")).isEqualTo("clients-any");
+    }
+
+    @Test
+    @DisplayName("Lower-case and unknown methods are handled")
+    void methodCasing() {
+        assertThat(matcher.match("post", "/api/management/spots")).isEqualTo("management-write");
+        assertThat(matcher.match("BREW", "/api/clients/1")).isEqualTo("clients-any");
+        assertThat(matcher.matches("GET", "/api/other")).isFalse();
+    }
+}
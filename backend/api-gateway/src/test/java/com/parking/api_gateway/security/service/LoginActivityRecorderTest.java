@@ -0,0 +1,111 @@
+package com.parking.api_gateway.security.service;
+
+import com.parking.api_gateway.security.repository.UserSecurityRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for synchronous and write-behind login bookkeeping.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LoginActivityRecorder - targeted updates and write-behind")
+class LoginActivityRecorderTest {
+
+    @Mock
+    private UserSecurityRepository userRepository;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime t1 = LocalDateTime.of(2025, 3, 1, 8, 0);
+    private final LocalDateTime t2 = t1.plusSeconds(3);
+
+    @Test
+    @DisplayName("Without write-behind every login is one targeted UPDATE")
+    void synchronousByDefault() {
+        LoginActivityRecorder recorder = new LoginActivityRecorder(userRepository, jdbcTemplate, false);
+
+        recorder.record(7L, t1, "10.0.0.1", "abc");
+
+        verify(userRepository).recordSuccessfulLogin(7L, t1, "10.0.0.1", "abc");
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Logins of the same user are coalesced into one batched row")
+    @SuppressWarnings("unchecked")
+    void writeBehindCoalesces() {
+        LoginActivityRecorder recorder = new LoginActivityRecorder(userRepository, jdbcTemplate, true);
+
+        recorder.record(7L, t1, "10.0.0.1", "abc");
+        recorder.record(7L, t2, "10.0.0.2", "def");
+        recorder.record(8L, t1, "10.0.0.3", null);
+        recorder.flush();
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(LoginActivityRecorder.FLUSH_SQL), batch.capture());
+        assertThat(batch.getValue()).hasSize(2);
+        Object[] user7 = batch.getValue().stream().filter(row -> row[7].equals(7L)).findFirst().orElseThrow();
+        // the earlier login becomes last_login_*, as two separate updates would have left it
+        assertThat(user7).containsExactly(Timestamp.valueOf(t1), "10.0.0.1",
+                Timestamp.valueOf(t2), "10.0.0.2", 2, "def", Timestamp.valueOf(t2), 7L);
+        Object[] user8 = batch.getValue().stream().filter(row -> row[7].equals(8L)).findFirst().orElseThrow();
+        assertThat(user8[0]).isNull();
+        assertThat(user8[1]).isNull();
+        assertThat(recorder.pendingUsers()).isZero();
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Flushing one user writes only that user's pending logins")
+    @SuppressWarnings("unchecked")
+    void flushSingleUser() {
+        LoginActivityRecorder recorder = new LoginActivityRecorder(userRepository, jdbcTemplate, true);
+
+        recorder.record(7L, t1, "10.0.0.1", "abc");
+        recorder.record(8L, t1, "10.0.0.3", null);
+        recorder.flush(7L);
+        recorder.flush(9L);
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(LoginActivityRecorder.FLUSH_SQL), batch.capture());
+        assertThat(batch.getValue()).singleElement().satisfies(row -> assertThat(row[7]).isEqualTo(7L));
+        assertThat(recorder.pendingLogins(8L)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A failed flush keeps the pending logins for the next interval")
+    void failedFlushIsRetried() {
+        LoginActivityRecorder recorder = new LoginActivityRecorder(userRepository, jdbcTemplate, true);
+        when(jdbcTemplate.batchUpdate(eq(LoginActivityRecorder.FLUSH_SQL), anyList()))
+                .thenThrow(new QueryTimeoutException("db down"));
+
+        recorder.record(7L, t1, "10.0.0.1", "abc");
+        recorder.flush();
+        recorder.record(7L, t2, "10.0.0.2", "abc");
+
+        assertThat(recorder.pendingLogins(7L)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Flushing with nothing pending does not touch the database")
+    void emptyFlushIsNoop() {
+        new LoginActivityRecorder(userRepository, jdbcTemplate, true).flush();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,63 @@
+package com.parking.api_gateway.security.service;
+
+import com.parking.api_gateway.observability.service.ObservabilityService;
+import com.parking.api_gateway.security.exception.LoginThrottledException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for per-user / per-IP login concurrency caps.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LoginAdmissionControl - concurrent login caps")
+class LoginAdmissionControlTest {
+
+    @Mock
+    private ObservabilityService observabilityService;
+
+    @Test
+    @DisplayName("Rejects a user beyond the per-user cap regardless of username case")
+    void perUserCap() {
+        LoginAdmissionControl control = new LoginAdmissionControl(2, 10, observabilityService);
+
+        control.acquire("admin", "10.0.0.1");
+        control.acquire("ADMIN", "10.0.0.2");
+
+        assertThatThrownBy(() -> control.acquire(" Admin ", "10.0.0.3"))
+                .isInstanceOf(LoginThrottledException.class)
+                .extracting("overloaded").isEqualTo(false);
+        verify(observabilityService).recordLoginRejected("per_user");
+    }
+
+    @Test
+    @DisplayName("Rejects an IP beyond the per-IP cap and does not leak the user slot")
+    void perIpCap() {
+        LoginAdmissionControl control = new LoginAdmissionControl(2, 1, observabilityService);
+        control.acquire("alice", "10.0.0.1");
+
+        assertThatThrownBy(() -> control.acquire("bob", "10.0.0.1"))
+                .isInstanceOf(LoginThrottledException.class);
+        assertThat(control.inFlight("bob")).isZero();
+        verify(observabilityService).recordLoginRejected("per_ip");
+    }
+
+    @Test
+    @DisplayName("Released permits free the slot and drop empty entries")
+    void releaseFreesSlot() {
+        LoginAdmissionControl control = new LoginAdmissionControl(1, 1, observabilityService);
+
+        LoginAdmissionControl.Permit permit = control.acquire("operator", "10.0.0.1");
+        assertThat(control.inFlight("operator")).isEqualTo(1);
+        control.release(permit);
+
+        assertThat(control.inFlight("operator")).isZero();
+        control.release(control.acquire("operator", "10.0.0.1"));
+    }
+}
@@ -0,0 +1,113 @@
+package com.parking.api_gateway.security.service;
+
+import com.parking.api_gateway.observability.service.ObservabilityService;
+import com.parking.api_gateway.security.exception.LoginThrottledException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for the bounded password hashing pool.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PasswordHashExecutor - bounded BCrypt pool")
+class PasswordHashExecutorTest {
+
+    @Mock
+    private ObservabilityService observabilityService;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHashExecutor executor;
+
+    /** Encoder whose matches() blocks until the test releases it. */
+    private final PasswordEncoder blockingEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return encodedPassword.equals("hash:" + rawPassword);
+        }
+    };
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Supplier<Number>> gauge() {
+        return ArgumentCaptor.forClass(Supplier.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Delegates to the wrapped encoder and records queue wait")
+    void delegates() {
+        executor = new PasswordHashExecutor(blockingEncoder, 1, 1, Duration.ofSeconds(5), observabilityService);
+        release.countDown();
+
+        assertThat(executor.matches("secret", executor.encode("secret"))).isTrue();
+        assertThat(executor.matches("wrong", "hash:secret")).isFalse();
+        verify(observabilityService, atLeastOnce()).recordPasswordHashQueueWait(anyLong());
+    }
+
+    @Test
+    @DisplayName("Fails fast with 503 semantics when threads and queue are full")
+    void rejectsWhenSaturated() throws Exception {
+        executor = new PasswordHashExecutor(blockingEncoder, 1, 1, Duration.ofSeconds(5), observabilityService);
+        ArgumentCaptor<Supplier<Number>> queuedGauge = gauge();
+        ArgumentCaptor<Supplier<Number>> activeGauge = gauge();
+        verify(observabilityService).registerPasswordHashGauges(queuedGauge.capture(), activeGauge.capture());
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> executor.matches("a", "hash:a"));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> executor.matches("b", "hash:b"));
+        // both have reached the pool: one hashing, one waiting
+        await().atMost(Duration.ofSeconds(5)).until(() -> activeGauge.getValue().get().intValue() == 1
+                && queuedGauge.getValue().get().intValue() == 1);
+
+        assertThatThrownBy(() -> executor.matches("c", "hash:c"))
+                .isInstanceOf(LoginThrottledException.class)
+                .extracting("overloaded").isEqualTo(true);
+        verify(observabilityService).recordLoginRejected("hash_queue_full");
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Gives up after max wait instead of blocking the caller indefinitely")
+    void timesOut() {
+        executor = new PasswordHashExecutor(blockingEncoder, 1, 1, Duration.ofMillis(100), observabilityService);
+
+        assertThatThrownBy(() -> executor.matches("a", "hash:a"))
+                .isInstanceOf(LoginThrottledException.class);
+        verify(observabilityService).recordLoginRejected("hash_wait_timeout");
+    }
+}
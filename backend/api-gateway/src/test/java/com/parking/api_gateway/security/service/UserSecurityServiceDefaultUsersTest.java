@@ -11,6 +11,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 /**
  * Unit tests for initializeDefaultUsers() in UserSecurityService (Issue #80).
@@ -22,8 +23,16 @@ class UserSecurityServiceDefaultUsersTest {
     private UserSecurityRepository userRepository;
     @Mock
     private SecurityAuditService auditService;
+    @Mock
+    private PasswordHashExecutor passwordHashExecutor;
+    @Mock
+    private LoginAdmissionControl loginAdmissionControl;
+    @Mock
+    private LoginActivityRecorder loginActivityRecorder;
     private UserSecurityService buildService() {
-        return new UserSecurityService(userRepository, auditService);
+        lenient().when(passwordHashExecutor.encode(anyString())).thenAnswer(inv -> "hash:" + inv.getArgument(0));
+        return new UserSecurityService(userRepository, auditService, passwordHashExecutor,
+                loginAdmissionControl, loginActivityRecorder);
     }
     // Test 1: both users created when DB is empty
     @Test
@@ -0,0 +1,65 @@
+package com.parking.api_gateway.security.session;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the binary refresh session record.
+ */
+@DisplayName("RefreshSession - binary encoding and rotation")
+class RefreshSessionTest {
+
+    @Test
+    @DisplayName("Round-trips through the fixed-size encoding")
+    void roundTrip() {
+        RefreshSession session = RefreshSession.issue(42L, 3L, 1_700_000_000L);
+
+        byte[] encoded = session.encode();
+
+        assertThat(encoded).hasSize(RefreshSession.ENCODED_LENGTH);
+        assertThat(RefreshSession.decode(encoded)).isEqualTo(session);
+    }
+
+    @Test
+    @DisplayName("Rotation keeps the family and generation; the tombstone is no longer active")
+    void rotationKeepsFamily() {
+        RefreshSession first = RefreshSession.issue(7L, 1L, 100L);
+
+        RefreshSession next = first.next(200L);
+        RefreshSession tombstone = RefreshSession.decode(first.rotated().encode());
+
+        assertThat(next.family()).isEqualTo(first.family());
+        assertThat(next.generation()).isEqualTo(1L);
+        assertThat(next.isActive()).isTrue();
+        assertThat(tombstone.isActive()).isFalse();
+        assertThat(tombstone.userId()).isEqualTo(7L);
+        assertThat(tombstone.family()).isEqualTo(first.family());
+    }
+
+    @Test
+    @DisplayName("Accepts the legacy JSON value (quoted user id) as an active generation-0 session")
+    void legacyJsonValue() {
+        RefreshSession legacy = RefreshSession.decode("\"15\"".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(legacy.userId()).isEqualTo(15L);
+        assertThat(legacy.generation()).isZero();
+        assertThat(legacy.isActive()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Rejects unknown versions and truncated values")
+    void rejectsGarbage() {
+        byte[] truncated = new byte[]{RefreshSession.VERSION, 0, 1};
+        byte[] wrongVersion = RefreshSession.issue(1L, 0L, 0L).encode();
+        wrongVersion[0] = 9;
+
+        assertThatThrownBy(() -> RefreshSession.decode(truncated)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RefreshSession.decode(wrongVersion)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RefreshSession.decode(new byte[0])).isInstanceOf(IllegalArgumentException.class);
+    }
+}
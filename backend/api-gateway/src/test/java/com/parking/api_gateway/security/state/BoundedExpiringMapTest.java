@@ -0,0 +1,126 @@
+package com.parking.api_gateway.security.state;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the capped, expiring map behind the gateway's in-memory security state.
+ */
+@DisplayName("BoundedExpiringMap - expiry, size cap and sweeping")
+class BoundedExpiringMapTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private BoundedExpiringMap<String, Integer> map(int maxEntries, BoundedExpiringMap.Expiry expiry) {
+        return new BoundedExpiringMap<>("test", maxEntries, Duration.ofSeconds(10), expiry, clock::get);
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    @DisplayName("Entries disappear once their TTL has passed")
+    void expiresAfterWrite() {
+        BoundedExpiringMap<String, Integer> map = map(100, BoundedExpiringMap.Expiry.AFTER_WRITE);
+        map.put("10.0.0.1", 1);
+
+        advance(Duration.ofSeconds(9));
+        assertThat(map.get("10.0.0.1")).isEqualTo(1);
+
+        advance(Duration.ofSeconds(1));
+        assertThat(map.get("10.0.0.1")).isNull();
+        assertThat(map.size()).isZero();
+        assertThat(map.expirations()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("AFTER_ACCESS extends the lifetime on every read")
+    void slidingExpiry() {
+        BoundedExpiringMap<String, Integer> map = map(100, BoundedExpiringMap.Expiry.AFTER_ACCESS);
+        map.computeIfAbsent("10.0.0.1", k -> 1);
+
+        for (int i = 0; i < 5; i++) {
+            advance(Duration.ofSeconds(8));
+            assertThat(map.get("10.0.0.1")).isEqualTo(1);
+        }
+        advance(Duration.ofSeconds(10));
+        assertThat(map.get("10.0.0.1")).isNull();
+    }
+
+    @Test
+    @DisplayName("Per-entry TTL overrides the default")
+    void explicitTtl() {
+        BoundedExpiringMap<String, Integer> map = map(100, BoundedExpiringMap.Expiry.AFTER_WRITE);
+        map.put("short", 1, Duration.ofSeconds(2));
+        map.put("default", 2);
+
+        advance(Duration.ofSeconds(3));
+
+        assertThat(map.get("short")).isNull();
+        assertThat(map.get("default")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Never grows past the cap; the entry closest to expiry is evicted")
+    void capacityEviction() {
+        BoundedExpiringMap<String, Integer> map = map(3, BoundedExpiringMap.Expiry.AFTER_WRITE);
+        map.put("oldest", 0);
+        advance(Duration.ofSeconds(1));
+        map.put("b", 1);
+        map.put("c", 2);
+        advance(Duration.ofSeconds(1));
+
+        map.put("new", 3);
+
+        assertThat(map.size()).isEqualTo(3);
+        assertThat(map.get("oldest")).isNull();
+        assertThat(map.get("new")).isEqualTo(3);
+        assertThat(map.evictions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A scan from many distinct keys stays within the cap")
+    void scanStaysBounded() {
+        BoundedExpiringMap<String, Integer> map = map(1_000, BoundedExpiringMap.Expiry.AFTER_ACCESS);
+
+        for (int i = 0; i < 50_000; i++) {
+            map.computeIfAbsent("198.51." + (i >> 8) + "." + (i & 0xFF), k -> 0);
+        }
+
+        assertThat(map.size()).isEqualTo(1_000);
+        assertThat(map.evictions()).isEqualTo(49_000);
+    }
+
+    @Test
+    @DisplayName("merge treats expired values as absent")
+    void mergeRestartsAfterExpiry() {
+        BoundedExpiringMap<String, Integer> map = map(100, BoundedExpiringMap.Expiry.AFTER_WRITE);
+        map.merge("ip", 1, Integer::sum);
+        assertThat(map.merge("ip", 1, Integer::sum)).isEqualTo(2);
+
+        advance(Duration.ofSeconds(11));
+
+        assertThat(map.merge("ip", 1, Integer::sum)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("sweep removes only expired entries")
+    void sweep() {
+        BoundedExpiringMap<String, Integer> map = map(100, BoundedExpiringMap.Expiry.AFTER_WRITE);
+        map.put("a", 1);
+        map.put("b", 2);
+        advance(Duration.ofSeconds(5));
+        map.put("c", 3);
+        advance(Duration.ofSeconds(6));
+
+        assertThat(map.sweep()).isEqualTo(2);
+        assertThat(map.size()).isEqualTo(1);
+        assertThat(map.get("c")).isEqualTo(3);
+    }
+}
@@ -0,0 +1,102 @@
+package com.parking.api_gateway.stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the gateway availability relay: upstream events mirrored and fanned out per lot.
+ */
+@DisplayName("AvailabilityStreamRelay — snapshot mirroring and per-lot fan-out")
+class AvailabilityStreamRelayTest {
+
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+
+    private final AvailabilityStreamRelay relay =
+            new AvailabilityStreamRelay(new AvailabilityStreamProperties(), new ObjectMapper()) {
+                @Override
+                SseEmitter newEmitter(long timeoutMillis) {
+                    RecordingEmitter emitter = new RecordingEmitter();
+                    emitters.add(emitter);
+                    return emitter;
+                }
+
+                @Override
+                synchronized void startReader() {
+                    // upstream lines are fed by the test
+                }
+            };
+
+    /** Captures the payloads that would have been written to the client. */
+    private static class RecordingEmitter extends SseEmitter {
+        final List<JsonNode> messages = new ArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            builder.build().stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .filter(JsonNode.class::isInstance)
+                    .map(JsonNode.class::cast)
+                    .forEach(messages::add);
+        }
+    }
+
+    private void upstream(String event, String data) {
+        relay.onLine("event:" + event);
+        relay.onLine("data:" + data);
+        relay.onLine("");
+    }
+
+    @Test
+    @DisplayName("A client connecting after the upstream snapshot gets its lot from the mirror")
+    void lateSubscriberGetsMirroredSnapshot() {
+        upstream("snapshot", """
+                {"areas":[{"lotId":1,"section":null,"available":3,"total":5},
+                {"lotId":2,"section":null,"available":1,"total":2}]}""");
+
+        relay.subscribe(2L);
+
+        assertThat(emitters.get(0).messages).hasSize(1);
+        JsonNode areas = emitters.get(0).messages.get(0).path("areas");
+        assertThat(areas).hasSize(1);
+        assertThat(areas.get(0).path("lotId").asLong()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Deltas reach only subscribers of the affected lot and update the mirror")
+    void deltaIsFilteredByLot() {
+        relay.subscribe(1L);
+        relay.subscribe(2L);
+        upstream("snapshot", """
+                {"areas":[{"lotId":1,"section":null,"available":3,"total":5},
+                {"lotId":2,"section":null,"available":1,"total":2}]}""");
+
+        upstream("delta", "{\"areas\":[{\"lotId\":1,\"section\":null,\"available\":2,\"total\":5}]}");
+        relay.subscribe(null);
+
+        assertThat(emitters.get(0).messages).hasSize(2);
+        assertThat(emitters.get(0).messages.get(1).path("areas").get(0).path("available").asLong()).isEqualTo(2L);
+        assertThat(emitters.get(1).messages).hasSize(1);
+        JsonNode snapshot = emitters.get(2).messages.get(0).path("areas");
+        assertThat(snapshot).hasSize(2);
+        assertThat(snapshot.get(0).path("available").asLong()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Deltas before the first snapshot are ignored")
+    void deltaBeforeSnapshotIsIgnored() {
+        relay.subscribe(null);
+
+        upstream("delta", "{\"areas\":[{\"lotId\":1,\"section\":null,\"available\":2,\"total\":5}]}");
+
+        assertThat(emitters.get(0).messages).isEmpty();
+    }
+}
@@ -1,15 +1,18 @@
 package com.parking.client_service;
 
+import com.parking.common.security.InternalIdentityConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 @EnableDiscoveryClient
 @EntityScan(basePackages = {"com.parking.common.entity", "com.parking.client_service.entity"})
 @EnableJpaRepositories(basePackages = {"com.parking.client_service.repository"})
 @SpringBootApplication
+@Import(InternalIdentityConfiguration.class) // verifies the gateway's X-Internal-Identity header
 public class ClientServiceApplication {
 
 	public static void main(String[] args) {
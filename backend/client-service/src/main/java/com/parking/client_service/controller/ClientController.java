@@ -1,5 +1,8 @@
 package com.parking.client_service.controller;
 
+import com.parking.client_service.dto.ClientSearchMatch;
+import com.parking.client_service.dto.ListingPage;
+import com.parking.client_service.dto.ListingRequest;
 import com.parking.client_service.generated.controller.ClientApi;
 import com.parking.client_service.generated.model.ClientRequest;
 import com.parking.client_service.generated.model.ClientResponse;
@@ -7,6 +10,7 @@ import com.parking.client_service.generated.model.VehicleRequest;
 import com.parking.client_service.generated.model.VehicleResponse;
 import com.parking.client_service.service.ClientService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -54,6 +58,21 @@ public class ClientController implements ClientApi {
         return ResponseEntity.ok(clients);
     }
 
+    // --- 2b. Paged listing: GET /api/clients?size=50&sort=fullName&direction=asc&fields=id,fullName&cursor=... ---
+    @GetMapping(produces = "application/json", params = "size")
+    public ResponseEntity<ListingPage> listClients(@RequestParam Integer size,
+                                                   @RequestParam(required = false) String sort,
+                                                   @RequestParam(defaultValue = "asc") String direction,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) List<String> fields) {
+        log.info("🚀 [CLIENT CONTROLLER] GET /api/clients?size={}&sort={}&direction={} (paged)", size, sort, direction);
+
+        ListingPage page = clientService.listClients(
+                new ListingRequest(size, sort, Sort.Direction.fromString(direction), cursor, fields));
+        log.info("✅ [CLIENT CONTROLLER] Returning page of {} clients", page.size());
+        return ResponseEntity.ok(page);
+    }
+
     // --- 3. CRUD:  ---
     @Override
     @GetMapping(value = "/{id}", produces = "application/json")
@@ -131,6 +150,15 @@ public class ClientController implements ClientApi {
         return ResponseEntity.ok(clientService.findClientsByName(name));
     }
 
+    // --- 5d. Typeahead over names, phones and plates (top N matches) ---
+    @GetMapping(value = "/search", params = "q")
+    public ResponseEntity<List<ClientSearchMatch>> searchClientsTypeahead(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        log.debug("🔎 [CLIENT CONTROLLER] GET /api/clients/search?q={}&limit={}", q, limit);
+        return ResponseEntity.ok(clientService.searchClients(q, limit));
+    }
+
     // --- 6. Update ---
     @Override
     @PutMapping(value = "/{id}", consumes = "application/json", produces = "application/json")
@@ -1,21 +1,29 @@
 package com.parking.client_service.controller;
 
 import com.parking.client_service.generated.controller.SubscriptionApi;
+import com.parking.client_service.generated.model.SubscriptionBatchCheckRequest;
+import com.parking.client_service.generated.model.SubscriptionBatchCheckResponse;
 import com.parking.client_service.generated.model.SubscriptionCheckResponse;
 import com.parking.client_service.repository.SubscriptionRepository;
-import com.parking.common.entity.Subscription;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.openapitools.jackson.nullable.JsonNullable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Implements the OpenAPI-generated SubscriptionApi interface.
  * Returns real DB result: isAccessGranted=true when an active subscription
- * exists for the given license plate.
+ * exists for the given license plate. Only the subscription id is read (from
+ * plate_subscription_access), no entity is loaded on this hot path.
  */
 @RestController
 @RequiredArgsConstructor
@@ -29,18 +37,18 @@ public class SubscriptionCheckController implements SubscriptionApi {
 
         log.info("🔍 [SUBSCRIPTION CHECK] Checking subscription for license plate: {}", licensePlate);
 
-        Optional<Subscription> subscription =
-                subscriptionRepository.findActiveByLicensePlate(licensePlate);
+        Optional<Long> subscriptionId =
+                subscriptionRepository.findActiveSubscriptionIdByLicensePlate(licensePlate);
 
         SubscriptionCheckResponse response = new SubscriptionCheckResponse();
         response.setLicensePlate(licensePlate);
 
-        if (subscription.isPresent()) {
+        if (subscriptionId.isPresent()) {
             response.setIsAccessGranted(true);
-            response.setSubscriptionId(JsonNullable.of(subscription.get().getId()));
+            response.setSubscriptionId(JsonNullable.of(subscriptionId.get()));
             response.setMessage("Active subscription found");
             log.info("✅ [SUBSCRIPTION CHECK] Active subscription #{} found for {}",
-                    subscription.get().getId(), licensePlate);
+                    subscriptionId.get(), licensePlate);
         } else {
             response.setIsAccessGranted(false);
             response.setSubscriptionId(JsonNullable.undefined());
@@ -50,4 +58,38 @@ public class SubscriptionCheckController implements SubscriptionApi {
 
         return ResponseEntity.ok(response);
     }
+
+    @Override
+    public ResponseEntity<SubscriptionBatchCheckResponse> checkSubscriptionsBatch(
+            SubscriptionBatchCheckRequest request) {
+
+        Set<String> plates = new LinkedHashSet<>(request.getLicensePlates());
+        plates.remove(null);
+
+        Map<String, Long> active = new HashMap<>();
+        if (!plates.isEmpty()) {
+            for (SubscriptionRepository.PlateAccess access :
+                    subscriptionRepository.findActiveSubscriptionIds(plates.toArray(String[]::new))) {
+                active.put(access.getLicensePlate(), access.getSubscriptionId());
+            }
+        }
+
+        List<SubscriptionCheckResponse> results = new ArrayList<>(plates.size());
+        for (String plate : plates) {
+            Long subscriptionId = active.get(plate);
+            SubscriptionCheckResponse result = new SubscriptionCheckResponse();
+            result.setLicensePlate(plate);
+            result.setIsAccessGranted(subscriptionId != null);
+            result.setSubscriptionId(subscriptionId != null ? JsonNullable.of(subscriptionId) : JsonNullable.undefined());
+            result.setMessage(subscriptionId != null ? "Active subscription found" : "No active subscription found");
+            results.add(result);
+        }
+
+        log.info("🔍 [SUBSCRIPTION CHECK] Batch of {} plates: {} with active subscription",
+                plates.size(), active.size());
+
+        SubscriptionBatchCheckResponse response = new SubscriptionBatchCheckResponse();
+        response.setResults(results);
+        return ResponseEntity.ok(response);
+    }
 }
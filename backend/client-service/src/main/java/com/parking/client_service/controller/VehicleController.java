@@ -1,5 +1,7 @@
 package com.parking.client_service.controller;
 
+import com.parking.client_service.dto.ListingPage;
+import com.parking.client_service.dto.ListingRequest;
 import com.parking.client_service.exception.ResourceNotFoundException;
 import com.parking.client_service.generated.controller.VehicleApi;
 import com.parking.client_service.generated.model.VehicleCreateRequest;
@@ -9,6 +11,7 @@ import com.parking.client_service.service.VehicleService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -43,6 +46,23 @@ public class VehicleController implements VehicleApi {
         return ResponseEntity.ok(vehicles);
     }
 
+    /**
+     * Paged listing: GET /api/vehicles?size=50&sort=licensePlate&fields=id,licensePlate&cursor=...
+     */
+    @GetMapping(value = "/api/vehicles", produces = "application/json", params = "size")
+    public ResponseEntity<ListingPage> listVehicles(@RequestParam Integer size,
+                                                    @RequestParam(required = false) String sort,
+                                                    @RequestParam(defaultValue = "asc") String direction,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) List<String> fields) {
+        log.info("🚗 [VEHICLE CONTROLLER] GET /api/vehicles?size={}&sort={}&direction={} (paged)", size, sort, direction);
+
+        ListingPage page = vehicleService.listVehicles(
+                new ListingRequest(size, sort, Sort.Direction.fromString(direction), cursor, fields));
+        log.info("✅ [VEHICLE CONTROLLER] Returning page of {} vehicles", page.size());
+        return ResponseEntity.ok(page);
+    }
+
     @Override
     public ResponseEntity<VehicleResponse> createVehicle(@Valid VehicleCreateRequest vehicleCreateRequest) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
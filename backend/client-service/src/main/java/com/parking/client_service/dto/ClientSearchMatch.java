@@ -0,0 +1,21 @@
+package com.parking.client_service.dto;
+
+/**
+ * One typeahead result: the client and what the search term matched.
+ *
+ * @param clientId     matching client
+ * @param fullName     client name
+ * @param phoneNumber  client phone
+ * @param licensePlate the matching plate; null unless {@code matchedOn} is PLATE
+ * @param matchedOn    NAME, PHONE or PLATE
+ * @param score        trigram similarity in [0, 1], higher is closer
+ */
+public record ClientSearchMatch(
+        Long clientId,
+        String fullName,
+        String phoneNumber,
+        String licensePlate,
+        String matchedOn,
+        double score
+) {
+}
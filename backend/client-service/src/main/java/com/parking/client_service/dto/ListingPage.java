@@ -0,0 +1,18 @@
+package com.parking.client_service.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of a keyset-paged listing. Each item holds only the selected fields.
+ *
+ * @param items      rows, in sort order
+ * @param size       number of rows in this page
+ * @param nextCursor pass as {@code cursor} to get the next page; null on the last page
+ */
+public record ListingPage(
+        List<Map<String, Object>> items,
+        int size,
+        String nextCursor
+) {
+}
@@ -0,0 +1,31 @@
+package com.parking.client_service.dto;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+/**
+ * Parameters of a keyset-paged listing ({@code GET /api/clients?size=...}).
+ *
+ * @param size      rows per page (clamped by the listing)
+ * @param sort      sort field; ties are broken by id
+ * @param direction sort direction
+ * @param cursor    opaque position returned as {@code nextCursor} by the previous page, null for the first page
+ * @param fields    fields to return; empty means all listable fields
+ */
+public record ListingRequest(
+        Integer size,
+        String sort,
+        Sort.Direction direction,
+        String cursor,
+        List<String> fields
+) {
+    public ListingRequest {
+        if (direction == null) {
+            direction = Sort.Direction.ASC;
+        }
+        if (fields == null) {
+            fields = List.of();
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.parking.client_service.repository;
 
 import com.parking.common.entity.Client;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,7 +13,73 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
 
     Optional<Client> findByEmail(String email);
 
-    /** Case-insensitive substring search on full name. */
+    /**
+     * Case-insensitive substring search on full name. Runs as
+     * {@code upper(full_name) LIKE upper(?)}, served by the trigram index on upper(full_name) (V14).
+     */
     List<Client> findByFullNameContainingIgnoreCase(String name);
+
+    /** One typeahead hit, as read by {@link #searchMatches}. */
+    interface SearchMatch {
+        Long getClientId();
+        String getFullName();
+        String getPhoneNumber();
+        /** Set only when the hit came from a vehicle plate. */
+        String getLicensePlate();
+        /** NAME, PHONE or PLATE. */
+        String getMatchedOn();
+        Number getScore();
+    }
+
+    /**
+     * Typeahead over client names, phone numbers and vehicle plates. Each branch orders by
+     * trigram distance ({@code <->>} for names, {@code <->} otherwise), which the GiST
+     * indexes of V14 return nearest-first, so a branch stops reading at {@code limit} rows
+     * and the final sort sees at most 3 * limit rows whatever the table size.
+     * Names match as a substring or, to tolerate typos, by word similarity.
+     * Patterns are built by the caller: upper-cased, LIKE wildcards escaped, wrapped in '%'.
+     * The phone and plate branches can be switched off; a false flag becomes a one-time
+     * filter, so the branch is not scanned at all.
+     */
+    @Query(value = """
+            SELECT m.* FROM (
+                (SELECT c.id AS "clientId", c.full_name AS "fullName", c.phone_number AS "phoneNumber",
+                        CAST(NULL AS VARCHAR) AS "licensePlate", 'NAME' AS "matchedOn",
+                        1 - (upper(c.full_name) <->> :term) AS "score"
+                   FROM clients c
+                  WHERE upper(c.full_name) LIKE :namePattern
+                     OR upper(c.full_name) %> :term
+                  ORDER BY upper(c.full_name) <->> :term
+                  LIMIT :limit)
+                UNION ALL
+                (SELECT c.id, c.full_name, c.phone_number,
+                        CAST(NULL AS VARCHAR), 'PHONE',
+                        1 - (c.phone_number <-> :digits) AS "score"
+                   FROM clients c
+                  WHERE :searchPhones AND c.phone_number LIKE :phonePattern
+                  ORDER BY c.phone_number <-> :digits
+                  LIMIT :limit)
+                UNION ALL
+                (SELECT c.id, c.full_name, c.phone_number,
+                        v.license_plate, 'PLATE',
+                        1 - (upper(v.license_plate) <-> :plate) AS "score"
+                   FROM vehicles v
+                   JOIN clients c ON c.id = v.client_id
+                  WHERE :searchPlates AND upper(v.license_plate) LIKE :platePattern
+                  ORDER BY upper(v.license_plate) <-> :plate
+                  LIMIT :limit)
+            ) m
+            ORDER BY m."score" DESC, m."clientId"
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<SearchMatch> searchMatches(@Param("term") String term,
+                                    @Param("namePattern") String namePattern,
+                                    @Param("searchPhones") boolean searchPhones,
+                                    @Param("digits") String digits,
+                                    @Param("phonePattern") String phonePattern,
+                                    @Param("searchPlates") boolean searchPlates,
+                                    @Param("plate") String plate,
+                                    @Param("platePattern") String platePattern,
+                                    @Param("limit") int limit);
 }
 
@@ -0,0 +1,207 @@
+package com.parking.client_service.repository;
+
+import com.parking.client_service.dto.ListingPage;
+import com.parking.client_service.dto.ListingRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keyset-paged, column-projected listing over one entity.
+ *
+ * <p>Only the requested columns are selected (a tuple query, no entity is loaded), and
+ * associations are reached through their foreign key (e.g. {@code client.id}), so no
+ * join or lazy load happens. Pages are delimited by the last row's (sort value, id)
+ * instead of an OFFSET, so page N costs the same as page 1 given an index on
+ * (sort column, id).
+ */
+@Component
+public class KeysetListingQuery {
+
+    static final int DEFAULT_SIZE = 50;
+    static final int MAX_SIZE = 500;
+
+    /**
+     * What an entity exposes for listing.
+     *
+     * @param fields   API field name -> attribute path (dot-separated), in output order; must contain "id"
+     * @param sortable fields that may be used as sort key (non-null columns only)
+     * @param defaultSort sort key used when none is requested
+     */
+    public record Spec(Map<String, String> fields, Set<String> sortable, String defaultSort) {
+    }
+
+    /** Builds {@link Spec#fields()} from alternating API name / attribute path pairs, keeping their order. */
+    public static Map<String, String> fields(String... nameAndPath) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (int i = 0; i < nameAndPath.length; i += 2) {
+            fields.put(nameAndPath[i], nameAndPath[i + 1]);
+        }
+        return fields;
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public <E> ListingPage fetch(Class<E> entityType, Spec spec, ListingRequest request) {
+        List<String> fields = resolveFields(spec, request.fields());
+        String sort = request.sort() != null ? request.sort() : spec.defaultSort();
+        if (!spec.sortable().contains(sort)) {
+            throw new IllegalArgumentException("Cannot sort by '" + sort + "', allowed: " + spec.sortable());
+        }
+        int size = request.size() == null ? DEFAULT_SIZE : Math.max(1, Math.min(request.size(), MAX_SIZE));
+        boolean ascending = request.direction() == Sort.Direction.ASC;
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(entityType);
+
+        // id and the sort key are needed for the cursor even when not requested
+        Set<String> selected = new LinkedHashSet<>(fields);
+        selected.add("id");
+        selected.add(sort);
+        List<Selection<?>> selections = new ArrayList<>(selected.size());
+        for (String field : selected) {
+            selections.add(path(root, spec.fields().get(field)).alias(field));
+        }
+        query.multiselect(selections);
+
+        Path<Long> idPath = root.get("id");
+        Path<Comparable<Object>> sortPath = path(root, spec.fields().get(sort));
+        if (request.cursor() != null) {
+            query.where(after(cb, request.cursor(), sort, sortPath, idPath, ascending));
+        }
+        query.orderBy(ascending
+                ? List.of(cb.asc(sortPath), cb.asc(idPath))
+                : List.of(cb.desc(sortPath), cb.desc(idPath)));
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query).setMaxResults(size + 1);
+        List<Tuple> rows = typed.getResultList();
+
+        boolean hasMore = rows.size() > size;
+        List<Tuple> page = hasMore ? rows.subList(0, size) : rows;
+        List<Map<String, Object>> items = new ArrayList<>(page.size());
+        for (Tuple row : page) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            for (String field : fields) {
+                item.put(field, toJsonValue(row.get(field)));
+            }
+            items.add(item);
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            Tuple last = page.get(page.size() - 1);
+            nextCursor = encodeCursor(sort, last.get(sort), last.get("id", Long.class));
+        }
+        return new ListingPage(items, items.size(), nextCursor);
+    }
+
+    private static List<String> resolveFields(Spec spec, List<String> requested) {
+        if (requested.isEmpty()) {
+            return new ArrayList<>(spec.fields().keySet());
+        }
+        List<String> fields = new ArrayList<>();
+        for (String field : requested) {
+            String name = field.trim();
+            if (!spec.fields().containsKey(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "', allowed: " + spec.fields().keySet());
+            }
+            if (!fields.contains(name)) {
+                fields.add(name);
+            }
+        }
+        return fields;
+    }
+
+    private static Predicate after(CriteriaBuilder cb, String cursor, String sort,
+                                   Path<Comparable<Object>> sortPath, Path<Long> idPath, boolean ascending) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        int first = decoded.indexOf('|');
+        int last = decoded.lastIndexOf('|');
+        if (first < 0 || first == last || !decoded.substring(0, first).equals(sort)) {
+            throw new IllegalArgumentException("Cursor does not belong to a listing sorted by '" + sort + "'");
+        }
+        Long lastId;
+        Comparable<Object> lastValue;
+        try {
+            lastId = Long.valueOf(decoded.substring(last + 1));
+            lastValue = parse(decoded.substring(first + 1, last), sortPath.getJavaType());
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+
+        if ("id".equals(sort)) {
+            return ascending ? cb.greaterThan(idPath, lastId) : cb.lessThan(idPath, lastId);
+        }
+        return ascending
+                ? cb.or(cb.greaterThan(sortPath, lastValue),
+                        cb.and(cb.equal(sortPath, lastValue), cb.greaterThan(idPath, lastId)))
+                : cb.or(cb.lessThan(sortPath, lastValue),
+                        cb.and(cb.equal(sortPath, lastValue), cb.lessThan(idPath, lastId)));
+    }
+
+    static String encodeCursor(String sort, Object sortValue, Long id) {
+        String raw = sort + '|' + sortValue + '|' + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparable<Object> parse(String value, Class<?> type) {
+        Comparable parsed;
+        if (type == Long.class || type == long.class) {
+            parsed = Long.valueOf(value);
+        } else if (type == Integer.class || type == int.class) {
+            parsed = Integer.valueOf(value);
+        } else if (type == Boolean.class || type == boolean.class) {
+            parsed = Boolean.valueOf(value);
+        } else if (type == LocalDateTime.class) {
+            parsed = LocalDateTime.parse(value);
+        } else {
+            parsed = value;
+        }
+        return parsed;
+    }
+
+    /** Same representation as the mapped responses (LocalDateTime is sent with the server offset). */
+    private static Object toJsonValue(Object value) {
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime.atZone(ZoneId.systemDefault()).toOffsetDateTime();
+        }
+        return value;
+    }
+
+    private static <T> Path<T> path(Root<?> root, String attributePath) {
+        Path<?> path = root;
+        for (String part : attributePath.split("\\.")) {
+            path = path.get(part);
+        }
+        @SuppressWarnings("unchecked")
+        Path<T> typed = (Path<T>) path;
+        return typed;
+    }
+}
@@ -2,8 +2,13 @@ package com.parking.client_service.repository;
 
 import com.parking.common.entity.ParkingSpace;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+
 /**
  * JPA repository for ParkingSpace.
  * Used by SubscriptionService to reserve / release parking spaces
@@ -11,5 +16,19 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface ParkingSpaceRepository extends JpaRepository<ParkingSpace, Long> {
+
+    /**
+     * Atomic status transition: changes the space only while it still has status {@code from},
+     * so two concurrent reservations cannot both succeed. Returns the number of rows changed.
+     * Runs in the caller's transaction; call it before loading the space, a managed instance
+     * is not refreshed.
+     */
+    @Modifying
+    @Query("UPDATE ParkingSpace s SET s.status = :to, s.updatedAt = :now " +
+           "WHERE s.id = :id AND s.status = :from")
+    int compareAndSetStatus(@Param("id") Long id,
+                            @Param("from") String from,
+                            @Param("to") String to,
+                            @Param("now") LocalDateTime now);
 }
 
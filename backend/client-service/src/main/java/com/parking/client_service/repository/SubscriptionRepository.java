@@ -1,6 +1,7 @@
 package com.parking.client_service.repository;
 
 import com.parking.common.entity.Subscription;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,25 +15,63 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
 
     /**
      * Find an active, non-expired subscription for a vehicle identified by license plate.
-     * Used by gate-control-service subscription check.
+     * When the owner has several, the one running longest is returned.
+     * Plain join over the covering plate index and idx_subscriptions_active_client (both V12).
      */
     @Query(value = """
-            SELECT s.* FROM subscriptions s
-            WHERE s.is_active = true
+            SELECT s.* FROM vehicles v
+            JOIN subscriptions s ON s.client_id = v.client_id
+            WHERE v.license_plate = :licensePlate
+              AND s.is_active = true
               AND s.end_date > NOW()
-              AND s.client_id = (
-                  SELECT v.client_id FROM vehicles v
-                  WHERE v.license_plate = :licensePlate
-                  LIMIT 1
-              )
+            ORDER BY s.end_date DESC
             LIMIT 1
             """, nativeQuery = true)
     Optional<Subscription> findActiveByLicensePlate(
             @Param("licensePlate") String licensePlate);
 
+    /**
+     * Access decision for the gate subscription check: id of the active subscription
+     * covering the plate, read from the trigger-maintained plate_subscription_access
+     * table (V12) with an index-only scan of its primary key.
+     */
+    @Query(value = """
+            SELECT a.subscription_id FROM plate_subscription_access a
+            WHERE a.license_plate = :licensePlate
+              AND a.valid_until > NOW()
+            """, nativeQuery = true)
+    Optional<Long> findActiveSubscriptionIdByLicensePlate(
+            @Param("licensePlate") String licensePlate);
+
+    /** Plate and covering subscription, as read by {@link #findActiveSubscriptionIds}. */
+    interface PlateAccess {
+        String getLicensePlate();
+        Long getSubscriptionId();
+    }
+
+    /**
+     * Set-based variant of {@link #findActiveSubscriptionIdByLicensePlate}: one statement
+     * and one array bind parameter for any number of plates. Plates without an active
+     * subscription are simply absent from the result. Aliases are quoted because
+     * PostgreSQL folds unquoted ones to lower case and projection lookup is by exact name.
+     */
+    @Query(value = """
+            SELECT a.license_plate AS "licensePlate", a.subscription_id AS "subscriptionId"
+            FROM plate_subscription_access a
+            WHERE a.license_plate = ANY(:licensePlates)
+              AND a.valid_until > NOW()
+            """, nativeQuery = true)
+    List<PlateAccess> findActiveSubscriptionIds(
+            @Param("licensePlates") String[] licensePlates);
+
     // ── Subscription management queries ───────────────────────────
 
-    /** All subscriptions for a client, newest first. */
+    /**
+     * All subscriptions for a client, newest first. The reserved parking space is fetched
+     * in the same statement because the response carries its space number; the client
+     * is only needed by id, which the lazy proxy answers from the foreign key.
+     */
+    @EntityGraph(attributePaths = "parkingSpace")
     List<Subscription> findByClientIdOrderByStartDateDesc(Long clientId);
 
     /**
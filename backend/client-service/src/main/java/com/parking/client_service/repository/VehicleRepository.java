@@ -17,6 +17,8 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
 
     /**
      * Find all vehicles belonging to a specific client.
+     * Filters on the client_id column (no join); responses only need the client id,
+     * which the lazy proxy answers without loading the client.
      */
     List<Vehicle> findByClientId(Long clientId);
 }
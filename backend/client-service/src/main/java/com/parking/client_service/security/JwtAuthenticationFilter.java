@@ -1,5 +1,8 @@
 package com.parking.client_service.security;
 
+import com.parking.common.security.InternalIdentity;
+import com.parking.common.security.InternalIdentityCodec;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,10 +17,12 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Optional;
 
 /**
  * JWT Authentication Filter for Client Service
- * Validates JWT tokens from API Gateway
+ * Trusts the gateway-signed X-Internal-Identity header when present and valid;
+ * otherwise falls back to validating the forwarded JWT.
  */
 @Component
 @RequiredArgsConstructor
@@ -25,6 +30,7 @@ import java.util.Collections;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final InternalIdentityCodec internalIdentityCodec;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
@@ -47,35 +53,39 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        // Fast path: identity already verified by the gateway (one HMAC, no JWT parsing)
+        String identityHeader = request.getHeader(InternalIdentityCodec.HEADER);
+        if (identityHeader != null) {
+            Optional<InternalIdentity> identity = internalIdentityCodec.decode(identityHeader);
+            if (identity.isPresent()) {
+                log.debug("[CLIENT-SERVICE FILTER] Internal identity accepted: {} ({})",
+                        identity.get().username(), identity.get().role());
+                authenticate(identity.get().username(), identity.get().role());
+                filterChain.doFilter(request, response);
+                return;
+            }
+            log.warn("❌ [CLIENT-SERVICE FILTER] Invalid or expired internal identity header, falling back to JWT");
+        }
+
         log.info("🔒 [CLIENT-SERVICE FILTER] Protected endpoint, validating JWT");
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
             log.info("🔐 [CLIENT-SERVICE FILTER] Token extracted, length: {} characters", token.length());
 
-            try {
-                if (jwtTokenProvider.validateToken(token)) {
-                    String username = jwtTokenProvider.getUsernameFromToken(token);
-                    String role = jwtTokenProvider.getRoleFromToken(token);
-                    Long userId = jwtTokenProvider.getUserIdFromToken(token);
-
-                    log.info("✅ [CLIENT-SERVICE FILTER] Token validated successfully");
-                    log.info("👤 [CLIENT-SERVICE FILTER] Username: {}, Role: {}, UserId: {}", username, role, userId);
-
-                    UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                            username,
-                            null,
-                            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
-                        );
-
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                    log.info("✅ [CLIENT-SERVICE FILTER] Authentication set in SecurityContext");
-                } else {
-                    log.warn("❌ [CLIENT-SERVICE FILTER] Token validation failed - invalid token");
-                }
-            } catch (Exception e) {
-                log.error("❌ [CLIENT-SERVICE FILTER] Exception during JWT validation: {}", e.getMessage(), e);
+            Claims claims = jwtTokenProvider.parseClaims(token);
+            if (claims != null) {
+                String username = claims.getSubject();
+                String role = jwtTokenProvider.getRole(claims);
+                Long userId = jwtTokenProvider.getUserId(claims);
+
+                log.info("✅ [CLIENT-SERVICE FILTER] Token validated successfully");
+                log.info("👤 [CLIENT-SERVICE FILTER] Username: {}, Role: {}, UserId: {}", username, role, userId);
+
+                authenticate(username, role);
+                log.info("✅ [CLIENT-SERVICE FILTER] Authentication set in SecurityContext");
+            } else {
+                log.warn("❌ [CLIENT-SERVICE FILTER] Token validation failed - invalid token");
             }
         } else {
             log.warn("❌ [CLIENT-SERVICE FILTER] Missing or invalid Authorization header");
@@ -85,4 +95,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
         log.info("✅ [CLIENT-SERVICE FILTER END] Request completed with status: {}", response.getStatus());
     }
+
+    private void authenticate(String username, String role) {
+        UsernamePasswordAuthenticationToken authentication =
+            new UsernamePasswordAuthenticationToken(
+                username,
+                null,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
+            );
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
 }
@@ -30,21 +30,28 @@ public class JwtTokenProvider {
     }
 
     /**
-     * Validate JWT token
+     * Parse and verify the token once. Returns null if the token is invalid.
      */
-    public boolean validateToken(String token) {
+    public Claims parseClaims(String token) {
         try {
-            Jwts.parser()
+            return Jwts.parser()
                     .setSigningKey(signingKey)
                     .build()
-                    .parseClaimsJws(token);
-            return true;
+                    .parseClaimsJws(token)
+                    .getBody();
         } catch (Exception e) {
             log.error("Invalid JWT token: {}", e.getMessage());
-            return false;
+            return null;
         }
     }
 
+    /**
+     * Validate JWT token
+     */
+    public boolean validateToken(String token) {
+        return parseClaims(token) != null;
+    }
+
     /**
      * Extract username from token
      */
@@ -66,11 +73,7 @@ public class JwtTokenProvider {
                 .build()
                 .parseClaimsJws(token)
                 .getBody();
-        Object uid = claims.get("userId");
-        if (uid == null) return null;
-        if (uid instanceof Integer) return ((Integer) uid).longValue();
-        if (uid instanceof Long) return (Long) uid;
-        try { return Long.valueOf(uid.toString()); } catch (Exception e) { return null; }
+        return getUserId(claims);
     }
 
     /**
@@ -82,6 +85,24 @@ public class JwtTokenProvider {
                 .build()
                 .parseClaimsJws(token)
                 .getBody();
+        return getRole(claims);
+    }
+
+    /**
+     * Extract user ID from already verified claims
+     */
+    public Long getUserId(Claims claims) {
+        Object uid = claims.get("userId");
+        if (uid == null) return null;
+        if (uid instanceof Integer) return ((Integer) uid).longValue();
+        if (uid instanceof Long) return (Long) uid;
+        try { return Long.valueOf(uid.toString()); } catch (Exception e) { return null; }
+    }
+
+    /**
+     * Extract user role from already verified claims
+     */
+    public String getRole(Claims claims) {
         Object role = claims.get("role");
         return role != null ? role.toString() : null;
     }
@@ -30,7 +30,7 @@ public class SecurityConfig {
                 .requestMatchers("/api/health").permitAll()
                 .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
                 // Called by gate-control-service directly (no JWT forwarded)
-                .requestMatchers("/api/clients/subscriptions/check").permitAll()
+                .requestMatchers("/api/clients/subscriptions/check", "/api/clients/subscriptions/check/batch").permitAll()
                 // Subscription management requires authentication (ADMIN / MANAGER)
                 .requestMatchers("/api/clients/*/subscriptions").authenticated()
                 .requestMatchers("/api/clients/subscriptions/*").authenticated()
@@ -2,12 +2,16 @@ package com.parking.client_service.service;
 
 import com.parking.client_service.audit.AuditLogger;
 import com.parking.client_service.dto.ClientRequestDto;
+import com.parking.client_service.dto.ClientSearchMatch;
+import com.parking.client_service.dto.ListingPage;
+import com.parking.client_service.dto.ListingRequest;
 import com.parking.client_service.generated.model.ClientRequest;
 import com.parking.client_service.generated.model.ClientResponse;
 import com.parking.client_service.exception.ConflictException;
 import com.parking.client_service.exception.ResourceNotFoundException;
 import com.parking.client_service.mapper.ClientMapper;
 import com.parking.client_service.repository.ClientRepository;
+import com.parking.client_service.repository.KeysetListingQuery;
 import com.parking.client_service.repository.VehicleRepository;
 import com.parking.common.domain.ClientDomain;
 import com.parking.common.entity.Client;
@@ -19,7 +23,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,17 +33,32 @@ public class ClientService {
 
     private static final Logger log = LoggerFactory.getLogger(ClientService.class);
 
+    /** Fields of the paged client listing; sort keys are backed by (column, id) indexes (V13). */
+    static final KeysetListingQuery.Spec LISTING = new KeysetListingQuery.Spec(
+            KeysetListingQuery.fields("id", "id", "fullName", "fullName", "phoneNumber", "phoneNumber",
+                    "email", "email", "registeredAt", "registeredAt"),
+            Set.of("id", "fullName", "registeredAt"),
+            "id");
+
+    /** Trigram indexes cannot narrow shorter substrings. */
+    static final int SEARCH_MIN_TERM_LENGTH = 3;
+    static final int SEARCH_DEFAULT_LIMIT = 10;
+    static final int SEARCH_MAX_LIMIT = 25;
+
     private final ClientRepository clientRepository;
     private final ClientMapper clientMapper;
     private final VehicleRepository vehicleRepository;
     private final AuditLogger auditLogger;
+    private final KeysetListingQuery listingQuery;
 
     public ClientService(ClientRepository clientRepository, ClientMapper clientMapper,
-                         VehicleRepository vehicleRepository, AuditLogger auditLogger) {
+                         VehicleRepository vehicleRepository, AuditLogger auditLogger,
+                         KeysetListingQuery listingQuery) {
         this.clientRepository = clientRepository;
         this.clientMapper     = clientMapper;
         this.vehicleRepository = vehicleRepository;
         this.auditLogger      = auditLogger;
+        this.listingQuery     = listingQuery;
     }
 
     @Transactional
@@ -108,6 +129,15 @@ public class ClientService {
         return clients;
     }
 
+    /** One page of clients with only the requested fields (see {@link KeysetListingQuery}). */
+    @Transactional(readOnly = true)
+    public ListingPage listClients(ListingRequest request) {
+        log.debug("Listing clients: {}", request);
+        ListingPage page = listingQuery.fetch(Client.class, LISTING, request);
+        log.debug("Listed {} clients, more: {}", page.size(), page.nextCursor() != null);
+        return page;
+    }
+
     @Transactional(readOnly = true)
     public Optional<ClientResponse> findClientById(Long id) {
         log.debug("Searching for client with id: {}", id);
@@ -153,6 +183,39 @@ public class ClientService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Typeahead: best matches of {@code term} among client names, phone numbers and plates.
+     * Terms shorter than {@value #SEARCH_MIN_TERM_LENGTH} characters return nothing; phones
+     * are searched only when the term has that many digits.
+     */
+    @Transactional(readOnly = true)
+    public List<ClientSearchMatch> searchClients(String term, Integer limit) {
+        String normalized = term == null ? "" : term.trim().toUpperCase(Locale.ROOT);
+        if (normalized.length() < SEARCH_MIN_TERM_LENGTH) {
+            return List.of();
+        }
+        int max = limit == null ? SEARCH_DEFAULT_LIMIT : Math.max(1, Math.min(limit, SEARCH_MAX_LIMIT));
+        String digits = normalized.replaceAll("\\D", "");
+        String plate = normalized.replaceAll("[\\s-]", "");
+        boolean searchPhones = digits.length() >= SEARCH_MIN_TERM_LENGTH;
+        boolean searchPlates = plate.length() >= SEARCH_MIN_TERM_LENGTH;
+
+        log.debug("Typeahead search: '{}', limit {}", normalized, max);
+        return clientRepository.searchMatches(normalized, containsPattern(normalized),
+                        searchPhones, digits, containsPattern(digits),
+                        searchPlates, plate, containsPattern(plate), max)
+                .stream()
+                .map(m -> new ClientSearchMatch(m.getClientId(), m.getFullName(), m.getPhoneNumber(),
+                        m.getLicensePlate(), m.getMatchedOn(),
+                        m.getScore() == null ? 0 : m.getScore().doubleValue()))
+                .collect(Collectors.toList());
+    }
+
+    /** LIKE pattern matching {@code value} anywhere, with its own wildcards taken literally. */
+    static String containsPattern(String value) {
+        return "%" + value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
     @Transactional
     public ClientResponse updateClient(Long id, ClientRequestDto requestDto) {
         log.info("Updating client with id: {}", id);
@@ -43,7 +43,8 @@ public class SubscriptionService {
 
     /**
      * Create a new subscription for the given client.
-     * If {@code request.parkingSpaceId} is provided the space is reserved (status → RESERVED).
+     * If {@code request.parkingSpaceId} is provided the space is reserved (status → RESERVED)
+     * with a conditional update, so concurrent requests cannot reserve the same space twice.
      *
      * @throws ResourceNotFoundException if the client or parking space does not exist
      * @throws IllegalArgumentException  if endDate is not after startDate
@@ -71,21 +72,20 @@ public class SubscriptionService {
                     "Client " + clientId + " already has an active " + typeValue + " subscription");
         }
 
-        // 4. Optionally reserve a parking space
+        // 4. Optionally reserve a parking space: AVAILABLE → RESERVED in one conditional UPDATE
         ParkingSpace reservedSpace = null;
         if (request.getParkingSpaceId() != null) {
             final Long spaceId = request.getParkingSpaceId();
+            boolean reserved = parkingSpaceRepository.compareAndSetStatus(
+                    spaceId, "AVAILABLE", "RESERVED", LocalDateTime.now()) == 1;
             reservedSpace = parkingSpaceRepository.findById(spaceId)
                     .orElseThrow(() -> new ResourceNotFoundException(
                             "Parking space not found with id: " + spaceId));
-            if (!"AVAILABLE".equals(reservedSpace.getStatus())) {
+            if (!reserved) {
                 throw new ConflictException(
                         "Parking space " + reservedSpace.getSpaceNumber()
                                 + " is not available (current status: " + reservedSpace.getStatus() + ")");
             }
-            reservedSpace.setStatus("RESERVED");
-            reservedSpace.setUpdatedAt(LocalDateTime.now());
-            parkingSpaceRepository.save(reservedSpace);
             log.info("Reserved parking space id={} number={} for clientId={}",
                     reservedSpace.getId(), reservedSpace.getSpaceNumber(), clientId);
         }
@@ -118,20 +118,21 @@ public class SubscriptionService {
     public List<SubscriptionResponse> getSubscriptionsByClient(Long clientId) {
         log.debug("Listing subscriptions for clientId={}", clientId);
 
-        if (!clientRepository.existsById(clientId)) {
+        List<Subscription> subscriptions = subscriptionRepository.findByClientIdOrderByStartDateDesc(clientId);
+        // Only an empty result can mean an unknown client
+        if (subscriptions.isEmpty() && !clientRepository.existsById(clientId)) {
             throw new ResourceNotFoundException("Client not found with id: " + clientId);
         }
 
-        return subscriptionRepository
-                .findByClientIdOrderByStartDateDesc(clientId)
-                .stream()
+        return subscriptions.stream()
                 .map(subscriptionMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     /**
      * Soft-delete: sets isActive=false on the subscription.
-     * If a parking space was reserved, it is released back to AVAILABLE.
+     * If a parking space was reserved, it is released back to AVAILABLE, unless it has
+     * meanwhile moved on to another status.
      *
      * @throws ResourceNotFoundException if no subscription with the given id exists
      */
@@ -146,14 +147,16 @@ public class SubscriptionService {
         Long clientId = entity.getClient() != null ? entity.getClient().getId() : null;
         String type = entity.getType();
 
-        // Release reserved parking space if any
+        // Release reserved parking space if any (RESERVED → AVAILABLE only)
         if (entity.getParkingSpace() != null) {
             ParkingSpace space = entity.getParkingSpace();
-            log.info("Releasing parking space id={} number={} back to AVAILABLE",
-                    space.getId(), space.getSpaceNumber());
-            space.setStatus("AVAILABLE");
-            space.setUpdatedAt(LocalDateTime.now());
-            parkingSpaceRepository.save(space);
+            if (parkingSpaceRepository.compareAndSetStatus(
+                    space.getId(), "RESERVED", "AVAILABLE", LocalDateTime.now()) == 1) {
+                log.info("Released parking space id={} number={} back to AVAILABLE",
+                        space.getId(), space.getSpaceNumber());
+            } else {
+                log.info("Parking space id={} is no longer RESERVED, left as it is", space.getId());
+            }
         }
 
         // Delegate mutation to domain model
@@ -1,6 +1,8 @@
 package com.parking.client_service.service;
 
 import com.parking.client_service.audit.AuditLogger;
+import com.parking.client_service.dto.ListingPage;
+import com.parking.client_service.dto.ListingRequest;
 import com.parking.client_service.dto.VehicleRequestDto;
 import com.parking.client_service.exception.ConflictException;
 import com.parking.client_service.exception.ResourceNotFoundException;
@@ -9,6 +11,7 @@ import com.parking.client_service.generated.model.VehicleResponse;
 import com.parking.client_service.generated.model.VehicleUpdateRequest;
 import com.parking.client_service.mapper.VehicleMapper;
 import com.parking.client_service.repository.ClientRepository;
+import com.parking.client_service.repository.KeysetListingQuery;
 import com.parking.client_service.repository.VehicleRepository;
 import com.parking.common.domain.VehicleDomain;
 import com.parking.common.entity.Client;
@@ -20,6 +23,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,19 +31,29 @@ public class VehicleService {
 
     private static final Logger log = LoggerFactory.getLogger(VehicleService.class);
 
+    /** Fields of the paged vehicle listing; clientId is read from the FK column, the client is not loaded. */
+    static final KeysetListingQuery.Spec LISTING = new KeysetListingQuery.Spec(
+            KeysetListingQuery.fields("id", "id", "licensePlate", "licensePlate",
+                    "isAllowed", "isAllowed", "clientId", "client.id"),
+            Set.of("id", "licensePlate"),
+            "id");
+
     private final VehicleRepository vehicleRepository;
     private final ClientRepository clientRepository;
     private final VehicleMapper vehicleMapper;
     private final AuditLogger auditLogger;
+    private final KeysetListingQuery listingQuery;
 
     public VehicleService(VehicleRepository vehicleRepository,
                          ClientRepository clientRepository,
                          VehicleMapper vehicleMapper,
-                         AuditLogger auditLogger) {
+                         AuditLogger auditLogger,
+                         KeysetListingQuery listingQuery) {
         this.vehicleRepository = vehicleRepository;
         this.clientRepository  = clientRepository;
         this.vehicleMapper     = vehicleMapper;
         this.auditLogger       = auditLogger;
+        this.listingQuery      = listingQuery;
     }
 
     @Transactional
@@ -116,6 +130,15 @@ public class VehicleService {
         return vehicles;
     }
 
+    /** One page of vehicles with only the requested fields (see {@link KeysetListingQuery}). */
+    @Transactional(readOnly = true)
+    public ListingPage listVehicles(ListingRequest request) {
+        log.debug("Listing vehicles: {}", request);
+        ListingPage page = listingQuery.fetch(Vehicle.class, LISTING, request);
+        log.debug("Listed {} vehicles, more: {}", page.size(), page.nextCursor() != null);
+        return page;
+    }
+
     @Transactional(readOnly = true)
     public Optional<VehicleResponse> findVehicleById(Long id) {
         log.debug("Searching for vehicle with id: {}", id);
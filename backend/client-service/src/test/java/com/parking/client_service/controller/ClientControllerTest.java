@@ -1,6 +1,9 @@
 package com.parking.client_service.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parking.client_service.dto.ClientSearchMatch;
+import com.parking.client_service.dto.ListingPage;
+import com.parking.client_service.dto.ListingRequest;
 import com.parking.client_service.exception.ConflictException;
 import com.parking.client_service.exception.GlobalExceptionHandler;
 import com.parking.client_service.generated.model.ClientRequest;
@@ -17,9 +20,12 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -96,4 +102,41 @@ public class ClientControllerTest {
         mockMvc.perform(get("/api/clients/999"))
                 .andExpect(status().isNotFound());
     }
-}
+
+    @Test
+    void getClients_withSize_shouldReturnKeysetPage() throws Exception {
+        when(clientService.listClients(argThat((ListingRequest r) -> r.size() == 2
+                && "fullName".equals(r.sort())
+                && r.fields().equals(List.of("id", "fullName")))))
+                .thenReturn(new ListingPage(List.of(Map.of("id", 1, "fullName", "Andrii")), 1, "next"));
+
+        mockMvc.perform(get("/api/clients")
+                        .param("size", "2")
+                        .param("sort", "fullName")
+                        .param("fields", "id,fullName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].fullName").value("Andrii"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void getClients_withInvalidSort_shouldReturn400() throws Exception {
+        when(clientService.listClients(any(ListingRequest.class)))
+                .thenThrow(new IllegalArgumentException("Cannot sort by 'email'"));
+
+        mockMvc.perform(get("/api/clients").param("size", "2").param("sort", "email"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchClients_withQuery_shouldReturnTypeaheadMatches() throws Exception {
+        when(clientService.searchClients("1234", 5)).thenReturn(List.of(
+                new ClientSearchMatch(1L, "Andrii", "+380501234567", "AA1234BB", "PLATE", 0.6)));
+
+        mockMvc.perform(get("/api/clients/search").param("q", "1234").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].clientId").value(1))
+                .andExpect(jsonPath("$[0].licensePlate").value("AA1234BB"))
+                .andExpect(jsonPath("$[0].matchedOn").value("PLATE"));
+    }
+}
\ No newline at end of file
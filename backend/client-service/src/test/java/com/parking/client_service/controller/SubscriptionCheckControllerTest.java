@@ -1,6 +1,7 @@
 package com.parking.client_service.controller;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.parking.client_service.repository.SubscriptionRepository;
-import com.parking.common.entity.Subscription;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -8,14 +9,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.openapitools.jackson.nullable.JsonNullableModule;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
-import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 /**
@@ -32,29 +38,31 @@ class SubscriptionCheckControllerTest {
     private SubscriptionCheckController controller;
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        // Same modules as JacksonConfig: subscriptionId is a JsonNullable in the generated model
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new JsonNullableModule());
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
     }
     @Test
     @DisplayName("GET /check?licensePlate=AA1234BB returns isAccessGranted=true when subscription found")
     void checkSubscription_activeSubscription_returnsAccessGranted() throws Exception {
-        Subscription sub = new Subscription();
-        sub.setIsActive(true);
-        sub.setType("ANNUAL");
-        sub.setStartDate(LocalDateTime.now().minusDays(1));
-        sub.setEndDate(LocalDateTime.now().plusDays(364));
-        when(subscriptionRepository.findActiveByLicensePlate(eq("AA1234BB")))
-                .thenReturn(Optional.of(sub));
+        when(subscriptionRepository.findActiveSubscriptionIdByLicensePlate(eq("AA1234BB")))
+                .thenReturn(Optional.of(7L));
         mockMvc.perform(get("/api/clients/subscriptions/check")
                         .param("licensePlate", "AA1234BB"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.isAccessGranted").value(true))
                 .andExpect(jsonPath("$.licensePlate").value("AA1234BB"))
+                .andExpect(jsonPath("$.subscriptionId").value(7))
                 .andExpect(jsonPath("$.message").value("Active subscription found"));
     }
     @Test
     @DisplayName("GET /check?licensePlate=ZZ0000ZZ returns isAccessGranted=false when no subscription")
     void checkSubscription_noSubscription_returnsAccessDenied() throws Exception {
-        when(subscriptionRepository.findActiveByLicensePlate(eq("ZZ0000ZZ")))
+        when(subscriptionRepository.findActiveSubscriptionIdByLicensePlate(eq("ZZ0000ZZ")))
                 .thenReturn(Optional.empty());
         mockMvc.perform(get("/api/clients/subscriptions/check")
                         .param("licensePlate", "ZZ0000ZZ"))
@@ -63,4 +71,23 @@ class SubscriptionCheckControllerTest {
                 .andExpect(jsonPath("$.licensePlate").value("ZZ0000ZZ"))
                 .andExpect(jsonPath("$.message").value("No active subscription found"));
     }
-}
+    @Test
+    @DisplayName("POST /check/batch resolves all plates with one query, in request order")
+    void checkSubscriptionsBatch_mixedPlates_returnsDecisionPerPlate() throws Exception {
+        SubscriptionRepository.PlateAccess access = mock(SubscriptionRepository.PlateAccess.class);
+        when(access.getLicensePlate()).thenReturn("AA1234BB");
+        when(access.getSubscriptionId()).thenReturn(7L);
+        when(subscriptionRepository.findActiveSubscriptionIds(any(String[].class)))
+                .thenReturn(List.of(access));
+        mockMvc.perform(post("/api/clients/subscriptions/check/batch")
+                        .contentType("application/json")
+                        .content("{\"licensePlates\":[\"ZZ0000ZZ\",\"AA1234BB\",\"ZZ0000ZZ\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(2))
+                .andExpect(jsonPath("$.results[0].licensePlate").value("ZZ0000ZZ"))
+                .andExpect(jsonPath("$.results[0].isAccessGranted").value(false))
+                .andExpect(jsonPath("$.results[1].licensePlate").value("AA1234BB"))
+                .andExpect(jsonPath("$.results[1].isAccessGranted").value(true));
+        verify(subscriptionRepository).findActiveSubscriptionIds(eq(new String[]{"ZZ0000ZZ", "AA1234BB"}));
+    }
+}
\ No newline at end of file
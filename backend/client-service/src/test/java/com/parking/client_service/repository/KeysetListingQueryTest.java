@@ -0,0 +1,141 @@
+package com.parking.client_service.repository;
+
+import com.parking.client_service.dto.ListingPage;
+import com.parking.client_service.dto.ListingRequest;
+import com.parking.common.entity.Client;
+import com.parking.common.entity.Vehicle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * DataJpaTest for the keyset-paged, projected listing.
+ * Uses H2 in-memory DB; schema created by Hibernate from entities.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(KeysetListingQuery.class)
+@DisplayName("KeysetListingQuery - keyset paging and field selection")
+class KeysetListingQueryTest {
+
+    private static final KeysetListingQuery.Spec CLIENTS = new KeysetListingQuery.Spec(
+            KeysetListingQuery.fields("id", "id", "fullName", "fullName", "phoneNumber", "phoneNumber"),
+            Set.of("id", "fullName"), "id");
+    private static final KeysetListingQuery.Spec VEHICLES = new KeysetListingQuery.Spec(
+            KeysetListingQuery.fields("id", "id", "licensePlate", "licensePlate", "clientId", "client.id"),
+            Set.of("id", "licensePlate"), "id");
+
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private KeysetListingQuery listingQuery;
+
+    private Client owner;
+
+    @BeforeEach
+    void insertTestData() {
+        // Duplicate names so that pages have to break ties by id
+        String[] names = {"Olena", "Andrii", "Olena", "Bohdan", "Olena", "Andrii", "Iryna"};
+        for (int i = 0; i < names.length; i++) {
+            Client client = new Client();
+            client.setFullName(names[i]);
+            client.setPhoneNumber("+38050000000" + i);
+            client.setRegisteredAt(LocalDateTime.now());
+            em.persist(client);
+            owner = client;
+        }
+        Vehicle vehicle = new Vehicle();
+        vehicle.setLicensePlate("AA1234BB");
+        vehicle.setClient(owner);
+        em.persist(vehicle);
+        em.flush();
+        em.clear();
+    }
+
+    private List<Map<String, Object>> readAll(Sort.Direction direction, int size) {
+        List<Map<String, Object>> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            ListingPage page = listingQuery.fetch(Client.class, CLIENTS,
+                    new ListingRequest(size, "fullName", direction, cursor, List.of("fullName", "id")));
+            assertThat(page.size()).isLessThanOrEqualTo(size);
+            all.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return all;
+    }
+
+    @Test
+    @DisplayName("Walking all pages returns every row once, in (sort key, id) order")
+    void pagesCoverAllRowsInOrder() {
+        List<Map<String, Object>> rows = readAll(Sort.Direction.ASC, 2);
+
+        assertThat(rows).hasSize(7);
+        assertThat(rows).extracting(r -> r.get("fullName"))
+                .containsExactly("Andrii", "Andrii", "Bohdan", "Iryna", "Olena", "Olena", "Olena");
+        assertThat(rows).extracting(r -> r.get("id")).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Descending order pages the same way")
+    void descending() {
+        List<Map<String, Object>> rows = readAll(Sort.Direction.DESC, 3);
+
+        assertThat(rows).extracting(r -> r.get("fullName"))
+                .containsExactly("Olena", "Olena", "Olena", "Iryna", "Bohdan", "Andrii", "Andrii");
+    }
+
+    @Test
+    @DisplayName("Only the requested fields are returned")
+    void fieldSelection() {
+        ListingPage page = listingQuery.fetch(Client.class, CLIENTS,
+                new ListingRequest(3, null, null, null, List.of("phoneNumber")));
+
+        assertThat(page.items()).hasSize(3);
+        assertThat(page.items().get(0)).containsOnlyKeys("phoneNumber");
+        assertThat(page.nextCursor()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Association ids are read from the foreign key")
+    void associationId() {
+        ListingPage page = listingQuery.fetch(Vehicle.class, VEHICLES,
+                new ListingRequest(10, "licensePlate", null, null, List.of()));
+
+        assertThat(page.items()).singleElement()
+                .satisfies(v -> assertThat(v).containsEntry("licensePlate", "AA1234BB")
+                        .containsEntry("clientId", owner.getId()));
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Unknown fields, unsortable fields and foreign cursors are rejected")
+    void rejectsInvalidRequests() {
+        assertThatThrownBy(() -> listingQuery.fetch(Client.class, CLIENTS,
+                new ListingRequest(10, null, null, null, List.of("password"))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> listingQuery.fetch(Client.class, CLIENTS,
+                new ListingRequest(10, "phoneNumber", null, null, List.of())))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        String idCursor = KeysetListingQuery.encodeCursor("id", 3L, 3L);
+        assertThatThrownBy(() -> listingQuery.fetch(Client.class, CLIENTS,
+                new ListingRequest(10, "fullName", null, idCursor, List.of())))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -9,15 +9,22 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 /**
  * DataJpaTest for SubscriptionRepository (Issue #72).
- * Uses H2 in-memory DB; schema created by Hibernate from entities.
+ * Uses H2 in-memory DB; schema created by Hibernate from entities, plus the
+ * plate_subscription_access table (V12) behind the gate access decision.
  */
 @DataJpaTest
 @ActiveProfiles("test")
+// plate_subscription_access is not an entity; created outside the test transaction because DDL commits in H2
+@Sql(statements = "CREATE TABLE IF NOT EXISTS plate_subscription_access ("
+        + "license_plate VARCHAR(50) NOT NULL PRIMARY KEY, client_id BIGINT NOT NULL, "
+        + "subscription_id BIGINT NOT NULL, valid_until TIMESTAMP NOT NULL)", config = @SqlConfig(transactionMode = SqlConfig.TransactionMode.ISOLATED))
 @DisplayName("SubscriptionRepository - active subscription lookup")
 class SubscriptionRepositoryTest {
     @Autowired
@@ -96,10 +103,89 @@ class SubscriptionRepositoryTest {
         assertThat(result).isEmpty();
     }
     @Test
+    @DisplayName("Returns the longest-running active subscription when there are several")
+    void findActiveByLicensePlate_severalActive_returnsLatestEnding() {
+        Vehicle vehicle = em.getEntityManager()
+                .createQuery("SELECT v FROM Vehicle v WHERE v.licensePlate = :plate", Vehicle.class)
+                .setParameter("plate", ACTIVE_PLATE)
+                .getSingleResult();
+        Subscription monthly = new Subscription();
+        monthly.setClient(vehicle.getClient());
+        monthly.setStartDate(LocalDateTime.now().minusDays(1));
+        monthly.setEndDate(LocalDateTime.now().plusDays(29));
+        monthly.setType("MONTHLY");
+        monthly.setIsActive(true);
+        em.persist(monthly);
+        em.flush();
+        Optional<Subscription> result =
+                subscriptionRepository.findActiveByLicensePlate(ACTIVE_PLATE);
+        assertThat(result).isPresent();
+        assertThat(result.get().getType()).isEqualTo("ANNUAL");
+    }
+    @Test
     @DisplayName("Returns empty for completely unknown license plate")
     void findActiveByLicensePlate_unknownPlate_returnsEmpty() {
         Optional<Subscription> result =
                 subscriptionRepository.findActiveByLicensePlate(UNKNOWN_PLATE);
         assertThat(result).isEmpty();
     }
+    // ── plate_subscription_access (V12) ───────────────────────────
+    /**
+     * Fills plate_subscription_access the way the V12 triggers do: per vehicle, the owner's
+     * longest-running active subscription.
+     */
+    private void refreshPlateAccess() {
+        em.flush();
+        em.getEntityManager().createNativeQuery("DELETE FROM plate_subscription_access").executeUpdate();
+        em.getEntityManager().createNativeQuery("""
+                INSERT INTO plate_subscription_access (license_plate, client_id, subscription_id, valid_until)
+                SELECT v.license_plate, v.client_id, s.id, s.end_date
+                  FROM vehicles v
+                  JOIN subscriptions s ON s.client_id = v.client_id
+                 WHERE s.id = (SELECT b.id FROM subscriptions b
+                                WHERE b.client_id = v.client_id AND b.is_active AND b.end_date > NOW()
+                                ORDER BY b.end_date DESC LIMIT 1)
+                """).executeUpdate();
+    }
+    private Long subscriptionIdOf(String type, String plate) {
+        return em.getEntityManager()
+                .createQuery("SELECT s.id FROM Subscription s, Vehicle v WHERE s.client = v.client"
+                        + " AND v.licensePlate = :plate AND s.type = :type", Long.class)
+                .setParameter("plate", plate)
+                .setParameter("type", type)
+                .getSingleResult();
+    }
+    @Test
+    @DisplayName("Access table: returns the covering subscription id, empty for unsubscribed and unknown plates")
+    void findActiveSubscriptionIdByLicensePlate_readsAccessTable() {
+        refreshPlateAccess();
+        assertThat(subscriptionRepository.findActiveSubscriptionIdByLicensePlate(ACTIVE_PLATE))
+                .contains(subscriptionIdOf("ANNUAL", ACTIVE_PLATE));
+        assertThat(subscriptionRepository.findActiveSubscriptionIdByLicensePlate(INACTIVE_PLATE)).isEmpty();
+        assertThat(subscriptionRepository.findActiveSubscriptionIdByLicensePlate(UNKNOWN_PLATE)).isEmpty();
+    }
+    @Test
+    @DisplayName("Access table: a row whose valid_until has passed no longer grants access")
+    void findActiveSubscriptionIdByLicensePlate_expiredRow_returnsEmpty() {
+        refreshPlateAccess();
+        // Expiry fires no trigger: the row stays and readers compare valid_until with NOW()
+        em.getEntityManager().createNativeQuery(
+                        "UPDATE plate_subscription_access SET valid_until = ? WHERE license_plate = ?")
+                .setParameter(1, LocalDateTime.now().minusMinutes(1))
+                .setParameter(2, ACTIVE_PLATE)
+                .executeUpdate();
+        assertThat(subscriptionRepository.findActiveSubscriptionIdByLicensePlate(ACTIVE_PLATE)).isEmpty();
+    }
+    @Test
+    @DisplayName("Access table: the batch variant returns only plates with access")
+    void findActiveSubscriptionIds_returnsOnlyPlatesWithAccess() {
+        refreshPlateAccess();
+        assertThat(subscriptionRepository.findActiveSubscriptionIds(
+                        new String[] {ACTIVE_PLATE, INACTIVE_PLATE, UNKNOWN_PLATE}))
+                .singleElement()
+                .satisfies(access -> {
+                    assertThat(access.getLicensePlate()).isEqualTo(ACTIVE_PLATE);
+                    assertThat(access.getSubscriptionId()).isEqualTo(subscriptionIdOf("ANNUAL", ACTIVE_PLATE));
+                });
+    }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.parking.client_service.security;
+
+import com.parking.common.security.InternalIdentityCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for the X-Internal-Identity fast path in JwtAuthenticationFilter.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JwtAuthenticationFilter - gateway internal identity header")
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "TestSecretKeyForUnitTestsOnlyNotForProduction1234567890";
+
+    @Mock
+    private JwtTokenProvider jwtTokenProvider;
+
+    private InternalIdentityCodec codec;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        codec = new InternalIdentityCodec(SECRET, Duration.ofSeconds(30));
+        filter = new JwtAuthenticationFilter(jwtTokenProvider, codec);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Valid identity header authenticates without parsing the JWT")
+    void validIdentityHeader_authenticatesWithoutJwt() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/clients");
+        request.addHeader(InternalIdentityCodec.HEADER, codec.encode(7L, "operator.one", "OPERATOR"));
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(auth).isNotNull();
+        assertThat(auth.getName()).isEqualTo("operator.one");
+        assertThat(auth.getAuthorities()).extracting("authority").containsExactly("ROLE_OPERATOR");
+        verify(jwtTokenProvider, never()).parseClaims(anyString());
+    }
+
+    @Test
+    @DisplayName("Tampered identity header is rejected")
+    void tamperedIdentityHeader_isRejected() throws Exception {
+        String header = codec.encode(7L, "operator", "OPERATOR").replace(".OPERATOR.", ".ADMIN.");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/clients");
+        request.addHeader(InternalIdentityCodec.HEADER, header);
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    @DisplayName("Expired identity header is rejected")
+    void expiredIdentityHeader_isRejected() throws Exception {
+        Clock past = Clock.fixed(Instant.now().minusSeconds(120), ZoneOffset.UTC);
+        String header = new InternalIdentityCodec(SECRET, Duration.ofSeconds(30), past)
+                .encode(7L, "operator", "OPERATOR");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/clients");
+        request.addHeader(InternalIdentityCodec.HEADER, header);
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+}
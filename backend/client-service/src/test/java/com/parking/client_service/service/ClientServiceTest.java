@@ -2,6 +2,7 @@ package com.parking.client_service.service;
 
 import com.parking.client_service.audit.AuditLogger;
 import com.parking.client_service.dto.ClientRequestDto;
+import com.parking.client_service.dto.ClientSearchMatch;
 import com.parking.client_service.generated.model.ClientResponse;
 import com.parking.client_service.mapper.ClientMapper;
 import com.parking.client_service.repository.ClientRepository;
@@ -15,6 +16,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -97,4 +99,39 @@ public class ClientServiceTest {
         assertThat(maybe).isPresent();
         assertThat(maybe.get().getId()).isEqualTo(2L);
     }
+
+    @Test
+    void searchClients_buildsPatternsPerBranch() {
+        ClientRepository.SearchMatch match = mock(ClientRepository.SearchMatch.class);
+        when(match.getClientId()).thenReturn(3L);
+        when(match.getLicensePlate()).thenReturn("AA1234BB");
+        when(match.getMatchedOn()).thenReturn("PLATE");
+        when(match.getScore()).thenReturn(0.5f);
+        when(clientRepository.searchMatches(anyString(), anyString(), anyBoolean(), anyString(), anyString(),
+                anyBoolean(), anyString(), anyString(), anyInt())).thenReturn(List.of(match));
+
+        List<ClientSearchMatch> result = clientService.searchClients(" aa 1234_ ", 100);
+
+        assertThat(result).singleElement().satisfies(m -> {
+            assertThat(m.clientId()).isEqualTo(3L);
+            assertThat(m.matchedOn()).isEqualTo("PLATE");
+            assertThat(m.score()).isEqualTo(0.5);
+        });
+        verify(clientRepository).searchMatches(eq("AA 1234_"), eq("%AA 1234\\_%"),
+                eq(true), eq("1234"), eq("%1234%"),
+                eq(true), eq("AA1234_"), eq("%AA1234\\_%"), eq(ClientService.SEARCH_MAX_LIMIT));
+    }
+
+    @Test
+    void searchClients_skipsPhonesWithoutDigitsAndShortTerms() {
+        when(clientRepository.searchMatches(anyString(), anyString(), anyBoolean(), anyString(), anyString(),
+                anyBoolean(), anyString(), anyString(), anyInt())).thenReturn(List.of());
+
+        clientService.searchClients("olena", null);
+
+        verify(clientRepository).searchMatches(eq("OLENA"), eq("%OLENA%"), eq(false), eq(""), eq("%%"),
+                eq(true), eq("OLENA"), eq("%OLENA%"), eq(ClientService.SEARCH_DEFAULT_LIMIT));
+        assertThat(clientService.searchClients("ol", 5)).isEmpty();
+        verifyNoMoreInteractions(clientRepository);
+    }
 }
@@ -0,0 +1,146 @@
+package com.parking.client_service.service;
+
+import com.parking.client_service.audit.AuditLogger;
+import com.parking.client_service.generated.model.SubscriptionResponse;
+import com.parking.client_service.mapper.ClientMapperImpl;
+import com.parking.client_service.mapper.SubscriptionMapper;
+import com.parking.client_service.mapper.VehicleMapper;
+import com.parking.client_service.repository.KeysetListingQuery;
+import com.parking.common.entity.Client;
+import com.parking.common.entity.ParkingSpace;
+import com.parking.common.entity.Subscription;
+import com.parking.common.entity.Vehicle;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SQL statement budget of the list endpoints.
+ *
+ * <p>Each list is read through its service method against H2 with every association that
+ * the response touches populated ({@link #ROWS} rows, each with its own related row), and
+ * Hibernate statistics count the prepared statements. A lazy association loaded per row
+ * (N+1) shows up as a count that grows with {@link #ROWS} and fails the budget.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({ClientService.class, VehicleService.class, SubscriptionService.class,
+        ClientMapperImpl.class, VehicleMapper.class, SubscriptionMapper.class, KeysetListingQuery.class})
+@DisplayName("List endpoints - SQL statements per request")
+class ListQueryCountTest {
+
+    private static final int ROWS = 5;
+
+    /** Statements one list request may issue, independent of the number of rows. */
+    private static final long MAX_STATEMENTS = 1;
+
+    @MockBean
+    private AuditLogger auditLogger;
+
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ClientService clientService;
+    @Autowired
+    private VehicleService vehicleService;
+    @Autowired
+    private SubscriptionService subscriptionService;
+
+    private Long clientId;
+
+    @BeforeEach
+    void insertTestData() {
+        Client client = null;
+        for (int i = 0; i < ROWS; i++) {
+            client = new Client();
+            client.setFullName("Client " + i);
+            client.setPhoneNumber("+38067000000" + i);
+            client.setRegisteredAt(LocalDateTime.now());
+            em.persist(client);
+        }
+        clientId = client.getId();
+
+        for (int i = 0; i < ROWS; i++) {
+            Vehicle vehicle = new Vehicle();
+            vehicle.setLicensePlate("AA000" + i + "BB");
+            vehicle.setClient(client);
+            em.persist(vehicle);
+
+            ParkingSpace space = new ParkingSpace();
+            space.setParkingLotId(1L);
+            space.setSpaceNumber("A-0" + i);
+            em.persist(space);
+
+            Subscription subscription = new Subscription();
+            subscription.setClient(client);
+            subscription.setType("MONTHLY");
+            subscription.setStartDate(LocalDateTime.now().minusDays(i));
+            subscription.setEndDate(LocalDateTime.now().plusDays(30));
+            subscription.setParkingSpace(space);
+            em.persist(subscription);
+        }
+    }
+
+    /** Runs {@code endpoint} on an empty persistence context and returns the statements it issued. */
+    private long statements(Supplier<List<?>> endpoint) {
+        em.flush();
+        em.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<?> result = endpoint.get();
+
+        assertThat(result).as("endpoint must return the test rows").hasSize(ROWS);
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @DisplayName("GET /api/clients/{id}/subscriptions reads subscriptions and spaces in one statement")
+    void subscriptionsByClient() {
+        List<SubscriptionResponse> responses = subscriptionService.getSubscriptionsByClient(clientId);
+        assertThat(responses).extracting(SubscriptionResponse::getSpaceNumber).doesNotContainNull();
+
+        assertThat(statements(() -> subscriptionService.getSubscriptionsByClient(clientId)))
+                .isLessThanOrEqualTo(MAX_STATEMENTS);
+    }
+
+    @Test
+    @DisplayName("GET /api/clients/{id}/vehicles does not load the owner")
+    void vehiclesByClient() {
+        assertThat(statements(() -> vehicleService.findVehiclesByClientId(clientId)))
+                .isLessThanOrEqualTo(MAX_STATEMENTS);
+    }
+
+    @Test
+    @DisplayName("GET /api/vehicles does not load owners")
+    void allVehicles() {
+        assertThat(statements(vehicleService::findAllVehicles))
+                .isLessThanOrEqualTo(MAX_STATEMENTS);
+    }
+
+    @Test
+    @DisplayName("GET /api/clients and ?name= are a single statement")
+    void clients() {
+        assertThat(statements(clientService::findAllClients))
+                .isLessThanOrEqualTo(MAX_STATEMENTS);
+        assertThat(statements(() -> clientService.findClientsByName("client")))
+                .isLessThanOrEqualTo(MAX_STATEMENTS);
+    }
+}
@@ -10,6 +10,7 @@ import com.parking.client_service.repository.ClientRepository;
 import com.parking.client_service.repository.ParkingSpaceRepository;
 import com.parking.client_service.repository.SubscriptionRepository;
 import com.parking.common.entity.Client;
+import com.parking.common.entity.ParkingSpace;
 import com.parking.common.entity.Subscription;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -146,6 +147,29 @@ class SubscriptionServiceTest {
                 .hasMessageContaining("ANNUAL");
     }
 
+    @Test
+    @DisplayName("createSubscription — space taken concurrently → ConflictException, nothing saved")
+    void createSubscription_spaceNoLongerAvailable() {
+        Client client = makeClient(1L);
+        ParkingSpace space = new ParkingSpace();
+        space.setId(5L);
+        space.setSpaceNumber("A-05");
+        space.setStatus("RESERVED");
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(client));
+        when(subscriptionRepository.existsByClientIdAndTypeAndIsActiveTrue(1L, "MONTHLY")).thenReturn(false);
+        when(parkingSpaceRepository.compareAndSetStatus(eq(5L), eq("AVAILABLE"), eq("RESERVED"), any()))
+                .thenReturn(0);
+        when(parkingSpaceRepository.findById(5L)).thenReturn(Optional.of(space));
+
+        SubscriptionRequest req = makeRequest(SubscriptionRequest.TypeEnum.MONTHLY);
+        req.setParkingSpaceId(5L);
+        assertThatThrownBy(() -> subscriptionService.createSubscription(1L, req))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("A-05")
+                .hasMessageContaining("RESERVED");
+        verify(subscriptionRepository, never()).save(any());
+    }
+
     // ── getSubscriptionsByClient ──────────────────────────────────
 
     @Test
@@ -155,7 +179,6 @@ class SubscriptionServiceTest {
         Subscription s1 = makeSubscription(1L, client, "MONTHLY");
         Subscription s2 = makeSubscription(2L, client, "ANNUAL");
 
-        when(clientRepository.existsById(2L)).thenReturn(true);
         when(subscriptionRepository.findByClientIdOrderByStartDateDesc(2L))
                 .thenReturn(List.of(s1, s2));
         when(subscriptionMapper.toResponse(s1)).thenReturn(makeResponse(1L, 2L, "MONTHLY"));
@@ -165,6 +188,7 @@ class SubscriptionServiceTest {
 
         assertThat(result).hasSize(2);
         assertThat(result).extracting(SubscriptionResponse::getId).containsExactly(1L, 2L);
+        verify(clientRepository, never()).existsById(any());
     }
 
     @Test
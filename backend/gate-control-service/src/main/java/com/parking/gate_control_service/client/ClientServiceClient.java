@@ -1,5 +1,6 @@
 package com.parking.gate_control_service.client;
 
+import com.parking.gate_control_service.dto.SubscriptionBatchCheckResponse;
 import com.parking.gate_control_service.dto.SubscriptionCheckResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -7,6 +8,14 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
 /**
  * Client for communication with Client Service.
  * Handles subscription validation and vehicle verification.
@@ -15,6 +24,11 @@ import org.springframework.web.reactive.function.client.WebClientResponseExcepti
 @Component
 public class ClientServiceClient {
 
+    /**
+     * Upper bound of plates per batch request (maxItems in client-service's API).
+     */
+    static final int MAX_BATCH_SIZE = 1000;
+
     private final WebClient clientServiceWebClient;
 
     public ClientServiceClient(@Qualifier("clientServiceWebClient") WebClient clientServiceWebClient) {
@@ -57,4 +71,52 @@ public class ClientServiceClient {
                     .build();
         }
     }
+
+    /**
+     * Checks many plates at once, e.g. when replaying a backlog of gate events.
+     * Plates are deduplicated and sent in chunks of {@link #MAX_BATCH_SIZE}; a chunk
+     * that fails is treated like a failed single check, i.e. access denied.
+     *
+     * @param licensePlates plates to check
+     * @return decision per distinct plate, in input order
+     */
+    public Map<String, SubscriptionCheckResponse> checkSubscriptions(Collection<String> licensePlates) {
+        List<String> plates = new ArrayList<>(new LinkedHashSet<>(licensePlates));
+        plates.removeIf(Objects::isNull);
+        log.info("Checking subscriptions for {} license plates", plates.size());
+
+        Map<String, SubscriptionCheckResponse> decisions = new LinkedHashMap<>();
+        for (int from = 0; from < plates.size(); from += MAX_BATCH_SIZE) {
+            List<String> chunk = plates.subList(from, Math.min(from + MAX_BATCH_SIZE, plates.size()));
+            try {
+                SubscriptionBatchCheckResponse response = clientServiceWebClient
+                        .post()
+                        .uri("/api/clients/subscriptions/check/batch")
+                        .bodyValue(Map.of("licensePlates", chunk))
+                        .retrieve()
+                        .bodyToMono(SubscriptionBatchCheckResponse.class)
+                        .block();
+
+                if (response != null && response.getResults() != null) {
+                    for (SubscriptionCheckResponse result : response.getResults()) {
+                        decisions.put(result.getLicensePlate(), result);
+                    }
+                }
+            } catch (Exception e) {
+                log.error("Error checking subscriptions for a batch of {} plates: {}",
+                        chunk.size(), e.getMessage(), e);
+            }
+        }
+
+        // Anything client-service did not answer for is denied, as in checkSubscription
+        Map<String, SubscriptionCheckResponse> ordered = new LinkedHashMap<>();
+        for (String plate : plates) {
+            SubscriptionCheckResponse decision = decisions.get(plate);
+            ordered.put(plate, decision != null ? decision : SubscriptionCheckResponse.builder()
+                    .isAccessGranted(false)
+                    .licensePlate(plate)
+                    .build());
+        }
+        return ordered;
+    }
 }
@@ -0,0 +1,21 @@
+package com.parking.gate_control_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO representing the response from Client Service for a batch subscription check
+ * ({@code POST /api/clients/subscriptions/check/batch}): one decision per distinct plate.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SubscriptionBatchCheckResponse {
+
+    private List<SubscriptionCheckResponse> results;
+}
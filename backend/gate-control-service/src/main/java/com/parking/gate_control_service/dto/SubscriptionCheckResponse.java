@@ -11,7 +11,7 @@ import lombok.NoArgsConstructor;
  * Contains information about whether access should be granted based on subscription status.
  *
  * Uses @JsonIgnoreProperties to safely handle extra fields returned by client-service
- * (e.g., licensePlate, message) that this DTO doesn't need.
+ * (e.g., message) that this DTO doesn't need.
  */
 @Data
 @Builder
@@ -35,4 +35,9 @@ public class SubscriptionCheckResponse {
      * Plain Long — client-service now serializes JsonNullable properly via JsonNullableModule.
      */
     private Long subscriptionId;
+
+    /**
+     * Plate the decision refers to; used to match results of a batch check.
+     */
+    private String licensePlate;
 }
@@ -17,6 +17,9 @@ import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -179,5 +182,72 @@ class ClientServiceClientTest {
         assertThat(response).isNotNull();
         assertThat(response.getIsAccessGranted()).isFalse();
     }
-}
 
+    @Test
+    @DisplayName("Batch check - Deduplicates plates and returns decisions in input order")
+    void checkSubscriptions_Success_DecisionPerPlate() throws Exception {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("""
+                        {"results":[
+                          {"licensePlate":"ABC123","isAccessGranted":true,"subscriptionId":1,"message":"Active subscription found"},
+                          {"licensePlate":"DEF456","isAccessGranted":false,"subscriptionId":null,"message":"No active subscription found"}
+                        ]}""")
+                .addHeader("Content-Type", "application/json"));
+
+        // Act
+        Map<String, SubscriptionCheckResponse> decisions =
+                clientServiceClient.checkSubscriptions(List.of("ABC123", "DEF456", "ABC123"));
+
+        // Assert
+        assertThat(decisions).containsOnlyKeys("ABC123", "DEF456");
+        assertThat(decisions.get("ABC123").getIsAccessGranted()).isTrue();
+        assertThat(decisions.get("ABC123").getSubscriptionId()).isEqualTo(1L);
+        assertThat(decisions.get("DEF456").getIsAccessGranted()).isFalse();
+
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertThat(request.getMethod()).isEqualTo("POST");
+        assertThat(request.getPath()).isEqualTo("/api/clients/subscriptions/check/batch");
+        assertThat(request.getBody().readUtf8()).isEqualTo("{\"licensePlates\":[\"ABC123\",\"DEF456\"]}");
+    }
+
+    @Test
+    @DisplayName("Batch check - Large input is split into chunks of MAX_BATCH_SIZE")
+    void checkSubscriptions_LargeInput_SplitIntoChunks() {
+        // Arrange
+        List<String> plates = IntStream.range(0, ClientServiceClient.MAX_BATCH_SIZE + 5)
+                .mapToObj(i -> "P" + i)
+                .toList();
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200)
+                .setBody("{\"results\":[]}").addHeader("Content-Type", "application/json"));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200)
+                .setBody("{\"results\":[]}").addHeader("Content-Type", "application/json"));
+
+        // Act
+        Map<String, SubscriptionCheckResponse> decisions = clientServiceClient.checkSubscriptions(plates);
+
+        // Assert
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+        assertThat(decisions).hasSize(plates.size());
+        assertThat(decisions.values()).allSatisfy(d -> assertThat(d.getIsAccessGranted()).isFalse());
+    }
+
+    @Test
+    @DisplayName("Batch check - Server error denies every plate")
+    void checkSubscriptions_ServerError_AllDenied() {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(500)
+                .setBody("{\"error\":\"Internal server error\"}"));
+
+        // Act
+        Map<String, SubscriptionCheckResponse> decisions =
+                clientServiceClient.checkSubscriptions(List.of("ABC123", "DEF456"));
+
+        // Assert
+        assertThat(decisions).hasSize(2);
+        assertThat(decisions.get("ABC123").getIsAccessGranted()).isFalse();
+        assertThat(decisions.get("DEF456").getLicensePlate()).isEqualTo("DEF456");
+    }
+}
@@ -0,0 +1,171 @@
+package com.parking.management_service.allocation;
+
+import com.parking.common.entity.ParkingSpace;
+import com.parking.management_service.domain.ParkingSpaceDomain;
+import com.parking.management_service.generated.model.ParkingSpaceResponse;
+import com.parking.management_service.mapper.ParkingSpaceMapper;
+import com.parking.management_service.occupancy.OccupancyIndex;
+import com.parking.management_service.occupancy.SpaceFilter;
+import com.parking.management_service.repository.ParkingSpaceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Space status transitions that stay correct when several operators, gates or service
+ * instances act on the same spaces.
+ *
+ * <p>Every transition is a single conditional UPDATE ({@code ... WHERE status = :expected}),
+ * so the database decides which writer wins and no row or table lock is held between the
+ * check and the write. The loser gets a 409 instead of silently overwriting the winner.
+ *
+ * <p>{@link #allocate} picks candidates from the {@link OccupancyIndex} and confirms them in
+ * the database one at a time. Candidates being confirmed by another request of this instance
+ * are skipped, so concurrent allocations fan out over different spaces instead of all racing
+ * for the best one; other instances are kept apart by the conditional UPDATE alone.
+ */
+@Service
+@Slf4j
+public class SpaceAllocator {
+
+    public static final String AVAILABLE = "AVAILABLE";
+    public static final String OCCUPIED = "OCCUPIED";
+    public static final String RESERVED = "RESERVED";
+    private static final Set<String> STATUSES = Set.of(AVAILABLE, OCCUPIED, RESERVED, "MAINTENANCE", "OUT_OF_SERVICE");
+
+    /** Nearest to the ground floor first, then by space number. */
+    public static final Comparator<ParkingSpaceResponse> BEST_FIRST = Comparator
+            .comparingInt((ParkingSpaceResponse s) -> s.getLevel() == null ? 0 : Math.abs(s.getLevel()))
+            .thenComparing(ParkingSpaceResponse::getSpaceNumber, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(ParkingSpaceResponse::getSpaceId);
+
+    private final ParkingSpaceRepository repository;
+    private final OccupancyIndex occupancyIndex;
+    private final ParkingSpaceMapper mapper;
+    private final int maxAttempts;
+
+    /** Spaces this instance is confirming right now. */
+    private final Set<Long> claimed = ConcurrentHashMap.newKeySet();
+
+    public SpaceAllocator(ParkingSpaceRepository repository,
+                          OccupancyIndex occupancyIndex,
+                          ParkingSpaceMapper mapper,
+                          @Value("${allocation.max-attempts:16}") int maxAttempts) {
+        this.repository = repository;
+        this.occupancyIndex = occupancyIndex;
+        this.mapper = mapper;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Moves the best AVAILABLE space matching {@code criteria} to {@code targetStatus}
+     * (RESERVED or OCCUPIED).
+     *
+     * @throws ResponseStatusException 400 for another target status,
+     *                                 409 when no matching space could be taken
+     */
+    public ParkingSpaceResponse allocate(SpaceFilter criteria, String targetStatus) {
+        if (!RESERVED.equals(targetStatus) && !OCCUPIED.equals(targetStatus)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Allocation target status must be RESERVED or OCCUPIED: " + targetStatus);
+        }
+        SpaceFilter available = new SpaceFilter(criteria.lotId(), criteria.floorLevel(), criteria.section(),
+                criteria.spaceType(), AVAILABLE);
+        List<ParkingSpaceResponse> candidates = new ArrayList<>(occupancyIndex.find(available));
+        candidates.sort(BEST_FIRST);
+
+        int attempts = 0;
+        for (ParkingSpaceResponse candidate : candidates) {
+            if (attempts >= maxAttempts) {
+                break;
+            }
+            Long spaceId = candidate.getSpaceId();
+            if (!claimed.add(spaceId)) {
+                continue;
+            }
+            try {
+                attempts++;
+                ParkingSpace taken = compareAndSet(spaceId, AVAILABLE, targetStatus);
+                if (taken != null) {
+                    log.debug("Allocated space {} ({}) after {} attempt(s)", spaceId, targetStatus, attempts);
+                    return toResponse(taken);
+                }
+            } finally {
+                claimed.remove(spaceId);
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.CONFLICT, attempts >= maxAttempts
+                ? "No matching space could be allocated after " + attempts + " attempts, retry"
+                : "No matching space is available");
+    }
+
+    /**
+     * Moves one space from {@code expectedStatus} to {@code targetStatus}.
+     *
+     * @throws ResponseStatusException 400 for an unknown status, 404 for an unknown space,
+     *                                 409 when the space is no longer in {@code expectedStatus}
+     */
+    public ParkingSpaceResponse transition(Long spaceId, String expectedStatus, String targetStatus) {
+        requireStatus(expectedStatus);
+        requireStatus(targetStatus);
+        ParkingSpace changed = compareAndSet(spaceId, expectedStatus, targetStatus);
+        if (changed != null) {
+            return toResponse(changed);
+        }
+        ParkingSpace current = repository.findById(spaceId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Parking space not found with id: " + spaceId));
+        throw new ResponseStatusException(HttpStatus.CONFLICT, "Parking space " + current.getSpaceNumber()
+                + " is not " + expectedStatus + " (current status: " + current.getStatus() + ")");
+    }
+
+    /** Reserves an AVAILABLE space. */
+    public ParkingSpaceResponse reserve(Long spaceId) {
+        return transition(spaceId, AVAILABLE, RESERVED);
+    }
+
+    /** Marks an AVAILABLE space as occupied by a walk-in vehicle. */
+    public ParkingSpaceResponse occupy(Long spaceId) {
+        return transition(spaceId, AVAILABLE, OCCUPIED);
+    }
+
+    /** Frees an OCCUPIED space. */
+    public ParkingSpaceResponse release(Long spaceId) {
+        return transition(spaceId, OCCUPIED, AVAILABLE);
+    }
+
+    /**
+     * Runs the conditional UPDATE; on success returns the committed row and applies it to the
+     * index right away (bulk updates bypass the Hibernate commit listeners). On failure the row
+     * is re-read into the index, so the next allocation does not pick the same stale candidate.
+     */
+    private ParkingSpace compareAndSet(Long spaceId, String from, String to) {
+        int updated = repository.compareAndSetStatus(spaceId, from, to, LocalDateTime.now());
+        ParkingSpace current = repository.findById(spaceId).orElse(null);
+        if (current != null) {
+            occupancyIndex.put(current);
+        } else {
+            occupancyIndex.remove(spaceId);
+        }
+        return updated == 1 ? current : null;
+    }
+
+    private ParkingSpaceResponse toResponse(ParkingSpace space) {
+        return mapper.toResponse(new ParkingSpaceDomain(space));
+    }
+
+    private static void requireStatus(String status) {
+        if (!STATUSES.contains(status)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown space status: " + status);
+        }
+    }
+}
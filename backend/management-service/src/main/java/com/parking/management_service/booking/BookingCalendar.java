@@ -0,0 +1,164 @@
+package com.parking.management_service.booking;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory view of the active bookings (PENDING, CONFIRMED, ACTIVE) per space, used to find
+ * spaces that are free for a time window without querying the bookings table.
+ *
+ * <p>The database rejects overlapping active bookings of one space (V17 exclusion constraint),
+ * so the bookings of a space are disjoint and ordered by start time is also ordered by end time.
+ * A window {@code [start, end)} therefore overlaps a booking of the space only if the last
+ * booking starting before {@code end} ends after {@code start}: one {@code lowerEntry} lookup,
+ * O(log n) per space, with no interval tree needed.
+ *
+ * <p>The view only narrows the candidates; it may be briefly stale, and the insert is what
+ * decides. A booking added here replaces any overlapping one, which can only be a booking that
+ * has since been cancelled or completed, so the bookings of a space stay disjoint.
+ */
+@Component
+public class BookingCalendar {
+
+    /** An active booking; times are half-open, {@code [start, end)}. */
+    public record Booking(long id, long spaceId, LocalDateTime start, LocalDateTime end) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /** Space id -> its bookings by start time. */
+    private final Map<Long, NavigableMap<LocalDateTime, Booking>> bySpace = new HashMap<>();
+    private final Map<Long, Booking> byId = new HashMap<>();
+
+    /** Whether the space has no booking overlapping {@code [start, end)}. */
+    public boolean isFree(long spaceId, LocalDateTime start, LocalDateTime end) {
+        lock.readLock().lock();
+        try {
+            return isFreeLocked(spaceId, start, end);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The first {@code limit} of {@code spaceIds}, in the given order, that are free for
+     * {@code [start, end)}; one pass under a single read lock.
+     */
+    public List<Long> freeSpaces(Collection<Long> spaceIds, LocalDateTime start, LocalDateTime end, int limit) {
+        List<Long> free = new ArrayList<>(Math.min(spaceIds.size(), limit));
+        lock.readLock().lock();
+        try {
+            for (Long spaceId : spaceIds) {
+                if (free.size() >= limit) {
+                    break;
+                }
+                if (isFreeLocked(spaceId, start, end)) {
+                    free.add(spaceId);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return free;
+    }
+
+    private boolean isFreeLocked(long spaceId, LocalDateTime start, LocalDateTime end) {
+        NavigableMap<LocalDateTime, Booking> bookings = bySpace.get(spaceId);
+        if (bookings == null) {
+            return true;
+        }
+        Map.Entry<LocalDateTime, Booking> before = bookings.lowerEntry(end);
+        return before == null || !before.getValue().end().isAfter(start);
+    }
+
+    /** Adds a committed booking, dropping the (stale) bookings of its space it overlaps. */
+    public void add(Booking booking) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(booking.id());
+            NavigableMap<LocalDateTime, Booking> bookings = bySpace.computeIfAbsent(booking.spaceId(), id -> new TreeMap<>());
+            Map.Entry<LocalDateTime, Booking> overlapping;
+            while ((overlapping = bookings.lowerEntry(booking.end())) != null
+                    && overlapping.getValue().end().isAfter(booking.start())) {
+                bookings.remove(overlapping.getKey());
+                byId.remove(overlapping.getValue().id());
+            }
+            bookings.put(booking.start(), booking);
+            byId.put(booking.id(), booking);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Removes a booking that is no longer active; unknown ids are ignored. */
+    public void remove(long bookingId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(bookingId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(long bookingId) {
+        Booking booking = byId.remove(bookingId);
+        if (booking == null) {
+            return;
+        }
+        NavigableMap<LocalDateTime, Booking> bookings = bySpace.get(booking.spaceId());
+        bookings.remove(booking.start());
+        if (bookings.isEmpty()) {
+            bySpace.remove(booking.spaceId());
+        }
+    }
+
+    /** Replaces the bookings of one space, e.g. after an insert lost to a booking not seen yet. */
+    public void replaceSpace(long spaceId, Collection<Booking> bookings) {
+        lock.writeLock().lock();
+        try {
+            NavigableMap<LocalDateTime, Booking> old = bySpace.remove(spaceId);
+            if (old != null) {
+                old.values().forEach(booking -> byId.remove(booking.id()));
+            }
+            bookings.forEach(this::addLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Replaces all bookings with a fresh read of the table. */
+    public void replaceAll(Collection<Booking> bookings) {
+        lock.writeLock().lock();
+        try {
+            bySpace.clear();
+            byId.clear();
+            bookings.forEach(this::addLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addLocked(Booking booking) {
+        bySpace.computeIfAbsent(booking.spaceId(), id -> new TreeMap<>()).put(booking.start(), booking);
+        byId.put(booking.id(), booking);
+    }
+
+    /** Number of bookings held. */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
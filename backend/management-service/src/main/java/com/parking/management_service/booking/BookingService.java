@@ -0,0 +1,320 @@
+package com.parking.management_service.booking;
+
+import com.parking.management_service.allocation.SpaceAllocator;
+import com.parking.management_service.generated.model.BookingRequest;
+import com.parking.management_service.generated.model.BookingResponse;
+import com.parking.management_service.generated.model.ParkingSpaceResponse;
+import com.parking.management_service.occupancy.OccupancyIndex;
+import com.parking.management_service.occupancy.SpaceFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.SecureRandom;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Books parking spaces for a time window, either a given space or the best free space of a lot.
+ *
+ * <p>Correctness under concurrent attempts comes from the database: the V17 exclusion
+ * constraint rejects an active booking that overlaps another active booking of the same space,
+ * whichever service or instance inserts it, so the insert is the only check that decides. The
+ * {@link BookingCalendar} picks the candidates: a lot is searched in one pass over its spaces
+ * (best first, as for allocation), and only spaces free in the calendar are tried. An insert
+ * that loses to a booking the calendar has not seen yet re-reads that space and moves on to the
+ * next candidate. Candidates being booked by another request of this instance are skipped, so
+ * concurrent requests for one lot spread over different spaces.
+ */
+@Service
+@Slf4j
+public class BookingService {
+
+    /** Bookings that hold their space (the V17 constraint's predicate). */
+    static final String ACTIVE_STATUSES = "('PENDING', 'CONFIRMED', 'ACTIVE')";
+    private static final Set<String> UNAVAILABLE_SPACE_STATUSES = Set.of("MAINTENANCE", "OUT_OF_SERVICE");
+    private static final String EXCLUSION_VIOLATION = "23P01";
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+    private static final String CODE_ALPHABET = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
+    private static final int MAX_LIMIT = 500;
+
+    private static final String INSERT_SQL = "INSERT INTO bookings (client_id, parking_space_id, vehicle_id, "
+            + "booking_code, start_time, end_time, status, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, 'PENDING', ?, ?) RETURNING id";
+    private static final String SELECT_SQL = "SELECT id, client_id, parking_space_id, booking_code, start_time, "
+            + "end_time, status FROM bookings";
+    private static final String ACTIVE_SQL = "SELECT id, parking_space_id, start_time, end_time FROM bookings "
+            + "WHERE status IN " + ACTIVE_STATUSES + " AND end_time > ?";
+    private static final String CANCEL_SQL = "UPDATE bookings SET status = 'CANCELLED', cancelled_at = ?, "
+            + "cancelled_by = 'ADMIN', updated_at = ? WHERE id = ? AND status IN ('PENDING', 'CONFIRMED')";
+
+    private static final RowMapper<BookingCalendar.Booking> CALENDAR_ROW = (rs, n) -> new BookingCalendar.Booking(
+            rs.getLong("id"), rs.getLong("parking_space_id"),
+            rs.getTimestamp("start_time").toLocalDateTime(), rs.getTimestamp("end_time").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OccupancyIndex occupancyIndex;
+    private final BookingCalendar calendar;
+    private final int maxAttempts;
+    private final Duration maxDuration;
+    private final SecureRandom random = new SecureRandom();
+
+    /** Spaces this instance is inserting a booking for right now. */
+    private final Set<Long> claimed = ConcurrentHashMap.newKeySet();
+
+    public BookingService(JdbcTemplate jdbcTemplate,
+                          OccupancyIndex occupancyIndex,
+                          BookingCalendar calendar,
+                          @Value("${bookings.max-attempts:16}") int maxAttempts,
+                          @Value("${bookings.max-duration:P30D}") Duration maxDuration) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.occupancyIndex = occupancyIndex;
+        this.calendar = calendar;
+        this.maxAttempts = maxAttempts;
+        this.maxDuration = maxDuration;
+    }
+
+    /** Reloads the active bookings that have not ended yet into the calendar. */
+    @Scheduled(fixedDelayString = "${bookings.calendar.refresh-interval:PT1M}")
+    public void refreshCalendar() {
+        try {
+            List<BookingCalendar.Booking> bookings = jdbcTemplate.query(ACTIVE_SQL, CALENDAR_ROW,
+                    Timestamp.valueOf(LocalDateTime.now()));
+            calendar.replaceAll(bookings);
+            log.debug("Booking calendar reloaded: {} active bookings", bookings.size());
+        } catch (RuntimeException e) {
+            log.warn("Booking calendar reload failed, keeping the previous one: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Books {@code request.spaceId}, or the best space of {@code request.lotId} free for the window.
+     *
+     * @throws ResponseStatusException 400 for an invalid window or unknown client, 404 for an
+     *                                 unknown space, 409 when no space could be booked
+     */
+    public BookingResponse book(BookingRequest request) {
+        LocalDateTime start = toLocal(request.getStartTime());
+        LocalDateTime end = toLocal(request.getEndTime());
+        requireWindow(start, end);
+        if (request.getClientId() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "clientId is required");
+        }
+
+        if (request.getSpaceId() != null) {
+            ParkingSpaceResponse space = requireSpace(request.getSpaceId());
+            if (request.getLotId() != null && !request.getLotId().equals(space.getLotId())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Parking space "
+                        + space.getSpaceNumber() + " is not in lot " + request.getLotId());
+            }
+            BookingResponse booked = tryInsert(request, space, start, end);
+            if (booked == null) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Parking space " + space.getSpaceNumber()
+                        + " is already booked for an overlapping window");
+            }
+            return booked;
+        }
+        if (request.getLotId() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Either spaceId or lotId is required");
+        }
+
+        String type = request.getType() != null ? request.getType().getValue() : null;
+        int attempts = 0;
+        for (ParkingSpaceResponse candidate : freeSpaces(request.getLotId(), type, start, end, maxAttempts)) {
+            Long spaceId = candidate.getSpaceId();
+            if (!claimed.add(spaceId)) {
+                continue;
+            }
+            try {
+                attempts++;
+                BookingResponse booked = tryInsert(request, candidate, start, end);
+                if (booked != null) {
+                    log.debug("Booked space {} after {} attempt(s)", spaceId, attempts);
+                    return booked;
+                }
+            } finally {
+                claimed.remove(spaceId);
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.CONFLICT, attempts >= maxAttempts
+                ? "No space of lot " + request.getLotId() + " could be booked after " + attempts + " attempts, retry"
+                : "No space of lot " + request.getLotId() + " is free for the requested window");
+    }
+
+    /**
+     * Spaces of the lot free for the window, best first.
+     *
+     * @throws ResponseStatusException 400 for an invalid window or limit
+     */
+    public List<ParkingSpaceResponse> findFreeSpaces(Long lotId, String type, OffsetDateTime startTime,
+                                                     OffsetDateTime endTime, Integer limit) {
+        LocalDateTime start = toLocal(startTime);
+        LocalDateTime end = toLocal(endTime);
+        requireWindow(start, end);
+        int max = limit != null ? limit : 20;
+        if (max < 1 || max > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_LIMIT);
+        }
+        return freeSpaces(lotId, type, start, end, max);
+    }
+
+    /**
+     * Cancels a booking that has not started (PENDING or CONFIRMED), freeing its window.
+     *
+     * @throws ResponseStatusException 404 for an unknown booking, 409 when it is in another status
+     */
+    public BookingResponse cancel(Long bookingId) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = jdbcTemplate.update(CANCEL_SQL, Timestamp.valueOf(now), Timestamp.valueOf(now), bookingId);
+        BookingResponse booking = jdbcTemplate.query(SELECT_SQL + " WHERE id = ?", this::toResponse, bookingId)
+                .stream().findFirst()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Booking not found with id: " + bookingId));
+        if (updated == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Booking " + booking.getBookingCode()
+                    + " cannot be cancelled (current status: " + booking.getStatus() + ")");
+        }
+        calendar.remove(bookingId);
+        return booking;
+    }
+
+    /** One pass over the lot's bookable spaces, best first, keeping those free in the calendar. */
+    private List<ParkingSpaceResponse> freeSpaces(Long lotId, String type, LocalDateTime start, LocalDateTime end,
+                                                  int limit) {
+        List<ParkingSpaceResponse> spaces = new ArrayList<>(occupancyIndex.find(new SpaceFilter(lotId, null, null, type, null)));
+        spaces.removeIf(space -> space.getStatus() == null
+                || UNAVAILABLE_SPACE_STATUSES.contains(space.getStatus().getValue()));
+        spaces.sort(SpaceAllocator.BEST_FIRST);
+
+        List<Long> free = calendar.freeSpaces(spaces.stream().map(ParkingSpaceResponse::getSpaceId).toList(),
+                start, end, limit);
+        Set<Long> freeIds = Set.copyOf(free);
+        return spaces.stream().filter(space -> freeIds.contains(space.getSpaceId())).toList();
+    }
+
+    /**
+     * Inserts the booking; null when it overlaps an active booking of the space, in which case
+     * the calendar is corrected from the table for that space.
+     */
+    private BookingResponse tryInsert(BookingRequest request, ParkingSpaceResponse space,
+                                      LocalDateTime start, LocalDateTime end) {
+        Long spaceId = space.getSpaceId();
+        String code = newBookingCode();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Long id;
+        try {
+            id = jdbcTemplate.queryForObject(INSERT_SQL, Long.class, request.getClientId(), spaceId,
+                    request.getVehicleId(), code, Timestamp.valueOf(start), Timestamp.valueOf(end), now, now);
+        } catch (DataIntegrityViolationException e) {
+            String sqlState = sqlState(e);
+            if (EXCLUSION_VIOLATION.equals(sqlState)) {
+                log.debug("Space {} already booked for an overlapping window, re-reading it", spaceId);
+                calendar.replaceSpace(spaceId, jdbcTemplate.query(ACTIVE_SQL + " AND parking_space_id = ?",
+                        CALENDAR_ROW, now, spaceId));
+                return null;
+            }
+            if (FOREIGN_KEY_VIOLATION.equals(sqlState)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unknown client or vehicle: clientId=" + request.getClientId()
+                                + ", vehicleId=" + request.getVehicleId());
+            }
+            throw e;
+        }
+        calendar.add(new BookingCalendar.Booking(id, spaceId, start, end));
+        return new BookingResponse()
+                .bookingId(id)
+                .bookingCode(code)
+                .clientId(request.getClientId())
+                .spaceId(spaceId)
+                .lotId(space.getLotId())
+                .spaceNumber(space.getSpaceNumber())
+                .startTime(toOffset(start))
+                .endTime(toOffset(end))
+                .status(BookingResponse.StatusEnum.PENDING);
+    }
+
+    private BookingResponse toResponse(ResultSet rs, int rowNum) throws SQLException {
+        long spaceId = rs.getLong("parking_space_id");
+        ParkingSpaceResponse space = occupancyIndex.get(spaceId);
+        return new BookingResponse()
+                .bookingId(rs.getLong("id"))
+                .bookingCode(rs.getString("booking_code"))
+                .clientId(rs.getLong("client_id"))
+                .spaceId(spaceId)
+                .lotId(space != null ? space.getLotId() : null)
+                .spaceNumber(space != null ? space.getSpaceNumber() : null)
+                .startTime(toOffset(rs.getTimestamp("start_time").toLocalDateTime()))
+                .endTime(toOffset(rs.getTimestamp("end_time").toLocalDateTime()))
+                .status(BookingResponse.StatusEnum.fromValue(rs.getString("status")));
+    }
+
+    private ParkingSpaceResponse requireSpace(Long spaceId) {
+        ParkingSpaceResponse space = occupancyIndex.get(spaceId);
+        if (space == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Parking space not found with id: " + spaceId);
+        }
+        if (space.getStatus() != null && UNAVAILABLE_SPACE_STATUSES.contains(space.getStatus().getValue())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Parking space " + space.getSpaceNumber()
+                    + " cannot be booked (current status: " + space.getStatus().getValue() + ")");
+        }
+        return space;
+    }
+
+    private void requireWindow(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "startTime and endTime are required");
+        }
+        if (!end.isAfter(start)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "endTime must be after startTime");
+        }
+        if (!end.isAfter(LocalDateTime.now())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The requested window has already ended");
+        }
+        if (Duration.between(start, end).compareTo(maxDuration) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A booking may last at most " + maxDuration.toDays() + " days");
+        }
+    }
+
+    private String newBookingCode() {
+        StringBuilder code = new StringBuilder("BK-");
+        for (int i = 0; i < 10; i++) {
+            code.append(CODE_ALPHABET.charAt(random.nextInt(CODE_ALPHABET.length())));
+        }
+        return code.toString();
+    }
+
+    /** First SQLState found in the cause chain. */
+    private static String sqlState(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && sql.getSQLState() != null) {
+                return sql.getSQLState();
+            }
+        }
+        return null;
+    }
+
+    /** bookings stores local TIMESTAMPs, like every other table written by the services. */
+    private static LocalDateTime toLocal(OffsetDateTime time) {
+        return time != null ? time.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime() : null;
+    }
+
+    private static OffsetDateTime toOffset(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toOffsetDateTime();
+    }
+}
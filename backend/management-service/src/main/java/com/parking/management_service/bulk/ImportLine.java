@@ -0,0 +1,13 @@
+package com.parking.management_service.bulk;
+
+import com.parking.management_service.generated.model.SpaceImportRow;
+
+/**
+ * One row of an import: the space, or the reason it could not be read.
+ *
+ * @param row   1-based position in the request
+ * @param space the row, null when {@code error} is set
+ * @param error why the row could not be read, null otherwise
+ */
+record ImportLine(int row, SpaceImportRow space, String error) {
+}
@@ -0,0 +1,376 @@
+package com.parking.management_service.bulk;
+
+import com.parking.common.entity.ParkingSpace;
+import com.parking.management_service.generated.model.BulkOperationResult;
+import com.parking.management_service.generated.model.BulkRowError;
+import com.parking.management_service.generated.model.SpaceImportRow;
+import com.parking.management_service.generated.model.SpaceStatusUpdate;
+import com.parking.management_service.occupancy.OccupancyIndex;
+import com.parking.management_service.occupancy.OccupancyIndexSynchronizer;
+import com.parking.management_service.repository.ParkingSpaceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk space import and batched status changes, for onboarding a facility and for sensor sweeps.
+ *
+ * <p>Rows are validated one by one against the rules of the parking_spaces table, so a bad
+ * row is reported with its position instead of failing the statement it would have been
+ * batched into. Valid rows are written {@code chunkSize} at a time as one JDBC batch in one
+ * transaction. A chunk the database still refuses is reported row by row, marked retryable,
+ * and the next chunk goes on.
+ *
+ * <p>JDBC writes bypass the Hibernate commit listeners that feed the {@link OccupancyIndex}:
+ * status changes are read back into it after each chunk commits, imported spaces are picked
+ * up by one change poll at the end of the import.
+ */
+@Service
+@Slf4j
+public class SpaceBulkWriter {
+
+    static final String INSERT_SQL =
+            "INSERT INTO parking_spaces (parking_lot_id, space_number, floor_level, section, space_type, status, " +
+            "has_charger, charger_type, length_cm, width_cm, hourly_rate_override, daily_rate_override, " +
+            "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT DO NOTHING";
+
+    /** Writes nothing for a space already in the target status or no longer in the expected one. */
+    static final String STATUS_SQL =
+            "UPDATE parking_spaces SET status = ?, updated_at = ?, " +
+            "last_occupied_at = CASE WHEN ? = 'OCCUPIED' THEN ? ELSE last_occupied_at END " +
+            "WHERE id = ? AND status <> ? AND status = COALESCE(CAST(? AS VARCHAR(20)), status)";
+
+    static final Set<String> TYPES = Set.of("STANDARD", "HANDICAPPED", "ELECTRIC", "VIP", "COMPACT", "OVERSIZED");
+    static final Set<String> STATUSES = Set.of("AVAILABLE", "OCCUPIED", "RESERVED", "MAINTENANCE", "OUT_OF_SERVICE");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ParkingSpaceRepository repository;
+    private final OccupancyIndex occupancyIndex;
+    private final OccupancyIndexSynchronizer synchronizer;
+    private final int chunkSize;
+    private final int maxRows;
+
+    /** A row that passed validation, with its position in the request. */
+    private record Valid<T>(int row, T value) {
+    }
+
+    public SpaceBulkWriter(JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           ParkingSpaceRepository repository,
+                           OccupancyIndex occupancyIndex,
+                           OccupancyIndexSynchronizer synchronizer,
+                           @Value("${bulk.chunk-size:500}") int chunkSize,
+                           @Value("${bulk.max-rows:10000}") int maxRows) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.repository = repository;
+        this.occupancyIndex = occupancyIndex;
+        this.synchronizer = synchronizer;
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+    }
+
+    // ── Import ──────────────────────────────────────────────────
+
+    /**
+     * Creates the given spaces.
+     *
+     * @throws ResponseStatusException 400 for more than {@code bulk.max-rows} rows
+     */
+    public BulkOperationResult importSpaces(List<SpaceImportRow> rows) {
+        requireWithinLimit(rows.size());
+        Iterator<ImportLine> lines = IntStream.range(0, rows.size())
+                .mapToObj(i -> new ImportLine(i + 1, rows.get(i), null))
+                .iterator();
+        return importLines(lines);
+    }
+
+    /**
+     * Creates the spaces of a CSV document, read as it streams in. Reading stops at the first
+     * row past {@code bulk.max-rows}, which is reported as one error; chunks written before it
+     * stay written.
+     *
+     * @throws ResponseStatusException 400 for a missing or unknown header
+     */
+    public BulkOperationResult importCsv(Reader csv) {
+        return importLines(new SpaceCsvReader(csv));
+    }
+
+    private BulkOperationResult importLines(Iterator<ImportLine> lines) {
+        Set<Long> lotIds = new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM parking_lots", Long.class));
+        Set<String> seen = new HashSet<>();
+        Result result = new Result();
+        List<Valid<SpaceImportRow>> chunk = new ArrayList<>(chunkSize);
+
+        while (lines.hasNext()) {
+            ImportLine line = lines.next();
+            result.total++;
+            if (line.row() > maxRows) {
+                // the rest of the document is not read: no unbounded error list for a huge upload
+                result.reject(line.row(), null, null, "import is limited to " + maxRows
+                        + " rows; this row and the rest of the document were not imported");
+                break;
+            }
+            String error = line.error() != null ? line.error() : validate(line.space(), lotIds);
+            SpaceImportRow space = line.space();
+            if (error == null && !seen.add(space.getLotId() + "/" + space.getSpaceNumber())) {
+                error = "space number appears more than once in this import";
+            }
+            if (error != null) {
+                result.reject(line.row(), null, space != null ? space.getSpaceNumber() : null, error);
+                continue;
+            }
+            chunk.add(new Valid<>(line.row(), space));
+            if (chunk.size() == chunkSize) {
+                insertChunk(chunk, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insertChunk(chunk, result);
+        }
+        if (result.applied > 0) {
+            // Picks the new rows up by updated_at rather than reading each chunk back
+            synchronizer.pollChanges();
+        }
+        log.info("Space import: {} rows, {} created, {} rejected", result.total, result.applied, result.rejected);
+        return result.toResponse();
+    }
+
+    private void insertChunk(List<Valid<SpaceImportRow>> chunk, Result result) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[] counts;
+        try {
+            counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(INSERT_SQL, chunk, chunk.size(),
+                    (ps, valid) -> {
+                        SpaceImportRow space = valid.value();
+                        boolean hasCharger = hasCharger(space);
+                        ps.setLong(1, space.getLotId());
+                        ps.setString(2, space.getSpaceNumber());
+                        ps.setInt(3, space.getLevel() != null ? space.getLevel() : 0);
+                        ps.setString(4, space.getSection());
+                        ps.setString(5, space.getType() != null ? space.getType() : "STANDARD");
+                        ps.setString(6, space.getStatus() != null ? space.getStatus() : "AVAILABLE");
+                        ps.setBoolean(7, hasCharger);
+                        ps.setString(8, hasCharger ? space.getChargerType() : null);
+                        ps.setObject(9, space.getLengthCm(), Types.INTEGER);
+                        ps.setObject(10, space.getWidthCm(), Types.INTEGER);
+                        ps.setBigDecimal(11, decimal(space.getHourlyRateOverride()));
+                        ps.setBigDecimal(12, decimal(space.getDailyRateOverride()));
+                        ps.setTimestamp(13, now);
+                        ps.setTimestamp(14, now);
+                    })[0]);
+        } catch (DataAccessException e) {
+            log.warn("Space import chunk of {} rows failed: {}", chunk.size(), e.getMostSpecificCause().getMessage());
+            for (Valid<SpaceImportRow> valid : chunk) {
+                result.rejectChunk(valid.row(), null, valid.value().getSpaceNumber(), e);
+            }
+            return;
+        }
+        for (int i = 0; i < chunk.size(); i++) {
+            // SUCCESS_NO_INFO (negative) when the driver rewrites the batch: the row was sent
+            if (counts[i] == 0) {
+                SpaceImportRow space = chunk.get(i).value();
+                result.reject(chunk.get(i).row(), null, space.getSpaceNumber(),
+                        "space number already exists in lot " + space.getLotId());
+            } else {
+                result.applied++;
+            }
+        }
+    }
+
+    /** The row's first violation of the parking_spaces constraints, or null. */
+    static String validate(SpaceImportRow space, Set<Long> lotIds) {
+        if (space.getLotId() == null) {
+            return "lotId is required";
+        }
+        if (!lotIds.contains(space.getLotId())) {
+            return "parking lot " + space.getLotId() + " does not exist";
+        }
+        if (space.getSpaceNumber() == null || space.getSpaceNumber().isBlank()) {
+            return "spaceNumber is required";
+        }
+        if (space.getSpaceNumber().length() > 20) {
+            return "spaceNumber is longer than 20 characters";
+        }
+        if (space.getLevel() != null && (space.getLevel() < -10 || space.getLevel() > 50)) {
+            return "level must be between -10 and 50";
+        }
+        if (space.getSection() != null && space.getSection().length() > 50) {
+            return "section is longer than 50 characters";
+        }
+        if (space.getType() != null && !TYPES.contains(space.getType())) {
+            return "unknown type " + space.getType();
+        }
+        if (space.getStatus() != null && !STATUSES.contains(space.getStatus())) {
+            return "unknown status " + space.getStatus();
+        }
+        if (hasCharger(space) != (space.getChargerType() != null)) {
+            return "chargerType must be given exactly when hasCharger is true";
+        }
+        if (space.getChargerType() != null && space.getChargerType().length() > 50) {
+            return "chargerType is longer than 50 characters";
+        }
+        if ((space.getLengthCm() == null) != (space.getWidthCm() == null)
+                || (space.getLengthCm() != null && (space.getLengthCm() <= 0 || space.getWidthCm() <= 0))) {
+            return "lengthCm and widthCm must both be positive or both be absent";
+        }
+        if ((space.getHourlyRateOverride() != null && space.getHourlyRateOverride() < 0)
+                || (space.getDailyRateOverride() != null && space.getDailyRateOverride() < 0)) {
+            return "rate overrides must not be negative";
+        }
+        return null;
+    }
+
+    private static boolean hasCharger(SpaceImportRow space) {
+        return space.getHasCharger() != null ? space.getHasCharger() : space.getChargerType() != null;
+    }
+
+    private static BigDecimal decimal(Double value) {
+        return value != null ? BigDecimal.valueOf(value) : null;
+    }
+
+    // ── Status batch ────────────────────────────────────────────
+
+    /**
+     * Applies the status updates; see {@link #STATUS_SQL} for what is written.
+     *
+     * @throws ResponseStatusException 400 for more than {@code bulk.max-rows} updates
+     */
+    public BulkOperationResult updateStatuses(List<SpaceStatusUpdate> updates) {
+        requireWithinLimit(updates.size());
+        Result result = new Result();
+        result.total = updates.size();
+        Set<Long> seen = new HashSet<>();
+        List<Valid<SpaceStatusUpdate>> valid = new ArrayList<>(updates.size());
+        for (int i = 0; i < updates.size(); i++) {
+            SpaceStatusUpdate update = updates.get(i);
+            if (update.getSpaceId() == null || update.getStatus() == null) {
+                result.reject(i + 1, update.getSpaceId(), null, "spaceId and status are required");
+            } else if (!seen.add(update.getSpaceId())) {
+                result.reject(i + 1, update.getSpaceId(), null, "space appears more than once in this batch");
+            } else {
+                valid.add(new Valid<>(i + 1, update));
+            }
+        }
+        // Rows are locked in id order, so concurrent batches cannot deadlock on each other
+        valid.sort(Comparator.comparing(v -> v.value().getSpaceId()));
+        for (int from = 0; from < valid.size(); from += chunkSize) {
+            updateChunk(valid.subList(from, Math.min(valid.size(), from + chunkSize)), result);
+        }
+        log.info("Space status batch: {} updates, {} applied, {} unchanged, {} rejected",
+                result.total, result.applied, result.unchanged, result.rejected);
+        return result.toResponse();
+    }
+
+    private void updateChunk(List<Valid<SpaceStatusUpdate>> chunk, Result result) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[] counts;
+        try {
+            counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(STATUS_SQL, chunk, chunk.size(),
+                    (ps, valid) -> {
+                        SpaceStatusUpdate update = valid.value();
+                        String target = update.getStatus().getValue();
+                        ps.setString(1, target);
+                        ps.setTimestamp(2, now);
+                        ps.setString(3, target);
+                        ps.setTimestamp(4, now);
+                        ps.setLong(5, update.getSpaceId());
+                        ps.setString(6, target);
+                        ps.setString(7, update.getExpectedStatus() != null ? update.getExpectedStatus().getValue() : null);
+                    })[0]);
+        } catch (DataAccessException e) {
+            log.warn("Space status chunk of {} updates failed: {}", chunk.size(), e.getMostSpecificCause().getMessage());
+            for (Valid<SpaceStatusUpdate> valid : chunk) {
+                result.rejectChunk(valid.row(), valid.value().getSpaceId(), null, e);
+            }
+            return;
+        }
+
+        // One read tells the outcome of the rows that were not written and refreshes the index
+        Map<Long, ParkingSpace> current = new HashMap<>();
+        repository.findAllById(chunk.stream().map(v -> v.value().getSpaceId()).toList())
+                .forEach(space -> current.put(space.getId(), space));
+        for (int i = 0; i < chunk.size(); i++) {
+            SpaceStatusUpdate update = chunk.get(i).value();
+            ParkingSpace space = current.get(update.getSpaceId());
+            if (space == null) {
+                occupancyIndex.remove(update.getSpaceId());
+                result.reject(chunk.get(i).row(), update.getSpaceId(), null, "parking space not found");
+                continue;
+            }
+            occupancyIndex.put(space);
+            if (counts[i] != 0) {
+                result.applied++;
+            } else if (update.getStatus().getValue().equals(space.getStatus())) {
+                result.unchanged++;
+            } else if (update.getExpectedStatus() != null) {
+                result.reject(chunk.get(i).row(), space.getId(), space.getSpaceNumber(),
+                        "space is not " + update.getExpectedStatus().getValue()
+                                + " (current status: " + space.getStatus() + ")");
+            } else {
+                result.reject(chunk.get(i).row(), space.getId(), space.getSpaceNumber(),
+                        "space changed concurrently (current status: " + space.getStatus() + ")");
+            }
+        }
+    }
+
+    private void requireWithinLimit(int rows) {
+        if (rows > maxRows) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + maxRows + " rows per request, got " + rows);
+        }
+    }
+
+    /** Running totals of one request. */
+    private static class Result {
+        int total;
+        int applied;
+        int unchanged;
+        int rejected;
+        final List<BulkRowError> errors = new ArrayList<>();
+
+        void reject(int row, Long spaceId, String spaceNumber, String message) {
+            rejected++;
+            errors.add(new BulkRowError().row(row).spaceId(spaceId).spaceNumber(spaceNumber).message(message));
+        }
+
+        /** The row was not written because its chunk failed, not because of the row itself. */
+        void rejectChunk(int row, Long spaceId, String spaceNumber, DataAccessException e) {
+            rejected++;
+            errors.add(new BulkRowError().row(row).spaceId(spaceId).spaceNumber(spaceNumber).retryable(true)
+                    .message("chunk rejected by the database: " + e.getMostSpecificCause().getMessage()));
+        }
+
+        BulkOperationResult toResponse() {
+            return new BulkOperationResult()
+                    .total(total)
+                    .applied(applied)
+                    .unchanged(unchanged)
+                    .rejected(rejected)
+                    .errors(errors);
+        }
+    }
+}
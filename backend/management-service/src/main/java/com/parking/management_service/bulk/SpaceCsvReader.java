@@ -0,0 +1,165 @@
+package com.parking.management_service.bulk;
+
+import com.parking.management_service.generated.model.SpaceImportRow;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+/**
+ * Reads {@link SpaceImportRow}s from CSV one line at a time, so an import never holds the
+ * whole file. The first line names the columns (the JSON property names, any order and case);
+ * fields may be double-quoted, with {@code ""} for a quote. A line that cannot be parsed
+ * becomes an {@link ImportLine} with an error instead of failing the import.
+ */
+class SpaceCsvReader implements Iterator<ImportLine> {
+
+    private static final Map<String, BiConsumer<SpaceImportRow, String>> COLUMNS = Map.ofEntries(
+            Map.entry("lotid", (row, v) -> row.setLotId(Long.valueOf(v))),
+            Map.entry("spacenumber", SpaceImportRow::setSpaceNumber),
+            Map.entry("level", (row, v) -> row.setLevel(Integer.valueOf(v))),
+            Map.entry("section", SpaceImportRow::setSection),
+            Map.entry("type", SpaceImportRow::setType),
+            Map.entry("status", SpaceImportRow::setStatus),
+            Map.entry("hascharger", (row, v) -> row.setHasCharger(parseBoolean(v))),
+            Map.entry("chargertype", SpaceImportRow::setChargerType),
+            Map.entry("lengthcm", (row, v) -> row.setLengthCm(Integer.valueOf(v))),
+            Map.entry("widthcm", (row, v) -> row.setWidthCm(Integer.valueOf(v))),
+            Map.entry("hourlyrateoverride", (row, v) -> row.setHourlyRateOverride(Double.valueOf(v))),
+            Map.entry("dailyrateoverride", (row, v) -> row.setDailyRateOverride(Double.valueOf(v))));
+
+    private final BufferedReader reader;
+    private final List<String> header;
+    private final List<BiConsumer<SpaceImportRow, String>> setters = new ArrayList<>();
+    private String nextLine;
+    private int row;
+
+    /**
+     * @throws ResponseStatusException 400 when the header line is missing or names an unknown column
+     */
+    SpaceCsvReader(Reader source) {
+        this.reader = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source);
+        String headerLine = readLine();
+        if (headerLine == null || headerLine.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV import needs a header line");
+        }
+        header = split(stripBom(headerLine));
+        for (String column : header) {
+            BiConsumer<SpaceImportRow, String> setter = COLUMNS.get(column.trim().toLowerCase(Locale.ROOT));
+            if (setter == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unknown CSV column '" + column.trim() + "'; expected some of " + COLUMNS.keySet());
+            }
+            setters.add(setter);
+        }
+        nextLine = nextDataLine();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextLine != null;
+    }
+
+    @Override
+    public ImportLine next() {
+        if (nextLine == null) {
+            throw new NoSuchElementException();
+        }
+        String line = nextLine;
+        nextLine = nextDataLine();
+        row++;
+        try {
+            List<String> values = split(line);
+            if (values.size() > setters.size()) {
+                return new ImportLine(row, null, "expected " + setters.size() + " fields, got " + values.size());
+            }
+            SpaceImportRow space = new SpaceImportRow();
+            for (int i = 0; i < values.size(); i++) {
+                String value = values.get(i).trim();
+                if (!value.isEmpty()) {
+                    try {
+                        setters.get(i).accept(space, value);
+                    } catch (IllegalArgumentException e) {
+                        return new ImportLine(row, null, "invalid " + header.get(i).trim() + ": '" + value + "'");
+                    }
+                }
+            }
+            return new ImportLine(row, space, null);
+        } catch (IllegalArgumentException e) {
+            return new ImportLine(row, null, e.getMessage());
+        }
+    }
+
+    /** Skips blank lines; they do not count as rows. */
+    private String nextDataLine() {
+        String line;
+        do {
+            line = readLine();
+        } while (line != null && line.isBlank());
+        return line;
+    }
+
+    private String readLine() {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Splits one line into fields; a quoted field may contain commas and {@code ""}. */
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if (value.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (value.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException(value);
+    }
+
+    private static String stripBom(String line) {
+        return line.startsWith("\uFEFF") ? line.substring(1) : line;
+    }
+}
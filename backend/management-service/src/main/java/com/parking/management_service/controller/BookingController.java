@@ -0,0 +1,57 @@
+package com.parking.management_service.controller;
+
+import com.parking.management_service.booking.BookingService;
+import com.parking.management_service.generated.controller.BookingApi;
+import com.parking.management_service.generated.model.BookingRequest;
+import com.parking.management_service.generated.model.BookingResponse;
+import com.parking.management_service.generated.model.ParkingSpaceResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * REST Controller for time-window bookings.
+ * Implements OpenAPI generated BookingApi interface.
+ */
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+public class BookingController implements BookingApi {
+
+    private final BookingService bookingService;
+
+    @Override
+    public ResponseEntity<BookingResponse> createBooking(BookingRequest bookingRequest) {
+        log.info("📍 [POST /api/management/bookings] client={}, space={}, lot={}, {} - {}",
+                bookingRequest.getClientId(), bookingRequest.getSpaceId(), bookingRequest.getLotId(),
+                bookingRequest.getStartTime(), bookingRequest.getEndTime());
+        BookingResponse booking = bookingService.book(bookingRequest);
+        log.info("✅ [POST /api/management/bookings] Booked space {} ({})",
+                booking.getSpaceNumber(), booking.getBookingCode());
+        return ResponseEntity.status(HttpStatus.CREATED).body(booking);
+    }
+
+    @Override
+    public ResponseEntity<List<ParkingSpaceResponse>> findBookableSpaces(Long lotId, OffsetDateTime startTime,
+                                                                         OffsetDateTime endTime, String type,
+                                                                         Integer limit) {
+        log.info("📍 [GET /api/management/bookings/availability] lot={}, {} - {}, type={}",
+                lotId, startTime, endTime, type);
+        List<ParkingSpaceResponse> spaces = bookingService.findFreeSpaces(lotId, type, startTime, endTime, limit);
+        log.info("✅ [GET /api/management/bookings/availability] Found {} free spaces", spaces.size());
+        return ResponseEntity.ok(spaces);
+    }
+
+    @Override
+    public ResponseEntity<BookingResponse> cancelBooking(Long bookingId) {
+        log.info("📍 [POST /api/management/bookings/{}/cancel] Cancelling booking", bookingId);
+        BookingResponse booking = bookingService.cancel(bookingId);
+        log.info("✅ [POST /api/management/bookings/{}/cancel] Booking {} cancelled", bookingId, booking.getBookingCode());
+        return ResponseEntity.ok(booking);
+    }
+}
@@ -0,0 +1,47 @@
+package com.parking.management_service.controller;
+
+import com.parking.management_service.generated.controller.ParkingLotApi;
+import com.parking.management_service.generated.model.LotAvailabilityResponse;
+import com.parking.management_service.generated.model.NearbyLotResponse;
+import com.parking.management_service.service.ParkingLotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST Controller for parking lot summaries.
+ * Implements OpenAPI generated ParkingLotApi interface.
+ */
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+public class ParkingLotController implements ParkingLotApi {
+
+    private final ParkingLotService parkingLotService;
+
+    @Override
+    public ResponseEntity<List<LotAvailabilityResponse>> getLotAvailability() {
+        log.info("📍 [GET /api/management/lots/availability] Getting availability of all lots");
+        List<LotAvailabilityResponse> lots = parkingLotService.getLotAvailability();
+        log.info("✅ [GET /api/management/lots/availability] Found {} lots", lots.size());
+        return ResponseEntity.ok(lots);
+    }
+
+    @Override
+    public ResponseEntity<List<NearbyLotResponse>> findNearestLots(Double latitude, Double longitude,
+                                                                   Integer radiusMeters, Integer limit,
+                                                                   Integer minAvailable, String type) {
+        log.info("📍 [GET /api/management/lots/nearest] Near ({}, {}) - radius: {}, min free: {}, type: {}",
+                latitude, longitude, radiusMeters, minAvailable, type);
+        List<NearbyLotResponse> lots = parkingLotService.findNearestLots(latitude, longitude,
+                radiusMeters != null ? radiusMeters : 5000,
+                limit != null ? limit : 10,
+                minAvailable != null ? minAvailable : 1,
+                type);
+        log.info("✅ [GET /api/management/lots/nearest] Found {} lots", lots.size());
+        return ResponseEntity.ok(lots);
+    }
+}
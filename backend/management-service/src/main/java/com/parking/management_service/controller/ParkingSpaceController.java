@@ -1,13 +1,29 @@
 package com.parking.management_service.controller;
 
 import com.parking.management_service.generated.controller.ParkingSpaceApi;
+import com.parking.management_service.allocation.SpaceAllocator;
+import com.parking.management_service.bulk.SpaceBulkWriter;
+import com.parking.management_service.generated.model.BulkOperationResult;
+import com.parking.management_service.generated.model.ParkingSpacePage;
 import com.parking.management_service.generated.model.ParkingSpaceResponse;
+import com.parking.management_service.generated.model.SpaceImportRow;
+import com.parking.management_service.generated.model.SpaceStatusTransitionRequest;
+import com.parking.management_service.generated.model.SpaceStatusUpdate;
+import com.parking.management_service.occupancy.SpaceFilter;
+import com.parking.management_service.occupancy.SpaceQuery;
+import com.parking.management_service.occupancy.AvailabilityStream;
 import com.parking.management_service.service.ParkingSpaceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.Reader;
 import java.util.List;
 import java.util.Map;
 
@@ -21,6 +37,9 @@ import java.util.Map;
 public class ParkingSpaceController implements ParkingSpaceApi {
 
     private final ParkingSpaceService parkingSpaceService;
+    private final AvailabilityStream availabilityStream;
+    private final SpaceAllocator spaceAllocator;
+    private final SpaceBulkWriter spaceBulkWriter;
 
     @Override
     public ResponseEntity<List<ParkingSpaceResponse>> getAvailableSpaces() {
@@ -61,5 +80,79 @@ public class ParkingSpaceController implements ParkingSpaceApi {
         log.info("✅ [GET /api/management/spots/search] Found {} matching spaces", spaces.size());
         return ResponseEntity.ok(spaces);
     }
-}
 
+    @Override
+    public ResponseEntity<ParkingSpacePage> querySpaces(Long lotId, Integer level, String section, String type,
+                                                        String status, Boolean hasCharger, String chargerType,
+                                                        Integer minLengthCm, Integer minWidthCm,
+                                                        Integer size, String cursor) {
+        SpaceQuery query = new SpaceQuery(new SpaceFilter(lotId, level, section, type, status),
+                hasCharger, chargerType, minLengthCm, minWidthCm);
+        log.info("📍 [GET /api/management/spots/query] Querying spaces - {}, size: {}", query, size);
+        ParkingSpacePage page = parkingSpaceService.querySpaces(query, size, cursor);
+        log.info("✅ [GET /api/management/spots/query] Returned {} spaces, more: {}", page.getSize(), page.getNextCursor() != null);
+        return ResponseEntity.ok(page);
+    }
+
+    @Override
+    public ResponseEntity<ParkingSpaceResponse> allocateSpace(Long lotId, Integer level, String section,
+                                                              String type, String status) {
+        log.info("📍 [POST /api/management/spots/allocate] Allocating space - lot: {}, level: {}, section: {}, type: {}, status: {}",
+                lotId, level, section, type, status);
+        ParkingSpaceResponse space = spaceAllocator.allocate(new SpaceFilter(lotId, level, section, type, null),
+                status != null ? status : SpaceAllocator.RESERVED);
+        log.info("✅ [POST /api/management/spots/allocate] Allocated space {} ({})", space.getSpaceId(), space.getSpaceNumber());
+        return ResponseEntity.ok(space);
+    }
+
+    @Override
+    public ResponseEntity<ParkingSpaceResponse> transitionSpaceStatus(Long spaceId,
+                                                                      SpaceStatusTransitionRequest request) {
+        log.info("📍 [POST /api/management/spots/{}/status] {} -> {}", spaceId,
+                request.getExpectedStatus(), request.getStatus());
+        ParkingSpaceResponse space = spaceAllocator.transition(spaceId,
+                request.getExpectedStatus().getValue(), request.getStatus().getValue());
+        log.info("✅ [POST /api/management/spots/{}/status] Status is now {}", spaceId, space.getStatus());
+        return ResponseEntity.ok(space);
+    }
+
+    @Override
+    public ResponseEntity<BulkOperationResult> importSpaces(List<SpaceImportRow> rows) {
+        log.info("📍 [POST /api/management/spots/import] Importing {} spaces (JSON)", rows.size());
+        BulkOperationResult result = spaceBulkWriter.importSpaces(rows);
+        log.info("✅ [POST /api/management/spots/import] Created {}, rejected {}", result.getApplied(), result.getRejected());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * CSV variant of {@link #importSpaces}: the body is read line by line as it arrives
+     * instead of being bound to a list first. Not part of the generated interface.
+     */
+    @PostMapping(value = "/api/management/spots/import", consumes = "text/csv", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkOperationResult> importSpacesCsv(Reader csv) {
+        log.info("📍 [POST /api/management/spots/import] Importing spaces (CSV)");
+        BulkOperationResult result = spaceBulkWriter.importCsv(csv);
+        log.info("✅ [POST /api/management/spots/import] {} rows: created {}, rejected {}",
+                result.getTotal(), result.getApplied(), result.getRejected());
+        return ResponseEntity.ok(result);
+    }
+
+    @Override
+    public ResponseEntity<BulkOperationResult> updateSpaceStatuses(List<SpaceStatusUpdate> updates) {
+        log.info("📍 [POST /api/management/spots/status/batch] Applying {} status updates", updates.size());
+        BulkOperationResult result = spaceBulkWriter.updateStatuses(updates);
+        log.info("✅ [POST /api/management/spots/status/batch] Applied {}, unchanged {}, rejected {}",
+                result.getApplied(), result.getUnchanged(), result.getRejected());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Push stream (server-sent events) of availability per lot and section: a "snapshot" event
+     * on connect, then coalesced "delta" events. Not part of the generated interface.
+     */
+    @GetMapping(value = "/api/management/spots/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(@RequestParam(required = false) Long lotId) {
+        log.info("📡 [GET /api/management/spots/availability/stream] Subscriber connected - lot: {}", lotId);
+        return availabilityStream.subscribe(lotId);
+    }
+}
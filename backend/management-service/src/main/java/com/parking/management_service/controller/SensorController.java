@@ -0,0 +1,33 @@
+package com.parking.management_service.controller;
+
+import com.parking.management_service.generated.controller.SensorApi;
+import com.parking.management_service.generated.model.SensorIngestResult;
+import com.parking.management_service.generated.model.SensorReading;
+import com.parking.management_service.sensor.OccupancySensorIngestor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST Controller for occupancy sensor readings.
+ * Implements OpenAPI generated SensorApi interface.
+ */
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+public class SensorController implements SensorApi {
+
+    private final OccupancySensorIngestor sensorIngestor;
+
+    @Override
+    public ResponseEntity<SensorIngestResult> submitSensorReadings(List<SensorReading> readings) {
+        // Called at sensor rate: debug only
+        log.debug("📍 [POST /api/management/sensors/readings] {} readings", readings.size());
+        SensorIngestResult result = sensorIngestor.accept(readings);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(result);
+    }
+}
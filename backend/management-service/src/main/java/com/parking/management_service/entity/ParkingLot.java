@@ -0,0 +1,92 @@
+package com.parking.management_service.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Entity representing a parking facility.
+ * Corresponds to parking_lots table in the database.
+ *
+ * <p>{@code totalSpaces} and {@code availableSpaces} are maintained by database triggers on
+ * parking_spaces (see V16 migration) and must not be written by the application.
+ */
+@Entity
+@Table(name = "parking_lots")
+@Data
+@NoArgsConstructor
+public class ParkingLot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    @Column(name = "address", length = 500)
+    private String address;
+
+    @Column(name = "description", columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "latitude", precision = 10, scale = 8)
+    private BigDecimal latitude;
+
+    @Column(name = "longitude", precision = 11, scale = 8)
+    private BigDecimal longitude;
+
+    @Column(name = "city", length = 100)
+    private String city;
+
+    @Column(name = "postal_code", length = 20)
+    private String postalCode;
+
+    @Column(name = "total_spaces", nullable = false, insertable = false, updatable = false)
+    private Integer totalSpaces;
+
+    @Column(name = "available_spaces", nullable = false, insertable = false, updatable = false)
+    private Integer availableSpaces;
+
+    @Column(name = "opens_at")
+    private LocalTime opensAt;
+
+    @Column(name = "closes_at")
+    private LocalTime closesAt;
+
+    @Column(name = "is_24_hours")
+    private Boolean is24Hours;
+
+    @Column(name = "phone", length = 50)
+    private String phone;
+
+    @Column(name = "email", length = 100)
+    private String email;
+
+    @Column(name = "status", length = 20)
+    private String status; // ACTIVE, INACTIVE, MAINTENANCE, FULL
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+        if (status == null) {
+            status = "ACTIVE";
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
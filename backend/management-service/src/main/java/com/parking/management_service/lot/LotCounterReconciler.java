@@ -0,0 +1,69 @@
+package com.parking.management_service.lot;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Drift correction for the parking_lots space counters.
+ *
+ * <p>The counters are kept current by triggers on parking_spaces (V16 migration). This job
+ * finds lots whose counters disagree with a recount and recounts each of them with its lot
+ * row locked first. A space write still in flight then either committed before the lock was
+ * granted (and is seen by the recount) or applies its delta after it, on top of the corrected
+ * value, so the job never loses a concurrent change.
+ */
+@Component
+@Slf4j
+public class LotCounterReconciler {
+
+    static final String DRIFTED_LOTS_SQL =
+            "SELECT l.id FROM parking_lots l " +
+            "LEFT JOIN (SELECT parking_lot_id, COUNT(*) AS total, " +
+            "                  SUM(CASE WHEN status = 'AVAILABLE' THEN 1 ELSE 0 END) AS available " +
+            "             FROM parking_spaces GROUP BY parking_lot_id) c ON c.parking_lot_id = l.id " +
+            "WHERE l.total_spaces <> COALESCE(c.total, 0) OR l.available_spaces <> COALESCE(c.available, 0)";
+
+    static final String LOCK_LOT_SQL = "SELECT id FROM parking_lots WHERE id = ? FOR UPDATE";
+
+    static final String RECOUNT_SQL =
+            "UPDATE parking_lots SET " +
+            "total_spaces = (SELECT COUNT(*) FROM parking_spaces WHERE parking_lot_id = ?), " +
+            "available_spaces = (SELECT COUNT(*) FROM parking_spaces WHERE parking_lot_id = ? AND status = 'AVAILABLE'), " +
+            "updated_at = CURRENT_TIMESTAMP " +
+            "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public LotCounterReconciler(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /** Recounts every lot whose counters drifted; returns how many were corrected. */
+    @Scheduled(initialDelayString = "${lots.counters.reconcile-interval:PT5M}",
+            fixedDelayString = "${lots.counters.reconcile-interval:PT5M}")
+    public int reconcile() {
+        try {
+            List<Long> drifted = jdbcTemplate.queryForList(DRIFTED_LOTS_SQL, Long.class);
+            for (Long lotId : drifted) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.queryForList(LOCK_LOT_SQL, Long.class, lotId);
+                    jdbcTemplate.update(RECOUNT_SQL, lotId, lotId, lotId);
+                });
+            }
+            if (!drifted.isEmpty()) {
+                log.warn("Lot space counters recounted for {} lot(s): {}", drifted.size(), drifted);
+            }
+            return drifted.size();
+        } catch (RuntimeException e) {
+            log.warn("Lot counter reconcile failed, will retry: {}", e.getMessage());
+            return 0;
+        }
+    }
+}
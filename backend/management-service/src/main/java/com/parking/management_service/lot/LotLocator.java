@@ -0,0 +1,184 @@
+package com.parking.management_service.lot;
+
+import com.parking.management_service.entity.ParkingLot;
+import com.parking.management_service.occupancy.OccupancyIndex;
+import com.parking.management_service.occupancy.SpaceFilter;
+import com.parking.management_service.repository.ParkingLotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Nearest-lot search over an in-memory grid of lot locations, filtered by live availability.
+ *
+ * <p>Lots are bucketed into cells of {@code cellDegrees} x {@code cellDegrees}. A query scans
+ * rings of cells outward from the cell of the search point and stops once the ring's minimum
+ * distance exceeds either the radius or the distance of the k-th match found so far, so only
+ * the cells around the point are touched however many lots there are. Free spaces come from
+ * the {@link OccupancyIndex} and are only counted for lots already within the radius.
+ *
+ * <p>The grid is rebuilt from parking_lots periodically and swapped in whole; queries read
+ * whichever grid is current without locking.
+ */
+@Component
+@Slf4j
+public class LotLocator {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    private static final double METERS_PER_DEGREE = Math.PI * EARTH_RADIUS_METERS / 180;
+    private static final String AVAILABLE = "AVAILABLE";
+    private static final Set<String> SEARCHABLE_STATUSES = Set.of("ACTIVE", "FULL");
+    /** Cells shrink towards the poles; beyond this the scan would not be bounded by the radius. */
+    private static final double MAX_LATITUDE_REACH = 89;
+
+    private final ParkingLotRepository repository;
+    private final OccupancyIndex occupancyIndex;
+    private final double cellDegrees;
+    private final int latitudeCells;
+    private final int longitudeCells;
+
+    private volatile Map<Long, List<LotLocation>> cells = Map.of();
+
+    /** A searchable lot. */
+    public record LotLocation(Long lotId, String name, double latitude, double longitude) {
+    }
+
+    /** A search hit: the lot, its distance from the search point and its matching free spaces. */
+    public record NearbyLot(LotLocation lot, double distanceMeters, long availableSpaces) {
+    }
+
+    public LotLocator(ParkingLotRepository repository,
+                      OccupancyIndex occupancyIndex,
+                      @Value("${lots.locator.cell-degrees:0.05}") double cellDegrees) {
+        this.repository = repository;
+        this.occupancyIndex = occupancyIndex;
+        this.cellDegrees = cellDegrees;
+        this.latitudeCells = (int) Math.ceil(180 / cellDegrees);
+        this.longitudeCells = (int) Math.ceil(360 / cellDegrees);
+    }
+
+    /** Reloads lot locations; lots without coordinates or not in operation are left out. */
+    @Scheduled(fixedDelayString = "${lots.locator.refresh-interval:PT1M}")
+    public void refresh() {
+        try {
+            List<LotLocation> lots = new ArrayList<>();
+            for (ParkingLot lot : repository.findAll()) {
+                if (lot.getLatitude() != null && lot.getLongitude() != null
+                        && SEARCHABLE_STATUSES.contains(lot.getStatus())) {
+                    lots.add(new LotLocation(lot.getId(), lot.getName(),
+                            lot.getLatitude().doubleValue(), lot.getLongitude().doubleValue()));
+                }
+            }
+            load(lots);
+        } catch (RuntimeException e) {
+            log.warn("Lot locations refresh failed, keeping the previous ones: {}", e.getMessage());
+        }
+    }
+
+    /** Replaces the grid with the given lots. */
+    void load(List<LotLocation> lots) {
+        Map<Long, List<LotLocation>> grid = new HashMap<>();
+        for (LotLocation lot : lots) {
+            grid.computeIfAbsent(cellKey(latitudeCell(lot.latitude()), longitudeCell(lot.longitude())),
+                    k -> new ArrayList<>(2)).add(lot);
+        }
+        cells = grid;
+        log.debug("Lot locator loaded {} lots into {} cells", lots.size(), grid.size());
+    }
+
+    /**
+     * Up to {@code limit} lots within {@code radiusMeters} of the point that have at least
+     * {@code minAvailable} free spaces of {@code spaceType} (any type when null), nearest first.
+     */
+    public List<NearbyLot> nearest(double latitude, double longitude, double radiusMeters, int limit,
+                                   long minAvailable, String spaceType) {
+        Map<Long, List<LotLocation>> grid = cells;
+        List<NearbyLot> matches = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        int centerLat = latitudeCell(latitude);
+        int centerLon = longitudeCell(longitude);
+        // Every ring adds at least one cell's height (north/south) or width (east/west) of
+        // distance; cells are narrowest on the parallel furthest from the equator in reach.
+        double reachLatitude = Math.min(MAX_LATITUDE_REACH,
+                Math.abs(latitude) + radiusMeters / METERS_PER_DEGREE + cellDegrees);
+        double ringStep = cellDegrees * METERS_PER_DEGREE * Math.cos(Math.toRadians(reachLatitude));
+        int lastRing = (int) Math.min(longitudeCells / 2, Math.ceil(radiusMeters / ringStep));
+
+        for (int ring = 0; ring <= lastRing; ring++) {
+            for (int dLat = -ring; dLat <= ring; dLat++) {
+                int lat = centerLat + dLat;
+                if (lat < 0 || lat >= latitudeCells) {
+                    continue;
+                }
+                boolean edgeRow = Math.abs(dLat) == ring;
+                for (int dLon = -ring; dLon <= ring; dLon += edgeRow ? 1 : 2 * ring) {
+                    List<LotLocation> lots = grid.get(cellKey(lat, Math.floorMod(centerLon + dLon, longitudeCells)));
+                    if (lots != null) {
+                        collect(lots, latitude, longitude, radiusMeters, minAvailable, spaceType, seen, matches);
+                    }
+                    if (ring == 0) {
+                        break;
+                    }
+                }
+            }
+            // Nothing outside the rings scanned so far can be nearer than this
+            double unscanned = ring * ringStep;
+            if (matches.size() >= limit) {
+                matches.sort(Comparator.comparingDouble(NearbyLot::distanceMeters));
+                if (matches.get(limit - 1).distanceMeters() <= unscanned) {
+                    break;
+                }
+            }
+        }
+        matches.sort(Comparator.comparingDouble(NearbyLot::distanceMeters));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    private void collect(List<LotLocation> lots, double latitude, double longitude, double radiusMeters,
+                         long minAvailable, String spaceType, Set<Long> seen, List<NearbyLot> matches) {
+        for (LotLocation lot : lots) {
+            if (!seen.add(lot.lotId())) {
+                continue;
+            }
+            double distance = distanceMeters(latitude, longitude, lot.latitude(), lot.longitude());
+            if (distance > radiusMeters) {
+                continue;
+            }
+            long available = occupancyIndex.count(new SpaceFilter(lot.lotId(), null, null, spaceType, AVAILABLE));
+            if (available >= minAvailable) {
+                matches.add(new NearbyLot(lot, distance, available));
+            }
+        }
+    }
+
+    /** Great-circle (haversine) distance. */
+    static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private int latitudeCell(double latitude) {
+        return Math.min(latitudeCells - 1, (int) Math.floor((latitude + 90) / cellDegrees));
+    }
+
+    private int longitudeCell(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellDegrees), longitudeCells);
+    }
+
+    private static long cellKey(int latitudeCell, int longitudeCell) {
+        return ((long) latitudeCell << 32) | (longitudeCell & 0xffffffffL);
+    }
+}
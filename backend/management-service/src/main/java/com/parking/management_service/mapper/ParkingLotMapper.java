@@ -0,0 +1,41 @@
+package com.parking.management_service.mapper;
+
+import com.parking.management_service.entity.ParkingLot;
+import com.parking.management_service.generated.model.LotAvailabilityResponse;
+import com.parking.management_service.generated.model.NearbyLotResponse;
+import com.parking.management_service.lot.LotLocator.NearbyLot;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapper for converting ParkingLot entities to response DTOs
+ */
+@Component
+public class ParkingLotMapper {
+
+    /**
+     * Convert entity to lot availability summary
+     */
+    public LotAvailabilityResponse toAvailabilityResponse(ParkingLot lot) {
+        LotAvailabilityResponse response = new LotAvailabilityResponse();
+        response.lotId(lot.getId());
+        response.name(lot.getName());
+        response.status(lot.getStatus());
+        response.totalSpaces(lot.getTotalSpaces());
+        response.availableSpaces(lot.getAvailableSpaces());
+        return response;
+    }
+
+    /**
+     * Convert nearest-lot search hit to response DTO
+     */
+    public NearbyLotResponse toNearbyResponse(NearbyLot nearby) {
+        NearbyLotResponse response = new NearbyLotResponse();
+        response.lotId(nearby.lot().lotId());
+        response.name(nearby.lot().name());
+        response.latitude(nearby.lot().latitude());
+        response.longitude(nearby.lot().longitude());
+        response.distanceMeters(Math.round(nearby.distanceMeters() * 10) / 10.0);
+        response.availableSpaces(nearby.availableSpaces());
+        return response;
+    }
+}
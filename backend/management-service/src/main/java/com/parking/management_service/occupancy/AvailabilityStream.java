@@ -0,0 +1,129 @@
+package com.parking.management_service.occupancy;
+
+import com.parking.management_service.occupancy.OccupancyIndex.Area;
+import com.parking.management_service.occupancy.OccupancyIndex.AreaAvailability;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Server-sent event stream of parking availability per lot and per section.
+ *
+ * <p>A subscriber first receives a {@code snapshot} event with every area, then {@code delta}
+ * events holding only the areas whose counts changed. Changes are collected by the
+ * {@link OccupancyIndex} and published once per interval, so a burst of status changes costs
+ * each subscriber at most one message per interval. Subscriptions and publishing are
+ * serialized, which keeps a delta from ever overtaking the snapshot it follows.
+ */
+@Component
+@Slf4j
+public class AvailabilityStream {
+
+    private static final long RECONNECT_DELAY_MS = 3_000;
+
+    private final OccupancyIndex index;
+    private final int maxSubscribers;
+    private final Duration timeout;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    /** Payload of both event types. */
+    public record Message(List<AreaAvailability> areas) {
+    }
+
+    private record Subscriber(SseEmitter emitter, Long lotId) {
+    }
+
+    public AvailabilityStream(OccupancyIndex index,
+                              @Value("${occupancy.stream.max-subscribers:2000}") int maxSubscribers,
+                              @Value("${occupancy.stream.timeout:PT30M}") Duration timeout) {
+        this.index = index;
+        this.maxSubscribers = maxSubscribers;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Opens a stream for one lot, or all lots when {@code lotId} is null.
+     *
+     * @throws ResponseStatusException 503 when the subscriber limit is reached
+     */
+    public synchronized SseEmitter subscribe(Long lotId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many availability subscribers");
+        }
+        SseEmitter emitter = newEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, lotId);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        if (send(subscriber, "snapshot", index.availability(lotId))) {
+            subscribers.add(subscriber);
+            log.debug("Availability subscriber added (lot {}), {} connected", lotId, subscribers.size());
+        }
+        return emitter;
+    }
+
+    /** Sends every subscriber one delta with the areas changed since the previous run. */
+    @Scheduled(fixedDelayString = "${occupancy.stream.interval:PT1S}")
+    public synchronized void publishChanges() {
+        Set<Area> changed = index.drainChangedAreas();
+        if (changed.isEmpty() || subscribers.isEmpty()) {
+            return;
+        }
+        List<AreaAvailability> areas = index.availability(changed);
+        for (Subscriber subscriber : subscribers) {
+            List<AreaAvailability> visible = subscriber.lotId() == null ? areas : areas.stream()
+                    .filter(area -> Objects.equals(area.lotId(), subscriber.lotId()))
+                    .toList();
+            if (!visible.isEmpty()) {
+                send(subscriber, "delta", visible);
+            }
+        }
+    }
+
+    /** Keeps idle connections open through proxies and detects closed ones. */
+    @Scheduled(fixedDelayString = "${occupancy.stream.heartbeat:PT20S}")
+    public synchronized void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            try {
+                subscriber.emitter().send(SseEmitter.event().comment("keepalive"));
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private boolean send(Subscriber subscriber, String event, List<AreaAvailability> areas) {
+        try {
+            subscriber.emitter().send(SseEmitter.event()
+                    .name(event)
+                    .reconnectTime(RECONNECT_DELAY_MS)
+                    .data(new Message(areas), MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the container completes the emitter
+            subscribers.remove(subscriber);
+            log.debug("Availability subscriber dropped: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,497 @@
+package com.parking.management_service.occupancy;
+
+import com.parking.common.entity.ParkingSpace;
+import com.parking.management_service.domain.ParkingSpaceDomain;
+import com.parking.management_service.generated.model.ParkingSpaceResponse;
+import com.parking.management_service.mapper.ParkingSpaceMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of parking space state, answering availability counts and filtered
+ * lookups without a database round trip.
+ *
+ * <p>Each space owns a slot number. For every lot, floor, section, type, status and charger
+ * type value there is a {@link BitSet} of the slots having that value; a lookup ANDs the
+ * bitsets of the requested values and a count is the cardinality of the result. Responses are mapped once,
+ * when the space changes, and shared by all lookups - callers must not modify them.
+ *
+ * <p>Only committed state is held. {@link OccupancyIndexSynchronizer} feeds commit events,
+ * polled changes and periodic full snapshots. Every change is numbered, so a snapshot that
+ * was read while newer commit events arrived does not overwrite them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OccupancyIndex {
+
+    static final String AVAILABLE = "AVAILABLE";
+    private static final BitSet NONE = new BitSet();
+    private static final Comparator<Entry> BY_ID = Comparator.comparing(Entry::id);
+
+    private final ParkingSpaceMapper mapper;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final BitSet usedSlots = new BitSet();
+    private Entry[] slots = new Entry[256];
+
+    private final Map<Long, BitSet> byLot = new HashMap<>();
+    private final Map<Integer, BitSet> byFloor = new HashMap<>();
+    private final Map<String, BitSet> bySection = new HashMap<>();
+    private final Map<String, BitSet> byType = new HashMap<>();
+    private final Map<String, BitSet> byStatus = new HashMap<>();
+    private final Map<String, BitSet> byChargerType = new HashMap<>();
+    private final BitSet withCharger = new BitSet();
+
+    /** Space id -> sequence of its deletion, so that an older snapshot cannot bring it back. */
+    private final Map<Long, Long> tombstones = new HashMap<>();
+    /** Areas whose availability changed since the last {@link #drainChangedAreas()}. */
+    private final Set<Area> changedAreas = new HashSet<>();
+    private long sequence;
+    private volatile boolean loaded;
+
+    /** A whole lot ({@code section} null) or one section of a lot. */
+    public record Area(Long lotId, String section) {
+    }
+
+    /** Free and total spaces of an {@link Area}. */
+    public record AreaAvailability(Long lotId, String section, long available, long total) {
+    }
+
+    private record Entry(int slot, Long id, Long lotId, Integer floorLevel, String section,
+                         String spaceType, String status, boolean hasCharger, String chargerType,
+                         Integer lengthCm, Integer widthCm, LocalDateTime updatedAt, long sequence,
+                         ParkingSpaceResponse response) {
+    }
+
+    // ── Queries ─────────────────────────────────────────────────
+
+    /** Number of spaces matching the filter. */
+    public long count(SpaceFilter filter) {
+        lock.readLock().lock();
+        try {
+            return matching(filter).cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Spaces matching the filter, in slot order (stable while the spaces do not change). */
+    public List<ParkingSpaceResponse> find(SpaceFilter filter) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = matching(filter);
+            List<ParkingSpaceResponse> result = new ArrayList<>(matches.cardinality());
+            for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+                result.add(slots[slot].response());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} spaces matching the query with an id above {@code afterId} (null for
+     * the first page), in id order. Ids never change, so a page boundary stays put while spaces
+     * change state. Charger criteria are bitsets like the filter's; the size minimums are only
+     * checked on the spaces the bitsets already matched.
+     */
+    public List<ParkingSpaceResponse> page(SpaceQuery query, Long afterId, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            BitSet matches = matching(query);
+            // Max-heap of the lowest ids seen so far: a page costs O(matches * log limit), no full sort
+            PriorityQueue<Entry> lowest = new PriorityQueue<>(limit + 1, BY_ID.reversed());
+            for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+                Entry entry = slots[slot];
+                if ((afterId != null && entry.id() <= afterId) || !fits(entry, query)) {
+                    continue;
+                }
+                if (lowest.size() < limit) {
+                    lowest.add(entry);
+                } else if (entry.id() < lowest.peek().id()) {
+                    lowest.poll();
+                    lowest.add(entry);
+                }
+            }
+            List<Entry> page = new ArrayList<>(lowest);
+            page.sort(BY_ID);
+            List<ParkingSpaceResponse> result = new ArrayList<>(page.size());
+            for (Entry entry : page) {
+                result.add(entry.response());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Current status of one space, null when it is not indexed. */
+    public String status(Long spaceId) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(spaceId);
+            return entry != null ? entry.status() : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** One space, null when it is not indexed. */
+    public ParkingSpaceResponse get(Long spaceId) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(spaceId);
+            return entry != null ? entry.response() : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Number of indexed spaces. */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Availability of every lot and of each of its sections; only {@code lotId} when not null.
+     * Spaces without a section count towards their lot only.
+     */
+    public List<AreaAvailability> availability(Long lotId) {
+        lock.readLock().lock();
+        try {
+            Collection<Long> lots = lotId == null ? new ArrayList<>(byLot.keySet()) : List.of(lotId);
+            List<AreaAvailability> result = new ArrayList<>();
+            for (Long lot : lots) {
+                BitSet lotBits = byLot.get(lot);
+                if (lotBits == null) {
+                    continue;
+                }
+                result.add(availabilityOf(new Area(lot, null)));
+                for (Map.Entry<String, BitSet> section : bySection.entrySet()) {
+                    if (lotBits.intersects(section.getValue())) {
+                        result.add(availabilityOf(new Area(lot, section.getKey())));
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Current availability of the given areas; areas left without spaces report zero totals. */
+    public List<AreaAvailability> availability(Collection<Area> areas) {
+        lock.readLock().lock();
+        try {
+            List<AreaAvailability> result = new ArrayList<>(areas.size());
+            for (Area area : areas) {
+                result.add(availabilityOf(area));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Areas whose availability or size changed since the previous call. */
+    public Set<Area> drainChangedAreas() {
+        lock.writeLock().lock();
+        try {
+            Set<Area> drained = new HashSet<>(changedAreas);
+            changedAreas.clear();
+            return drained;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private AreaAvailability availabilityOf(Area area) {
+        BitSet total = matching(new SpaceFilter(area.lotId(), null, area.section(), null, null));
+        BitSet available = matching(new SpaceFilter(area.lotId(), null, area.section(), null, AVAILABLE));
+        return new AreaAvailability(area.lotId(), area.section(), available.cardinality(), total.cardinality());
+    }
+
+    /** True once the first full snapshot has been applied. */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Bitset of the matching slots. Returns an internal bitset when a single criterion
+     * is set, so the result must only be read.
+     */
+    private BitSet matching(SpaceFilter filter) {
+        List<BitSet> criteria = new ArrayList<>(5);
+        if (!collect(criteria, byLot, filter.lotId())
+                || !collect(criteria, byFloor, filter.floorLevel())
+                || !collect(criteria, bySection, filter.section())
+                || !collect(criteria, byType, filter.spaceType())
+                || !collect(criteria, byStatus, filter.status())) {
+            return NONE;
+        }
+        if (criteria.isEmpty()) {
+            return usedSlots;
+        }
+        if (criteria.size() == 1) {
+            return criteria.get(0);
+        }
+        BitSet result = (BitSet) criteria.get(0).clone();
+        for (int i = 1; i < criteria.size(); i++) {
+            result.and(criteria.get(i));
+        }
+        return result;
+    }
+
+    private BitSet matching(SpaceQuery query) {
+        BitSet result = matching(query.filter());
+        if (query.chargerType() != null) {
+            result = and(result, byChargerType.getOrDefault(query.chargerType(), NONE), false);
+        }
+        if (query.hasCharger() != null) {
+            result = and(result, withCharger, !query.hasCharger());
+        }
+        return result;
+    }
+
+    /** {@code bits} AND (NOT) {@code other} as a new bitset; {@code bits} may be internal. */
+    private static BitSet and(BitSet bits, BitSet other, boolean negate) {
+        BitSet result = (BitSet) bits.clone();
+        if (negate) {
+            result.andNot(other);
+        } else {
+            result.and(other);
+        }
+        return result;
+    }
+
+    private static boolean fits(Entry entry, SpaceQuery query) {
+        return (query.minLengthCm() == null || (entry.lengthCm() != null && entry.lengthCm() >= query.minLengthCm()))
+                && (query.minWidthCm() == null || (entry.widthCm() != null && entry.widthCm() >= query.minWidthCm()));
+    }
+
+    /** Adds the bitset for {@code value}; false when nothing has that value. */
+    private static <K> boolean collect(List<BitSet> criteria, Map<K, BitSet> index, K value) {
+        if (value == null) {
+            return true;
+        }
+        BitSet bits = index.get(value);
+        if (bits == null) {
+            return false;
+        }
+        criteria.add(bits);
+        return true;
+    }
+
+    // ── Updates ─────────────────────────────────────────────────
+
+    /** Sequence number of the latest change; read it before taking a snapshot for {@link #reconcile}. */
+    public long sequence() {
+        lock.readLock().lock();
+        try {
+            return sequence;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Applies a committed insert or update. */
+    public void put(ParkingSpace space) {
+        lock.writeLock().lock();
+        try {
+            tombstones.remove(space.getId());
+            apply(space, ++sequence);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Applies a committed delete. */
+    public void remove(Long spaceId) {
+        lock.writeLock().lock();
+        try {
+            tombstones.put(spaceId, ++sequence);
+            Entry entry = entries.remove(spaceId);
+            if (entry != null) {
+                unindex(entry, true);
+                markChanged(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies rows read from the database after {@link #sequence()} returned {@code since}.
+     * Spaces changed or deleted by a commit event after that point are newer than the rows
+     * and are left as they are. With {@code complete} the rows are the whole table: indexed
+     * spaces missing from them are dropped and the index counts as loaded.
+     */
+    public void reconcile(Collection<ParkingSpace> rows, long since, boolean complete) {
+        lock.writeLock().lock();
+        try {
+            Set<Long> seen = complete ? new HashSet<>(rows.size() * 2) : null;
+            int changed = 0;
+            for (ParkingSpace row : rows) {
+                if (complete) {
+                    seen.add(row.getId());
+                }
+                Entry current = entries.get(row.getId());
+                Long deletedAt = tombstones.get(row.getId());
+                if ((current != null && current.sequence() > since) || (deletedAt != null && deletedAt > since)) {
+                    continue;
+                }
+                if (current != null && Objects.equals(current.updatedAt(), row.getUpdatedAt())
+                        && Objects.equals(current.status(), row.getStatus())) {
+                    continue;
+                }
+                apply(row, ++sequence);
+                changed++;
+            }
+            if (complete) {
+                int before = entries.size();
+                entries.values().removeIf(entry -> {
+                    boolean stale = entry.sequence() <= since && !seen.contains(entry.id());
+                    if (stale) {
+                        unindex(entry, true);
+                        markChanged(entry);
+                    }
+                    return stale;
+                });
+                changed += before - entries.size();
+                tombstones.values().removeIf(deletedAt -> deletedAt <= since);
+                loaded = true;
+            }
+            if (changed > 0) {
+                log.debug("Occupancy index reconciled: {} rows read, {} changes applied, {} spaces indexed",
+                        rows.size(), changed, entries.size());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(ParkingSpace space, long changeSequence) {
+        ParkingSpaceResponse response;
+        try {
+            response = mapper.toResponse(new ParkingSpaceDomain(space));
+        } catch (IllegalArgumentException e) {
+            // Unknown type/status value: leave the space out rather than fail every lookup
+            log.warn("Parking space {} not indexed: {}", space.getId(), e.getMessage());
+            Entry stale = entries.remove(space.getId());
+            if (stale != null) {
+                unindex(stale, true);
+                markChanged(stale);
+            }
+            return;
+        }
+
+        Entry previous = entries.get(space.getId());
+        int slot;
+        if (previous != null) {
+            unindex(previous, false);
+            slot = previous.slot();
+        } else {
+            slot = usedSlots.nextClearBit(0);
+            if (slot >= slots.length) {
+                slots = Arrays.copyOf(slots, slots.length * 2);
+            }
+            usedSlots.set(slot);
+        }
+
+        Entry entry = new Entry(slot, space.getId(), space.getParkingLotId(), space.getFloorLevel(),
+                space.getSection(), space.getSpaceType(), space.getStatus(),
+                Boolean.TRUE.equals(space.getHasCharger()), space.getChargerType(),
+                space.getLengthCm(), space.getWidthCm(), space.getUpdatedAt(), changeSequence, response);
+        entries.put(entry.id(), entry);
+        slots[slot] = entry;
+        set(byLot, entry.lotId(), slot);
+        set(byFloor, entry.floorLevel(), slot);
+        set(bySection, entry.section(), slot);
+        set(byType, entry.spaceType(), slot);
+        set(byStatus, entry.status(), slot);
+        if (entry.hasCharger()) {
+            withCharger.set(slot);
+            set(byChargerType, entry.chargerType(), slot);
+        }
+
+        if (previous == null || !Objects.equals(previous.status(), entry.status())
+                || !Objects.equals(previous.lotId(), entry.lotId())
+                || !Objects.equals(previous.section(), entry.section())) {
+            markChanged(previous);
+            markChanged(entry);
+        }
+    }
+
+    private void markChanged(Entry entry) {
+        if (entry == null || entry.lotId() == null) {
+            return;
+        }
+        changedAreas.add(new Area(entry.lotId(), null));
+        if (entry.section() != null) {
+            changedAreas.add(new Area(entry.lotId(), entry.section()));
+        }
+    }
+
+    private void unindex(Entry entry, boolean releaseSlot) {
+        int slot = entry.slot();
+        clear(byLot, entry.lotId(), slot);
+        clear(byFloor, entry.floorLevel(), slot);
+        clear(bySection, entry.section(), slot);
+        clear(byType, entry.spaceType(), slot);
+        clear(byStatus, entry.status(), slot);
+        withCharger.clear(slot);
+        if (entry.hasCharger()) {
+            clear(byChargerType, entry.chargerType(), slot);
+        }
+        if (releaseSlot) {
+            usedSlots.clear(slot);
+            slots[slot] = null;
+        }
+    }
+
+    private static <K> void set(Map<K, BitSet> index, K value, int slot) {
+        if (value != null) {
+            index.computeIfAbsent(value, k -> new BitSet()).set(slot);
+        }
+    }
+
+    private static <K> void clear(Map<K, BitSet> index, K value, int slot) {
+        if (value == null) {
+            return;
+        }
+        BitSet bits = index.get(value);
+        if (bits != null) {
+            bits.clear(slot);
+            if (bits.isEmpty()) {
+                index.remove(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.parking.management_service.occupancy;
+
+import com.parking.common.entity.ParkingSpace;
+import com.parking.management_service.repository.ParkingSpaceRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps {@link OccupancyIndex} in line with the parking_spaces table.
+ *
+ * <ul>
+ *   <li>Startup: the whole table is loaded before the web server accepts requests.</li>
+ *   <li>Writes made through this service: applied after their transaction commits
+ *       (Hibernate post-commit listeners); rolled back changes never reach the index.</li>
+ *   <li>Writes made by other services: picked up by polling rows whose updated_at is past
+ *       the newest one seen, minus an overlap that absorbs clock skew between writers.</li>
+ *   <li>A periodic full reconcile catches the rest (deletes elsewhere, late commits).</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class OccupancyIndexSynchronizer implements SmartInitializingSingleton,
+        PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final OccupancyIndex index;
+    private final ParkingSpaceRepository repository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Duration pollOverlap;
+
+    /** Newest updated_at read so far; guarded by this. */
+    private LocalDateTime watermark = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    public OccupancyIndexSynchronizer(OccupancyIndex index,
+                                      ParkingSpaceRepository repository,
+                                      EntityManagerFactory entityManagerFactory,
+                                      @Value("${occupancy.index.poll-overlap:PT10S}") Duration pollOverlap) {
+        this.index = index;
+        this.repository = repository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.pollOverlap = pollOverlap;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        rebuild();
+    }
+
+    /** Reads the whole table and reconciles the index with it. */
+    @Scheduled(initialDelayString = "${occupancy.index.rebuild-interval:PT10M}",
+            fixedDelayString = "${occupancy.index.rebuild-interval:PT10M}")
+    public synchronized void rebuild() {
+        long since = index.sequence();
+        List<ParkingSpace> spaces = repository.findAll();
+        index.reconcile(spaces, since, true);
+        advanceWatermark(spaces);
+        log.info("Occupancy index rebuilt: {} spaces", index.size());
+    }
+
+    /** Applies rows changed since the last poll. */
+    @Scheduled(fixedDelayString = "${occupancy.index.poll-interval:PT2S}")
+    public synchronized void pollChanges() {
+        try {
+            long since = index.sequence();
+            List<ParkingSpace> changed = repository.findByUpdatedAtAfter(watermark.minus(pollOverlap));
+            index.reconcile(changed, since, false);
+            advanceWatermark(changed);
+        } catch (RuntimeException e) {
+            log.warn("Occupancy index poll failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private void advanceWatermark(List<ParkingSpace> spaces) {
+        for (ParkingSpace space : spaces) {
+            if (space.getUpdatedAt() != null && space.getUpdatedAt().isAfter(watermark)) {
+                watermark = space.getUpdatedAt();
+            }
+        }
+    }
+
+    // ── Hibernate post-commit events ────────────────────────────
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.getMappedClass() == ParkingSpace.class;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof ParkingSpace space) {
+            index.put(space);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof ParkingSpace space) {
+            index.put(space);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof ParkingSpace) {
+            index.remove((Long) event.getId());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was applied before the commit
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was applied before the commit
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was applied before the commit
+    }
+}
@@ -0,0 +1,26 @@
+package com.parking.management_service.occupancy;
+
+/**
+ * Criteria for an {@link OccupancyIndex} lookup. Null fields match anything;
+ * the non-null ones are combined with AND.
+ *
+ * @param lotId      parking lot
+ * @param floorLevel floor (0 = ground)
+ * @param section    section name, exact match
+ * @param spaceType  STANDARD, ELECTRIC, ...
+ * @param status     AVAILABLE, OCCUPIED, ...
+ */
+public record SpaceFilter(
+        Long lotId,
+        Integer floorLevel,
+        String section,
+        String spaceType,
+        String status
+) {
+
+    public static final SpaceFilter ALL = new SpaceFilter(null, null, null, null, null);
+
+    public static SpaceFilter status(String status) {
+        return new SpaceFilter(null, null, null, null, status);
+    }
+}
@@ -0,0 +1,30 @@
+package com.parking.management_service.occupancy;
+
+/**
+ * A {@link SpaceFilter} plus equipment and size requirements, for {@link OccupancyIndex#page}.
+ * Null fields match anything; the non-null ones are combined with AND.
+ *
+ * @param filter      lot, floor, section, type and status
+ * @param hasCharger  with (true) or without (false) an EV charger
+ * @param chargerType charger type, exact match (implies a charger)
+ * @param minLengthCm minimum length; spaces of unknown length do not match
+ * @param minWidthCm  minimum width; spaces of unknown width do not match
+ */
+public record SpaceQuery(
+        SpaceFilter filter,
+        Boolean hasCharger,
+        String chargerType,
+        Integer minLengthCm,
+        Integer minWidthCm
+) {
+
+    public SpaceQuery {
+        if (filter == null) {
+            filter = SpaceFilter.ALL;
+        }
+    }
+
+    public static SpaceQuery of(SpaceFilter filter) {
+        return new SpaceQuery(filter, null, null, null, null);
+    }
+}
@@ -0,0 +1,19 @@
+package com.parking.management_service.repository;
+
+import com.parking.management_service.entity.ParkingLot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for ParkingLot entity
+ */
+@Repository
+public interface ParkingLotRepository extends JpaRepository<ParkingLot, Long> {
+
+    /**
+     * All lots in id order (lot availability summaries)
+     */
+    List<ParkingLot> findAllByOrderByIdAsc();
+}
@@ -2,8 +2,13 @@ package com.parking.management_service.repository;
 
 import com.parking.common.entity.ParkingSpace;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -36,5 +41,26 @@ public interface ParkingSpaceRepository extends JpaRepository<ParkingSpace, Long
      * Count parking spaces by status
      */
     long countByStatus(String status);
-}
 
+    /**
+     * Spaces changed after the given time (occupancy index change poll)
+     */
+    List<ParkingSpace> findByUpdatedAtAfter(LocalDateTime updatedAt);
+
+    /**
+     * Atomic status transition: changes the space only while it still has status {@code from}.
+     * Returns 0 when another writer got there first. Moving to OCCUPIED stamps last_occupied_at.
+     * Declared query methods get no transaction from SimpleJpaRepository, hence @Transactional.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ParkingSpace s SET " +
+           "s.status = :to, " +
+           "s.updatedAt = :now, " +
+           "s.lastOccupiedAt = CASE WHEN :to = 'OCCUPIED' THEN :now ELSE s.lastOccupiedAt END " +
+           "WHERE s.id = :id AND s.status = :from")
+    int compareAndSetStatus(@Param("id") Long id,
+                            @Param("from") String from,
+                            @Param("to") String to,
+                            @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,231 @@
+package com.parking.management_service.sensor;
+
+import com.parking.management_service.bulk.SpaceBulkWriter;
+import com.parking.management_service.generated.model.BulkOperationResult;
+import com.parking.management_service.generated.model.BulkRowError;
+import com.parking.management_service.generated.model.SensorIngestResult;
+import com.parking.management_service.generated.model.SensorReading;
+import com.parking.management_service.generated.model.SpaceStatusUpdate;
+import com.parking.management_service.occupancy.OccupancyIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Turns raw per-bay presence readings into space status changes.
+ *
+ * <p>Readings only update in-memory state per space. A reading that disagrees with the bay's
+ * confirmed state starts a candidate change, and any agreeing reading cancels it. The change
+ * is confirmed once the candidate has held for {@code confirm-occupied} (arrivals) or
+ * {@code confirm-vacant} (departures). The longer departure delay is the hysteresis: a sensor
+ * flickering under a parked car, or a car manoeuvring in the bay, never reaches the database.
+ *
+ * <p>Confirmed changes are collected per space (a later one replaces an earlier one) and written
+ * every {@code flush-interval} as one {@link SpaceBulkWriter} batch of compare-and-set updates,
+ * which also refreshes the {@link OccupancyIndex} and thereby the availability stream. A sensor
+ * does not override an operator: an arrival only moves AVAILABLE or RESERVED spaces to
+ * OCCUPIED, a departure only moves OCCUPIED spaces to AVAILABLE. Changes the database did not
+ * get to judge (the batch failed, or the writer reports their chunk as retryable) are queued
+ * again and retried on the next flush; only compare-and-set misses are dropped.
+ */
+@Component
+@Slf4j
+public class OccupancySensorIngestor {
+
+    private static final String AVAILABLE = "AVAILABLE";
+    private static final String OCCUPIED = "OCCUPIED";
+    private static final String RESERVED = "RESERVED";
+
+    private final OccupancyIndex occupancyIndex;
+    private final SpaceBulkWriter bulkWriter;
+    private final long confirmOccupiedMillis;
+    private final long confirmVacantMillis;
+    private final int maxReadingsPerRequest;
+
+    private final Map<Long, BayState> bays = new ConcurrentHashMap<>();
+    /** Confirmed changes not yet written: space id -> occupied. */
+    private final Map<Long, Boolean> pending = new ConcurrentHashMap<>();
+
+    /** Debounce state of one bay; guarded by itself. */
+    private static final class BayState {
+        boolean occupied;
+        /** Presence waiting to be confirmed, null when the readings agree with {@link #occupied}. */
+        Boolean candidate;
+        long candidateSince;
+        long lastObservedAt = Long.MIN_VALUE;
+
+        BayState(boolean occupied) {
+            this.occupied = occupied;
+        }
+    }
+
+    public OccupancySensorIngestor(OccupancyIndex occupancyIndex,
+                                   SpaceBulkWriter bulkWriter,
+                                   @Value("${sensors.confirm-occupied:PT5S}") Duration confirmOccupied,
+                                   @Value("${sensors.confirm-vacant:PT15S}") Duration confirmVacant,
+                                   @Value("${sensors.max-readings-per-request:5000}") int maxReadingsPerRequest) {
+        this.occupancyIndex = occupancyIndex;
+        this.bulkWriter = bulkWriter;
+        this.confirmOccupiedMillis = confirmOccupied.toMillis();
+        this.confirmVacantMillis = confirmVacant.toMillis();
+        this.maxReadingsPerRequest = maxReadingsPerRequest;
+    }
+
+    /**
+     * Takes a batch of readings into account; nothing is written here.
+     *
+     * @throws ResponseStatusException 400 for more than {@code sensors.max-readings-per-request} readings
+     */
+    public SensorIngestResult accept(List<SensorReading> readings) {
+        if (readings.size() > maxReadingsPerRequest) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + maxReadingsPerRequest + " readings per request, got " + readings.size());
+        }
+        long now = System.currentTimeMillis();
+        int accepted = 0;
+        for (SensorReading reading : readings) {
+            long observedAt = reading.getObservedAt() != null
+                    ? reading.getObservedAt().toInstant().toEpochMilli() : now;
+            if (accept(reading.getSpaceId(), Boolean.TRUE.equals(reading.getOccupied()), observedAt, now)) {
+                accepted++;
+            }
+        }
+        return new SensorIngestResult().accepted(accepted).ignored(readings.size() - accepted);
+    }
+
+    /**
+     * One reading received at {@code now}. Timing uses the receive time, so sensor clocks only
+     * matter for dropping readings that arrive out of order.
+     */
+    boolean accept(Long spaceId, boolean occupied, long observedAt, long now) {
+        if (spaceId == null) {
+            return false;
+        }
+        BayState bay = bays.get(spaceId);
+        if (bay == null) {
+            String status = occupancyIndex.status(spaceId);
+            if (status == null) {
+                return false;
+            }
+            bay = bays.computeIfAbsent(spaceId, id -> new BayState(OCCUPIED.equals(status)));
+        }
+        synchronized (bay) {
+            if (observedAt < bay.lastObservedAt) {
+                return false;
+            }
+            bay.lastObservedAt = observedAt;
+            if (occupied == bay.occupied) {
+                bay.candidate = null;
+            } else if (bay.candidate == null) {
+                bay.candidate = occupied;
+                bay.candidateSince = now;
+            }
+            confirm(spaceId, bay, now);
+        }
+        return true;
+    }
+
+    /** Confirms the bay's candidate once it has held long enough. Caller holds the bay. */
+    private void confirm(Long spaceId, BayState bay, long now) {
+        if (bay.candidate == null) {
+            return;
+        }
+        long required = bay.candidate ? confirmOccupiedMillis : confirmVacantMillis;
+        if (now - bay.candidateSince >= required) {
+            bay.occupied = bay.candidate;
+            bay.candidate = null;
+            pending.put(spaceId, bay.occupied);
+        }
+    }
+
+    /** Writes the changes confirmed since the last flush. */
+    @Scheduled(fixedDelayString = "${sensors.flush-interval:PT1S}")
+    public void flush() {
+        try {
+            flush(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            log.warn("Sensor state flush failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    void flush(long now) {
+        bays.keySet().removeIf(spaceId -> occupancyIndex.status(spaceId) == null);
+        // Candidates also mature without new readings (sensors that only report changes)
+        bays.forEach((spaceId, bay) -> {
+            synchronized (bay) {
+                confirm(spaceId, bay, now);
+            }
+        });
+
+        List<SpaceStatusUpdate> updates = new ArrayList<>();
+        for (Long spaceId : pending.keySet()) {
+            Boolean occupied = pending.remove(spaceId);
+            if (occupied == null) {
+                continue;
+            }
+            SpaceStatusUpdate update = toUpdate(spaceId, occupied, occupancyIndex.status(spaceId));
+            if (update != null) {
+                updates.add(update);
+            } else {
+                // Not ours to change (maintenance, ...): start over from the current status
+                bays.remove(spaceId);
+            }
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+        BulkOperationResult result;
+        try {
+            result = bulkWriter.updateStatuses(updates);
+        } catch (RuntimeException e) {
+            // Nothing written: queue the changes again, unless a newer one was confirmed meanwhile
+            for (SpaceStatusUpdate update : updates) {
+                pending.putIfAbsent(update.getSpaceId(), update.getStatus() == SpaceStatusUpdate.StatusEnum.OCCUPIED);
+            }
+            throw e;
+        }
+        for (BulkRowError error : result.getErrors()) {
+            SpaceStatusUpdate update = updates.get(error.getRow() - 1);
+            Long spaceId = update.getSpaceId();
+            if (Boolean.TRUE.equals(error.getRetryable())) {
+                // Its chunk failed in the database: same as a failed batch, try again next flush
+                pending.putIfAbsent(spaceId, update.getStatus() == SpaceStatusUpdate.StatusEnum.OCCUPIED);
+                log.debug("Sensor change of space {} queued again: {}", spaceId, error.getMessage());
+                continue;
+            }
+            // Changed concurrently: drop the debounce state, it is re-read on the next reading
+            bays.remove(spaceId);
+            log.debug("Sensor change of space {} not applied: {}", spaceId, error.getMessage());
+        }
+        log.debug("Sensor flush: {} changes written, {} rejected", result.getApplied(), result.getRejected());
+    }
+
+    /** The compare-and-set update for a confirmed change, or null when the sensor must not apply it. */
+    static SpaceStatusUpdate toUpdate(Long spaceId, boolean occupied, String currentStatus) {
+        if (occupied && (AVAILABLE.equals(currentStatus) || RESERVED.equals(currentStatus))) {
+            return new SpaceStatusUpdate().spaceId(spaceId)
+                    .expectedStatus(SpaceStatusUpdate.ExpectedStatusEnum.fromValue(currentStatus))
+                    .status(SpaceStatusUpdate.StatusEnum.OCCUPIED);
+        }
+        if (!occupied && OCCUPIED.equals(currentStatus)) {
+            return new SpaceStatusUpdate().spaceId(spaceId)
+                    .expectedStatus(SpaceStatusUpdate.ExpectedStatusEnum.OCCUPIED)
+                    .status(SpaceStatusUpdate.StatusEnum.AVAILABLE);
+        }
+        return null;
+    }
+
+    /** Number of bays with debounce state. */
+    int trackedBays() {
+        return bays.size();
+    }
+}
@@ -0,0 +1,74 @@
+package com.parking.management_service.sensor;
+
+import com.parking.management_service.generated.model.ParkingSpaceResponse;
+import com.parking.management_service.generated.model.SensorReading;
+import com.parking.management_service.occupancy.OccupancyIndex;
+import com.parking.management_service.occupancy.SpaceFilter;
+import com.parking.management_service.occupancy.SpaceQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Local stand-in for a field of bay sensors (sensors.simulator.enabled=true, off by default).
+ *
+ * <p>Every interval each simulated bay reports its presence, like a real sensor polling at a
+ * fixed rate. Vehicles arrive and leave at random, and each reading is wrong with probability
+ * {@code noise}, so the debouncing in {@link OccupancySensorIngestor} gets realistic flicker
+ * to absorb. Readings go straight to the ingestor, not through HTTP.
+ */
+@Component
+@ConditionalOnProperty(prefix = "sensors.simulator", name = "enabled", havingValue = "true")
+@Slf4j
+public class SensorSimulator {
+
+    private final OccupancyIndex occupancyIndex;
+    private final OccupancySensorIngestor ingestor;
+    private final int bays;
+    private final double changeProbability;
+    private final double noise;
+    private final Random random = new Random();
+
+    /** Simulated presence per space id. */
+    private final Map<Long, Boolean> present = new HashMap<>();
+
+    public SensorSimulator(OccupancyIndex occupancyIndex,
+                           OccupancySensorIngestor ingestor,
+                           @Value("${sensors.simulator.bays:50}") int bays,
+                           @Value("${sensors.simulator.change-probability:0.01}") double changeProbability,
+                           @Value("${sensors.simulator.noise:0.05}") double noise) {
+        this.occupancyIndex = occupancyIndex;
+        this.ingestor = ingestor;
+        this.bays = bays;
+        this.changeProbability = changeProbability;
+        this.noise = noise;
+        log.warn("Sensor simulator enabled: {} bays, change probability {}, noise {}", bays, changeProbability, noise);
+    }
+
+    @Scheduled(fixedDelayString = "${sensors.simulator.interval:PT1S}")
+    public void tick() {
+        List<ParkingSpaceResponse> spaces = occupancyIndex.page(SpaceQuery.of(SpaceFilter.ALL), null, bays);
+        List<SensorReading> readings = new ArrayList<>(spaces.size());
+        for (ParkingSpaceResponse space : spaces) {
+            boolean occupied = present.computeIfAbsent(space.getSpaceId(),
+                    id -> space.getStatus() == ParkingSpaceResponse.StatusEnum.OCCUPIED);
+            if (random.nextDouble() < changeProbability) {
+                occupied = !occupied;
+                present.put(space.getSpaceId(), occupied);
+            }
+            boolean reported = random.nextDouble() < noise ? !occupied : occupied;
+            readings.add(new SensorReading().spaceId(space.getSpaceId()).occupied(reported));
+        }
+        if (!readings.isEmpty()) {
+            ingestor.accept(readings);
+        }
+    }
+}
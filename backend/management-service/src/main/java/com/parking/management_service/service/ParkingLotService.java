@@ -0,0 +1,73 @@
+package com.parking.management_service.service;
+
+import com.parking.management_service.generated.model.LotAvailabilityResponse;
+import com.parking.management_service.generated.model.NearbyLotResponse;
+import com.parking.management_service.lot.LotLocator;
+import com.parking.management_service.mapper.ParkingLotMapper;
+import com.parking.management_service.repository.ParkingLotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Service for parking lot summaries and nearest-lot search.
+ * Lot counters are maintained by the database (see LotCounterReconciler), so a summary
+ * of all lots is a scan of the small parking_lots table. Nearest-lot search is answered
+ * in memory by {@link LotLocator}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ParkingLotService {
+
+    static final int MAX_RADIUS_METERS = 50_000;
+    static final int MAX_LIMIT = 100;
+    /** Grid cells shrink towards the poles; the app has no lots beyond this. */
+    static final double MAX_ABS_LATITUDE = 85;
+
+    private final ParkingLotRepository parkingLotRepository;
+    private final ParkingLotMapper parkingLotMapper;
+    private final LotLocator lotLocator;
+
+    /**
+     * Get total and available spaces of every lot
+     */
+    @Transactional(readOnly = true)
+    public List<LotAvailabilityResponse> getLotAvailability() {
+        log.debug("Reading lot availability counters");
+        return parkingLotRepository.findAllByOrderByIdAsc().stream()
+                .map(parkingLotMapper::toAvailabilityResponse)
+                .toList();
+    }
+
+    /**
+     * Nearest lots to the point with at least {@code minAvailable} free spaces of {@code type}
+     *
+     * @throws ResponseStatusException 400 when a parameter is out of range
+     */
+    public List<NearbyLotResponse> findNearestLots(double latitude, double longitude, int radiusMeters,
+                                                   int limit, int minAvailable, String type) {
+        if (Math.abs(latitude) > MAX_ABS_LATITUDE || Math.abs(longitude) > 180) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "latitude must be within ±" + MAX_ABS_LATITUDE + " and longitude within ±180");
+        }
+        if (radiusMeters < 1 || radiusMeters > MAX_RADIUS_METERS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "radiusMeters must be between 1 and " + MAX_RADIUS_METERS);
+        }
+        if (limit < 1 || limit > MAX_LIMIT || minAvailable < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + MAX_LIMIT + " and minAvailable not negative");
+        }
+        log.debug("Finding lots near ({}, {}) within {} m with {}+ free {} spaces",
+                latitude, longitude, radiusMeters, minAvailable, type != null ? type : "any");
+        return lotLocator.nearest(latitude, longitude, radiusMeters, limit, minAvailable, type).stream()
+                .map(parkingLotMapper::toNearbyResponse)
+                .toList();
+    }
+}
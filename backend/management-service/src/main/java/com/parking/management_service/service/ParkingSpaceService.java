@@ -1,41 +1,43 @@
 package com.parking.management_service.service;
 
-import com.parking.common.entity.ParkingSpace;
-import com.parking.management_service.domain.ParkingSpaceDomain;
+import com.parking.management_service.generated.model.ParkingSpacePage;
 import com.parking.management_service.generated.model.ParkingSpaceResponse;
-import com.parking.management_service.mapper.ParkingSpaceMapper;
-import com.parking.management_service.repository.ParkingSpaceRepository;
+import com.parking.management_service.occupancy.OccupancyIndex;
+import com.parking.management_service.occupancy.SpaceFilter;
+import com.parking.management_service.occupancy.SpaceQuery;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service for managing parking spaces
- * Provides business logic for parking space operations
+ * Provides business logic for parking space operations.
+ * Reads are answered from the in-memory {@link OccupancyIndex}, not the database.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional(readOnly = true)
 public class ParkingSpaceService {
 
-    private final ParkingSpaceRepository repository;
-    private final ParkingSpaceMapper mapper;
+    private static final String AVAILABLE = "AVAILABLE";
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+    private static final String CURSOR_PREFIX = "space:";
+
+    private final OccupancyIndex occupancyIndex;
 
     /**
      * Get all available parking spaces
      */
     public List<ParkingSpaceResponse> getAvailableSpaces() {
         log.debug("Finding all available parking spaces");
-        List<ParkingSpace> spaces = repository.findByStatus("AVAILABLE");
-        return spaces.stream()
-                .map(ParkingSpaceDomain::new)
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
+        return occupancyIndex.find(SpaceFilter.status(AVAILABLE));
     }
 
     /**
@@ -43,11 +45,7 @@ public class ParkingSpaceService {
      */
     public List<ParkingSpaceResponse> getAvailableSpacesByLot(Long lotId) {
         log.debug("Finding available spaces for lot: {}", lotId);
-        List<ParkingSpace> spaces = repository.findByParkingLotIdAndStatus(lotId, "AVAILABLE");
-        return spaces.stream()
-                .map(ParkingSpaceDomain::new)
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
+        return occupancyIndex.find(new SpaceFilter(lotId, null, null, null, AVAILABLE));
     }
 
     /**
@@ -55,11 +53,7 @@ public class ParkingSpaceService {
      */
     public List<ParkingSpaceResponse> getAllSpaces() {
         log.debug("Finding all parking spaces");
-        List<ParkingSpace> spaces = repository.findAll();
-        return spaces.stream()
-                .map(ParkingSpaceDomain::new)
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
+        return occupancyIndex.find(SpaceFilter.ALL);
     }
 
     /**
@@ -67,7 +61,7 @@ public class ParkingSpaceService {
      */
     public long getAvailableSpacesCount() {
         log.debug("Counting available parking spaces");
-        return repository.countByStatus("AVAILABLE");
+        return occupancyIndex.count(SpaceFilter.status(AVAILABLE));
     }
 
     /**
@@ -75,23 +69,54 @@ public class ParkingSpaceService {
      */
     public List<ParkingSpaceResponse> searchSpaces(String type, String status) {
         log.debug("Searching spaces - type: {}, status: {}", type, status);
+        return occupancyIndex.find(new SpaceFilter(null, null, null, type, status));
+    }
 
-        List<ParkingSpace> spaces;
-
-        if (type != null && status != null) {
-            spaces = repository.findBySpaceTypeAndStatus(type, status);
-        } else if (type != null) {
-            spaces = repository.findBySpaceType(type);
-        } else if (status != null) {
-            spaces = repository.findByStatus(status);
-        } else {
-            spaces = repository.findAll();
+    /**
+     * One page of the spaces matching the query, in space id order
+     *
+     * @param size   spaces per page, {@value #DEFAULT_PAGE_SIZE} when null
+     * @param cursor nextCursor of the previous page, null for the first page
+     * @throws ResponseStatusException 400 for a size out of range, a negative size minimum
+     *                                 or a malformed cursor
+     */
+    public ParkingSpacePage querySpaces(SpaceQuery query, Integer size, String cursor) {
+        int pageSize = size != null ? size : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if ((query.minLengthCm() != null && query.minLengthCm() < 0)
+                || (query.minWidthCm() != null && query.minWidthCm() < 0)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "minLengthCm and minWidthCm must not be negative");
         }
+        Long afterId = cursor != null ? decodeCursor(cursor) : null;
+        log.debug("Querying spaces - {}, after: {}, size: {}", query, afterId, pageSize);
 
-        return spaces.stream()
-                .map(ParkingSpaceDomain::new)
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
+        // One extra row tells whether another page follows
+        List<ParkingSpaceResponse> rows = occupancyIndex.page(query, afterId, pageSize + 1);
+        boolean more = rows.size() > pageSize;
+        List<ParkingSpaceResponse> items = more ? rows.subList(0, pageSize) : rows;
+        return new ParkingSpacePage()
+                .items(items)
+                .size(items.size())
+                .nextCursor(more ? encodeCursor(items.get(items.size() - 1).getSpaceId()) : null);
+    }
+
+    static String encodeCursor(Long spaceId) {
+        byte[] raw = (CURSOR_PREFIX + spaceId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
     }
-}
 
+    private static Long decodeCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (decoded.startsWith(CURSOR_PREFIX)) {
+                return Long.valueOf(decoded.substring(CURSOR_PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // falls through to the 400 below (NumberFormatException included)
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed cursor");
+    }
+}
@@ -0,0 +1,183 @@
+package com.parking.management_service.allocation;
+
+import com.parking.common.entity.ParkingSpace;
+import com.parking.management_service.generated.model.ParkingSpaceResponse;
+import com.parking.management_service.mapper.ParkingSpaceMapper;
+import com.parking.management_service.occupancy.OccupancyIndex;
+import com.parking.management_service.occupancy.SpaceFilter;
+import com.parking.management_service.repository.ParkingSpaceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the space allocator against an in-memory stand-in for the parking_spaces table
+ * whose conditional update is atomic, like the database's.
+ */
+@DisplayName("SpaceAllocator - conditional transitions and contended allocation")
+class SpaceAllocatorTest {
+
+    private final Map<Long, ParkingSpace> table = new HashMap<>();
+    private final OccupancyIndex index = new OccupancyIndex(new ParkingSpaceMapper());
+    private final ParkingSpaceRepository repository = mock(ParkingSpaceRepository.class);
+    private final SpaceAllocator allocator = new SpaceAllocator(repository, index, new ParkingSpaceMapper(), 16);
+
+    @BeforeEach
+    void setUp() {
+        when(repository.compareAndSetStatus(anyLong(), anyString(), anyString(), any())).thenAnswer(call -> {
+            synchronized (table) {
+                ParkingSpace row = table.get(call.<Long>getArgument(0));
+                if (row == null || !row.getStatus().equals(call.getArgument(1))) {
+                    return 0;
+                }
+                row.setStatus(call.getArgument(2));
+                row.setUpdatedAt(call.getArgument(3));
+                return 1;
+            }
+        });
+        when(repository.findById(anyLong())).thenAnswer(call -> {
+            synchronized (table) {
+                return Optional.ofNullable(table.get(call.<Long>getArgument(0))).map(SpaceAllocatorTest::copy);
+            }
+        });
+    }
+
+    private void insert(long id, long lotId, int floor, String number, String status) {
+        ParkingSpace space = new ParkingSpace();
+        space.setId(id);
+        space.setParkingLotId(lotId);
+        space.setSpaceNumber(number);
+        space.setFloorLevel(floor);
+        space.setSpaceType("STANDARD");
+        space.setStatus(status);
+        space.setHasCharger(false);
+        space.setUpdatedAt(LocalDateTime.of(2026, 1, 1, 0, 0));
+        table.put(id, space);
+        index.put(copy(space));
+    }
+
+    private static ParkingSpace copy(ParkingSpace source) {
+        ParkingSpace space = new ParkingSpace();
+        space.setId(source.getId());
+        space.setParkingLotId(source.getParkingLotId());
+        space.setSpaceNumber(source.getSpaceNumber());
+        space.setFloorLevel(source.getFloorLevel());
+        space.setSpaceType(source.getSpaceType());
+        space.setStatus(source.getStatus());
+        space.setHasCharger(source.getHasCharger());
+        space.setUpdatedAt(source.getUpdatedAt());
+        return space;
+    }
+
+    @Test
+    @DisplayName("The best matching space is the one nearest to the ground floor, then by number")
+    void allocatesBestSpace() {
+        insert(1, 1, 2, "C-01", "AVAILABLE");
+        insert(2, 1, 0, "A-02", "AVAILABLE");
+        insert(3, 1, -1, "U-01", "AVAILABLE");
+        insert(4, 1, 0, "A-01", "OCCUPIED");
+
+        ParkingSpaceResponse space = allocator.allocate(new SpaceFilter(1L, null, null, null, null), "RESERVED");
+
+        assertThat(space.getSpaceId()).isEqualTo(2L);
+        assertThat(table.get(2L).getStatus()).isEqualTo("RESERVED");
+        assertThat(index.count(new SpaceFilter(1L, null, null, null, "RESERVED"))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A candidate taken behind the index's back is skipped and corrected in the index")
+    void skipsStaleCandidate() {
+        insert(1, 1, 0, "A-01", "AVAILABLE");
+        insert(2, 1, 0, "A-02", "AVAILABLE");
+        table.get(1L).setStatus("OCCUPIED");
+
+        ParkingSpaceResponse space = allocator.allocate(SpaceFilter.ALL, "OCCUPIED");
+
+        assertThat(space.getSpaceId()).isEqualTo(2L);
+        assertThat(index.count(SpaceFilter.status("AVAILABLE"))).isZero();
+    }
+
+    @Test
+    @DisplayName("Concurrent allocations never share a space and fail with 409 once the lot is full")
+    void concurrentAllocationsGetDistinctSpaces() throws Exception {
+        for (long id = 1; id <= 10; id++) {
+            insert(id, 1, 0, "A-%02d".formatted(id), "AVAILABLE");
+        }
+        int requests = 24;
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<Long> allocated = ConcurrentHashMap.newKeySet();
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                try {
+                    assertThat(allocated.add(allocator.allocate(SpaceFilter.ALL, "RESERVED").getSpaceId())).isTrue();
+                } catch (ResponseStatusException e) {
+                    assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+                    conflicts.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(10, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertThat(allocated).hasSize(10);
+        assertThat(conflicts).hasValue(requests - 10);
+        assertThat(table.values()).allMatch(space -> space.getStatus().equals("RESERVED"));
+    }
+
+    @Test
+    @DisplayName("A transition from an outdated status is rejected with the current status")
+    void transitionConflict() {
+        insert(1, 1, 0, "A-01", "RESERVED");
+
+        assertThatThrownBy(() -> allocator.occupy(1L))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT))
+                .hasMessageContaining("RESERVED");
+        assertThat(allocator.transition(1L, "RESERVED", "OCCUPIED").getStatus())
+                .isEqualTo(ParkingSpaceResponse.StatusEnum.OCCUPIED);
+    }
+
+    @Test
+    @DisplayName("Unknown spaces and statuses are rejected")
+    void invalidRequests() {
+        assertThatThrownBy(() -> allocator.reserve(99L))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+        assertThatThrownBy(() -> allocator.allocate(SpaceFilter.ALL, "AVAILABLE"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+}
@@ -0,0 +1,68 @@
+package com.parking.management_service.booking;
+
+import com.parking.management_service.booking.BookingCalendar.Booking;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the in-memory booking calendar; times are hours of one day.
+ */
+@DisplayName("BookingCalendar - half-open windows, one-pass lot search and stale entries")
+class BookingCalendarTest {
+
+    private final BookingCalendar calendar = new BookingCalendar();
+
+    private static LocalDateTime at(int hour) {
+        return LocalDateTime.of(2099, 1, 1, 0, 0).plusHours(hour);
+    }
+
+    private static Booking booking(long id, long spaceId, int startHour, int endHour) {
+        return new Booking(id, spaceId, at(startHour), at(endHour));
+    }
+
+    @Test
+    @DisplayName("A window overlapping any booking is busy; one starting when a booking ends is free")
+    void halfOpenOverlap() {
+        calendar.replaceAll(List.of(booking(1, 7, 8, 10), booking(2, 7, 12, 14), booking(3, 7, 20, 22)));
+
+        assertThat(calendar.isFree(7, at(10), at(12))).isTrue();
+        assertThat(calendar.isFree(7, at(6), at(8))).isTrue();
+        assertThat(calendar.isFree(7, at(14), at(20))).isTrue();
+        assertThat(calendar.isFree(7, at(9), at(11))).isFalse();
+        assertThat(calendar.isFree(7, at(11), at(13))).isFalse();
+        assertThat(calendar.isFree(7, at(13), at(21))).isFalse();
+        assertThat(calendar.isFree(7, at(0), at(23))).isFalse();
+        assertThat(calendar.isFree(8, at(0), at(23))).isTrue();
+    }
+
+    @Test
+    @DisplayName("A lot search keeps the given order and stops at the limit")
+    void freeSpacesInOrder() {
+        calendar.replaceAll(List.of(booking(1, 2, 8, 10), booking(2, 4, 9, 11)));
+
+        assertThat(calendar.freeSpaces(List.of(5L, 4L, 3L, 2L, 1L), at(9), at(10), 10)).containsExactly(5L, 3L, 1L);
+        assertThat(calendar.freeSpaces(List.of(5L, 4L, 3L, 2L, 1L), at(9), at(10), 2)).containsExactly(5L, 3L);
+    }
+
+    @Test
+    @DisplayName("Added bookings replace the stale ones they overlap; removed bookings free their window")
+    void addAndRemove() {
+        calendar.replaceAll(List.of(booking(1, 7, 8, 10), booking(2, 7, 10, 12)));
+
+        // Committed by the database, so bookings 1 and 2 must have been cancelled meanwhile
+        calendar.add(booking(3, 7, 9, 11));
+        assertThat(calendar.size()).isEqualTo(1);
+        assertThat(calendar.isFree(7, at(8), at(9))).isTrue();
+        assertThat(calendar.isFree(7, at(10), at(11))).isFalse();
+
+        calendar.remove(3);
+        calendar.remove(99);
+        assertThat(calendar.size()).isZero();
+        assertThat(calendar.isFree(7, at(0), at(23))).isTrue();
+    }
+}
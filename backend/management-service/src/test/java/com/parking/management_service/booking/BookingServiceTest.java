@@ -0,0 +1,144 @@
+package com.parking.management_service.booking;
+
+import com.parking.common.entity.ParkingSpace;
+import com.parking.management_service.generated.model.BookingRequest;
+import com.parking.management_service.generated.model.BookingResponse;
+import com.parking.management_service.generated.model.ParkingSpaceResponse;
+import com.parking.management_service.mapper.ParkingSpaceMapper;
+import com.parking.management_service.occupancy.OccupancyIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for booking: the database is mocked, and an insert for a space listed in
+ * {@code takenInDatabase} fails the way the V17 exclusion constraint does.
+ */
+@DisplayName("BookingService - lot search, exclusion conflicts and validation")
+class BookingServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2099, 1, 1, 9, 0);
+    private static final LocalDateTime END = START.plusHours(8);
+
+    private final OccupancyIndex index = new OccupancyIndex(new ParkingSpaceMapper());
+    private final BookingCalendar calendar = new BookingCalendar();
+    private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    private final BookingService service = new BookingService(jdbc, index, calendar, 16, Duration.ofDays(30));
+    private long nextBookingId = 100;
+
+    private void space(long id, String status) {
+        ParkingSpace space = new ParkingSpace();
+        space.setId(id);
+        space.setParkingLotId(1L);
+        space.setSpaceNumber("S-" + id);
+        space.setFloorLevel(0);
+        space.setSpaceType("STANDARD");
+        space.setStatus(status);
+        space.setHasCharger(false);
+        space.setUpdatedAt(LocalDateTime.of(2026, 1, 1, 0, 0));
+        index.put(space);
+    }
+
+    /** Inserts succeed, except for the given spaces (already booked by someone else). */
+    private void databaseRejects(List<Long> takenInDatabase) {
+        when(jdbc.queryForObject(anyString(), eq(Long.class), any(Object[].class))).thenAnswer(call -> {
+            Long spaceId = (Long) call.getArgument(3);
+            if (takenInDatabase.contains(spaceId)) {
+                throw new DataIntegrityViolationException("exclusion",
+                        new SQLException("conflicting key value violates exclusion constraint", "23P01"));
+            }
+            return nextBookingId++;
+        });
+        when(jdbc.query(anyString(), any(RowMapper.class), any(Object[].class))).thenAnswer(call -> {
+            Long spaceId = (Long) call.getArgument(3);
+            return List.of(new BookingCalendar.Booking(1, spaceId, START, END));
+        });
+    }
+
+    private static OffsetDateTime offset(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toOffsetDateTime();
+    }
+
+    private static BookingRequest request() {
+        return new BookingRequest().clientId(1L).startTime(offset(START)).endTime(offset(END));
+    }
+
+    @Test
+    @DisplayName("A lot booking skips booked and unbookable spaces and moves on when an insert loses")
+    void lotBookingFallsThrough() {
+        for (long id = 1; id <= 4; id++) {
+            space(id, id == 2 ? "MAINTENANCE" : "AVAILABLE");
+        }
+        calendar.add(new BookingCalendar.Booking(50, 1, START.minusHours(1), START.plusHours(1)));
+        databaseRejects(List.of(3L));
+
+        BookingResponse booking = service.book(request().lotId(1L));
+
+        assertThat(booking.getSpaceId()).isEqualTo(4L);
+        assertThat(booking.getBookingCode()).startsWith("BK-");
+        assertThat(booking.getStartTime().toInstant()).isEqualTo(offset(START).toInstant());
+        // The lost insert taught the calendar about the competing booking of space 3
+        assertThat(calendar.isFree(3, START, END)).isFalse();
+        assertThat(calendar.isFree(4, START, END)).isFalse();
+        assertThat(service.findFreeSpaces(1L, null, offset(START), offset(END), null)).isEmpty();
+        assertThat(service.findFreeSpaces(1L, null, offset(END), offset(END.plusHours(1)), null))
+                .extracting(ParkingSpaceResponse::getSpaceId).containsExactly(1L, 3L, 4L);
+    }
+
+    @Test
+    @DisplayName("A given space that is already booked gives 409; so does a lot with nothing free")
+    void conflicts() {
+        space(1, "AVAILABLE");
+        databaseRejects(List.of(1L));
+
+        assertThatThrownBy(() -> service.book(request().spaceId(1L)))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+        assertThatThrownBy(() -> service.book(request().lotId(1L)))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+    }
+
+    @Test
+    @DisplayName("Invalid windows, unknown spaces and unknown clients are refused")
+    void validation() {
+        space(1, "AVAILABLE");
+        when(jdbc.queryForObject(anyString(), eq(Long.class), any(Object[].class)))
+                .thenThrow(new DataIntegrityViolationException("fk", new SQLException("violates foreign key", "23503")));
+
+        assertThat(statusOf(request().lotId(1L).endTime(offset(START)))).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(statusOf(request().lotId(1L).endTime(offset(START.plusDays(31))))).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(statusOf(request())).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(statusOf(request().spaceId(9L))).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(statusOf(request().spaceId(1L).lotId(2L))).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(statusOf(request().spaceId(1L))).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private Object statusOf(BookingRequest request) {
+        try {
+            service.book(request);
+            return null;
+        } catch (ResponseStatusException e) {
+            return e.getStatusCode();
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.parking.management_service.bulk;
+
+import com.parking.common.entity.ParkingSpace;
+import com.parking.management_service.generated.model.BulkOperationResult;
+import com.parking.management_service.generated.model.BulkRowError;
+import com.parking.management_service.generated.model.SpaceImportRow;
+import com.parking.management_service.generated.model.SpaceStatusUpdate;
+import com.parking.management_service.mapper.ParkingSpaceMapper;
+import com.parking.management_service.occupancy.OccupancyIndex;
+import com.parking.management_service.occupancy.OccupancyIndexSynchronizer;
+import com.parking.management_service.occupancy.SpaceFilter;
+import com.parking.management_service.repository.ParkingSpaceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for bulk space import and status batches, against an embedded H2 database in
+ * PostgreSQL mode. Chunks of two rows make every request span several batches.
+ */
+@DisplayName("SpaceBulkWriter - chunked import and status batches with per-row results")
+class SpaceBulkWriterTest {
+
+    private DriverManagerDataSource database;
+    private JdbcTemplate jdbc;
+    private final OccupancyIndex index = new OccupancyIndex(new ParkingSpaceMapper());
+    private final ParkingSpaceRepository repository = mock(ParkingSpaceRepository.class);
+    private SpaceBulkWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        database = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        jdbc = new JdbcTemplate(database);
+        jdbc.execute("CREATE TABLE parking_lots (id BIGINT PRIMARY KEY)");
+        jdbc.execute("CREATE TABLE parking_spaces (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "parking_lot_id BIGINT NOT NULL, space_number VARCHAR(20) NOT NULL, floor_level INT, "
+                + "section VARCHAR(50), space_type VARCHAR(50), status VARCHAR(20), has_charger BOOLEAN, "
+                + "charger_type VARCHAR(50), length_cm INT, width_cm INT, hourly_rate_override DECIMAL(10,2), "
+                + "daily_rate_override DECIMAL(10,2), created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP NOT NULL, "
+                + "last_occupied_at TIMESTAMP, UNIQUE (parking_lot_id, space_number))");
+        jdbc.update("INSERT INTO parking_lots VALUES (1), (2)");
+        when(repository.findAllById(any())).thenAnswer(call -> {
+            List<ParkingSpace> spaces = new ArrayList<>();
+            for (Long id : call.<Iterable<Long>>getArgument(0)) {
+                spaces.addAll(jdbc.query("SELECT * FROM parking_spaces WHERE id = ?", (rs, n) -> {
+                    ParkingSpace space = new ParkingSpace();
+                    space.setId(rs.getLong("id"));
+                    space.setParkingLotId(rs.getLong("parking_lot_id"));
+                    space.setSpaceNumber(rs.getString("space_number"));
+                    space.setFloorLevel(rs.getInt("floor_level"));
+                    space.setSpaceType(rs.getString("space_type"));
+                    space.setStatus(rs.getString("status"));
+                    space.setHasCharger(rs.getBoolean("has_charger"));
+                    space.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+                    return space;
+                }, id));
+            }
+            return spaces;
+        });
+        writer = new SpaceBulkWriter(jdbc, new TransactionTemplate(new DataSourceTransactionManager(database)),
+                repository, index, mock(OccupancyIndexSynchronizer.class), 2, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("SHUTDOWN");
+    }
+
+    private static SpaceImportRow row(long lotId, String number) {
+        return new SpaceImportRow().lotId(lotId).spaceNumber(number);
+    }
+
+    private long spaceId(String number) {
+        return jdbc.queryForObject("SELECT id FROM parking_spaces WHERE space_number = ?", Long.class, number);
+    }
+
+    private String status(String number) {
+        return jdbc.queryForObject("SELECT status FROM parking_spaces WHERE space_number = ?", String.class, number);
+    }
+
+    @Test
+    @DisplayName("Valid rows are created with defaults; invalid and duplicate rows are reported by position")
+    void importReportsRowErrors() {
+        jdbc.update("INSERT INTO parking_spaces (parking_lot_id, space_number, created_at, updated_at) "
+                + "VALUES (1, 'A-03', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+
+        BulkOperationResult result = writer.importSpaces(List.of(
+                row(1, "A-01"),
+                row(1, "A-02").type("ELECTRIC").chargerType("Type 2").lengthCm(500).widthCm(250),
+                row(1, "A-03"),
+                row(9, "A-04"),
+                row(1, "A-05").type("TRUCK"),
+                row(1, "A-06").lengthCm(500),
+                row(1, "A-01"),
+                row(2, "A-01")));
+
+        assertThat(result.getTotal()).isEqualTo(8);
+        assertThat(result.getApplied()).isEqualTo(3);
+        assertThat(result.getRejected()).isEqualTo(5);
+        assertThat(result.getErrors()).extracting(BulkRowError::getRow).containsExactlyInAnyOrder(3, 4, 5, 6, 7);
+        assertThat(result.getErrors()).filteredOn(e -> e.getRow() == 3).singleElement()
+                .extracting(BulkRowError::getMessage).asString().contains("already exists");
+        assertThat(jdbc.queryForMap("SELECT * FROM parking_spaces WHERE space_number = 'A-02'"))
+                .containsEntry("HAS_CHARGER", true)
+                .containsEntry("CHARGER_TYPE", "Type 2")
+                .containsEntry("STATUS", "AVAILABLE")
+                .containsEntry("FLOOR_LEVEL", 0);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM parking_spaces", Integer.class)).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("CSV columns may come in any order and case; unreadable lines become row errors")
+    void importsCsv() {
+        String csv = """
+                SpaceNumber,lotId,section,chargerType
+                B-01,1,"North, upper",
+                B-02,1,South,"Type ""2""\"
+
+                B-03,one,South,
+                """;
+
+        BulkOperationResult result = writer.importCsv(new StringReader(csv));
+
+        assertThat(result.getApplied()).isEqualTo(2);
+        assertThat(result.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getRow()).isEqualTo(3);
+            assertThat(error.getMessage()).contains("lotId");
+        });
+        assertThat(jdbc.queryForObject("SELECT section FROM parking_spaces WHERE space_number = 'B-01'", String.class))
+                .isEqualTo("North, upper");
+        assertThat(jdbc.queryForObject("SELECT charger_type FROM parking_spaces WHERE space_number = 'B-02'", String.class))
+                .isEqualTo("Type \"2\"");
+        assertThatThrownBy(() -> writer.importCsv(new StringReader("lotId,colour\n1,red\n")))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    @DisplayName("Status batches apply, skip unchanged spaces and reject stale or unknown ones")
+    void statusBatch() {
+        writer.importSpaces(List.of(row(1, "C-01"), row(1, "C-02"), row(1, "C-03").status("OCCUPIED"), row(1, "C-04")));
+
+        BulkOperationResult result = writer.updateStatuses(List.of(
+                new SpaceStatusUpdate().spaceId(spaceId("C-01")).status(SpaceStatusUpdate.StatusEnum.OCCUPIED),
+                new SpaceStatusUpdate().spaceId(spaceId("C-02")).status(SpaceStatusUpdate.StatusEnum.AVAILABLE),
+                new SpaceStatusUpdate().spaceId(spaceId("C-03")).status(SpaceStatusUpdate.StatusEnum.RESERVED)
+                        .expectedStatus(SpaceStatusUpdate.ExpectedStatusEnum.AVAILABLE),
+                new SpaceStatusUpdate().spaceId(999L).status(SpaceStatusUpdate.StatusEnum.OCCUPIED),
+                new SpaceStatusUpdate().spaceId(spaceId("C-04")).status(SpaceStatusUpdate.StatusEnum.RESERVED)
+                        .expectedStatus(SpaceStatusUpdate.ExpectedStatusEnum.AVAILABLE)));
+
+        assertThat(result.getApplied()).isEqualTo(2);
+        assertThat(result.getUnchanged()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(BulkRowError::getRow).containsExactlyInAnyOrder(3, 4);
+        assertThat(status("C-01")).isEqualTo("OCCUPIED");
+        assertThat(status("C-03")).isEqualTo("OCCUPIED");
+        assertThat(status("C-04")).isEqualTo("RESERVED");
+        assertThat(jdbc.queryForObject("SELECT last_occupied_at IS NOT NULL FROM parking_spaces WHERE space_number = 'C-01'",
+                Boolean.class)).isTrue();
+        assertThat(index.count(SpaceFilter.status("RESERVED"))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Requests over the row limit are refused before anything is written")
+    void rowLimit() {
+        List<SpaceImportRow> rows = new ArrayList<>();
+        for (int i = 0; i <= 100; i++) {
+            rows.add(row(1, "D-" + i));
+        }
+
+        assertThatThrownBy(() -> writer.importSpaces(rows))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM parking_spaces", Integer.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("A CSV import stops reading at the row limit and reports it once")
+    void csvRowLimit() {
+        StringBuilder csv = new StringBuilder("lotId,spaceNumber\n");
+        for (int i = 1; i <= 250; i++) {
+            csv.append("1,E-").append(i).append('\n');
+        }
+
+        BulkOperationResult result = writer.importCsv(new StringReader(csv.toString()));
+
+        assertThat(result.getApplied()).isEqualTo(100);
+        assertThat(result.getTotal()).isEqualTo(101);
+        assertThat(result.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getRow()).isEqualTo(101);
+            assertThat(error.getMessage()).startsWith("import is limited to 100 rows");
+        });
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM parking_spaces", Integer.class)).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Rows of a chunk the database refuses are marked retryable, row conflicts are not")
+    void chunkFailureIsRetryable() {
+        writer.importSpaces(List.of(row(1, "F-01").status("OCCUPIED")));
+        long id = spaceId("F-01");
+        BulkOperationResult conflict = writer.updateStatuses(List.of(new SpaceStatusUpdate().spaceId(id)
+                .status(SpaceStatusUpdate.StatusEnum.RESERVED).expectedStatus(SpaceStatusUpdate.ExpectedStatusEnum.AVAILABLE)));
+        assertThat(conflict.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getRetryable()).isNotEqualTo(Boolean.TRUE));
+
+        jdbc.execute("ALTER TABLE parking_spaces RENAME TO parking_spaces_away");
+        BulkOperationResult failed = writer.updateStatuses(List.of(
+                new SpaceStatusUpdate().spaceId(id).status(SpaceStatusUpdate.StatusEnum.AVAILABLE)));
+
+        assertThat(failed.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getRetryable()).isTrue();
+            assertThat(error.getMessage()).startsWith("chunk rejected by the database");
+        });
+    }
+}
@@ -0,0 +1,58 @@
+package com.parking.management_service.config;
+
+import com.parking.common.datasource.ReadReplicaAutoConfiguration;
+import com.parking.common.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the read-replica auto-configuration from parking-common: the routing data
+ * source replaces the default pool only when the replica is enabled.
+ */
+@DisplayName("ReadReplicaAutoConfiguration - conditional replica routing")
+class ReadReplicaAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            // Converts "PT2S" and the like for @Value, as SpringApplication does
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withConfiguration(AutoConfigurations.of(ReadReplicaAutoConfiguration.class, DataSourceAutoConfiguration.class))
+            .withPropertyValues(
+                    "spring.datasource.url=jdbc:h2:mem:primary-autoconfig;DB_CLOSE_DELAY=-1",
+                    "spring.datasource.username=sa",
+                    "spring.datasource.password=",
+                    "parking.datasource.replica.url=jdbc:h2:mem:replica-autoconfig;DB_CLOSE_DELAY=-1");
+
+    @Test
+    @DisplayName("Disabled by default: the single default pool is used")
+    void disabledByDefault() {
+        contextRunner.run(context -> {
+            assertThat(context).hasSingleBean(DataSource.class).doesNotHaveBean(ReplicaLagMonitor.class);
+            assertThat(context.getBean(DataSource.class)).isInstanceOf(HikariDataSource.class);
+        });
+    }
+
+    @Test
+    @DisplayName("Enabled: a primary and a read-only replica pool behind the routing data source")
+    void enabled() {
+        contextRunner.withPropertyValues("parking.datasource.replica.enabled=true").run(context -> {
+            assertThat(context).hasSingleBean(ReplicaLagMonitor.class);
+            assertThat(context.getBean(DataSource.class)).isInstanceOf(LazyConnectionDataSourceProxy.class);
+            assertThat(context.getBean("primaryDataSource", HikariDataSource.class).getPoolName()).isEqualTo("primary");
+            HikariDataSource replica = context.getBean("replicaDataSource", HikariDataSource.class);
+            assertThat(replica.getPoolName()).isEqualTo("replica");
+            assertThat(replica.isReadOnly()).isTrue();
+            assertThat(replica.getUsername()).isEqualTo("sa");
+        });
+    }
+}
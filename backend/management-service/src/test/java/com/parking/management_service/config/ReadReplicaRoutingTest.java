@@ -0,0 +1,132 @@
+package com.parking.management_service.config;
+
+import com.parking.common.datasource.ReadYourWritesTracker;
+import com.parking.common.datasource.ReplicaLagMonitor;
+import com.parking.common.datasource.ReplicaRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for read-replica routing against two embedded H2 databases, each of which
+ * answers "which database am I". The replica reports its lag from a one-row table.
+ */
+@DisplayName("ReplicaRoutingDataSource - read-only routing, lag guard and read-your-writes")
+class ReadReplicaRoutingTest {
+
+    private final JdbcTemplate primary = database("primary");
+    private final JdbcTemplate replica = database("replica");
+    private final ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(replica.getDataSource(),
+            "SELECT lag_ms FROM replica_lag", Duration.ofSeconds(2), Duration.ofSeconds(1));
+    private final AtomicReference<String> caller = new AtomicReference<>();
+
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    private static JdbcTemplate database(String name) {
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+        jdbc.execute("CREATE TABLE whoami (name VARCHAR(20))");
+        jdbc.update("INSERT INTO whoami VALUES (?)", name);
+        return jdbc;
+    }
+
+    private void route(Duration readYourWritesWindow) {
+        DataSource routing = ReplicaRoutingDataSource.create(primary.getDataSource(), replica.getDataSource(),
+                lagMonitor, new ReadYourWritesTracker(readYourWritesWindow, caller::get));
+        jdbc = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactions = new DataSourceTransactionManager(routing);
+        readOnly = new TransactionTemplate(transactions);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactions);
+    }
+
+    private void replicaLag(long millis) {
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_lag (lag_ms BIGINT)");
+        replica.update("DELETE FROM replica_lag");
+        replica.update("INSERT INTO replica_lag VALUES (?)", millis);
+        lagMonitor.check();
+    }
+
+    private String whoami() {
+        return jdbc.queryForObject("SELECT name FROM whoami", String.class);
+    }
+
+    private String readOnlyTransaction() {
+        return readOnly.execute(status -> whoami());
+    }
+
+    @AfterEach
+    void tearDown() {
+        lagMonitor.close();
+        primary.execute("SHUTDOWN");
+        replica.execute("SHUTDOWN");
+    }
+
+    @Test
+    @DisplayName("Only read-only transactions go to the replica")
+    void readOnlyTransactionsUseReplica() {
+        route(Duration.ZERO);
+        replicaLag(0);
+
+        String readWriteTarget = readWrite.execute(status -> whoami());
+
+        assertThat(readOnlyTransaction()).isEqualTo("replica");
+        assertThat(readWriteTarget).isEqualTo("primary");
+        assertThat(whoami()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("A replica behind by more than max-lag, or of unknown lag, is not read from")
+    void lagGuard() {
+        route(Duration.ZERO);
+        assertThat(readOnlyTransaction()).isEqualTo("primary");
+
+        replicaLag(5_000);
+        assertThat(lagMonitor.lagMillis()).isEqualTo(5_000);
+        assertThat(readOnlyTransaction()).isEqualTo("primary");
+
+        replicaLag(1_500);
+        assertThat(readOnlyTransaction()).isEqualTo("replica");
+
+        replica.execute("DROP TABLE replica_lag");
+        lagMonitor.check();
+        assertThat(lagMonitor.isReplicaUsable()).isFalse();
+        assertThat(readOnlyTransaction()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("After a write, the writing thread and caller read from the primary; others do not")
+    void readYourWrites() throws Exception {
+        route(Duration.ofMinutes(1));
+        replicaLag(0);
+
+        caller.set("alice");
+        readWrite.executeWithoutResult(status -> jdbc.update("UPDATE whoami SET name = name"));
+        assertThat(readOnlyTransaction()).isEqualTo("primary");
+
+        // Alice's next request, on another thread
+        assertThat(CompletableFuture.supplyAsync(() -> {
+            caller.set("alice");
+            return readOnlyTransaction();
+        }).get()).isEqualTo("primary");
+        // Another caller on another thread
+        assertThat(CompletableFuture.supplyAsync(() -> {
+            caller.set("bob");
+            return readOnlyTransaction();
+        }).get()).isEqualTo("replica");
+    }
+}
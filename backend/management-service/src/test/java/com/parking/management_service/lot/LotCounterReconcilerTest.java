@@ -0,0 +1,66 @@
+package com.parking.management_service.lot;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the lot counter drift correction, against an embedded H2 database.
+ */
+@DisplayName("LotCounterReconciler - drift correction of lot space counters")
+class LotCounterReconcilerTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbc;
+    private LotCounterReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbc = new JdbcTemplate(database);
+        jdbc.execute("CREATE TABLE parking_lots (id BIGINT PRIMARY KEY, total_spaces INT NOT NULL, "
+                + "available_spaces INT NOT NULL, updated_at TIMESTAMP)");
+        jdbc.execute("CREATE TABLE parking_spaces (id BIGINT PRIMARY KEY, parking_lot_id BIGINT NOT NULL, "
+                + "status VARCHAR(20))");
+        reconciler = new LotCounterReconciler(jdbc,
+                new TransactionTemplate(new DataSourceTransactionManager(database)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    private Map<String, Object> counters(long lotId) {
+        return jdbc.queryForMap("SELECT total_spaces, available_spaces FROM parking_lots WHERE id = ?", lotId);
+    }
+
+    @Test
+    @DisplayName("Only lots whose counters disagree with their spaces are recounted")
+    void recountsDriftedLots() {
+        jdbc.update("INSERT INTO parking_lots (id, total_spaces, available_spaces) VALUES (1, 2, 1), (2, 9, 9), (3, 4, 0)");
+        jdbc.update("INSERT INTO parking_spaces VALUES (1, 1, 'AVAILABLE'), (2, 1, 'OCCUPIED'), "
+                + "(3, 2, 'AVAILABLE'), (4, 2, 'RESERVED')");
+
+        assertThat(reconciler.reconcile()).isEqualTo(2);
+
+        assertThat(counters(1)).containsEntry("TOTAL_SPACES", 2).containsEntry("AVAILABLE_SPACES", 1);
+        assertThat(counters(2)).containsEntry("TOTAL_SPACES", 2).containsEntry("AVAILABLE_SPACES", 1);
+        assertThat(counters(3)).containsEntry("TOTAL_SPACES", 0).containsEntry("AVAILABLE_SPACES", 0);
+        assertThat(reconciler.reconcile()).isZero();
+    }
+}
@@ -0,0 +1,122 @@
+package com.parking.management_service.lot;
+
+import com.parking.common.entity.ParkingSpace;
+import com.parking.management_service.lot.LotLocator.LotLocation;
+import com.parking.management_service.lot.LotLocator.NearbyLot;
+import com.parking.management_service.mapper.ParkingSpaceMapper;
+import com.parking.management_service.occupancy.OccupancyIndex;
+import com.parking.management_service.occupancy.SpaceFilter;
+import com.parking.management_service.repository.ParkingLotRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for the nearest-lot grid search.
+ */
+@DisplayName("LotLocator - grid nearest-lot search with live availability")
+class LotLocatorTest {
+
+    private final OccupancyIndex index = new OccupancyIndex(new ParkingSpaceMapper());
+    private final LotLocator locator = new LotLocator(mock(ParkingLotRepository.class), index, 0.05);
+    private long nextSpaceId = 1;
+
+    private void addSpaces(long lotId, String type, String status, int count) {
+        for (int i = 0; i < count; i++) {
+            ParkingSpace space = new ParkingSpace();
+            space.setId(nextSpaceId++);
+            space.setParkingLotId(lotId);
+            space.setSpaceNumber("S-" + space.getId());
+            space.setFloorLevel(0);
+            space.setSpaceType(type);
+            space.setStatus(status);
+            space.setHasCharger("ELECTRIC".equals(type));
+            space.setUpdatedAt(LocalDateTime.of(2026, 1, 1, 0, 0));
+            index.put(space);
+        }
+    }
+
+    private static List<Long> ids(List<NearbyLot> lots) {
+        return lots.stream().map(n -> n.lot().lotId()).toList();
+    }
+
+    @Test
+    @DisplayName("Lots are returned nearest first, within the radius and up to the limit")
+    void nearestFirst() {
+        locator.load(List.of(
+                new LotLocation(1L, "Far", 50.50, 30.52),
+                new LotLocation(2L, "Near", 50.451, 30.524),
+                new LotLocation(3L, "Middle", 50.46, 30.53),
+                new LotLocation(4L, "Other city", 49.84, 24.03)));
+        for (long lot = 1; lot <= 4; lot++) {
+            addSpaces(lot, "STANDARD", "AVAILABLE", 1);
+        }
+
+        assertThat(ids(locator.nearest(50.4501, 30.5234, 10_000, 10, 1, null))).containsExactly(2L, 3L, 1L);
+        assertThat(ids(locator.nearest(50.4501, 30.5234, 10_000, 2, 1, null))).containsExactly(2L, 3L);
+        assertThat(ids(locator.nearest(50.4501, 30.5234, 500, 10, 1, null))).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Only lots with enough free spaces of the requested type qualify")
+    void filtersByLiveAvailability() {
+        locator.load(List.of(
+                new LotLocation(1L, "No chargers free", 50.451, 30.524),
+                new LotLocation(2L, "Two chargers free", 50.46, 30.53),
+                new LotLocation(3L, "One charger free", 50.455, 30.525)));
+        addSpaces(1, "ELECTRIC", "OCCUPIED", 3);
+        addSpaces(1, "STANDARD", "AVAILABLE", 5);
+        addSpaces(2, "ELECTRIC", "AVAILABLE", 2);
+        addSpaces(3, "ELECTRIC", "AVAILABLE", 1);
+
+        List<NearbyLot> lots = locator.nearest(50.4501, 30.5234, 5_000, 10, 2, "ELECTRIC");
+
+        assertThat(ids(lots)).containsExactly(2L);
+        assertThat(lots.get(0).availableSpaces()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Lots across the antimeridian are found")
+    void wrapsAroundAntimeridian() {
+        locator.load(List.of(new LotLocation(1L, "East", -17.0, 179.99), new LotLocation(2L, "West", -17.0, -179.99)));
+        addSpaces(1, "STANDARD", "AVAILABLE", 1);
+        addSpaces(2, "STANDARD", "AVAILABLE", 1);
+
+        assertThat(ids(locator.nearest(-17.0, 179.995, 5_000, 10, 1, null))).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Results match a brute-force scan of randomly placed lots")
+    void matchesBruteForce() {
+        Random random = new Random(42);
+        List<LotLocation> lots = new ArrayList<>();
+        for (long id = 1; id <= 3_000; id++) {
+            lots.add(new LotLocation(id, "Lot " + id, 50 + random.nextDouble(), 30 + random.nextDouble() * 1.5));
+            addSpaces(id, "STANDARD", random.nextInt(3) == 0 ? "OCCUPIED" : "AVAILABLE", 1);
+        }
+        locator.load(lots);
+
+        for (int query = 0; query < 50; query++) {
+            double latitude = 50 + random.nextDouble();
+            double longitude = 30 + random.nextDouble() * 1.5;
+            List<Long> expected = lots.stream()
+                    .filter(lot -> index.count(new SpaceFilter(lot.lotId(), null, null, null, "AVAILABLE")) >= 1)
+                    .filter(lot -> LotLocator.distanceMeters(latitude, longitude, lot.latitude(), lot.longitude()) <= 20_000)
+                    .sorted(Comparator.comparingDouble(
+                            lot -> LotLocator.distanceMeters(latitude, longitude, lot.latitude(), lot.longitude())))
+                    .limit(5)
+                    .map(LotLocation::lotId)
+                    .toList();
+
+            assertThat(ids(locator.nearest(latitude, longitude, 20_000, 5, 1, null))).isEqualTo(expected);
+        }
+    }
+}
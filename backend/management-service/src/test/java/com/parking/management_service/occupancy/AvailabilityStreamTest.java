@@ -0,0 +1,105 @@
+package com.parking.management_service.occupancy;
+
+import com.parking.common.entity.ParkingSpace;
+import com.parking.management_service.mapper.ParkingSpaceMapper;
+import com.parking.management_service.occupancy.OccupancyIndex.AreaAvailability;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the availability push stream: snapshot on connect and coalesced deltas.
+ */
+@DisplayName("AvailabilityStream - snapshot and coalesced deltas")
+class AvailabilityStreamTest {
+
+    private final OccupancyIndex index = new OccupancyIndex(new ParkingSpaceMapper());
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+
+    private final AvailabilityStream stream = new AvailabilityStream(index, 10, Duration.ofMinutes(1)) {
+        @Override
+        SseEmitter newEmitter(long timeoutMillis) {
+            RecordingEmitter emitter = new RecordingEmitter();
+            emitters.add(emitter);
+            return emitter;
+        }
+    };
+
+    /** Captures the payloads that would have been written to the client. */
+    private static class RecordingEmitter extends SseEmitter {
+        final List<AvailabilityStream.Message> messages = new ArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            builder.build().stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .filter(AvailabilityStream.Message.class::isInstance)
+                    .map(AvailabilityStream.Message.class::cast)
+                    .forEach(messages::add);
+        }
+    }
+
+    private static ParkingSpace space(long id, long lotId, String section, String status, int minute) {
+        ParkingSpace space = new ParkingSpace();
+        space.setId(id);
+        space.setParkingLotId(lotId);
+        space.setSpaceNumber("S-" + id);
+        space.setFloorLevel(0);
+        space.setSection(section);
+        space.setSpaceType("STANDARD");
+        space.setStatus(status);
+        space.setHasCharger(false);
+        space.setUpdatedAt(LocalDateTime.of(2026, 1, 1, 0, minute));
+        return space;
+    }
+
+    @Test
+    @DisplayName("A new subscriber receives the lot and its sections as a snapshot")
+    void snapshotOnSubscribe() {
+        index.reconcile(List.of(
+                space(1, 1, "North", "AVAILABLE", 0),
+                space(2, 1, "North", "OCCUPIED", 0),
+                space(3, 2, "South", "AVAILABLE", 0)), 0, true);
+
+        stream.subscribe(1L);
+
+        assertThat(emitters.get(0).messages).hasSize(1);
+        assertThat(emitters.get(0).messages.get(0).areas()).containsExactlyInAnyOrder(
+                new AreaAvailability(1L, null, 1, 2),
+                new AreaAvailability(1L, "North", 1, 2));
+        assertThat(stream.subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A burst of changes is published as one delta, only to subscribers of that lot")
+    void burstIsCoalesced() {
+        index.reconcile(List.of(
+                space(1, 1, "North", "AVAILABLE", 0),
+                space(2, 1, "North", "AVAILABLE", 0),
+                space(3, 2, "South", "AVAILABLE", 0)), 0, true);
+        index.drainChangedAreas();
+        stream.subscribe(1L);
+        stream.subscribe(2L);
+
+        index.put(space(1, 1, "North", "OCCUPIED", 1));
+        index.put(space(2, 1, "North", "OCCUPIED", 1));
+        index.put(space(1, 1, "North", "AVAILABLE", 2));
+        stream.publishChanges();
+        stream.publishChanges();
+
+        RecordingEmitter lotOne = emitters.get(0);
+        assertThat(lotOne.messages).hasSize(2);
+        assertThat(lotOne.messages.get(1).areas()).containsExactlyInAnyOrder(
+                new AreaAvailability(1L, null, 1, 2),
+                new AreaAvailability(1L, "North", 1, 2));
+        assertThat(emitters.get(1).messages).hasSize(1);
+    }
+}
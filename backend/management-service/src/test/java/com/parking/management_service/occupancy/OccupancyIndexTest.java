@@ -0,0 +1,159 @@
+package com.parking.management_service.occupancy;
+
+import com.parking.common.entity.ParkingSpace;
+import com.parking.management_service.generated.model.ParkingSpaceResponse;
+import com.parking.management_service.mapper.ParkingSpaceMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the in-memory occupancy index: bitset lookups and reconciliation.
+ */
+@DisplayName("OccupancyIndex - bitset lookups and reconciliation")
+class OccupancyIndexTest {
+
+    private final OccupancyIndex index = new OccupancyIndex(new ParkingSpaceMapper());
+
+    private static ParkingSpace space(long id, long lotId, int floor, String section, String type, String status) {
+        ParkingSpace space = new ParkingSpace();
+        space.setId(id);
+        space.setParkingLotId(lotId);
+        space.setSpaceNumber("S-" + id);
+        space.setFloorLevel(floor);
+        space.setSection(section);
+        space.setSpaceType(type);
+        space.setStatus(status);
+        space.setHasCharger(false);
+        space.setUpdatedAt(LocalDateTime.of(2026, 1, 1, 0, 0).plusSeconds(id));
+        return space;
+    }
+
+    private static List<Long> ids(List<ParkingSpaceResponse> responses) {
+        return responses.stream().map(ParkingSpaceResponse::getSpaceId).toList();
+    }
+
+    @Test
+    @DisplayName("Criteria are combined with AND; unknown values match nothing")
+    void combinedFilters() {
+        index.reconcile(List.of(
+                space(1, 1, 0, "North", "STANDARD", "AVAILABLE"),
+                space(2, 1, 1, "North", "ELECTRIC", "AVAILABLE"),
+                space(3, 1, 1, "South", "ELECTRIC", "OCCUPIED"),
+                space(4, 2, 1, "North", "ELECTRIC", "AVAILABLE")), 0, true);
+
+        assertThat(index.count(SpaceFilter.ALL)).isEqualTo(4);
+        assertThat(index.count(SpaceFilter.status("AVAILABLE"))).isEqualTo(3);
+        assertThat(ids(index.find(new SpaceFilter(1L, 1, null, "ELECTRIC", null)))).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(ids(index.find(new SpaceFilter(1L, null, "North", null, "AVAILABLE")))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.count(new SpaceFilter(3L, null, null, null, null))).isZero();
+        assertThat(index.find(SpaceFilter.status("RESERVED"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("A status change moves the space between status sets")
+    void statusChange() {
+        index.put(space(1, 1, 0, null, "STANDARD", "AVAILABLE"));
+        ParkingSpace occupied = space(1, 1, 0, null, "STANDARD", "OCCUPIED");
+        occupied.setUpdatedAt(occupied.getUpdatedAt().plusMinutes(1));
+
+        index.put(occupied);
+
+        assertThat(index.count(SpaceFilter.status("AVAILABLE"))).isZero();
+        assertThat(index.find(SpaceFilter.status("OCCUPIED")))
+                .singleElement()
+                .extracting(ParkingSpaceResponse::getStatus)
+                .isEqualTo(ParkingSpaceResponse.StatusEnum.OCCUPIED);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Removed spaces free their slot for new ones")
+    void removeReusesSlot() {
+        index.put(space(1, 1, 0, null, "STANDARD", "AVAILABLE"));
+        index.put(space(2, 1, 0, null, "STANDARD", "AVAILABLE"));
+
+        index.remove(1L);
+        index.put(space(3, 1, 0, null, "STANDARD", "AVAILABLE"));
+
+        assertThat(ids(index.find(SpaceFilter.ALL))).containsExactly(3L, 2L);
+    }
+
+    @Test
+    @DisplayName("A snapshot older than a commit event does not overwrite or resurrect spaces")
+    void olderSnapshotLosesToCommitEvents() {
+        index.reconcile(List.of(space(1, 1, 0, null, "STANDARD", "AVAILABLE"),
+                space(2, 1, 0, null, "STANDARD", "AVAILABLE")), 0, true);
+        long snapshotTakenAt = index.sequence();
+        // Committed while the snapshot below was being read
+        index.put(space(1, 1, 0, null, "STANDARD", "OCCUPIED"));
+        index.remove(2L);
+
+        index.reconcile(List.of(space(1, 1, 0, null, "STANDARD", "AVAILABLE"),
+                space(2, 1, 0, null, "STANDARD", "AVAILABLE")), snapshotTakenAt, true);
+
+        assertThat(ids(index.find(SpaceFilter.status("OCCUPIED")))).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A full snapshot drops spaces deleted elsewhere")
+    void completeSnapshotDropsMissingSpaces() {
+        index.reconcile(List.of(space(1, 1, 0, null, "STANDARD", "AVAILABLE"),
+                space(2, 1, 0, null, "STANDARD", "AVAILABLE")), 0, true);
+
+        index.reconcile(List.of(space(2, 1, 0, null, "STANDARD", "AVAILABLE")), index.sequence(), true);
+
+        assertThat(ids(index.find(SpaceFilter.ALL))).containsExactly(2L);
+        assertThat(index.isLoaded()).isTrue();
+    }
+
+    private static ParkingSpace charger(long id, String chargerType, Integer lengthCm, Integer widthCm) {
+        ParkingSpace space = space(id, 1, 0, null, "ELECTRIC", "AVAILABLE");
+        space.setHasCharger(chargerType != null);
+        space.setChargerType(chargerType);
+        space.setLengthCm(lengthCm);
+        space.setWidthCm(widthCm);
+        return space;
+    }
+
+    @Test
+    @DisplayName("A query combines charger and size criteria with the filter")
+    void equipmentAndSizeQuery() {
+        index.reconcile(List.of(
+                charger(1, "Type 2", 500, 250),
+                charger(2, "CCS", 500, 250),
+                charger(3, "Type 2", 450, 250),
+                charger(4, "Type 2", null, 260),
+                charger(5, null, 550, 300)), 0, true);
+
+        SpaceQuery type2 = new SpaceQuery(SpaceFilter.status("AVAILABLE"), null, "Type 2", 480, 240);
+        assertThat(ids(index.page(type2, null, 10))).containsExactly(1L);
+        assertThat(ids(index.page(new SpaceQuery(null, true, null, null, null), null, 10)))
+                .containsExactly(1L, 2L, 3L, 4L);
+        assertThat(ids(index.page(new SpaceQuery(null, false, null, 500, null), null, 10))).containsExactly(5L);
+        assertThat(index.page(new SpaceQuery(null, null, "CHAdeMO", null, null), null, 10)).isEmpty();
+
+        index.put(charger(2, "Type 2", 500, 250));
+        assertThat(ids(index.page(type2, null, 10))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Pages follow space id order whatever the slot order, and resume after the cursor id")
+    void pagesInIdOrder() {
+        for (long id : new long[] {7, 3, 9, 1, 5, 8, 2}) {
+            index.put(space(id, 1, 0, null, "STANDARD", id == 8 ? "OCCUPIED" : "AVAILABLE"));
+        }
+        SpaceQuery available = SpaceQuery.of(SpaceFilter.status("AVAILABLE"));
+
+        assertThat(ids(index.page(available, null, 3))).containsExactly(1L, 2L, 3L);
+        // A space changing state behind the cursor does not shift the next page
+        index.put(space(2, 1, 0, null, "STANDARD", "OCCUPIED"));
+        assertThat(ids(index.page(available, 3L, 3))).containsExactly(5L, 7L, 9L);
+        assertThat(index.page(available, 9L, 3)).isEmpty();
+    }
+}
@@ -0,0 +1,200 @@
+package com.parking.management_service.sensor;
+
+import com.parking.common.entity.ParkingSpace;
+import com.parking.management_service.bulk.SpaceBulkWriter;
+import com.parking.management_service.generated.model.BulkOperationResult;
+import com.parking.management_service.generated.model.BulkRowError;
+import com.parking.management_service.generated.model.SensorReading;
+import com.parking.management_service.generated.model.SpaceStatusUpdate;
+import com.parking.management_service.mapper.ParkingSpaceMapper;
+import com.parking.management_service.occupancy.OccupancyIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for sensor debouncing: readings are fed with explicit receive times
+ * (confirmation after 5 s for arrivals, 15 s for departures).
+ */
+@DisplayName("OccupancySensorIngestor - debouncing, hysteresis and coalesced writes")
+class OccupancySensorIngestorTest {
+
+    private final OccupancyIndex index = new OccupancyIndex(new ParkingSpaceMapper());
+    private final SpaceBulkWriter bulkWriter = mock(SpaceBulkWriter.class);
+    private final OccupancySensorIngestor ingestor = new OccupancySensorIngestor(index, bulkWriter,
+            Duration.ofSeconds(5), Duration.ofSeconds(15), 100);
+
+    @BeforeEach
+    void setUp() {
+        when(bulkWriter.updateStatuses(any())).thenAnswer(call -> new BulkOperationResult()
+                .applied(call.<List<SpaceStatusUpdate>>getArgument(0).size()).rejected(0).errors(List.of()));
+    }
+
+    private void space(long id, String status) {
+        ParkingSpace space = new ParkingSpace();
+        space.setId(id);
+        space.setParkingLotId(1L);
+        space.setSpaceNumber("S-" + id);
+        space.setFloorLevel(0);
+        space.setSpaceType("STANDARD");
+        space.setStatus(status);
+        space.setHasCharger(false);
+        space.setUpdatedAt(LocalDateTime.of(2026, 1, 1, 0, 0));
+        index.put(space);
+    }
+
+    /** One reading received {@code seconds} into the test. */
+    private void read(long spaceId, boolean occupied, double seconds) {
+        long at = (long) (seconds * 1000);
+        ingestor.accept(spaceId, occupied, at, at);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<SpaceStatusUpdate>> captor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    private List<SpaceStatusUpdate> written() {
+        ArgumentCaptor<List<SpaceStatusUpdate>> updates = captor();
+        verify(bulkWriter).updateStatuses(updates.capture());
+        return updates.getValue();
+    }
+
+    @Test
+    @DisplayName("Flicker shorter than the confirmation period is never written")
+    void flickerIsDebounced() {
+        space(1, "AVAILABLE");
+        for (int second = 0; second < 30; second++) {
+            read(1, second % 4 == 0, second);
+        }
+        ingestor.flush(30_000);
+
+        verify(bulkWriter, never()).updateStatuses(any());
+    }
+
+    @Test
+    @DisplayName("An arrival is confirmed after 5 s, a departure only after 15 s")
+    void arrivalAndDepartureUseDifferentDelays() {
+        space(1, "AVAILABLE");
+        read(1, true, 0);
+        read(1, true, 4.9);
+        ingestor.flush(4_900);
+        verify(bulkWriter, never()).updateStatuses(any());
+
+        read(1, true, 5);
+        ingestor.flush(5_000);
+        assertThat(written()).singleElement().satisfies(update -> {
+            assertThat(update.getStatus()).isEqualTo(SpaceStatusUpdate.StatusEnum.OCCUPIED);
+            assertThat(update.getExpectedStatus()).isEqualTo(SpaceStatusUpdate.ExpectedStatusEnum.AVAILABLE);
+        });
+        space(1, "OCCUPIED");
+
+        read(1, false, 10);
+        ingestor.flush(20_000);
+        verify(bulkWriter, times(1)).updateStatuses(any());
+        // No new reading needed: the candidate matures on the flush
+        ingestor.flush(25_000);
+        verify(bulkWriter, times(2)).updateStatuses(any());
+    }
+
+    @Test
+    @DisplayName("Changes confirmed between flushes are written as one batch")
+    void changesAreCoalesced() {
+        for (long id = 1; id <= 3; id++) {
+            space(id, "AVAILABLE");
+            read(id, true, 0);
+            read(id, true, 6);
+        }
+        ingestor.flush(6_000);
+
+        assertThat(written()).extracting(SpaceStatusUpdate::getSpaceId).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    @DisplayName("A batch whose write fails is retried on the next flush")
+    void failedWriteIsRetried() {
+        space(1, "AVAILABLE");
+        read(1, true, 0);
+        read(1, true, 5);
+        doThrow(new DataAccessResourceFailureException("connection lost")).when(bulkWriter).updateStatuses(any());
+        assertThatThrownBy(() -> ingestor.flush(5_000)).isInstanceOf(DataAccessResourceFailureException.class);
+
+        doReturn(new BulkOperationResult().applied(1).rejected(0).errors(List.of()))
+                .when(bulkWriter).updateStatuses(any());
+        ingestor.flush(6_000);
+        ArgumentCaptor<List<SpaceStatusUpdate>> updates = captor();
+        verify(bulkWriter, times(2)).updateStatuses(updates.capture());
+        assertThat(updates.getValue()).singleElement()
+                .extracting(SpaceStatusUpdate::getStatus).isEqualTo(SpaceStatusUpdate.StatusEnum.OCCUPIED);
+    }
+
+    @Test
+    @DisplayName("Changes whose chunk the database refused are retried, not dropped")
+    void chunkRejectionIsRetried() {
+        space(1, "AVAILABLE");
+        read(1, true, 0);
+        read(1, true, 5);
+        doReturn(new BulkOperationResult().applied(0).rejected(1).errors(List.of(new BulkRowError().row(1).spaceId(1L)
+                .retryable(true).message("chunk rejected by the database: connection lost"))))
+                .when(bulkWriter).updateStatuses(any());
+        ingestor.flush(5_000);
+        assertThat(ingestor.trackedBays()).isEqualTo(1);
+
+        doReturn(new BulkOperationResult().applied(1).rejected(0).errors(List.of()))
+                .when(bulkWriter).updateStatuses(any());
+        ingestor.flush(6_000);
+        ArgumentCaptor<List<SpaceStatusUpdate>> updates = captor();
+        verify(bulkWriter, times(2)).updateStatuses(updates.capture());
+        assertThat(updates.getValue()).singleElement()
+                .extracting(SpaceStatusUpdate::getStatus).isEqualTo(SpaceStatusUpdate.StatusEnum.OCCUPIED);
+    }
+
+    @Test
+    @DisplayName("Unknown spaces and out-of-order readings are ignored")
+    void ignoredReadings() {
+        space(1, "AVAILABLE");
+
+        assertThat(ingestor.accept(List.of(new SensorReading().spaceId(99L).occupied(true))).getIgnored())
+                .isEqualTo(1);
+        assertThat(ingestor.accept(1L, true, 10_000, 0)).isTrue();
+        assertThat(ingestor.accept(1L, false, 9_000, 1_000)).isFalse();
+        assertThat(ingestor.trackedBays()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Spaces under maintenance are not changed, and a rejected write resets the bay")
+    void operatorStatusWins() {
+        space(1, "MAINTENANCE");
+        read(1, true, 0);
+        read(1, true, 5);
+        ingestor.flush(5_000);
+        verify(bulkWriter, never()).updateStatuses(any());
+        assertThat(ingestor.trackedBays()).isZero();
+
+        space(2, "AVAILABLE");
+        doReturn(new BulkOperationResult().applied(0).rejected(1)
+                .errors(List.of(new BulkRowError().row(1).spaceId(2L).message("space is not AVAILABLE"))))
+                .when(bulkWriter).updateStatuses(any());
+        read(2, true, 0);
+        read(2, true, 5);
+        ingestor.flush(5_000);
+        assertThat(ingestor.trackedBays()).isZero();
+    }
+}
@@ -8,7 +8,6 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -18,10 +17,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 /**
  * Integration test for ManagementService.
  * Tests actual database operations with H2 in-memory database.
+ * Not @Transactional: reads are served by the occupancy index, which only sees committed writes.
  */
 @SpringBootTest
 @ActiveProfiles("test")
-@Transactional
 class ManagementServiceIntegrationTest {
 
     @Autowired
@@ -117,6 +116,23 @@ class ManagementServiceIntegrationTest {
         assertThat(count).isEqualTo(2);
     }
 
+    @Test
+    void statusChange_IsReflectedAfterCommit() {
+        // Arrange
+        ParkingSpace space = parkingSpaceRepository.save(createParkingSpace(1L, "A-01", "AVAILABLE", "STANDARD", 0));
+        assertThat(parkingSpaceService.getAvailableSpacesCount()).isEqualTo(1);
+
+        // Act
+        space.setStatus("OCCUPIED");
+        parkingSpaceRepository.save(space);
+
+        // Assert
+        assertThat(parkingSpaceService.getAvailableSpacesCount()).isZero();
+        assertThat(parkingSpaceService.searchSpaces(null, "OCCUPIED"))
+                .extracting(ParkingSpaceResponse::getSpaceNumber)
+                .containsExactly("A-01");
+    }
+
     @Test
     void getAllSpaces_ReturnsAllSpacesRegardlessOfStatus() {
         // Arrange
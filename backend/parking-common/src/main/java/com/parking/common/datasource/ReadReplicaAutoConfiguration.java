@@ -0,0 +1,80 @@
+package com.parking.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Read-only transactions on a streaming replica (parking.datasource.replica.enabled=true, off
+ * by default), so reads do not compete with writes on the primary.
+ * See {@link ReplicaRoutingDataSource} for the lag guard and read-your-writes rules.
+ *
+ * <p>A service that knows who is calling supplies a {@code Supplier<String>} bean named
+ * {@value #CALLER_KEY_BEAN}; writes then pin that caller as well as the writing thread.
+ * Without one, writes pin the writing thread only.
+ */
+@AutoConfiguration(before = DataSourceAutoConfiguration.class)
+@ConditionalOnClass(HikariDataSource.class)
+@ConditionalOnProperty(prefix = "parking.datasource.replica", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReadReplicaAutoConfiguration {
+
+    /** Name of the optional bean returning the current caller, null when unknown. */
+    public static final String CALLER_KEY_BEAN = "readYourWritesCallerKey";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("primary");
+        return pool;
+    }
+
+    @Bean
+    @ConfigurationProperties("parking.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${parking.datasource.replica.url}") String url,
+                                              @Value("${parking.datasource.replica.username:${spring.datasource.username}}") String username,
+                                              @Value("${parking.datasource.replica.password:${spring.datasource.password}}") String password) {
+        HikariDataSource pool = DataSourceBuilder.create().type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url).username(username).password(password)
+                .build();
+        pool.setPoolName("replica");
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+                                               @Value("${parking.datasource.replica.max-lag:PT2S}") Duration maxLag,
+                                               @Value("${parking.datasource.replica.check-interval:PT1S}") Duration checkInterval) {
+        return new ReplicaLagMonitor(replica, ReplicaLagMonitor.POSTGRES_LAG_QUERY, maxLag, checkInterval).start();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor lagMonitor,
+                                 @Qualifier(CALLER_KEY_BEAN) ObjectProvider<Supplier<String>> callerKey,
+                                 @Value("${parking.datasource.replica.read-your-writes-window:PT5S}") Duration window) {
+        Supplier<String> caller = callerKey.getIfAvailable(() -> () -> null);
+        return ReplicaRoutingDataSource.create(primary, replica, lagMonitor, new ReadYourWritesTracker(window, caller));
+    }
+}
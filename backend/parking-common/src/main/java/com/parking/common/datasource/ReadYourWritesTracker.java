@@ -0,0 +1,72 @@
+package com.parking.common.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Remembers recent writes so that the reads following them are not sent to a replica that may
+ * not have replayed them yet.
+ *
+ * <p>A write pins the writing thread and, when the service knows who is calling, the caller
+ * (e.g. the authenticated user) for {@code window}: read-only transactions of either go to the
+ * primary until the window has passed. The thread covers a service reading back what it just
+ * wrote, the caller covers a client's next request, which usually runs on another thread.
+ *
+ * <p>Instances are thread-safe.
+ */
+public class ReadYourWritesTracker {
+
+    /** Callers remembered at most; expired entries are dropped once this many are held. */
+    private static final int MAX_CALLERS = 10_000;
+
+    private final long windowNanos;
+    private final Supplier<String> callerKey;
+    private final ThreadLocal<Long> threadWrite = new ThreadLocal<>();
+    /** Caller key -> System.nanoTime() of its last write. */
+    private final Map<String, Long> callerWrites = new ConcurrentHashMap<>();
+
+    /**
+     * @param window    how long reads stay on the primary after a write; should exceed the
+     *                  replica lag allowed by {@link ReplicaLagMonitor}
+     * @param callerKey current caller, null when unknown (background jobs, anonymous calls)
+     */
+    public ReadYourWritesTracker(Duration window, Supplier<String> callerKey) {
+        this.windowNanos = window.toNanos();
+        this.callerKey = callerKey;
+    }
+
+    /** Records a write by the current thread and caller. */
+    public void recordWrite() {
+        long now = System.nanoTime();
+        threadWrite.set(now);
+        String caller = caller();
+        if (caller != null) {
+            if (callerWrites.size() >= MAX_CALLERS) {
+                callerWrites.values().removeIf(at -> now - at >= windowNanos);
+            }
+            callerWrites.put(caller, now);
+        }
+    }
+
+    /** Whether the current thread or caller wrote within the window. */
+    public boolean isPinned() {
+        long now = System.nanoTime();
+        Long threadAt = threadWrite.get();
+        if (threadAt != null && now - threadAt < windowNanos) {
+            return true;
+        }
+        String caller = caller();
+        Long callerAt = caller != null ? callerWrites.get(caller) : null;
+        return callerAt != null && now - callerAt < windowNanos;
+    }
+
+    private String caller() {
+        try {
+            return callerKey.get();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
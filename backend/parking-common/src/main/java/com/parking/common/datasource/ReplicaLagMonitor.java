@@ -0,0 +1,107 @@
+package com.parking.common.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replication-lag guard: measures how far the replica is behind the primary at a fixed interval
+ * and reports the replica usable only while the lag is within {@code maxLag}.
+ *
+ * <p>Until the first successful check, and whenever a check fails (replica down, query error),
+ * the replica counts as unusable, so reads fall back to the primary rather than risk stale data.
+ *
+ * <p>Instances are thread-safe; {@link #close()} stops the checks.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    /**
+     * Lag of a PostgreSQL streaming replica in milliseconds. A replica that has replayed all WAL
+     * it received is not behind, however long ago the last transaction was; on a server that is
+     * not a replica both LSN functions return null and the lag is 0.
+     */
+    public static final String POSTGRES_LAG_QUERY = "SELECT CASE "
+            + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private static final long UNKNOWN = -1;
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final Duration checkInterval;
+    private ScheduledExecutorService scheduler;
+
+    private volatile long lagMillis = UNKNOWN;
+
+    /**
+     * @param lagQuery single-value query run on the replica, returning the lag in milliseconds
+     */
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag, Duration checkInterval) {
+        this.replica = new JdbcTemplate(replica);
+        this.replica.setQueryTimeout((int) Math.max(1, checkInterval.toSeconds()));
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLag.toMillis();
+        this.checkInterval = checkInterval;
+    }
+
+    /** Starts the periodic checks on a daemon thread; the first runs at once. */
+    public synchronized ReplicaLagMonitor start() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "replica-lag-monitor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::check, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return this;
+    }
+
+    /** Measures the lag once. */
+    public void check() {
+        boolean wasUsable = isReplicaUsable();
+        try {
+            Double lag = replica.queryForObject(lagQuery, Double.class);
+            lagMillis = lag != null ? Math.max(0, Math.round(lag)) : 0;
+        } catch (RuntimeException e) {
+            if (lagMillis != UNKNOWN || wasUsable) {
+                log.warn("Replica lag check failed, reading from the primary: {}", e.getMessage());
+            }
+            lagMillis = UNKNOWN;
+        }
+        boolean usable = isReplicaUsable();
+        if (usable != wasUsable && lagMillis != UNKNOWN) {
+            if (usable) {
+                log.info("Replica lag {} ms, read-only transactions go to the replica", lagMillis);
+            } else {
+                log.warn("Replica lag {} ms exceeds {} ms, reading from the primary", lagMillis, maxLagMillis);
+            }
+        }
+    }
+
+    /** Whether the last check succeeded with a lag within the limit. */
+    public boolean isReplicaUsable() {
+        long lag = lagMillis;
+        return lag != UNKNOWN && lag <= maxLagMillis;
+    }
+
+    /** Lag measured by the last check in milliseconds, -1 when it failed or has not run. */
+    public long lagMillis() {
+        return lagMillis;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
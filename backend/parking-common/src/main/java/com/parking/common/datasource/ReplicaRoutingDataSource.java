@@ -0,0 +1,74 @@
+package com.parking.common.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions ({@code @Transactional(readOnly = true)}) to a replica pool and
+ * everything else to the primary.
+ *
+ * <p>A read-only transaction stays on the primary when
+ * <ul>
+ *   <li>the replica is behind by more than the {@link ReplicaLagMonitor} allows, or its lag
+ *       is unknown, or</li>
+ *   <li>the same thread or caller wrote within the {@link ReadYourWritesTracker} window, so
+ *       it sees its own writes.</li>
+ * </ul>
+ * Statements outside a transaction and read-write transactions go to the primary and count as
+ * writes, whether or not they change anything; a read-write transaction counts again when it
+ * commits, so the window starts no earlier than the commit.
+ *
+ * <p>The read-only flag is set after the transaction manager has asked for a connection, so
+ * this data source must sit behind a {@link LazyConnectionDataSourceProxy}, which asks at the
+ * first statement instead; {@link #create} builds that pair.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker writes;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+                                    ReplicaLagMonitor lagMonitor, ReadYourWritesTracker writes) {
+        this.lagMonitor = lagMonitor;
+        this.writes = writes;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /** The data source to expose to JPA and JDBC: routing behind a lazy connection proxy. */
+    public static DataSource create(DataSource primary, DataSource replica,
+                                    ReplicaLagMonitor lagMonitor, ReadYourWritesTracker writes) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, lagMonitor, writes));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (!readOnly) {
+            writes.recordWrite();
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        writes.recordWrite();
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        if (writes.isPinned() || !lagMonitor.isReplicaUsable()) {
+            return PRIMARY;
+        }
+        return REPLICA;
+    }
+}
@@ -0,0 +1,12 @@
+package com.parking.common.security;
+
+/**
+ * Caller identity asserted by the API Gateway to downstream services.
+ *
+ * @param userId    database id of the authenticated user (may be {@code null})
+ * @param username  login name (JWT subject)
+ * @param role      role name without the {@code ROLE_} prefix (e.g. {@code ADMIN})
+ * @param expiresAt expiry as epoch seconds
+ */
+public record InternalIdentity(Long userId, String username, String role, long expiresAt) {
+}
@@ -0,0 +1,30 @@
+package com.parking.common.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * {@link InternalIdentityCodec} for the {@code X-Internal-Identity} header: the gateway signs
+ * with it, downstream services verify with it. Services that take part import this class.
+ *
+ * <p>The secret ({@code security.internal-identity.secret}) has no default, so every
+ * participant must be given the same one; startup fails while it is unset rather than
+ * falling back to a key anyone could read in the sources.
+ */
+@Configuration(proxyBeanMethods = false)
+public class InternalIdentityConfiguration {
+
+    @Bean
+    public InternalIdentityCodec internalIdentityCodec(
+            @Value("${security.internal-identity.secret:}") String secret,
+            @Value("${security.internal-identity.ttl-seconds:30}") long ttlSeconds) {
+        if (secret.isBlank()) {
+            throw new IllegalStateException("security.internal-identity.secret (INTERNAL_IDENTITY_SECRET) is not set; "
+                    + "the gateway and the services verifying its identity header need the same secret of 32+ characters");
+        }
+        return new InternalIdentityCodec(secret, Duration.ofSeconds(ttlSeconds));
+    }
+}
@@ -1,15 +1,18 @@
 package com.parking.reporting_service;
 
+import com.parking.common.security.InternalIdentityConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 @SpringBootApplication
 @EnableDiscoveryClient
 @EntityScan(basePackages = {"com.parking.common.entity"})
 @EnableJpaRepositories(basePackages = {"com.parking.reporting_service.repository"})
+@Import(InternalIdentityConfiguration.class) // verifies the gateway's X-Internal-Identity header
 public class ReportingServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,34 @@
+package com.parking.reporting_service.config;
+
+import com.parking.common.datasource.ReadReplicaAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.function.Supplier;
+
+/**
+ * Caller identity for read-replica routing ({@link ReadReplicaAutoConfiguration}): a write
+ * pins the writing thread and the authenticated user, so users see their own
+ * changes in the next query.
+ */
+@Configuration
+public class ReadReplicaConfig {
+
+    @Bean(ReadReplicaAutoConfiguration.CALLER_KEY_BEAN)
+    public Supplier<String> readYourWritesCallerKey() {
+        return ReadReplicaConfig::currentCaller;
+    }
+
+    /** The authenticated user of the current request, null for anonymous and background work. */
+    private static String currentCaller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -17,6 +17,7 @@ import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -107,6 +108,23 @@ public class ReportingController implements ReportingApi {
         }
     }
 
+    /**
+     * POST /api/reporting/log/batch  (not in OpenAPI spec — added directly)
+     * Persist many log entries in one request and one transaction.
+     */
+    @PostMapping("/api/reporting/log/batch")
+    public ResponseEntity<Map<String, Object>> createLogs(@RequestBody List<LogRequest> logRequests) {
+        logger.debug("🚀 [REPORTING CONTROLLER] POST /api/reporting/log/batch - {} entries", logRequests.size());
+
+        List<LogDomain> domains = logRequests.stream()
+                .map(r -> r != null && r.getLevel() != null ? logMapper.toDomain(r) : null)
+                .collect(Collectors.toList());
+        int created = reportingService.createLogs(domains);
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(Map.of("received", logRequests.size(), "created", created));
+    }
+
     // ══════════════════════════════════════════════════════════════════
     //  AUDIT TRAIL ENDPOINTS  (not in OpenAPI spec — added directly)
     // ══════════════════════════════════════════════════════════════════
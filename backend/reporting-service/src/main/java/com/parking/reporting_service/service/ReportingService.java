@@ -13,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -51,8 +52,43 @@ public class ReportingService {
         }
 
         Log entity = logDomain.getEntity();
+        applyAuditFields(entity);
 
-        // ── Extract audit fields from meta ────────────────────────────
+        // Save entity
+        Log saved = logRepository.save(entity);
+        logger.info("✅ [REPORTING SERVICE] Log created id={}, action={}", saved.getId(), saved.getAction());
+        return new LogDomain(saved);
+    }
+
+    /**
+     * Persist a batch of log entries in a single transaction (used by high-volume
+     * producers such as the gateway's security audit exporter).
+     * Invalid entries are skipped instead of failing the whole batch.
+     *
+     * @param logDomains the log entries to persist
+     * @return number of entries saved
+     */
+    @Transactional
+    public int createLogs(List<LogDomain> logDomains) {
+        List<Log> entities = new ArrayList<>(logDomains.size());
+        for (LogDomain logDomain : logDomains) {
+            if (logDomain == null || !logDomain.isValid()) {
+                logger.warn("⚠️ [REPORTING SERVICE] Skipping invalid log entry in batch: {}", logDomain);
+                continue;
+            }
+            Log entity = logDomain.getEntity();
+            applyAuditFields(entity);
+            entities.add(entity);
+        }
+
+        logRepository.saveAll(entities);
+        logger.info("✅ [REPORTING SERVICE] Batch of {} log entries created ({} skipped)",
+                entities.size(), logDomains.size() - entities.size());
+        return entities.size();
+    }
+
+    /** Copy audit fields (action, entity, client, plate) from meta into their columns. */
+    private void applyAuditFields(Log entity) {
         Map<String, Object> meta = entity.getMeta();
         if (meta != null) {
             entity.setAction(asString(meta.get("action")));
@@ -61,12 +97,6 @@ public class ReportingService {
             entity.setClientId(asLong(meta.get("clientId")));
             entity.setLicensePlate(asString(meta.get("licensePlate")));
         }
-        // ─────────────────────────────────────────────────────────────
-
-        // Save entity
-        Log saved = logRepository.save(entity);
-        logger.info("✅ [REPORTING SERVICE] Log created id={}, action={}", saved.getId(), saved.getAction());
-        return new LogDomain(saved);
     }
 
     /**
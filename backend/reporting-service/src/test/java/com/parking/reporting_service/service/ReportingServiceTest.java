@@ -103,6 +103,28 @@ class ReportingServiceTest {
         verify(logRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("Should save a batch in one call, skipping invalid entries")
+    @SuppressWarnings("unchecked")
+    void createLogs_SkipsInvalidEntries() {
+        // Arrange
+        Map<String, Object> meta = new HashMap<>();
+        meta.put("action", "RATE_LIMIT_EXCEEDED");
+        LogDomain second = new LogDomain(LocalDateTime.now(), "WARN", "api-gateway", "Rate limit exceeded x500", null, meta);
+        LogDomain invalid = new LogDomain();
+
+        // Act
+        int created = reportingService.createLogs(Arrays.asList(validLogDomain, invalid, second, null));
+
+        // Assert
+        assertThat(created).isEqualTo(2);
+        ArgumentCaptor<List<Log>> captor = ArgumentCaptor.forClass(List.class);
+        verify(logRepository, times(1)).saveAll(captor.capture());
+        verify(logRepository, never()).save(any());
+        assertThat(captor.getValue()).hasSize(2);
+        assertThat(captor.getValue().get(1).getAction()).isEqualTo("RATE_LIMIT_EXCEEDED");
+    }
+
     @Test
     @DisplayName("Should retrieve all logs successfully")
     void getAllLogs_Success() {
@@ -58,6 +58,21 @@ export async function searchClientsByName(name: string): Promise<Client[]> {
   return res.data
 }
 
+export interface ClientSearchMatch {
+  clientId: number
+  fullName: string
+  phoneNumber: string
+  licensePlate: string | null
+  matchedOn: 'NAME' | 'PHONE' | 'PLATE'
+  score: number
+}
+
+/** Typeahead over names, phones and plates; terms shorter than 3 characters return []. */
+export async function searchClients(q: string, limit?: number): Promise<ClientSearchMatch[]> {
+  const res = await apiClient.get<ClientSearchMatch[]>('/clients/search', { params: { q, limit } })
+  return res.data
+}
+
 export async function getVehicles(): Promise<Vehicle[]> {
   const res = await apiClient.get<Vehicle[]>('/vehicles')
   return res.data